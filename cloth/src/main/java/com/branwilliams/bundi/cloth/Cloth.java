@@ -4,128 +4,355 @@ import com.branwilliams.bundi.engine.mesh.Mesh;
 import com.branwilliams.bundi.engine.material.Material;
 import org.joml.Vector3f;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
+ * A grid of particles held together by distance constraints, simulated with verlet integration. <br/>
+ * The state of every particle is stored within flat arrays, three floats for each particle, and the constraints are
+ * stored as pairs of particle indices, see {@link ClothConstraints}. The constraints are satisfied one batch at a time,
+ * with each batch split across the threads of a {@link ClothSolver}. Simulating a step allocates nothing.
+ *
  * @author Brandon
  * @since November 20, 2019
  */
 public class Cloth {
 
+    private static final float DEFAULT_MASS = 5F;
+
+    private static final float SPHERE_COLLISION_OFFSET = 0.15F;
+
     private final ClothPhysicsParameters parameters;
 
+    private final ClothSolver solver;
+
     private final int particleSizeX;
 
     private final int particleSizeY;
 
-    private ClothParticle[] particles;
+    private final int particleCount;
+
+    private final float[] positions;
+
+    private final float[] previousPositions;
+
+    private final float[] accelerations;
+
+    private final float[] normals;
+
+    private final float[] masses;
+
+    private final boolean[] movable;
+
+    private final ClothConstraints constraints;
 
-    private List<ClothConstraint> constraints;
+    private final ClothSolver.RangeTask satisfyConstraints = this::satisfyConstraints;
+
+    private final ClothSolver.RangeTask integrateParticles = this::integrateParticles;
+
+    private final ClothSolver.RangeTask collideParticles = this::collideWithSphere;
+
+    private float sphereX, sphereY, sphereZ, sphereRadius;
 
     private Material material;
 
     private Mesh mesh;
 
     public Cloth(ClothPhysicsParameters parameters, int width, int height, int particleSizeX, int particleSizeY) {
+        this(parameters, new ClothSolver(), width, height, particleSizeX, particleSizeY);
+    }
+
+    public Cloth(ClothPhysicsParameters parameters, ClothSolver solver, int width, int height, int particleSizeX,
+                 int particleSizeY) {
         this.parameters = parameters;
+        this.solver = solver;
         this.particleSizeX = particleSizeX;
         this.particleSizeY = particleSizeY;
-        this.particles = new ClothParticle[particleSizeX * particleSizeY];
-        this.constraints = new ArrayList<>();
+        this.particleCount = particleSizeX * particleSizeY;
+        this.positions = new float[particleCount * 3];
+        this.previousPositions = new float[particleCount * 3];
+        this.accelerations = new float[particleCount * 3];
+        this.normals = new float[particleCount * 3];
+        this.masses = new float[particleCount];
+        this.movable = new boolean[particleCount];
+        Arrays.fill(masses, DEFAULT_MASS);
+        Arrays.fill(movable, true);
 
         for (int x = 0; x < particleSizeX; x++) {
             for (int y = 0; y < particleSizeY; y++) {
-                Vector3f position = new Vector3f(width * (x / (float) particleSizeX), -height * (y / (float) particleSizeY), 0);
-                particles[x + y * particleSizeX] = (new ClothParticle(parameters, position));
+                int offset = getParticleIndex(x, y) * 3;
+                positions[offset] = width * (x / (float) particleSizeX);
+                positions[offset + 1] = -height * (y / (float) particleSizeY);
+                positions[offset + 2] = 0;
             }
         }
+        System.arraycopy(positions, 0, previousPositions, 0, positions.length);
 
+        ClothConstraints.Builder builder = new ClothConstraints.Builder();
         for (int x = 0; x < particleSizeX; x++) {
             for (int y = 0; y < particleSizeY; y++) {
-                if (x < particleSizeX - 1) makeConstraint(getParticle(x, y), getParticle(x + 1, y));
-                if (y < particleSizeY - 1) makeConstraint(getParticle(x, y), getParticle(x, y + 1));
+                if (x < particleSizeX - 1) makeConstraint(builder, x, y, x + 1, y);
+                if (y < particleSizeY - 1) makeConstraint(builder, x, y, x, y + 1);
                 if (x < particleSizeX - 1 && y < particleSizeY - 1) {
-                    makeConstraint(getParticle(x, y), getParticle(x + 1, y + 1));
-                    makeConstraint(getParticle(x + 1, y), getParticle(x, y + 1));
+                    makeConstraint(builder, x, y, x + 1, y + 1);
+                    makeConstraint(builder, x + 1, y, x, y + 1);
                 }
             }
         }
 
         for (int x = 0; x < particleSizeX; x++) {
             for (int y = 0; y < particleSizeY; y++) {
-                if (x < particleSizeX - 2) makeConstraint(getParticle(x, y), getParticle(x + 2, y));
-                if (y < particleSizeY - 2) makeConstraint(getParticle(x, y), getParticle(x, y + 2));
+                if (x < particleSizeX - 2) makeConstraint(builder, x, y, x + 2, y);
+                if (y < particleSizeY - 2) makeConstraint(builder, x, y, x, y + 2);
                 if (x < particleSizeX - 2 && y < particleSizeY - 2) {
-                    makeConstraint(getParticle(x, y), getParticle(x + 2, y + 2));
-                    makeConstraint(getParticle(x + 2, y), getParticle(x, y + 2));
+                    makeConstraint(builder, x, y, x + 2, y + 2);
+                    makeConstraint(builder, x + 2, y, x, y + 2);
                 }
             }
         }
+        this.constraints = builder.build(particleCount);
+    }
+
+    private void makeConstraint(ClothConstraints.Builder builder, int x1, int y1, int x2, int y2) {
+        int particle1 = getParticleIndex(x1, y1);
+        int particle2 = getParticleIndex(x2, y2);
+        builder.addConstraint(particle1, particle2, distance(particle1, particle2));
     }
 
     public void update() {
         for (int i = 0; i < parameters.getConstraintIterations(); i++) {
-            for (ClothConstraint constraint : constraints) {
-                constraint.satisfyConstraint();
+            for (int batch = 0; batch < constraints.getBatchCount(); batch++) {
+                solver.forRange(constraints.getBatchStart(batch), constraints.getBatchEnd(batch), satisfyConstraints);
             }
         }
 
-        for (ClothParticle particle : particles) {
-            particle.update();
+        solver.forRange(0, particleCount, integrateParticles);
+    }
+
+    /**
+     * Moves both particles of each constraint halfway towards the rest length of that constraint. No two constraints
+     * within a batch share a particle, so a batch may be split across threads.
+     * */
+    private void satisfyConstraints(int start, int end) {
+        for (int constraint = start; constraint < end; constraint++) {
+            int particle1 = constraints.getParticle1(constraint);
+            int particle2 = constraints.getParticle2(constraint);
+            int offset1 = particle1 * 3;
+            int offset2 = particle2 * 3;
+
+            float dx = positions[offset2] - positions[offset1];
+            float dy = positions[offset2 + 1] - positions[offset1 + 1];
+            float dz = positions[offset2 + 2] - positions[offset1 + 2];
+            float currentDistance = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+            if (currentDistance == 0F) {
+                continue;
+            }
+
+            float correction = (1F - constraints.getRestLength(constraint) / currentDistance) * 0.5F;
+            dx *= correction;
+            dy *= correction;
+            dz *= correction;
+
+            if (movable[particle1]) {
+                positions[offset1] += dx;
+                positions[offset1 + 1] += dy;
+                positions[offset1 + 2] += dz;
+            }
+            if (movable[particle2]) {
+                positions[offset2] -= dx;
+                positions[offset2 + 1] -= dy;
+                positions[offset2 + 2] -= dz;
+            }
+        }
+    }
+
+    private void integrateParticles(int start, int end) {
+        float damping = 1F - parameters.getDamping();
+        float timeStepSize2 = parameters.getTimeStepSize2();
+
+        for (int particle = start; particle < end; particle++) {
+            int offset = particle * 3;
+            if (movable[particle]) {
+                for (int i = offset; i < offset + 3; i++) {
+                    float position = positions[i];
+                    positions[i] += (position - previousPositions[i]) * damping + accelerations[i] * timeStepSize2;
+                    previousPositions[i] = position;
+                }
+            }
+            accelerations[offset] = 0F;
+            accelerations[offset + 1] = 0F;
+            accelerations[offset + 2] = 0F;
         }
     }
 
     public void addForce(Vector3f force) {
-        force.mul(parameters.getTimeStepSize2());
-        for (ClothParticle particle : particles) {
-            particle.addForce(force);
+        float timeStepSize2 = parameters.getTimeStepSize2();
+        float forceX = force.x * timeStepSize2;
+        float forceY = force.y * timeStepSize2;
+        float forceZ = force.z * timeStepSize2;
+        for (int particle = 0; particle < particleCount; particle++) {
+            addForce(particle, forceX, forceY, forceZ);
         }
     }
 
     public void addWindForce(Vector3f direction) {
-        direction.mul(parameters.getTimeStepSize2());
+        float timeStepSize2 = parameters.getTimeStepSize2();
+        float directionX = direction.x * timeStepSize2;
+        float directionY = direction.y * timeStepSize2;
+        float directionZ = direction.z * timeStepSize2;
         for (int x = 0; x < particleSizeX - 1; x++) {
             for (int y = 0; y < particleSizeY - 1; y++) {
-                addWindForcesForTriangle(getParticle(x + 1, y),getParticle(x, y),getParticle(x, y + 1), direction);
-                addWindForcesForTriangle(getParticle(x + 1, y + 1),getParticle(x + 1, y),getParticle(x, y + 1), direction);
+                addWindForcesForTriangle(getParticleIndex(x + 1, y), getParticleIndex(x, y),
+                        getParticleIndex(x, y + 1), directionX, directionY, directionZ);
+                addWindForcesForTriangle(getParticleIndex(x + 1, y + 1), getParticleIndex(x + 1, y),
+                        getParticleIndex(x, y + 1), directionX, directionY, directionZ);
             }
         }
     }
 
-    public ClothParticle getParticle(int x, int y) {
-        return particles[x + y * particleSizeX];
+    private void addWindForcesForTriangle(int particle1, int particle2, int particle3,
+                                          float directionX, float directionY, float directionZ) {
+        int offset1 = particle1 * 3;
+        int offset2 = particle2 * 3;
+        int offset3 = particle3 * 3;
+        float ax = positions[offset2] - positions[offset1];
+        float ay = positions[offset2 + 1] - positions[offset1 + 1];
+        float az = positions[offset2 + 2] - positions[offset1 + 2];
+        float bx = positions[offset3] - positions[offset1];
+        float by = positions[offset3 + 1] - positions[offset1 + 1];
+        float bz = positions[offset3 + 2] - positions[offset1 + 2];
+
+        float normalX = ay * bz - az * by;
+        float normalY = az * bx - ax * bz;
+        float normalZ = ax * by - ay * bx;
+        float length = (float) Math.sqrt(normalX * normalX + normalY * normalY + normalZ * normalZ);
+        if (length == 0F) {
+            return;
+        }
+
+        float scale = (normalX * directionX + normalY * directionY + normalZ * directionZ) / length;
+        float forceX = normalX * scale;
+        float forceY = normalY * scale;
+        float forceZ = normalZ * scale;
+        addForce(particle1, forceX, forceY, forceZ);
+        addForce(particle2, forceX, forceY, forceZ);
+        addForce(particle3, forceX, forceY, forceZ);
     }
 
-    public Vector3f calculateTriangleNormal(ClothParticle particle1, ClothParticle particle2, ClothParticle particle3) {
-        Vector3f v1 = particle2.getPosition().sub(particle1.getPosition(), new Vector3f());
-        Vector3f v2 = particle3.getPosition().sub(particle1.getPosition(), new Vector3f());
-        return v1.cross(v2);
+    /**
+     * Adds the force to the acceleration of a particle, scaled by its mass.
+     * */
+    public void addForce(int particle, float forceX, float forceY, float forceZ) {
+        int offset = particle * 3;
+        float mass = masses[particle];
+        accelerations[offset] += forceX / mass;
+        accelerations[offset + 1] += forceY / mass;
+        accelerations[offset + 2] += forceZ / mass;
     }
 
-    private void addWindForcesForTriangle(ClothParticle particle1, ClothParticle particle2, ClothParticle particle3,
-                                         Vector3f direction) {
-        Vector3f normal = calculateTriangleNormal(particle1, particle2, particle3);
-        Vector3f d = normal.normalize(new Vector3f());
-        Vector3f force = normal.mul(d.dot(direction));
-        particle1.addForce(force);
-        particle2.addForce(force);
-        particle3.addForce(force);
+    public void collideWithSphere(Vector3f position, float radius) {
+        sphereX = position.x;
+        sphereY = position.y;
+        sphereZ = position.z;
+        sphereRadius = radius + SPHERE_COLLISION_OFFSET;
+        solver.forRange(0, particleCount, collideParticles);
     }
 
-    private void makeConstraint(ClothParticle particle1, ClothParticle particle2) {
-        constraints.add(new ClothConstraint(particle1, particle2));
+    private void collideWithSphere(int start, int end) {
+        for (int particle = start; particle < end; particle++) {
+            if (!movable[particle]) {
+                continue;
+            }
+            int offset = particle * 3;
+            float dx = positions[offset] - sphereX;
+            float dy = positions[offset + 1] - sphereY;
+            float dz = positions[offset + 2] - sphereZ;
+            float distance = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+            if (distance < sphereRadius && distance > 0F) {
+                float push = (sphereRadius - distance) / distance;
+                positions[offset] += dx * push;
+                positions[offset + 1] += dy * push;
+                positions[offset + 2] += dz * push;
+            }
+        }
     }
 
-    public void collideWithSphere(Vector3f position, float radius) {
-        radius = radius + 0.15F;
-        for (ClothParticle particle : particles) {
-            Vector3f difference = particle.getPosition().sub(position, new Vector3f());
-            float distance = difference.length();
-            if (distance < radius) {
-                particle.offsetPosition(difference.normalize().mul(radius - distance));
+    /**
+     * Computes the normal of each particle from the triangles around it. The normals are used when building the mesh of
+     * this cloth.
+     * */
+    public void computeNormals() {
+        Arrays.fill(normals, 0F);
+        for (int x = 0; x < particleSizeX - 1; x++) {
+            for (int y = 0; y < particleSizeY - 1; y++) {
+                addTriangleNormal(getParticleIndex(x + 1, y), getParticleIndex(x, y), getParticleIndex(x, y + 1));
+                addTriangleNormal(getParticleIndex(x + 1, y + 1), getParticleIndex(x + 1, y),
+                        getParticleIndex(x, y + 1));
             }
         }
+
+        for (int offset = 0; offset < normals.length; offset += 3) {
+            float x = normals[offset];
+            float y = normals[offset + 1];
+            float z = normals[offset + 2];
+            float length = (float) Math.sqrt(x * x + y * y + z * z);
+            if (length > 0F) {
+                normals[offset] = x / length;
+                normals[offset + 1] = y / length;
+                normals[offset + 2] = z / length;
+            }
+        }
+    }
+
+    private void addTriangleNormal(int particle1, int particle2, int particle3) {
+        int offset1 = particle1 * 3;
+        int offset2 = particle2 * 3;
+        int offset3 = particle3 * 3;
+        float ax = positions[offset2] - positions[offset1];
+        float ay = positions[offset2 + 1] - positions[offset1 + 1];
+        float az = positions[offset2 + 2] - positions[offset1 + 2];
+        float bx = positions[offset3] - positions[offset1];
+        float by = positions[offset3 + 1] - positions[offset1 + 1];
+        float bz = positions[offset3 + 2] - positions[offset1 + 2];
+
+        float normalX = ay * bz - az * by;
+        float normalY = az * bx - ax * bz;
+        float normalZ = ax * by - ay * bx;
+        float length = (float) Math.sqrt(normalX * normalX + normalY * normalY + normalZ * normalZ);
+        if (length == 0F) {
+            return;
+        }
+        normalX /= length;
+        normalY /= length;
+        normalZ /= length;
+        addNormal(offset1, normalX, normalY, normalZ);
+        addNormal(offset2, normalX, normalY, normalZ);
+        addNormal(offset3, normalX, normalY, normalZ);
+    }
+
+    private void addNormal(int offset, float x, float y, float z) {
+        normals[offset] += x;
+        normals[offset + 1] += y;
+        normals[offset + 2] += z;
+    }
+
+    private float distance(int particle1, int particle2) {
+        int offset1 = particle1 * 3;
+        int offset2 = particle2 * 3;
+        float dx = positions[offset2] - positions[offset1];
+        float dy = positions[offset2 + 1] - positions[offset1 + 1];
+        float dz = positions[offset2 + 2] - positions[offset1 + 2];
+        return (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    /**
+     * @return A view of the particle at (x, y) which reads and writes the state stored within this cloth.
+     * */
+    public ClothParticle getParticle(int x, int y) {
+        return new ClothParticle(this, getParticleIndex(x, y));
+    }
+
+    public int getParticleIndex(int x, int y) {
+        return x + y * particleSizeX;
     }
 
     public Material getMaterial() {
@@ -144,8 +371,44 @@ public class Cloth {
         return particleSizeY;
     }
 
-    public ClothParticle[] getParticles() {
-        return particles;
+    public int getParticleCount() {
+        return particleCount;
+    }
+
+    /**
+     * @return The position of every particle, three floats for each.
+     * */
+    public float[] getPositions() {
+        return positions;
+    }
+
+    /**
+     * @return The normal of every particle, three floats for each, as of the last {@link Cloth#computeNormals()}.
+     * */
+    public float[] getNormals() {
+        return normals;
+    }
+
+    public float getMass(int particle) {
+        return masses[particle];
+    }
+
+    public void setMass(int particle, float mass) {
+        if (mass <= 0F)
+            throw new IllegalArgumentException("The mass of a particle must be positive!");
+        masses[particle] = mass;
+    }
+
+    public boolean isMovable(int particle) {
+        return movable[particle];
+    }
+
+    public void setMovable(int particle, boolean movable) {
+        this.movable[particle] = movable;
+    }
+
+    public ClothConstraints getConstraints() {
+        return constraints;
     }
 
     public Mesh getMesh() {
@@ -159,4 +422,8 @@ public class Cloth {
     public ClothPhysicsParameters getParameters() {
         return parameters;
     }
+
+    public ClothSolver getSolver() {
+        return solver;
+    }
 }
@@ -0,0 +1,137 @@
+package com.branwilliams.bundi.cloth;
+
+import java.util.Arrays;
+
+/**
+ * The distance constraints of a cloth stored as pairs of particle indices with their rest lengths. <br/>
+ * Constraints are grouped into batches in which no two constraints share a particle, found by greedily coloring the
+ * graph of constraints. The constraints of a batch can be satisfied in any order, or in parallel, with the same result,
+ * while the batches themselves are satisfied one after another.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class ClothConstraints {
+
+    // The two particles of each constraint, ordered by batch.
+    private final int[] particles;
+
+    private final float[] restLengths;
+
+    // The first constraint of each batch followed by the number of constraints.
+    private final int[] batchOffsets;
+
+    private ClothConstraints(int[] particles, float[] restLengths, int[] batchOffsets) {
+        this.particles = particles;
+        this.restLengths = restLengths;
+        this.batchOffsets = batchOffsets;
+    }
+
+    public int getConstraintCount() {
+        return restLengths.length;
+    }
+
+    public int getBatchCount() {
+        return batchOffsets.length - 1;
+    }
+
+    /**
+     * @return The first constraint of the provided batch.
+     * */
+    public int getBatchStart(int batch) {
+        return batchOffsets[batch];
+    }
+
+    /**
+     * @return The constraint after the last constraint of the provided batch.
+     * */
+    public int getBatchEnd(int batch) {
+        return batchOffsets[batch + 1];
+    }
+
+    public int getParticle1(int constraint) {
+        return particles[constraint << 1];
+    }
+
+    public int getParticle2(int constraint) {
+        return particles[(constraint << 1) + 1];
+    }
+
+    public float getRestLength(int constraint) {
+        return restLengths[constraint];
+    }
+
+    /**
+     * Collects constraints and sorts them into batches.
+     * */
+    public static class Builder {
+
+        // The most batches a constraint can be placed into, one bit of a long for each.
+        private static final int MAX_BATCHES = Long.SIZE;
+
+        private int[] particles = new int[64];
+
+        private float[] restLengths = new float[32];
+
+        private int constraintCount;
+
+        public Builder addConstraint(int particle1, int particle2, float restLength) {
+            if (particle1 == particle2)
+                throw new IllegalArgumentException("A constraint must connect two different particles!");
+
+            if (constraintCount == restLengths.length) {
+                particles = Arrays.copyOf(particles, particles.length << 1);
+                restLengths = Arrays.copyOf(restLengths, restLengths.length << 1);
+            }
+            particles[constraintCount << 1] = particle1;
+            particles[(constraintCount << 1) + 1] = particle2;
+            restLengths[constraintCount] = restLength;
+            constraintCount++;
+            return this;
+        }
+
+        /**
+         * Places each constraint into the first batch which has no other constraint sharing one of its particles.
+         * @param particleCount The number of particles the constraints connect.
+         * */
+        public ClothConstraints build(int particleCount) {
+            // The batches each particle is already part of.
+            long[] particleBatches = new long[particleCount];
+            int[] constraintBatches = new int[constraintCount];
+            int[] batchSizes = new int[MAX_BATCHES];
+            int batchCount = 0;
+
+            for (int i = 0; i < constraintCount; i++) {
+                int particle1 = particles[i << 1];
+                int particle2 = particles[(i << 1) + 1];
+                long usedBatches = particleBatches[particle1] | particleBatches[particle2];
+                int batch = Long.numberOfTrailingZeros(~usedBatches);
+                if (batch >= MAX_BATCHES) {
+                    throw new IllegalStateException("Too many constraints share the particles " + particle1 + " and "
+                            + particle2 + "!");
+                }
+                particleBatches[particle1] |= 1L << batch;
+                particleBatches[particle2] |= 1L << batch;
+                constraintBatches[i] = batch;
+                batchSizes[batch]++;
+                batchCount = Math.max(batchCount, batch + 1);
+            }
+
+            int[] batchOffsets = new int[batchCount + 1];
+            for (int batch = 0; batch < batchCount; batch++) {
+                batchOffsets[batch + 1] = batchOffsets[batch] + batchSizes[batch];
+            }
+
+            int[] sortedParticles = new int[constraintCount << 1];
+            float[] sortedRestLengths = new float[constraintCount];
+            int[] nextConstraint = Arrays.copyOf(batchOffsets, batchCount);
+            for (int i = 0; i < constraintCount; i++) {
+                int constraint = nextConstraint[constraintBatches[i]]++;
+                sortedParticles[constraint << 1] = particles[i << 1];
+                sortedParticles[(constraint << 1) + 1] = particles[(i << 1) + 1];
+                sortedRestLengths[constraint] = restLengths[i];
+            }
+            return new ClothConstraints(sortedParticles, sortedRestLengths, batchOffsets);
+        }
+    }
+}
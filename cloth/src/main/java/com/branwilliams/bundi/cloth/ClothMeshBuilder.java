@@ -1,83 +1,80 @@
 package com.branwilliams.bundi.cloth;
 
 import com.branwilliams.bundi.engine.mesh.Mesh;
-import org.joml.Vector2f;
 import org.joml.Vector3f;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import static com.branwilliams.bundi.engine.util.MeshUtils.toArray2f;
-import static com.branwilliams.bundi.engine.util.MeshUtils.toArray3f;
-
 /**
  * @author Brandon
  * @since November 20, 2019
  */
 public class ClothMeshBuilder {
 
+    private float[] positions = new float[0];
+
+    private float[] normals = new float[0];
+
+    private float[] uvs = new float[0];
+
+    private int vertex;
+
     public void buildMesh(Cloth cloth) {
         cloth.setMesh(new Mesh());
         rebuildMesh(cloth);
     }
 
     public void rebuildMesh(Cloth cloth) {
-        for (int x = 0; x < cloth.getParticleSizeX() - 1; x++) {
-            for (int y = 0; y < cloth.getParticleSizeY() - 1; y++) {
-                Vector3f normal = cloth.calculateTriangleNormal(cloth.getParticle(x + 1, y),cloth.getParticle(x, y),cloth.getParticle(x, y + 1));
-                cloth.getParticle(x + 1, y).addToNormal(normal);
-                cloth.getParticle(x, y).addToNormal(normal);
-                cloth.getParticle(x, y + 1).addToNormal(normal);
-
-                normal = cloth.calculateTriangleNormal(cloth.getParticle(x + 1, y + 1),cloth.getParticle(x + 1, y),cloth.getParticle(x, y + 1));
-                cloth.getParticle(x + 1, y + 1).addToNormal(normal);
-                cloth.getParticle(x + 1, y).addToNormal(normal);
-                cloth.getParticle(x, y + 1).addToNormal(normal);
-            }
+        cloth.computeNormals();
+
+        // Each quad has two front faces and two back faces.
+        int vertexCount = (cloth.getParticleSizeX() - 1) * (cloth.getParticleSizeY() - 1) * 12;
+        if (positions.length != vertexCount * 3) {
+            positions = new float[vertexCount * 3];
+            normals = new float[vertexCount * 3];
+            uvs = new float[vertexCount * 2];
         }
 
-//        int vertexCount = cloth.getWidth() * cloth.getHeight();
-        List<Vector3f> positions = new ArrayList<>();
-        List<Vector3f> normals = new ArrayList<>();
-        List<Vector2f> uvs = new ArrayList<>();
-
+        vertex = 0;
         for (int x = 0; x < cloth.getParticleSizeX() - 1; x++) {
             for (int y = 0; y < cloth.getParticleSizeY() - 1; y++) {
                 float u = (float) x / (float) cloth.getParticleSizeX();
                 float v = (float) y / (float) cloth.getParticleSizeY();
+                int particle00 = cloth.getParticleIndex(x, y);
+                int particle10 = cloth.getParticleIndex(x + 1, y);
+                int particle01 = cloth.getParticleIndex(x, y + 1);
+                int particle11 = cloth.getParticleIndex(x + 1, y + 1);
+
                 // front faces
-                addVertex(positions, normals, uvs, u, v, cloth.getParticle(x + 1, y), cloth.getParticle(x, y), cloth.getParticle(x, y + 1));
-                addVertex(positions, normals, uvs, u, v, cloth.getParticle(x + 1, y + 1), cloth.getParticle(x + 1, y), cloth.getParticle(x, y + 1));
+                addTriangle(cloth, u, v, particle10, particle00, particle01);
+                addTriangle(cloth, u, v, particle11, particle10, particle01);
 
                 // back faces
-                addVertex(positions, normals, uvs, u, v, cloth.getParticle(x, y + 1), cloth.getParticle(x, y), cloth.getParticle(x + 1, y));
-                addVertex(positions, normals, uvs, u, v, cloth.getParticle(x, y + 1), cloth.getParticle(x + 1, y), cloth.getParticle(x + 1, y + 1));
+                addTriangle(cloth, u, v, particle01, particle00, particle10);
+                addTriangle(cloth, u, v, particle01, particle10, particle11);
             }
         }
 
         Mesh mesh = cloth.getMesh();
 
         mesh.bind();
-        mesh.storeAttribute(0, toArray3f(positions), 3);
-        mesh.storeAttribute(1, toArray3f(normals), 3);
-        mesh.storeAttribute(2, toArray2f(uvs), 2);
-        mesh.setVertexCount(positions.size());
+        mesh.storeAttribute(0, positions, 3);
+        mesh.storeAttribute(1, normals, 3);
+        mesh.storeAttribute(2, uvs, 2);
+        mesh.setVertexCount(vertexCount);
         mesh.unbind();
     }
 
-    private void addVertex(List<Vector3f> positions, List<Vector3f> normals, List<Vector2f> uvs, float u, float v,
-                           ClothParticle particle1, ClothParticle particle2, ClothParticle particle3) {
-        positions.add(particle1.getPosition());
-        normals.add(particle1.getAccumulatedNormal().normalize());
-        uvs.add(new Vector2f(u, v));
-
-        positions.add(particle2.getPosition());
-        normals.add(particle2.getAccumulatedNormal().normalize());
-        uvs.add(new Vector2f(u, v));
+    private void addTriangle(Cloth cloth, float u, float v, int particle1, int particle2, int particle3) {
+        addVertex(cloth, u, v, particle1);
+        addVertex(cloth, u, v, particle2);
+        addVertex(cloth, u, v, particle3);
+    }
 
-        positions.add(particle3.getPosition());
-        normals.add(particle3.getAccumulatedNormal().normalize());
-        uvs.add(new Vector2f(u, v));
+    private void addVertex(Cloth cloth, float u, float v, int particle) {
+        System.arraycopy(cloth.getPositions(), particle * 3, positions, vertex * 3, 3);
+        System.arraycopy(cloth.getNormals(), particle * 3, normals, vertex * 3, 3);
+        uvs[vertex * 2] = u;
+        uvs[vertex * 2 + 1] = v;
+        vertex++;
     }
 
     private class ClothVertex {
@@ -3,94 +3,73 @@ package com.branwilliams.bundi.cloth;
 import org.joml.Vector3f;
 
 /**
+ * A view of a single particle of a {@link Cloth}. The state of the particle is stored within the cloth, so a view is
+ * cheap to create and every change made through it is seen by the cloth.
+ *
  * @author Brandon
  * @since November 20, 2019
  */
 public class ClothParticle {
 
-    private final ClothPhysicsParameters parameters;
+    private final Cloth cloth;
 
-    private boolean movable;
+    private final int index;
 
-    private float mass;
-
-    private Vector3f position;
-
-    private Vector3f oldPosition;
-
-    private Vector3f acceleration;
-
-    private Vector3f accumulatedNormal;
-
-    public ClothParticle(ClothPhysicsParameters parameters, Vector3f position) {
-        this.parameters = parameters;
-        this.position = position;
-        this.movable = true;
-        this.mass = 5;
-        this.oldPosition = new Vector3f(position);
-        this.acceleration = new Vector3f();
-        this.accumulatedNormal = new Vector3f();
+    public ClothParticle(Cloth cloth, int index) {
+        this.cloth = cloth;
+        this.index = index;
     }
 
     public void addForce(Vector3f force) {
-        this.acceleration.x += force.x / mass;
-        this.acceleration.y += force.y / mass;
-        this.acceleration.z += force.z / mass;
-    }
-
-    public void update() {
-        if (movable) {
-            Vector3f tempForOldPos = new Vector3f(position);
-
-            float dx = (position.x - oldPosition.x) * (1F - parameters.getDamping()) + acceleration.x * parameters.getTimeStepSize2();
-            float dy = (position.y - oldPosition.y) * (1F - parameters.getDamping()) + acceleration.y * parameters.getTimeStepSize2();
-            float dz = (position.z - oldPosition.z) * (1F - parameters.getDamping()) + acceleration.z * parameters.getTimeStepSize2();
-
-            position.add(dx, dy, dz);
-
-            oldPosition.set(tempForOldPos);
-            acceleration.set(0);
-        }
-    }
-
-    public void resetAcceleration() {
-        this.acceleration.set(0);
+        cloth.addForce(index, force.x, force.y, force.z);
     }
 
     public void offsetPosition(Vector3f amount) {
-        if (this.movable)
-            this.position.add(amount);
+        if (isMovable()) {
+            float[] positions = cloth.getPositions();
+            positions[index * 3] += amount.x;
+            positions[index * 3 + 1] += amount.y;
+            positions[index * 3 + 2] += amount.z;
+        }
     }
 
-    public void addToNormal(Vector3f normal) {
-        this.accumulatedNormal.add(normal.normalize());
+    /**
+     * @return A copy of the position of this particle.
+     * */
+    public Vector3f getPosition() {
+        return getPosition(new Vector3f());
     }
 
-    public void resetNormal() {
-        this.accumulatedNormal.set(0);
+    public Vector3f getPosition(Vector3f destination) {
+        float[] positions = cloth.getPositions();
+        return destination.set(positions[index * 3], positions[index * 3 + 1], positions[index * 3 + 2]);
     }
 
-    public Vector3f getPosition() {
-        return position;
+    /**
+     * @return A copy of the normal of this particle as of the last {@link Cloth#computeNormals()}.
+     * */
+    public Vector3f getNormal(Vector3f destination) {
+        float[] normals = cloth.getNormals();
+        return destination.set(normals[index * 3], normals[index * 3 + 1], normals[index * 3 + 2]);
     }
 
-    public Vector3f getAccumulatedNormal() {
-        return accumulatedNormal;
+    public int getIndex() {
+        return index;
     }
 
     public boolean isMovable() {
-        return movable;
+        return cloth.isMovable(index);
     }
 
     public void setMovable(boolean movable) {
-        this.movable = movable;
+        cloth.setMovable(index, movable);
     }
 
     public float getMass() {
-        return mass;
+        return cloth.getMass(index);
     }
 
     public void setMass(float mass) {
-        this.mass = mass;
+        cloth.setMass(index, mass);
     }
 }
@@ -40,6 +40,8 @@ public class ClothScene extends AbstractScene {
 
     private Skybox skybox;
 
+    private ClothSolver clothSolver;
+
     private Cloth cloth;
 
     private ClothMeshBuilder clothMeshBuilder;
@@ -76,7 +78,8 @@ public class ClothScene extends AbstractScene {
         clothMeshBuilder = new ClothMeshBuilder();
         sphere = new Spheref(0F, -20F, 40F, 10.0F);
 
-        cloth = new Cloth(clothPhysicsParameters, 70, 50, 32, 32);
+        clothSolver = ClothSolver.withAvailableProcessors();
+        cloth = new Cloth(clothPhysicsParameters, clothSolver, 70, 50, 32, 32);
 
         for (int i = 0; i < cloth.getParticleSizeY(); i++) {
             cloth.getParticle(0, i).setMovable(false);
@@ -178,6 +181,14 @@ public class ClothScene extends AbstractScene {
         engine.getWindow().setTitle("Cloth FPS=" + engine.getFrames());
     }
 
+    @Override
+    public void destroy() {
+        super.destroy();
+        if (clothSolver != null) {
+            clothSolver.destroy();
+        }
+    }
+
     public boolean isWireframe() {
         return wireframe;
     }
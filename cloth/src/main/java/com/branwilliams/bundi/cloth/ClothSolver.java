@@ -0,0 +1,183 @@
+package com.branwilliams.bundi.cloth;
+
+import com.branwilliams.bundi.engine.core.Destructible;
+import com.branwilliams.bundi.engine.util.WorkerUtils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Splits the loops of a cloth simulation across a pool of worker threads. <br/>
+ * A loop is split into one range for each thread, and the thread which runs the loop works on the first range itself
+ * before running any range no worker has started yet, then waits for the others. A solver can therefore share a busy
+ * pool, such as {@link WorkerUtils#sharedWorkers()}, without waiting for the work of others. Loops too small to be
+ * worth splitting run entirely on the calling thread, as does every loop of a solver without workers. The ranges are
+ * reused, so running a loop allocates nothing. <br/>
+ * Loops must be run from a single thread.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class ClothSolver implements Destructible {
+
+    /** The fewest iterations given to each thread. */
+    private static final int MIN_RANGE_SIZE = 2048;
+
+    private final ExecutorService workers;
+
+    // True when the workers were created by this solver, so that they are shut down with it.
+    private final boolean ownsWorkers;
+
+    private final Range[] ranges;
+
+    private final AtomicInteger pendingRanges = new AtomicInteger();
+
+    private volatile RuntimeException failure;
+
+    /**
+     * Creates a solver which runs every loop on the calling thread.
+     * */
+    public ClothSolver() {
+        this(0);
+    }
+
+    /**
+     * @param workerCount The number of worker threads. A solver without workers runs every loop on the calling thread.
+     * */
+    public ClothSolver(int workerCount) {
+        this(workerCount == 0 ? null : WorkerUtils.newDaemonThreadPool(workerCount, "cloth-solver-worker"),
+                workerCount, true);
+    }
+
+    /**
+     * Creates a solver which splits its loops across a pool it does not own, so the pool is not shut down with this
+     * solver.
+     * @param workerCount The number of ranges given to the workers of each loop.
+     * */
+    public ClothSolver(ExecutorService workers, int workerCount) {
+        this(workers, workerCount, false);
+    }
+
+    private ClothSolver(ExecutorService workers, int workerCount, boolean ownsWorkers) {
+        if (workerCount < 0) {
+            throw new IllegalArgumentException("The worker count cannot be negative!");
+        }
+        if (workerCount > 0 && workers == null) {
+            throw new IllegalArgumentException("A solver with workers needs a pool to run them!");
+        }
+        this.workers = workers;
+        this.ownsWorkers = ownsWorkers;
+        this.ranges = new Range[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            ranges[i] = new Range();
+        }
+    }
+
+    /**
+     * @return A solver which splits its loops across the workers shared by the application, see
+     * {@link WorkerUtils#sharedWorkers()}.
+     * */
+    public static ClothSolver withAvailableProcessors() {
+        return new ClothSolver(WorkerUtils.sharedWorkers(), WorkerUtils.defaultWorkerCount());
+    }
+
+    /**
+     * Runs the task for every iteration from start up to end, returning once every iteration has run. The task must not
+     * write to anything another iteration within this loop reads or writes.
+     * */
+    public void forRange(int start, int end, RangeTask task) {
+        int count = end - start;
+        int rangeCount = Math.min(ranges.length + 1, count / MIN_RANGE_SIZE);
+        if (rangeCount <= 1) {
+            task.run(start, end);
+            return;
+        }
+
+        int rangeSize = (count + rangeCount - 1) / rangeCount;
+        pendingRanges.set(rangeCount - 1);
+        for (int i = 1; i < rangeCount; i++) {
+            Range range = ranges[i - 1];
+            range.task = task;
+            range.start = start + i * rangeSize;
+            range.end = Math.min(end, range.start + rangeSize);
+            range.claimed.set(false);
+            workers.execute(range);
+        }
+
+        try {
+            task.run(start, start + rangeSize);
+        } finally {
+            // Ranges still waiting for a worker are run here rather than waited for.
+            for (int i = 1; i < rangeCount; i++) {
+                ranges[i - 1].runUnclaimed();
+            }
+
+            // The ranges are spread evenly, so the other threads finish shortly after this one.
+            while (pendingRanges.get() > 0) {
+                Thread.yield();
+            }
+        }
+
+        RuntimeException failure = this.failure;
+        if (failure != null) {
+            this.failure = null;
+            throw failure;
+        }
+    }
+
+    /**
+     * @return The number of threads a loop is split across, including the thread running it.
+     * */
+    public int getThreadCount() {
+        return ranges.length + 1;
+    }
+
+    @Override
+    public void destroy() {
+        if (ownsWorkers && workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * The body of a loop, run for the iterations from start up to end.
+     * */
+    public interface RangeTask {
+        void run(int start, int end);
+    }
+
+    /**
+     * A range of a loop, run by whichever thread claims it first. A range runnable left over from a previous loop may
+     * claim the range of the next loop, in which case the runnable of that loop finds it claimed.
+     * */
+    private class Range implements Runnable {
+
+        private final AtomicBoolean claimed = new AtomicBoolean(true);
+
+        private RangeTask task;
+
+        private int start;
+
+        private int end;
+
+        @Override
+        public void run() {
+            runUnclaimed();
+        }
+
+        private void runUnclaimed() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                task.run(start, end);
+            } catch (RuntimeException e) {
+                failure = e;
+            } finally {
+                task = null;
+                pendingRanges.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.branwilliams.bundi.cloth;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class ClothConstraintsTest {
+
+    @Test
+    public void testBatchesDoNotShareParticles() {
+        Cloth cloth = new Cloth(new ClothPhysicsParameters(0.001F, 0.25F, 15), 70, 50, 32, 32);
+        ClothConstraints constraints = cloth.getConstraints();
+        assertTrue(constraints.getBatchCount() > 1);
+
+        // The batches cover every constraint, one after another.
+        assertEquals(0, constraints.getBatchStart(0));
+        assertEquals(constraints.getConstraintCount(), constraints.getBatchEnd(constraints.getBatchCount() - 1));
+
+        for (int batch = 0; batch < constraints.getBatchCount(); batch++) {
+            if (batch > 0) {
+                assertEquals(constraints.getBatchEnd(batch - 1), constraints.getBatchStart(batch));
+            }
+
+            Set<Integer> particles = new HashSet<>();
+            for (int constraint = constraints.getBatchStart(batch); constraint < constraints.getBatchEnd(batch);
+                 constraint++) {
+                assertTrue(particles.add(constraints.getParticle1(constraint)));
+                assertTrue(particles.add(constraints.getParticle2(constraint)));
+            }
+        }
+    }
+
+    @Test
+    public void testBatchesKeepTheOrderOfConstraints() {
+        ClothConstraints constraints = new ClothConstraints.Builder()
+                .addConstraint(0, 1, 1F)
+                .addConstraint(1, 2, 2F)
+                .addConstraint(2, 3, 3F)
+                .addConstraint(3, 0, 4F)
+                .addConstraint(4, 5, 5F)
+                .build(6);
+
+        assertEquals(2, constraints.getBatchCount());
+        assertBatch(constraints, 0, new float[] { 1F, 3F, 5F });
+        assertBatch(constraints, 1, new float[] { 2F, 4F });
+        assertEquals(0, constraints.getParticle1(0));
+        assertEquals(1, constraints.getParticle2(0));
+        assertEquals(3, constraints.getParticle1(4));
+        assertEquals(0, constraints.getParticle2(4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstraintOfOneParticle() {
+        new ClothConstraints.Builder().addConstraint(1, 1, 1F);
+    }
+
+    private static void assertBatch(ClothConstraints constraints, int batch, float[] restLengths) {
+        assertEquals(restLengths.length, constraints.getBatchEnd(batch) - constraints.getBatchStart(batch));
+        for (int i = 0; i < restLengths.length; i++) {
+            assertEquals(restLengths[i], constraints.getRestLength(constraints.getBatchStart(batch) + i), 0F);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.branwilliams.bundi.cloth;
+
+import com.branwilliams.bundi.engine.util.WorkerUtils;
+import org.joml.Vector3f;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class ClothSolverTest {
+
+    // Large enough that every loop of the cloth is split across threads.
+    private static final int PARTICLE_SIZE = 128;
+
+    private static final int STEPS = 8;
+
+    @Test
+    public void testPositionsMatchForAnyThreadCount() throws InterruptedException {
+        float[] expected = simulate(new ClothSolver());
+
+        for (int workerCount : new int[] { 1, 3, 7 }) {
+            ClothSolver solver = new ClothSolver(workerCount);
+            try {
+                assertArrayEquals(expected, simulate(solver), 0F);
+            } finally {
+                solver.destroy();
+            }
+        }
+
+        // Every worker of a shared pool is busy, so the ranges are run by the calling thread.
+        ExecutorService workers = WorkerUtils.newDaemonThreadPool(2, "busy-worker");
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 2; i++) {
+                workers.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            assertArrayEquals(expected, simulate(new ClothSolver(workers, 4)), 0F);
+        } finally {
+            release.countDown();
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testEveryIterationRunsOnce() {
+        ClothSolver solver = new ClothSolver(3);
+        try {
+            AtomicIntegerArray runs = new AtomicIntegerArray(10000);
+            solver.forRange(0, runs.length(), (start, end) -> {
+                for (int i = start; i < end; i++) {
+                    runs.incrementAndGet(i);
+                }
+            });
+            for (int i = 0; i < runs.length(); i++) {
+                assertEquals(1, runs.get(i));
+            }
+        } finally {
+            solver.destroy();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFailuresOfWorkersAreThrown() {
+        ClothSolver solver = new ClothSolver(3);
+        try {
+            solver.forRange(0, 10000, (start, end) -> {
+                if (start > 0) {
+                    throw new IllegalStateException();
+                }
+            });
+        } finally {
+            solver.destroy();
+        }
+    }
+
+    private static float[] simulate(ClothSolver solver) {
+        Cloth cloth = new Cloth(new ClothPhysicsParameters(0.001F, 0.25F, 15), solver, 70, 50, PARTICLE_SIZE,
+                PARTICLE_SIZE);
+        for (int y = 0; y < PARTICLE_SIZE; y++) {
+            cloth.setMovable(cloth.getParticleIndex(0, y), false);
+        }
+
+        for (int step = 0; step < STEPS; step++) {
+            cloth.addForce(new Vector3f(0F, -0.2F, 0F));
+            cloth.addWindForce(new Vector3f(0.5F, 0F, 0.2F));
+            cloth.update();
+            cloth.collideWithSphere(new Vector3f(35F, -25F, 5F), 10F);
+        }
+        return cloth.getPositions().clone();
+    }
+}
@@ -1,5 +1,9 @@
 package com.branwilliams.bundi.engine.ecs;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Basic implementation of {@link ISystem}.
  * Created by Brandon Williams on 6/24/2018.
@@ -10,10 +14,50 @@ public abstract class AbstractSystem implements ISystem {
 
     private final IComponentMatcher matcher;
 
+    private Set<Class<?>> readComponents;
+
+    private Set<Class<?>> writeComponents;
+
     public AbstractSystem(IComponentMatcher matcher) {
         this.matcher = matcher;
     }
 
+    /**
+     * Declares the component classes this system reads.
+     * */
+    protected void reads(Class<?>... components) {
+        if (readComponents == null) {
+            readComponents = new HashSet<>();
+        }
+        readComponents.addAll(Arrays.asList(components));
+        if (writeComponents == null) {
+            writeComponents = new HashSet<>();
+        }
+    }
+
+    /**
+     * Declares the component classes this system writes.
+     * */
+    protected void writes(Class<?>... components) {
+        if (writeComponents == null) {
+            writeComponents = new HashSet<>();
+        }
+        writeComponents.addAll(Arrays.asList(components));
+        if (readComponents == null) {
+            readComponents = new HashSet<>();
+        }
+    }
+
+    @Override
+    public Set<Class<?>> getReadComponents() {
+        return readComponents;
+    }
+
+    @Override
+    public Set<Class<?>> getWriteComponents() {
+        return writeComponents;
+    }
+
     @Override
     public IComponentMatcher getMatcher() {
         return matcher;
@@ -0,0 +1,220 @@
+package com.branwilliams.bundi.engine.ecs;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An archetype is the group of every entity which has the exact same set of component classes. The components of these
+ * entities are stored together in one contiguous array per component class (a column), so systems can iterate them
+ * densely instead of looking up each component from each entity. <br/>
+ * Row i of every column belongs to the entity at {@link Archetype#getEntity(int)}.
+ * <br/> <br/>
+ * Archetypes are only created by an {@link EntitySystemManager} which uses archetype storage.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public final class Archetype {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Set<Class<?>> types;
+
+    private final Class<?>[] columnTypes;
+
+    // Resolves the requested class to the column which holds a component assignable to it. Misses are cached as -1.
+    // Systems may look up columns concurrently when run by a scheduler.
+    private final Map<Class<?>, Integer> columnLookup = new ConcurrentHashMap<>();
+
+    // Cached transitions to the archetype which has one more (or one less) component class than this one.
+    private final Map<Class<?>, Archetype> addEdges = new HashMap<>();
+
+    private final Map<Class<?>, Archetype> removeEdges = new HashMap<>();
+
+    private Object[][] columns;
+
+    private ArchetypeEntity[] entities;
+
+    private int size;
+
+    Archetype(Set<Class<?>> types) {
+        this.types = Collections.unmodifiableSet(new HashSet<>(types));
+        this.columnTypes = types.toArray(new Class<?>[0]);
+        this.columns = new Object[columnTypes.length][INITIAL_CAPACITY];
+        this.entities = new ArchetypeEntity[INITIAL_CAPACITY];
+    }
+
+    /**
+     * @return The index of the column whose component class is assignable to the provided class. -1 if this archetype
+     * has no such column.
+     * */
+    public int getColumnIndex(Class<?> clazz) {
+        Integer index = columnLookup.get(clazz);
+        if (index == null) {
+            index = -1;
+            for (int i = 0; i < columnTypes.length; i++) {
+                if (clazz.isAssignableFrom(columnTypes[i])) {
+                    index = i;
+                    break;
+                }
+            }
+            columnLookup.put(clazz, index);
+        }
+        return index;
+    }
+
+    /**
+     * @return True if this archetype has a column assignable to the provided class.
+     * */
+    public boolean hasColumn(Class<?> clazz) {
+        return getColumnIndex(clazz) >= 0;
+    }
+
+    /**
+     * @return The dense array of components assignable to the provided class. Only the first {@link Archetype#size()}
+     * elements are valid. Null if this archetype has no such column. <br/>
+     * The returned array is replaced when this archetype grows, so it should not be held across entity changes.
+     * */
+    public Object[] getColumn(Class<?> clazz) {
+        int index = getColumnIndex(clazz);
+        return index < 0 ? null : columns[index];
+    }
+
+    /**
+     * @return The dense array of components for the column at the provided index.
+     * */
+    public Object[] getColumn(int index) {
+        return columns[index];
+    }
+
+    /**
+     * @return The component within the provided column at the provided row.
+     * */
+    @SuppressWarnings("unchecked")
+    public <T> T get(int column, int row) {
+        return (T) columns[column][row];
+    }
+
+    /**
+     * @return The entity at the provided row.
+     * */
+    public IEntity getEntity(int row) {
+        return entities[row];
+    }
+
+    /**
+     * @return The number of entities within this archetype.
+     * */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The component classes of this archetype.
+     * */
+    public Set<Class<?>> getTypes() {
+        return types;
+    }
+
+    /**
+     * @return A copy of the components at the provided row, keyed by their class.
+     * */
+    Map<Class<?>, Object> getComponents(int row) {
+        Map<Class<?>, Object> components = new HashMap<>();
+        for (int i = 0; i < columnTypes.length; i++) {
+            components.put(columnTypes[i], columns[i][row]);
+        }
+        return components;
+    }
+
+    /**
+     * Replaces the component at the provided row whose class is exactly the class of the component provided.
+     * @return True if this archetype has a column for that class.
+     * */
+    boolean set(int row, Object component) {
+        for (int i = 0; i < columnTypes.length; i++) {
+            if (columnTypes[i] == component.getClass()) {
+                columns[i][row] = component;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Appends the entity with the provided components to this archetype.
+     * @return The row of the entity.
+     * */
+    int add(ArchetypeEntity entity, Map<Class<?>, Object> components) {
+        if (size == entities.length) {
+            grow();
+        }
+        for (int i = 0; i < columnTypes.length; i++) {
+            columns[i][size] = components.get(columnTypes[i]);
+        }
+        entities[size] = entity;
+        return size++;
+    }
+
+    /**
+     * Removes the entity at the provided row by moving the last entity into its place. The row of the moved entity is
+     * updated.
+     * */
+    void remove(int row) {
+        int last = --size;
+        if (row != last) {
+            for (Object[] column : columns) {
+                column[row] = column[last];
+            }
+            entities[row] = entities[last];
+            entities[row].setRow(row);
+        }
+        for (Object[] column : columns) {
+            column[last] = null;
+        }
+        entities[last] = null;
+    }
+
+    /**
+     * Removes every entity from this archetype.
+     * */
+    void clear() {
+        for (Object[] column : columns) {
+            Arrays.fill(column, 0, size, null);
+        }
+        Arrays.fill(entities, 0, size, null);
+        size = 0;
+    }
+
+    private void grow() {
+        int capacity = entities.length * 2;
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = Arrays.copyOf(columns[i], capacity);
+        }
+        entities = Arrays.copyOf(entities, capacity);
+    }
+
+    Archetype getAddEdge(Class<?> type) {
+        return addEdges.get(type);
+    }
+
+    void setAddEdge(Class<?> type, Archetype archetype) {
+        addEdges.put(type, archetype);
+    }
+
+    Archetype getRemoveEdge(Class<?> type) {
+        return removeEdges.get(type);
+    }
+
+    void setRemoveEdge(Class<?> type, Archetype archetype) {
+        removeEdges.put(type, archetype);
+    }
+
+    @Override
+    public String toString() {
+        return "Archetype{" +
+                "types=" + types +
+                ", size=" + size +
+                '}';
+    }
+}
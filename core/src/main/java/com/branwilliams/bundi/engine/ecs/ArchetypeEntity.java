@@ -0,0 +1,184 @@
+package com.branwilliams.bundi.engine.ecs;
+
+import com.branwilliams.bundi.engine.core.Destructible;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of {@link IEntity} whose components are stored within the columns of an {@link Archetype}. While this
+ * entity does not belong to an {@link EntitySystemManager} (before it is added or after it is removed), the components
+ * are kept within a map instead. <br/>
+ * This can only be created by an {@link EntitySystemManager} which uses archetype storage via the
+ * {@link EntityBuilder}.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public final class ArchetypeEntity implements IEntity {
+
+    private final EntitySystemManager manager;
+
+    // Assigned when this entity is built by its manager, or once it is added if it was built concurrently.
+    private int id = -1;
+
+    private String name;
+
+    private Archetype archetype;
+
+    private int row;
+
+    // Holds the components while this entity does not belong to an archetype.
+    private Map<Class<?>, Object> detached;
+
+    ArchetypeEntity(EntitySystemManager manager, String name, Map<Class<?>, Object> components) {
+        this.manager = manager;
+        this.name = name;
+        this.detached = new HashMap<>(components);
+    }
+
+    /**
+     * Prepares this entity to be built again after it has been removed from its manager.
+     * */
+    void reset(String name, Map<Class<?>, Object> components) {
+        this.id = -1;
+        this.name = name;
+        this.detached = new HashMap<>(components);
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+
+    EntitySystemManager getManager() {
+        return manager;
+    }
+
+    @Override
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * @return An unmodifiable copy of the components of this entity. Use {@link ArchetypeEntity#addComponent(Object)}
+     * and {@link ArchetypeEntity#removeComponent(Object)} to modify them.
+     * */
+    @Override
+    public Map<Class<?>, Object> getComponents() {
+        if (archetype == null) {
+            return Collections.unmodifiableMap(detached);
+        }
+        return Collections.unmodifiableMap(archetype.getComponents(row));
+    }
+
+    @Override
+    public <T> T getComponent(Class<? extends T> clazz) {
+        if (archetype == null) {
+            return BasicEntity.findComponent(detached, clazz);
+        }
+        int column = archetype.getColumnIndex(clazz);
+        return column < 0 ? null : archetype.get(column, row);
+    }
+
+    @Override
+    public boolean hasComponent(Class<?> clazz) {
+        if (archetype == null) {
+            return BasicEntity.findComponent(detached, clazz) != null;
+        }
+        return archetype.hasColumn(clazz);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void addComponent(Object component) {
+        if (manager.queueComponentChange(() -> addComponent(component))) {
+            return;
+        }
+        if (archetype == null) {
+            detached.put(component.getClass(), component);
+        } else if (!archetype.set(row, component)) {
+            manager.moveEntity(this, component.getClass(), component);
+            manager.updateEntity(this);
+        }
+    }
+
+    @Override
+    public boolean removeComponent(Object component) {
+        if (manager.queueComponentChange(() -> removeComponent(component))) {
+            return getComponentTypes().contains(component.getClass());
+        }
+        if (archetype == null) {
+            return detached.remove(component.getClass()) != null;
+        }
+        if (!archetype.getTypes().contains(component.getClass())) {
+            return false;
+        }
+        manager.moveEntity(this, component.getClass(), null);
+        manager.updateEntity(this);
+        return true;
+    }
+
+    /**
+     * @return The classes of the components of this entity.
+     * */
+    Set<Class<?>> getComponentTypes() {
+        return archetype == null ? detached.keySet() : archetype.getTypes();
+    }
+
+    Archetype getArchetype() {
+        return archetype;
+    }
+
+    int getRow() {
+        return row;
+    }
+
+    void setRow(int row) {
+        this.row = row;
+    }
+
+    /**
+     * Moves this entity into the provided archetype. The components of this entity are detached when the archetype is
+     * null.
+     * */
+    void setArchetype(Archetype archetype, Map<Class<?>, Object> components) {
+        this.archetype = archetype;
+        if (archetype == null) {
+            this.detached = components;
+        } else {
+            this.detached = null;
+            this.row = archetype.add(this, components);
+        }
+    }
+
+    /**
+     * @return The components of this entity, keyed by their class.
+     * */
+    Map<Class<?>, Object> copyComponents() {
+        return archetype == null ? new HashMap<>(detached) : archetype.getComponents(row);
+    }
+
+    @Override
+    public String toString() {
+        return "ArchetypeEntity{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", components=" + copyComponents().values() +
+                '}';
+    }
+
+    @Override
+    public void destroy() {
+        for (Object component : copyComponents().values()) {
+            if (component instanceof Destructible) {
+                ((Destructible) component).destroy();
+            }
+        }
+    }
+}
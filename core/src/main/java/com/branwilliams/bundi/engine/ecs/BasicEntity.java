@@ -14,18 +14,36 @@ public final class BasicEntity implements IEntity {
 
     private final EntitySystemManager manager;
 
-    private final int id;
+    // Assigned when this entity is built by its manager, or once it is added if it was built concurrently.
+    private int id = -1;
 
-    private final String name;
+    private String name;
 
     private final Map<Class<?>, Object> components = new HashMap<>();
 
-    BasicEntity(EntitySystemManager manager, int id, String name) {
+    BasicEntity(EntitySystemManager manager, String name) {
         this.manager = manager;
-        this.id = id;
         this.name = name;
     }
 
+    /**
+     * Prepares this entity to be built again after it has been removed from its manager.
+     * */
+    void reset(String name, Map<Class<?>, Object> components) {
+        this.id = -1;
+        this.name = name;
+        this.components.clear();
+        this.components.putAll(components);
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+
+    EntitySystemManager getManager() {
+        return manager;
+    }
+
     @Override
     public Integer getId() {
         return id;
@@ -38,20 +56,30 @@ public final class BasicEntity implements IEntity {
 
     @Override
     public <T> T getComponent(Class<? extends T> clazz) {
-        for (Class<?> componentType : components.keySet()) {
-            if (clazz.isAssignableFrom(componentType)) {
-                return (T) components.get(componentType);
-            }
-        }
-        return null;
-        //return (T) components.get(clazz);
+        return findComponent(components, clazz);
     }
 
     @Override
     public boolean hasComponent(Class<?> clazz) {
-        return components.keySet().stream()
-                .anyMatch(clazz::isAssignableFrom);
-        //return components.containsKey(clazz);
+        return findComponent(components, clazz) != null;
+    }
+
+    /**
+     * @return The component within the provided map whose class is assignable to the class provided. The exact class is
+     * checked first so that only lookups by a super type must walk every component class.
+     * */
+    @SuppressWarnings("unchecked")
+    static <T> T findComponent(Map<Class<?>, Object> components, Class<? extends T> clazz) {
+        Object component = components.get(clazz);
+        if (component != null) {
+            return (T) component;
+        }
+        for (Map.Entry<Class<?>, Object> entry : components.entrySet()) {
+            if (clazz.isAssignableFrom(entry.getKey())) {
+                return (T) entry.getValue();
+            }
+        }
+        return null;
     }
 
     @Override
@@ -61,12 +89,18 @@ public final class BasicEntity implements IEntity {
 
     @Override
     public void addComponent(Object component) {
+        if (manager.queueComponentChange(() -> addComponent(component))) {
+            return;
+        }
         Object old = getComponents().put(component.getClass(), component);
         manager.updateEntity(this);
     }
 
     @Override
     public boolean removeComponent(Object component) {
+        if (manager.queueComponentChange(() -> removeComponent(component))) {
+            return components.containsKey(component.getClass());
+        }
         boolean removed = getComponents().remove(component.getClass()) != null;
         if (removed) {
             manager.updateEntity(this);
@@ -0,0 +1,303 @@
+package com.branwilliams.bundi.engine.ecs;
+
+import com.branwilliams.bundi.engine.ecs.matchers.ClassComponentMatcher;
+
+import java.util.*;
+
+/**
+ * Keeps the entity groups of an {@link EntitySystemManager} up to date. <br/>
+ * Every component class required by a {@link ClassComponentMatcher} is assigned a bit. Each entity has a signature
+ * with the bit set for every required class one of its components is assignable to, and each class matcher has a mask
+ * of the bits it requires. When an entity changes, only the matchers which require a bit that flipped within its
+ * signature are checked. <br/>
+ * Other matchers cannot be described by a mask, so they are tested against the entity on every change.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+final class ComponentIndex {
+
+    private final Map<IComponentMatcher, MatcherEntry> entries = new HashMap<>();
+
+    // The bit assigned to each component class required by a class matcher.
+    private final Map<Class<?>, Integer> typeBits = new HashMap<>();
+
+    private final List<Class<?>> bitTypes = new ArrayList<>();
+
+    // The class matchers which require each bit.
+    private final List<List<MatcherEntry>> entriesByBit = new ArrayList<>();
+
+    // Matchers which can only be tested against the entity itself.
+    private final List<MatcherEntry> unindexedEntries = new ArrayList<>();
+
+    // The bits satisfied by each concrete component class.
+    private final Map<Class<?>, BitSet> classSignatures = new HashMap<>();
+
+    private final Map<IEntity, BitSet> signatures = new HashMap<>();
+
+    // Holds the new signature of an entity while it is compared with the old one.
+    private final BitSet scratch = new BitSet();
+
+    // Incremented for every update so that each matcher is checked once per update.
+    private int visit = 0;
+
+    private static final class MatcherEntry {
+
+        private final IComponentMatcher matcher;
+
+        // Null for matchers which are not indexed.
+        private final BitSet mask;
+
+        private final EntityGroup group = new EntityGroup();
+
+        private int visit = -1;
+
+        private MatcherEntry(IComponentMatcher matcher, BitSet mask) {
+            this.matcher = matcher;
+            this.mask = mask;
+        }
+    }
+
+    /**
+     * Registers the matcher and groups the provided entities with it.
+     * @return False if the matcher was already registered.
+     * */
+    boolean register(IComponentMatcher matcher, Collection<IEntity> entities) {
+        if (entries.containsKey(matcher)) {
+            return false;
+        }
+
+        MatcherEntry entry;
+        if (matcher instanceof ClassComponentMatcher) {
+            BitSet mask = new BitSet();
+            boolean newBits = false;
+            for (Class<?> type : ((ClassComponentMatcher) matcher).getComponents()) {
+                Integer bit = typeBits.get(type);
+                if (bit == null) {
+                    bit = addBit(type);
+                    newBits = true;
+                }
+                mask.set(bit);
+            }
+
+            // Existing signatures do not contain the new bits yet.
+            if (newBits) {
+                for (Map.Entry<IEntity, BitSet> signature : signatures.entrySet()) {
+                    computeSignature(signature.getKey(), signature.getValue());
+                }
+            }
+
+            entry = new MatcherEntry(matcher, mask);
+            for (int bit = mask.nextSetBit(0); bit >= 0; bit = mask.nextSetBit(bit + 1)) {
+                entriesByBit.get(bit).add(entry);
+            }
+        } else {
+            entry = new MatcherEntry(matcher, null);
+            unindexedEntries.add(entry);
+        }
+        entries.put(matcher, entry);
+
+        for (IEntity entity : entities) {
+            if (matches(entry, entity, signatures.get(entity))) {
+                entry.group.add(entity);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes the matcher and its group.
+     * @return False if the matcher was not registered.
+     * */
+    boolean unregister(IComponentMatcher matcher) {
+        MatcherEntry entry = entries.remove(matcher);
+        if (entry == null) {
+            return false;
+        }
+
+        if (entry.mask == null) {
+            unindexedEntries.remove(entry);
+        } else {
+            for (int bit = entry.mask.nextSetBit(0); bit >= 0; bit = entry.mask.nextSetBit(bit + 1)) {
+                entriesByBit.get(bit).remove(entry);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The group of entities for the provided matcher. Null if the matcher is not registered.
+     * */
+    List<IEntity> getGroup(IComponentMatcher matcher) {
+        MatcherEntry entry = entries.get(matcher);
+        return entry == null ? null : entry.group;
+    }
+
+    /**
+     * Computes the signature of the entity and adds it to every group it matches.
+     * */
+    void add(IEntity entity) {
+        BitSet signature = new BitSet(bitTypes.size());
+        computeSignature(entity, signature);
+        signatures.put(entity, signature);
+
+        visit++;
+        for (int bit = signature.nextSetBit(0); bit >= 0; bit = signature.nextSetBit(bit + 1)) {
+            for (MatcherEntry entry : entriesByBit.get(bit)) {
+                if (entry.visit != visit) {
+                    entry.visit = visit;
+                    if (containsAll(signature, entry.mask)) {
+                        entry.group.add(entity);
+                    }
+                }
+            }
+        }
+
+        for (MatcherEntry entry : unindexedEntries) {
+            if (entry.matcher.matches(entity)) {
+                entry.group.add(entity);
+            }
+        }
+    }
+
+    /**
+     * Removes the entity from every group it belongs to.
+     * */
+    void remove(IEntity entity) {
+        BitSet signature = signatures.remove(entity);
+        if (signature == null) {
+            return;
+        }
+
+        for (int bit = signature.nextSetBit(0); bit >= 0; bit = signature.nextSetBit(bit + 1)) {
+            for (MatcherEntry entry : entriesByBit.get(bit)) {
+                entry.group.remove(entity);
+            }
+        }
+
+        for (MatcherEntry entry : unindexedEntries) {
+            entry.group.remove(entity);
+        }
+    }
+
+    /**
+     * Invoked when the entity has had a component added or removed. Only the groups of matchers which require a bit
+     * that flipped within the entities signature are changed.
+     * */
+    void update(IEntity entity) {
+        BitSet signature = signatures.get(entity);
+        if (signature == null) {
+            return;
+        }
+
+        computeSignature(entity, scratch);
+
+        visit++;
+        for (int bit = signature.nextSetBit(0); bit >= 0; bit = signature.nextSetBit(bit + 1)) {
+            if (!scratch.get(bit)) {
+                updateGroups(entity, bit, signature);
+            }
+        }
+        for (int bit = scratch.nextSetBit(0); bit >= 0; bit = scratch.nextSetBit(bit + 1)) {
+            if (!signature.get(bit)) {
+                updateGroups(entity, bit, signature);
+            }
+        }
+
+        signature.clear();
+        signature.or(scratch);
+
+        for (MatcherEntry entry : unindexedEntries) {
+            if (entry.matcher.matches(entity)) {
+                entry.group.add(entity);
+            } else {
+                entry.group.remove(entity);
+            }
+        }
+    }
+
+    /**
+     * Removes every entity from every group.
+     * */
+    void clear() {
+        signatures.clear();
+        for (MatcherEntry entry : entries.values()) {
+            entry.group.clear();
+        }
+    }
+
+    private void updateGroups(IEntity entity, int bit, BitSet oldSignature) {
+        for (MatcherEntry entry : entriesByBit.get(bit)) {
+            if (entry.visit == visit) {
+                continue;
+            }
+            entry.visit = visit;
+
+            boolean matched = containsAll(oldSignature, entry.mask);
+            boolean matches = containsAll(scratch, entry.mask);
+            if (matches && !matched) {
+                entry.group.add(entity);
+            } else if (matched && !matches) {
+                entry.group.remove(entity);
+            }
+        }
+    }
+
+    private boolean matches(MatcherEntry entry, IEntity entity, BitSet signature) {
+        return entry.mask == null ? entry.matcher.matches(entity) : containsAll(signature, entry.mask);
+    }
+
+    private int addBit(Class<?> type) {
+        int bit = bitTypes.size();
+        bitTypes.add(type);
+        typeBits.put(type, bit);
+        entriesByBit.add(new ArrayList<>());
+
+        for (Map.Entry<Class<?>, BitSet> classSignature : classSignatures.entrySet()) {
+            if (type.isAssignableFrom(classSignature.getKey())) {
+                classSignature.getValue().set(bit);
+            }
+        }
+        return bit;
+    }
+
+    private void computeSignature(IEntity entity, BitSet signature) {
+        signature.clear();
+        for (Class<?> type : componentTypes(entity)) {
+            signature.or(getClassSignature(type));
+        }
+    }
+
+    private BitSet getClassSignature(Class<?> type) {
+        BitSet signature = classSignatures.get(type);
+        if (signature == null) {
+            signature = new BitSet(bitTypes.size());
+            for (int bit = 0; bit < bitTypes.size(); bit++) {
+                if (bitTypes.get(bit).isAssignableFrom(type)) {
+                    signature.set(bit);
+                }
+            }
+            classSignatures.put(type, signature);
+        }
+        return signature;
+    }
+
+    private static Collection<Class<?>> componentTypes(IEntity entity) {
+        if (entity instanceof ArchetypeEntity) {
+            return ((ArchetypeEntity) entity).getComponentTypes();
+        }
+        return entity.getComponents().keySet();
+    }
+
+    private static boolean containsAll(BitSet signature, BitSet mask) {
+        if (signature == null) {
+            return false;
+        }
+        for (int bit = mask.nextSetBit(0); bit >= 0; bit = mask.nextSetBit(bit + 1)) {
+            if (!signature.get(bit)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
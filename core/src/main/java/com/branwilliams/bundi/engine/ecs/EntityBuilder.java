@@ -11,8 +11,6 @@ public class EntityBuilder {
 
     private EntitySystemManager entitySystemManager;
 
-    private Integer id;
-
     private String name;
 
     private Map<Class<?>, Object> components = new HashMap<>();
@@ -20,9 +18,8 @@ public class EntityBuilder {
     // This is used to indicate whether or not this builder has already built.
     private boolean finished = false;
 
-    EntityBuilder(EntitySystemManager entitySystemManager, Integer id) {
+    EntityBuilder(EntitySystemManager entitySystemManager) {
         this.entitySystemManager = entitySystemManager;
-        this.id = id;
     }
 
     /**
@@ -56,8 +53,7 @@ public class EntityBuilder {
             return null;
         }
 
-        IEntity entity = new BasicEntity(entitySystemManager, id, name);
-        entity.getComponents().putAll(components);
+        IEntity entity = entitySystemManager.createEntity(name, components);
 
         entitySystemManager.addEntity(entity);
         finished = true;
@@ -0,0 +1,82 @@
+package com.branwilliams.bundi.engine.ecs;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * The group of entities which meet the requirements of some {@link IComponentMatcher}. Entities are added and removed
+ * in constant time. Removal moves the last entity into the removed entities place, so the order of this group is not
+ * the order in which entities were added.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+final class EntityGroup extends AbstractList<IEntity> implements RandomAccess {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<IEntity, Integer> indices = new HashMap<>();
+
+    private IEntity[] entities = new IEntity[INITIAL_CAPACITY];
+
+    private int size;
+
+    @Override
+    public IEntity get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return entities[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indices.containsKey(o);
+    }
+
+    @Override
+    public boolean add(IEntity entity) {
+        if (indices.containsKey(entity)) {
+            return false;
+        }
+        if (size == entities.length) {
+            entities = Arrays.copyOf(entities, size * 2);
+        }
+        indices.put(entity, size);
+        entities[size++] = entity;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        Integer index = indices.remove(o);
+        if (index == null) {
+            return false;
+        }
+        int last = --size;
+        if (index != last) {
+            entities[index] = entities[last];
+            indices.put(entities[index], index);
+        }
+        entities[last] = null;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(entities, 0, size, null);
+        indices.clear();
+        size = 0;
+        modCount++;
+    }
+}
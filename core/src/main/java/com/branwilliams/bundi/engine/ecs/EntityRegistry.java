@@ -0,0 +1,315 @@
+package com.branwilliams.bundi.engine.ecs;
+
+import java.util.*;
+
+/**
+ * Holds the entities of an {@link EntitySystemManager} within a slot map. <br/>
+ * Each entity is given a handle made of the index of its slot and the generation of that slot. Removing an entity
+ * increments the generation of its slot, so handles to removed entities never resolve to the entity which reuses the
+ * slot. Freed slots are reused in the order they were freed to delay the wrap around of their generation. <br/>
+ * The entities are also packed into a dense array, which is what this list iterates. Removal moves the last entity into
+ * the removed entities place, so the order of this list is not the order in which entities were added.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+final class EntityRegistry extends AbstractList<IEntity> implements RandomAccess {
+
+    private static final int INDEX_BITS = 20;
+
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+
+    private static final int GENERATION_MASK = (1 << (Integer.SIZE - 1 - INDEX_BITS)) - 1;
+
+    private static final int MAX_SLOTS = 1 << INDEX_BITS;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // The entity within each slot. Null for free slots.
+    private IEntity[] slots = new IEntity[INITIAL_CAPACITY];
+
+    private int[] generations = new int[INITIAL_CAPACITY];
+
+    // The index within the dense array of the entity within each slot.
+    private int[] denseIndices = new int[INITIAL_CAPACITY];
+
+    private IEntity[] dense = new IEntity[INITIAL_CAPACITY];
+
+    private int[] denseSlots = new int[INITIAL_CAPACITY];
+
+    private int size;
+
+    // The number of slots which have ever been used.
+    private int slotCount;
+
+    // A queue of the free slots.
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+
+    private int freeHead;
+
+    private int freeCount;
+
+    // Handles of entities which are not built by an entity system manager, since their ids cannot be assigned.
+    private final Map<IEntity, Integer> foreignHandles = new IdentityHashMap<>();
+
+    // Handles reserved for entities which have been built but not added yet.
+    private final Map<IEntity, Integer> reservedHandles = new IdentityHashMap<>();
+
+    // Maps the name of an entity to the handles of every entity with that name. Null when names are not indexed.
+    private Map<String, NameHandles> nameIndex;
+
+    /**
+     * Reserves a slot for an entity built by an {@link EntitySystemManager} and assigns the handle of that slot to its
+     * id, so that the id is known before the entity is added. The handle does not resolve to the entity until it has
+     * been added.
+     * */
+    void reserve(IEntity entity) {
+        if (reservedHandles.containsKey(entity) || contains(entity)) {
+            return;
+        }
+        int slot = allocateSlot();
+        int handle = (generations[slot] << INDEX_BITS) | slot;
+        reservedHandles.put(entity, handle);
+        setId(entity, handle);
+    }
+
+    /**
+     * Adds the entity to the slot reserved for it, or to a free slot. Entities built by an {@link EntitySystemManager}
+     * have their id assigned to their new handle.
+     * @return False if the entity has already been added.
+     * */
+    @Override
+    public boolean add(IEntity entity) {
+        if (contains(entity)) {
+            return false;
+        }
+
+        Integer reserved = reservedHandles.remove(entity);
+        int slot = reserved == null ? allocateSlot() : reserved & INDEX_MASK;
+        int handle = (generations[slot] << INDEX_BITS) | slot;
+
+        slots[slot] = entity;
+        denseIndices[slot] = size;
+        dense[size] = entity;
+        denseSlots[size] = slot;
+        size++;
+
+        if (!setId(entity, handle)) {
+            foreignHandles.put(entity, handle);
+        }
+
+        if (nameIndex != null) {
+            addName(entity.getName(), handle);
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof IEntity)) {
+            return false;
+        }
+        IEntity entity = (IEntity) o;
+        int handle = getHandle(entity);
+        if (getByHandle(handle) != entity) {
+            return false;
+        }
+
+        int slot = handle & INDEX_MASK;
+        int denseIndex = denseIndices[slot];
+        int last = --size;
+        if (denseIndex != last) {
+            dense[denseIndex] = dense[last];
+            denseSlots[denseIndex] = denseSlots[last];
+            denseIndices[denseSlots[denseIndex]] = denseIndex;
+        }
+        dense[last] = null;
+
+        slots[slot] = null;
+        generations[slot] = (generations[slot] + 1) & GENERATION_MASK;
+        freeSlot(slot);
+        foreignHandles.remove(entity);
+
+        if (nameIndex != null) {
+            removeName(entity.getName());
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof IEntity)) {
+            return false;
+        }
+        int handle = getHandle((IEntity) o);
+        return getByHandle(handle) == o;
+    }
+
+    @Override
+    public IEntity get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return dense[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every entity and invalidates their handles.
+     * */
+    @Override
+    public void clear() {
+        while (size > 0) {
+            remove(dense[size - 1]);
+        }
+    }
+
+    /**
+     * @return The entity with the provided handle. Null if the entity has been removed.
+     * */
+    IEntity getByHandle(int handle) {
+        if (handle < 0) {
+            return null;
+        }
+        int slot = handle & INDEX_MASK;
+        if (slot >= slotCount || generations[slot] != (handle >>> INDEX_BITS)) {
+            return null;
+        }
+        return slots[slot];
+    }
+
+    /**
+     * @return The first entity added with the provided name. Null if no entity has this name.
+     * */
+    IEntity getByName(String name) {
+        if (nameIndex != null) {
+            NameHandles handles = nameIndex.get(name);
+            return handles == null ? null : getByHandle(handles.handles.peekFirst());
+        }
+        for (int i = 0; i < size; i++) {
+            if (dense[i].getName().equals(name)) {
+                return dense[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Enables or disables the index of entity names.
+     * */
+    void setNameIndexed(boolean nameIndexed) {
+        if (!nameIndexed) {
+            nameIndex = null;
+        } else if (nameIndex == null) {
+            nameIndex = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                addName(dense[i].getName(), getHandle(dense[i]));
+            }
+        }
+    }
+
+    boolean isNameIndexed() {
+        return nameIndex != null;
+    }
+
+    /**
+     * @return False if the entity was not built by an entity system manager, so its id cannot be assigned.
+     * */
+    private static boolean setId(IEntity entity, int handle) {
+        if (entity instanceof BasicEntity) {
+            ((BasicEntity) entity).setId(handle);
+            return true;
+        } else if (entity instanceof ArchetypeEntity) {
+            ((ArchetypeEntity) entity).setId(handle);
+            return true;
+        }
+        return false;
+    }
+
+    private int getHandle(IEntity entity) {
+        if (entity instanceof BasicEntity || entity instanceof ArchetypeEntity) {
+            return entity.getId();
+        }
+        Integer handle = foreignHandles.get(entity);
+        return handle == null ? -1 : handle;
+    }
+
+    private void addName(String name, int handle) {
+        NameHandles handles = nameIndex.computeIfAbsent(name, k -> new NameHandles());
+        handles.handles.addLast(handle);
+        handles.live++;
+    }
+
+    /**
+     * Removes the name of the entity with the provided handle from the index. The next entity added with the same name
+     * takes its place if one exists. Handles of removed entities are only dropped from the front of the queue, so the
+     * queue is compacted once most of its handles are stale.
+     * */
+    private void removeName(String name) {
+        NameHandles handles = nameIndex.get(name);
+        if (handles == null) {
+            return;
+        }
+        handles.live--;
+        while (!handles.handles.isEmpty() && getByHandle(handles.handles.peekFirst()) == null) {
+            handles.handles.pollFirst();
+        }
+        if (handles.live <= 0 || handles.handles.isEmpty()) {
+            nameIndex.remove(name);
+        } else if (handles.handles.size() > handles.live * 2) {
+            handles.handles.removeIf(h -> getByHandle(h) == null);
+        }
+    }
+
+    /**
+     * The handles of the entities with one name in the order they were added.
+     * */
+    private static final class NameHandles {
+
+        private final ArrayDeque<Integer> handles = new ArrayDeque<>();
+
+        // The number of handles which still resolve to an entity.
+        private int live;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            int slot = freeSlots[freeHead];
+            freeHead = (freeHead + 1) % freeSlots.length;
+            freeCount--;
+            return slot;
+        }
+
+        if (slotCount == MAX_SLOTS) {
+            throw new IllegalStateException("Unable to add more than " + MAX_SLOTS + " entities!");
+        }
+        if (slotCount == slots.length) {
+            int capacity = Math.min(slots.length * 2, MAX_SLOTS);
+            slots = Arrays.copyOf(slots, capacity);
+            generations = Arrays.copyOf(generations, capacity);
+            denseIndices = Arrays.copyOf(denseIndices, capacity);
+            dense = Arrays.copyOf(dense, capacity);
+            denseSlots = Arrays.copyOf(denseSlots, capacity);
+        }
+        return slotCount++;
+    }
+
+    private void freeSlot(int slot) {
+        if (freeCount == freeSlots.length) {
+            int[] grown = new int[freeSlots.length * 2];
+            for (int i = 0; i < freeCount; i++) {
+                grown[i] = freeSlots[(freeHead + i) % freeSlots.length];
+            }
+            freeSlots = grown;
+            freeHead = 0;
+        }
+        freeSlots[(freeHead + freeCount) % freeSlots.length] = slot;
+        freeCount++;
+    }
+}
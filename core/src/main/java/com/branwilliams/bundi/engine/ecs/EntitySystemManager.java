@@ -6,33 +6,62 @@ import com.branwilliams.bundi.engine.core.window.Window;
 import com.branwilliams.bundi.engine.ecs.matchers.ClassComponentMatcher;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
- * Manages entities and systems.
+ * Manages entities and systems. <br/>
+ * When created with archetype storage, entities which share the same set of component classes have their components
+ * stored together within an {@link Archetype}. Systems can then iterate those components as dense columns via
+ * {@link EntitySystemManager#getArchetypes(IComponentMatcher)} instead of fetching each component from each entity.
  * Created by Brandon Williams on 6/24/2018.
  */
 public class EntitySystemManager implements Destructible {
 
     private final List<ISystem> systems = new ArrayList<>();
 
-    private final List<IEntity> entities = new ArrayList<>();
-
-    // Each systems matcher is put into this list. It contains every matcher which needs it's own list of entities.
-    private final List<IComponentMatcher> matchers = new ArrayList<>();
+    // Every entity within this manager, which assigns each entity a generational handle as its id.
+    private final EntityRegistry entities = new EntityRegistry();
 
     // Each system has a matcher that will determine whether or not an entity should belong to it. The entities are
-    // sorted into separate lists based on these matchers.
-    private final Map<IComponentMatcher, List<IEntity>> entitiesGrouped = new HashMap<>();
+    // sorted into separate groups based on these matchers.
+    private final ComponentIndex componentIndex = new ComponentIndex();
+
+    // The most entities kept for reuse by the entity builder.
+    private static final int MAX_POOLED_ENTITIES = 1024;
 
-    // Incremented every time an entity is created.
-    private int entityIdCounter = 0;
+    // Removed entities which are reused by the entity builder. Null when entities are not pooled.
+    private Deque<IEntity> entityPool;
 
     // Keep track of the system whose update function is running. Queue whichever tasks needed.
     private ISystem runningSystem = null;
     private final List<Runnable> queuedTasks = new ArrayList<>();
+
+    // When assigned, systems which do not conflict are updated concurrently.
+    private SystemScheduler scheduler;
+
+    // True while the systems of a stage are running concurrently.
+    private volatile boolean runningStage = false;
+
+    // The number of forEach invocations currently handling their entities.
+    private final AtomicInteger runningForEach = new AtomicInteger();
+
+    // The number of forEach invocations currently spread across the scheduler.
+    private final AtomicInteger concurrentForEach = new AtomicInteger();
     
     private List<EntityListener> entityListeners = new ArrayList<>();
 
+    // True when entities store their components within archetypes.
+    private final boolean archetypeStorage;
+
+    // Every archetype, keyed by its set of component classes.
+    private final Map<Set<Class<?>>, Archetype> archetypes = new HashMap<>();
+
+    // The archetypes which each class component matcher has been queried for. Systems within a stage may query this
+    // concurrently, while archetypes are only created once those systems are done.
+    private final Map<ClassComponentMatcher, List<Archetype>> archetypesMatched = new ConcurrentHashMap<>();
+
     /**
      * Listens for the creation and destruction of entities within an {@link EntitySystemManager}.
      * */
@@ -49,6 +78,15 @@ public class EntitySystemManager implements Destructible {
     }
 
     public EntitySystemManager() {
+        this(false);
+    }
+
+    /**
+     * @param archetypeStorage When true, the components of entities built by this manager are stored within
+     *                         {@link Archetype}s.
+     * */
+    public EntitySystemManager(boolean archetypeStorage) {
+        this.archetypeStorage = archetypeStorage;
     }
 
     /**
@@ -64,56 +102,200 @@ public class EntitySystemManager implements Destructible {
      * Updates each system.
      * */
     public void update(Engine engine, double interval) {
-        for (int i = 0; i < systems.size(); i++) {
-            runningSystem = systems.get(i);
-            runningSystem.update(engine, this, interval);
-            runningSystem = null;
-
-            if (!queuedTasks.isEmpty()) {
-                queuedTasks.forEach(Runnable::run);
-                queuedTasks.clear();
-            }
-        }
+        runSystems((system) -> system.update(engine, this, interval));
     }
 
     /**
      * Updates each system.
      * */
     public void fixedUpdate(Engine engine, double interval) {
-        for (int i = 0; i < systems.size(); i++) {
-            runningSystem = systems.get(i);
-            runningSystem.fixedUpdate(engine, this, interval);
-            runningSystem = null;
-
-            if (!queuedTasks.isEmpty()) {
-                queuedTasks.forEach(Runnable::run);
-                queuedTasks.clear();
+        runSystems((system) -> system.fixedUpdate(engine, this, interval));
+    }
+
+    /**
+     * Performs the update action for each system. Without a scheduler, the systems are updated in order and the queued
+     * tasks are run after each system. With a scheduler, the queued tasks are run after each stage.
+     * */
+    private void runSystems(Consumer<ISystem> action) {
+        if (scheduler == null) {
+            for (int i = 0; i < systems.size(); i++) {
+                runningSystem = systems.get(i);
+                action.accept(runningSystem);
+                runningSystem = null;
+
+                runQueuedTasks();
             }
+            return;
         }
+
+        for (List<ISystem> stage : scheduler.getStages(systems)) {
+            if (stage.size() == 1) {
+                runningSystem = stage.get(0);
+                action.accept(runningSystem);
+                runningSystem = null;
+            } else {
+                runningStage = true;
+                try {
+                    scheduler.runStage(stage, action);
+                } finally {
+                    runningStage = false;
+                }
+            }
+
+            runQueuedTasks();
+        }
+    }
+
+    private void runQueuedTasks() {
+        if (queuedTasks.isEmpty()) {
+            return;
+        }
+        List<Runnable> tasks;
+        synchronized (queuedTasks) {
+            tasks = new ArrayList<>(queuedTasks);
+            queuedTasks.clear();
+        }
+        tasks.forEach(Runnable::run);
     }
 
     /**
      * Used by the update function to queue any tasks which could cause any issues.
      * */
     protected boolean queueTask(Runnable task) {
-        if (runningSystem != null) {
-            return queuedTasks.add(task);
+        if (isQueueingTasks()) {
+            synchronized (queuedTasks) {
+                return queuedTasks.add(task);
+            }
         }
         return false;
     }
 
+    /**
+     * @return True while a system is updating or entities are being handled.
+     * */
+    private boolean isQueueingTasks() {
+        return runningSystem != null || isHandlingEntities();
+    }
+
+    /**
+     * @return True while systems are being handled concurrently or the entities of a forEach are being handled, during
+     * which the groups and archetypes cannot be modified.
+     * */
+    private boolean isHandlingEntities() {
+        return runningStage || runningForEach.get() > 0;
+    }
+
+    /**
+     * @return True while systems or the entities of a forEach are being handled concurrently.
+     * */
+    private boolean isRunningConcurrently() {
+        return runningStage || concurrentForEach.get() > 0;
+    }
+
+    /**
+     * Queues a change to the components of an entity while systems or entities are being handled, since the groups
+     * and archetypes cannot be modified from multiple threads or while they are iterated.
+     * @return True if the change was queued, false if it should be applied immediately.
+     * */
+    boolean queueComponentChange(Runnable change) {
+        return isHandlingEntities() && queueTask(change);
+    }
+
+    /**
+     * Performs the action for each entity which meets the requirements of the provided matcher. When a scheduler is
+     * assigned, the entities are split into chunks which are handled concurrently, so the action must be safe to
+     * invoke from multiple threads. Otherwise the entities are handled in order. In both cases any entities added or
+     * removed and any components changed by the action are queued until every entity has been handled, or until the
+     * running system is done updating.
+     * */
+    public void forEach(IComponentMatcher matcher, Consumer<IEntity> action) {
+        List<IEntity> entities = getEntities(matcher);
+
+        runningForEach.incrementAndGet();
+        try {
+            if (scheduler == null) {
+                for (int i = 0; i < entities.size(); i++) {
+                    action.accept(entities.get(i));
+                }
+            } else {
+                concurrentForEach.incrementAndGet();
+                try {
+                    scheduler.forEach(entities, action);
+                } finally {
+                    concurrentForEach.decrementAndGet();
+                }
+            }
+        } finally {
+            runningForEach.decrementAndGet();
+        }
+
+        // Systems run the queued tasks once they are done updating.
+        if (!isQueueingTasks()) {
+            runQueuedTasks();
+        }
+    }
+
+    /**
+     * Assigns the scheduler used to update systems concurrently. Systems are updated in order when null.
+     * */
+    public void setScheduler(SystemScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    public SystemScheduler getScheduler() {
+        return scheduler;
+    }
+
     /**
      * @return A List of entities which meet the requirements for the provided matcher. An empty list if no entities
      * meet the requirements.
      * */
     public List<IEntity> getEntities(IComponentMatcher matcher) {
-        List<IEntity> entities = entitiesGrouped.get(matcher);
+        List<IEntity> entities = componentIndex.getGroup(matcher);
         return entities == null ? Collections.emptyList() : entities;
     }
 
+    /**
+     * @return The first entity added with the provided name. Null if no entity has this name. This is a constant time
+     * lookup when names are indexed.
+     * */
     public IEntity getEntity(String name) {
-        Optional<IEntity> o = entities.stream().filter((e) -> e.getName().equals(name)).findFirst();
-        return o.orElse(null);
+        return entities.getByName(name);
+    }
+
+    /**
+     * @return The entity whose id is the provided handle. Null if that entity has been removed, even if another entity
+     * has since taken its place.
+     * */
+    public IEntity getEntity(int handle) {
+        return entities.getByHandle(handle);
+    }
+
+    /**
+     * Enables or disables the hash index used by {@link EntitySystemManager#getEntity(String)}.
+     * */
+    public void setNameIndexed(boolean nameIndexed) {
+        entities.setNameIndexed(nameIndexed);
+    }
+
+    public boolean isNameIndexed() {
+        return entities.isNameIndexed();
+    }
+
+    /**
+     * Enables or disables the reuse of removed entities by the {@link EntityBuilder}. When enabled, a removed entity
+     * must not be used or added again after its removal, since it may become another entity.
+     * */
+    public void setEntityPooling(boolean entityPooling) {
+        if (!entityPooling) {
+            entityPool = null;
+        } else if (entityPool == null) {
+            entityPool = new ArrayDeque<>();
+        }
+    }
+
+    public boolean isEntityPooling() {
+        return entityPool != null;
     }
 
     /**
@@ -125,14 +307,15 @@ public class EntitySystemManager implements Destructible {
     }
 
     /**
-     * Begin the creation of an entity and automatically assign an id to it.
+     * Begin the creation of an entity. An id is assigned to it once it has been built, see
+     * {@link EntitySystemManager#createEntity(String, Map)}.
      * */
     public EntityBuilder entity() {
-        return new EntityBuilder(this, entityIdCounter++);
+        return new EntityBuilder(this);
     }
 
     /**
-     * Begin the creation of an entity and automatically assign an id to it.
+     * Begin the creation of an entity. An id is assigned to it once it has been built.
      * The only argument is a name for the entity.
      * */
     public EntityBuilder entity(String name) {
@@ -140,6 +323,141 @@ public class EntitySystemManager implements Destructible {
         return builder.name(name);
     }
 
+    /**
+     * Creates the entity for an {@link EntityBuilder}. The entity is not added to this manager, but its id is
+     * reserved so that it is known even while adding the entity is queued. The handle only finds the entity once it
+     * has been added. <br/>
+     * Entities built while systems or entities are handled concurrently are never taken from the pool, and their ids
+     * are only assigned once they are added, since neither the pool nor the entities are safe to access from multiple
+     * threads. Removed entities are only pooled once those changes are applied, so this loses nothing.
+     * */
+    IEntity createEntity(String name, Map<Class<?>, Object> components) {
+        if (isRunningConcurrently()) {
+            return newEntity(name, components, null);
+        }
+        IEntity entity = newEntity(name, components, entityPool == null ? null : entityPool.poll());
+        entities.reserve(entity);
+        return entity;
+    }
+
+    private IEntity newEntity(String name, Map<Class<?>, Object> components, IEntity pooled) {
+        if (archetypeStorage) {
+            if (pooled != null) {
+                ((ArchetypeEntity) pooled).reset(name, components);
+                return pooled;
+            }
+            return new ArchetypeEntity(this, name, components);
+        }
+
+        if (pooled != null) {
+            ((BasicEntity) pooled).reset(name, components);
+            return pooled;
+        }
+        BasicEntity entity = new BasicEntity(this, name);
+        entity.getComponents().putAll(components);
+        return entity;
+    }
+
+    /**
+     * Keeps the removed entity for reuse if entities are pooled and it was built by this manager.
+     * */
+    private void poolEntity(IEntity entity) {
+        if (entityPool == null || entityPool.size() >= MAX_POOLED_ENTITIES) {
+            return;
+        }
+        if (entity instanceof BasicEntity && ((BasicEntity) entity).getManager() == this
+                || entity instanceof ArchetypeEntity && ((ArchetypeEntity) entity).getManager() == this) {
+            entityPool.push(entity);
+        }
+    }
+
+    /**
+     * @return True if the components of entities built by this manager are stored within {@link Archetype}s.
+     * */
+    public boolean isArchetypeStorage() {
+        return archetypeStorage;
+    }
+
+    /**
+     * @return Every archetype whose entities meet the requirements of the provided matcher. An empty list if this
+     * manager does not use archetype storage.
+     * @throws IllegalArgumentException When the matcher is not a {@link ClassComponentMatcher}, since only those can be
+     * matched against an archetype.
+     * */
+    public List<Archetype> getArchetypes(IComponentMatcher matcher) {
+        if (!(matcher instanceof ClassComponentMatcher)) {
+            throw new IllegalArgumentException("Only class component matchers can be matched against archetypes!");
+        }
+        if (!archetypeStorage) {
+            return Collections.emptyList();
+        }
+        return archetypesMatched.computeIfAbsent((ClassComponentMatcher) matcher, (m) -> {
+            List<Archetype> matched = new ArrayList<>();
+            for (Archetype archetype : archetypes.values()) {
+                if (m.matches(archetype)) {
+                    matched.add(archetype);
+                }
+            }
+            return matched;
+        });
+    }
+
+    /**
+     * @return Every archetype within this manager.
+     * */
+    public Collection<Archetype> getArchetypes() {
+        return archetypes.values();
+    }
+
+    /**
+     * @return The archetype for the provided component classes. It is created if it does not exist.
+     * */
+    private Archetype getArchetype(Set<Class<?>> types) {
+        Archetype archetype = archetypes.get(types);
+        if (archetype == null) {
+            archetype = new Archetype(types);
+            archetypes.put(archetype.getTypes(), archetype);
+
+            for (Map.Entry<ClassComponentMatcher, List<Archetype>> entry : archetypesMatched.entrySet()) {
+                if (entry.getKey().matches(archetype)) {
+                    entry.getValue().add(archetype);
+                }
+            }
+        }
+        return archetype;
+    }
+
+    /**
+     * Moves the entity into the archetype which has the component class provided added (or removed when the component
+     * is null).
+     * */
+    void moveEntity(ArchetypeEntity entity, Class<?> type, Object component) {
+        Archetype source = entity.getArchetype();
+        Archetype target = component == null ? source.getRemoveEdge(type) : source.getAddEdge(type);
+
+        if (target == null) {
+            Set<Class<?>> types = new HashSet<>(source.getTypes());
+            if (component == null) {
+                types.remove(type);
+                target = getArchetype(types);
+                source.setRemoveEdge(type, target);
+            } else {
+                types.add(type);
+                target = getArchetype(types);
+                source.setAddEdge(type, target);
+            }
+        }
+
+        Map<Class<?>, Object> components = entity.copyComponents();
+        if (component == null) {
+            components.remove(type);
+        } else {
+            components.put(type, component);
+        }
+        source.remove(entity.getRow());
+        entity.setArchetype(target, components);
+    }
+
     /**
      * Creates a component matcher based on the component classes provided. The matcher is automatically added to this
      * manager.
@@ -147,7 +465,6 @@ public class EntitySystemManager implements Destructible {
     public IComponentMatcher matcher(Class<?>... components) {
         IComponentMatcher componentMatcher = new ClassComponentMatcher(components);
         this.addMatcher(componentMatcher);
-        this.updateGrouping(componentMatcher);
         return componentMatcher;
     }
 
@@ -157,7 +474,7 @@ public class EntitySystemManager implements Destructible {
      * is done updating.
      * */
     public boolean addEntity(IEntity entity) {
-        if (runningSystem != null) {
+        if (isQueueingTasks()) {
             return queueTask(() -> addEntity_(entity));
         } else {
             return addEntity_(entity);
@@ -167,13 +484,14 @@ public class EntitySystemManager implements Destructible {
     private boolean addEntity_(IEntity entity) {
         boolean added = entities.add(entity);
         if (added) {
-            for (IComponentMatcher componentMatcher : matchers) {
-                if (componentMatcher.matches(entity)) {
-                    entitiesGrouped.computeIfAbsent(componentMatcher, (m) -> new ArrayList<>())
-                            .add(entity);
-                }
+            if (entity instanceof ArchetypeEntity) {
+                ArchetypeEntity archetypeEntity = (ArchetypeEntity) entity;
+                Map<Class<?>, Object> components = archetypeEntity.copyComponents();
+                archetypeEntity.setArchetype(getArchetype(components.keySet()), components);
             }
 
+            componentIndex.add(entity);
+
             entityListeners.forEach((l) -> l.onEntityAdd(entity));
             return true;
         } else {
@@ -182,13 +500,12 @@ public class EntitySystemManager implements Destructible {
     }
 
     /**
-     * Removes the entity from this manager. It will be removed from all grouping and if that grouping is empty without
-     * it, the grouping will deleted as well. If this is invoked from within the update function of a system, the event
+     * Removes the entity from this manager. It will be removed from all grouping. If this is invoked from within the update function of a system, the event
      * will be queued until after the system is done updating.
      * */
     public boolean removeEntity(IEntity entity) {
-        if (runningSystem != null) {
-            return queuedTasks.add(() -> removeEntity_(entity));
+        if (isQueueingTasks()) {
+            return queueTask(() -> removeEntity_(entity));
         } else {
             return removeEntity_(entity);
         }
@@ -197,19 +514,16 @@ public class EntitySystemManager implements Destructible {
     private boolean removeEntity_(IEntity entity) {
         boolean removed = entities.remove(entity);
         if (removed) {
-            for (IComponentMatcher componentMatcher : matchers) {
-                List<IEntity> mappedEntities;
-                if (componentMatcher.matches(entity) && (mappedEntities = entitiesGrouped.get(componentMatcher)) != null) {
-                    mappedEntities.remove(entity);
-
-                    // If the list is empty, remove it to ensure that a matcher will be mapped to nothing when no
-                    // entities exist for that system.
-                    if (mappedEntities.isEmpty()) {
-                        entitiesGrouped.remove(componentMatcher);
-                    }
-                }
+            if (entity instanceof ArchetypeEntity) {
+                ArchetypeEntity archetypeEntity = (ArchetypeEntity) entity;
+                Map<Class<?>, Object> components = archetypeEntity.copyComponents();
+                archetypeEntity.getArchetype().remove(archetypeEntity.getRow());
+                archetypeEntity.setArchetype(null, components);
             }
+
+            componentIndex.remove(entity);
             entityListeners.forEach((l) -> l.onEntityRemove(entity));
+            poolEntity(entity);
         }
         return removed;
     }
@@ -218,50 +532,39 @@ public class EntitySystemManager implements Destructible {
      * Removes all entities from this manager.
      * */
     public void clearEntities() {
+        for (IEntity entity : entities) {
+            if (entity instanceof ArchetypeEntity) {
+                ArchetypeEntity archetypeEntity = (ArchetypeEntity) entity;
+                archetypeEntity.setArchetype(null, archetypeEntity.copyComponents());
+            }
+        }
+        archetypes.values().forEach(Archetype::clear);
         entities.clear();
-        entitiesGrouped.clear();
+        componentIndex.clear();
     }
 
     /**
-     * @return All entities within this manager.
+     * @return All entities within this manager. Removing an entity moves the last entity into its place, so this is not
+     * ordered by when entities were added.
      * */
     public List<IEntity> getEntities() {
         return entities;
     }
 
     /**
-     * Adds the provided matcher to this managers list of matchers which need a group of entities.
+     * Adds the provided matcher to this managers matchers which need a group of entities. The entities already within
+     * this manager are grouped immediately.
+     * @return False if the matcher has already been added.
      * */
     public boolean addMatcher(IComponentMatcher componentMatcher) {
-        return matchers.add(componentMatcher);
+        return componentIndex.register(componentMatcher, entities);
     }
 
     /**
-     * Groups entities based on the component matcher provided. This is useful for when a matcher
+     * Removes the provided matcher and its group of entities from this manager.
      * */
     public boolean removeMatcher(IComponentMatcher componentMatcher) {
-        boolean removed = matchers.remove(componentMatcher);
-        if (removed) {
-            entitiesGrouped.remove(componentMatcher);
-            return true;
-        }
-        return false;
-    }
-
-    /**
-     * Updates the grouping of entities for this component matcher.
-     * */
-    private boolean updateGrouping(IComponentMatcher componentMatcher) {
-        List<IEntity> foundEntities = new ArrayList<>();
-        this.entities.stream()
-                .filter(componentMatcher::matches)
-                .forEach(foundEntities::add);
-
-        if (!foundEntities.isEmpty()) {
-            entitiesGrouped.put(componentMatcher, foundEntities);
-            return true;
-        }
-        return false;
+        return componentIndex.unregister(componentMatcher);
     }
 
     /**
@@ -271,10 +574,7 @@ public class EntitySystemManager implements Destructible {
     public boolean addSystem(ISystem system) {
         boolean added = systems.add(system);
         if (added) {
-            if (!matchers.contains(system.getMatcher())) {
-                matchers.add(system.getMatcher());
-                updateGrouping(system.getMatcher());
-            }
+            componentIndex.register(system.getMatcher(), entities);
             system.setEs(this);
         }
         return added;
@@ -287,9 +587,8 @@ public class EntitySystemManager implements Destructible {
     public boolean removeSystem(ISystem system) {
         boolean removed = systems.remove(system);
         if (removed) {
-            matchers.remove(system.getMatcher());
             if (systems.stream().noneMatch((other) -> other.getMatcher().equals(system.getMatcher()))) {
-                entitiesGrouped.remove(system.getMatcher());
+                componentIndex.unregister(system.getMatcher());
             }
             system.setEs(null);
         }
@@ -297,25 +596,11 @@ public class EntitySystemManager implements Destructible {
     }
 
     /**
-     * Invoked whenever an entity has a component added or removed. Determines if an entity belongs within any group.
+     * Invoked whenever an entity has a component added or removed. Moves the entity into or out of the groups whose
+     * requirements changed.
      * */
     void updateEntity(IEntity entity) {
-        for (IComponentMatcher matcher : matchers) {
-            // Update the grouped entities lists if needed.
-            if (matcher.matches(entity)) {
-                List<IEntity> entities = entitiesGrouped.computeIfAbsent(matcher, (m) -> new ArrayList<>());
-                if (!entities.contains(entity)) {
-                    entities.add(entity);
-                }
-
-                // Remove the list if it's empty.
-            } else if (entitiesGrouped.containsKey(matcher)) {
-                List<IEntity> entities = entitiesGrouped.get(matcher);
-                entities.remove(entity);
-                if (entities.isEmpty())
-                    entitiesGrouped.remove(matcher);
-            }
-        }
+        componentIndex.update(entity);
     }
 
 
@@ -345,8 +630,11 @@ public class EntitySystemManager implements Destructible {
      * Removes all systems from this manager.
      * */
     public void clearSystems() {
+        for (ISystem system : systems) {
+            componentIndex.unregister(system.getMatcher());
+            system.setEs(null);
+        }
         this.systems.clear();
-        this.entitiesGrouped.clear();
     }
 
     /**
@@ -12,7 +12,9 @@ import java.util.Map;
 public interface IEntity extends Nameable, Destructible {
 
     /**
-     * @return The unique id for this entity instance
+     * @return The unique id for this entity instance. Entities built by an {@link EntitySystemManager} have their id
+     * assigned when they are built, except for those built while entities are handled concurrently, whose id is -1
+     * until they have been added.
      * */
     Integer getId();
 
@@ -3,6 +3,8 @@ package com.branwilliams.bundi.engine.ecs;
 import com.branwilliams.bundi.engine.core.Engine;
 import com.branwilliams.bundi.engine.core.window.Window;
 
+import java.util.Set;
+
 /**
  * A System performs any logic on a list of entities who have the components that satisfy the systems component matcher.
  * Created by Brandon Williams on 6/24/2018.
@@ -33,6 +35,22 @@ public interface ISystem {
      * */
     void fixedUpdate(Engine engine, EntitySystemManager entitySystemManager, double deltaTime);
 
+    /**
+     * @return The component classes this system reads. Null when undeclared, in which case a {@link SystemScheduler}
+     * will never run this system alongside another.
+     * */
+    default Set<Class<?>> getReadComponents() {
+        return null;
+    }
+
+    /**
+     * @return The component classes this system writes. Null when undeclared, in which case a {@link SystemScheduler}
+     * will never run this system alongside another.
+     * */
+    default Set<Class<?>> getWriteComponents() {
+        return null;
+    }
+
     /**
      * Assigns this systems {@link EntitySystemManager}. This function is only meant to be used by this systems manager.
      * */
@@ -0,0 +1,190 @@
+package com.branwilliams.bundi.engine.ecs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Runs the systems of an {@link EntitySystemManager} on a {@link ForkJoinPool}. <br/>
+ * Two systems conflict when one writes a component class the other reads or writes. Each system depends on every
+ * system registered before it which it conflicts with, and the systems are split into stages where no system depends
+ * on another within the same stage. The systems of a stage run concurrently and each stage waits for the previous one.
+ * Systems which do not declare their components conflict with every system, so they always run alone.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class SystemScheduler {
+
+    private static final int DEFAULT_GRAIN_SIZE = 256;
+
+    private final ForkJoinPool pool;
+
+    private final int grainSize;
+
+    private final List<ISystem> scheduled = new ArrayList<>();
+
+    private final List<List<ISystem>> stages = new ArrayList<>();
+
+    public SystemScheduler() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public SystemScheduler(ForkJoinPool pool) {
+        this(pool, DEFAULT_GRAIN_SIZE);
+    }
+
+    /**
+     * @param grainSize The number of elements each task handles within {@link SystemScheduler#forEach(List, Consumer)}.
+     * */
+    public SystemScheduler(ForkJoinPool pool, int grainSize) {
+        if (grainSize <= 0) {
+            throw new IllegalArgumentException("The grain size must be positive!");
+        }
+        this.pool = pool;
+        this.grainSize = grainSize;
+    }
+
+    /**
+     * @return The stages of the provided systems. They are only rebuilt when the systems have changed since the
+     * previous invocation.
+     * */
+    public List<List<ISystem>> getStages(List<ISystem> systems) {
+        if (!scheduled.equals(systems)) {
+            scheduled.clear();
+            scheduled.addAll(systems);
+            buildStages();
+        }
+        return stages;
+    }
+
+    /**
+     * Performs the action for each system of the provided stage and waits for them to finish.
+     * */
+    public void runStage(List<ISystem> stage, Consumer<ISystem> action) {
+        if (stage.size() == 1) {
+            action.accept(stage.get(0));
+            return;
+        }
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(stage.size());
+        for (ISystem system : stage) {
+            tasks.add(ForkJoinTask.adapt(() -> action.accept(system)));
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+    }
+
+    /**
+     * Performs the action for each element of the provided list, splitting the list into chunks which are handled
+     * concurrently. The list must not be modified until this returns.
+     * */
+    public <T> void forEach(List<T> elements, Consumer<T> action) {
+        if (elements.size() <= grainSize) {
+            for (int i = 0; i < elements.size(); i++) {
+                action.accept(elements.get(i));
+            }
+            return;
+        }
+
+        ForEachAction<T> forEachAction = new ForEachAction<>(elements, action, 0, elements.size());
+        if (ForkJoinTask.inForkJoinPool()) {
+            forEachAction.invoke();
+        } else {
+            pool.invoke(forEachAction);
+        }
+    }
+
+    /**
+     * Assigns each system the stage after the latest stage of the systems it depends on.
+     * */
+    private void buildStages() {
+        stages.clear();
+        int[] levels = new int[scheduled.size()];
+
+        for (int j = 0; j < scheduled.size(); j++) {
+            int level = 0;
+            for (int i = 0; i < j; i++) {
+                if (levels[i] + 1 > level && conflicts(scheduled.get(i), scheduled.get(j))) {
+                    level = levels[i] + 1;
+                }
+            }
+            levels[j] = level;
+
+            while (stages.size() <= level) {
+                stages.add(new ArrayList<>());
+            }
+            stages.get(level).add(scheduled.get(j));
+        }
+    }
+
+    /**
+     * @return True if the provided systems cannot run concurrently.
+     * */
+    public static boolean conflicts(ISystem a, ISystem b) {
+        Set<Class<?>> aReads = a.getReadComponents();
+        Set<Class<?>> aWrites = a.getWriteComponents();
+        Set<Class<?>> bReads = b.getReadComponents();
+        Set<Class<?>> bWrites = b.getWriteComponents();
+
+        if (aReads == null || aWrites == null || bReads == null || bWrites == null) {
+            return true;
+        }
+        return overlaps(aWrites, bWrites) || overlaps(aWrites, bReads) || overlaps(bWrites, aReads);
+    }
+
+    /**
+     * Component classes overlap when one is assignable to the other, since a component can be requested by any of its
+     * super types.
+     * */
+    private static boolean overlaps(Set<Class<?>> a, Set<Class<?>> b) {
+        for (Class<?> first : a) {
+            for (Class<?> second : b) {
+                if (first.isAssignableFrom(second) || second.isAssignableFrom(first)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("serial")
+    private class ForEachAction<T> extends RecursiveAction {
+
+        private final List<T> elements;
+
+        private final Consumer<T> action;
+
+        private final int start;
+
+        private final int end;
+
+        private ForEachAction(List<T> elements, Consumer<T> action, int start, int end) {
+            this.elements = elements;
+            this.action = action;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= grainSize) {
+                for (int i = start; i < end; i++) {
+                    action.accept(elements.get(i));
+                }
+            } else {
+                int middle = (start + end) >>> 1;
+                invokeAll(new ForEachAction<>(elements, action, start, middle),
+                        new ForEachAction<>(elements, action, middle, end));
+            }
+        }
+    }
+}
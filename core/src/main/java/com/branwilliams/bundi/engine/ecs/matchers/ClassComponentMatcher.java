@@ -1,5 +1,6 @@
 package com.branwilliams.bundi.engine.ecs.matchers;
 
+import com.branwilliams.bundi.engine.ecs.Archetype;
 import com.branwilliams.bundi.engine.ecs.IComponentMatcher;
 import com.branwilliams.bundi.engine.ecs.IEntity;
 
@@ -31,6 +32,25 @@ public class ClassComponentMatcher implements IComponentMatcher {
         return true;
     }
 
+    /**
+     * @return True if every entity within the provided archetype meets the requirements of this matcher.
+     * */
+    public boolean matches(Archetype archetype) {
+        for (Class<?> component : components) {
+            if (!archetype.hasColumn(component)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The component classes this matcher requires.
+     * */
+    public Class<?>[] getComponents() {
+        return components;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
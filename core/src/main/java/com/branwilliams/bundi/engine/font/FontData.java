@@ -30,6 +30,9 @@ public final class FontData implements Destructible {
     // By default, 4 px is assumed for the width of a space character.
     private int spaceWidth = 4;
 
+    // Texture coordinates of a solid white block within the font image.
+    private float whiteU, whiteV;
+
     public FontData() {
     }
 
@@ -99,6 +102,12 @@ public final class FontData implements Destructible {
         // Set color to white for rendering the font onto the texture.
         graphics2D.setColor(Color.WHITE);
 
+        // The padding before the first character is filled with white so that solid shapes can be drawn with the
+        // font image. Sampling the center of the block keeps filtering from reaching the characters.
+        graphics2D.fillRect(0, 0, padding, padding);
+        whiteU = padding * 0.5F / imageWidth;
+        whiteV = padding * 0.5F / imageHeight;
+
         // Set render hints
         graphics2D.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, fractionalmetrics ? RenderingHints.VALUE_FRACTIONALMETRICS_ON : RenderingHints.VALUE_FRACTIONALMETRICS_OFF);
         graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, antialias ? RenderingHints.VALUE_TEXT_ANTIALIAS_GASP : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
@@ -223,6 +232,20 @@ public final class FontData implements Destructible {
         return input;
     }
 
+    /**
+     * @return The u coordinate of a solid white texel within the image used by this font data.
+     * */
+    public float getWhiteU() {
+        return whiteU;
+    }
+
+    /**
+     * @return The v coordinate of a solid white texel within the image used by this font data.
+     * */
+    public float getWhiteV() {
+        return whiteV;
+    }
+
     /**
      * @return The image used by this font data.
      * */
@@ -2,9 +2,7 @@ package com.branwilliams.bundi.engine.mesh;
 
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
 
 import static org.lwjgl.opengl.GL11.GL_TRIANGLES;
 import static org.lwjgl.opengl.GL15.*;
@@ -36,6 +34,9 @@ public class Mesh implements Destructible {
     // This vbo stores the indices for rendering this mesh.
     private VertexBufferObject ebo;
 
+    // False when the ebo is shared with other meshes, in which case it is not destroyed with this mesh.
+    private boolean ownsEbo = true;
+
     // This is the number of indices for this mesh.
     private int indiceCount;
 
@@ -66,9 +67,10 @@ public class Mesh implements Destructible {
     public Mesh storeIndices(IntBuffer indices) {
         this.indiceCount = indices.remaining();
         try {
-            // Create the vbo if necessary.
-            if (ebo == null) {
+            // Create the vbo if necessary. A shared ebo is never overwritten.
+            if (ebo == null || !ownsEbo) {
                 ebo = new VertexBufferObject(GL_ELEMENT_ARRAY_BUFFER);
+                ownsEbo = true;
             }
 
             ebo.bind();
@@ -82,6 +84,21 @@ public class Mesh implements Destructible {
         return this;
     }
 
+    /**
+     * Renders this mesh with indices stored within an element buffer owned by something else, such as indices shared by
+     * many meshes with the same layout of vertices. The shared buffer is not destroyed with this mesh. An element
+     * buffer previously owned by this mesh is destroyed.
+     * */
+    public Mesh shareIndices(VertexBufferObject ebo, int indiceCount) {
+        if (this.ebo != null && this.ebo != ebo && ownsEbo) {
+            this.ebo.destroy();
+        }
+        this.ebo = ebo;
+        this.indiceCount = indiceCount;
+        this.ownsEbo = false;
+        return this;
+    }
+
     /**
      * Stores the provided vertices to the provided vertex buffer object. Will create a new vertex buffer object if the
      * provided is null.
@@ -126,6 +143,58 @@ public class Mesh implements Destructible {
         return vbo;
     }
 
+    /**
+     * Stores the provided interleaved vertices within a single vertex buffer object which is shared by each of the
+     * provided attributes. Each vertex holds the attributes in the order provided, so the stride of a vertex is the sum
+     * of the vertex sizes. The vertex buffer object is reused when these attributes already share one.
+     * This will free the float buffer provided.
+     * */
+    public VertexBufferObject storeInterleavedAttributes(FloatBuffer vertices, int[] attributeIds, int[] vertexSizes) {
+        if (attributeIds.length != vertexSizes.length) {
+            throw new IllegalArgumentException("Each attribute must have a vertex size!");
+        }
+
+        try {
+            VertexBufferObject vbo = attributes.get(attributeIds[0]);
+            if (vbo == null || !sharesBuffer(vbo, attributeIds)) {
+                vbo = new VertexBufferObject();
+
+                int stride = 0;
+                for (int vertexSize : vertexSizes) {
+                    stride += vertexSize * Float.BYTES;
+                }
+
+                long offset = 0;
+                for (int i = 0; i < attributeIds.length; i++) {
+                    VertexBufferObject previous = attributes.put(attributeIds[i], vbo);
+                    if (previous != null && !attributes.containsValue(previous)) {
+                        previous.destroy();
+                    }
+                    this.vao.storeAttribute(attributeIds[i], vertexSizes[i], vbo, stride, offset);
+                    offset += vertexSizes[i] * Float.BYTES;
+                }
+            }
+
+            vbo.bind();
+            vbo.storeBuffer(vertices, GL_STATIC_DRAW);
+            vbo.unbind();
+            return vbo;
+        } finally {
+            if (vertices != null) {
+                MemoryUtil.memFree(vertices);
+            }
+        }
+    }
+
+    private boolean sharesBuffer(VertexBufferObject vbo, int[] attributeIds) {
+        for (int attributeId : attributeIds) {
+            if (attributes.get(attributeId) != vbo) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Updates the data in the VBO stored at the attribute id provided.
      * */
@@ -229,9 +298,12 @@ public class Mesh implements Destructible {
      * */
     @Override
     public void destroy() {
-        for (VertexBufferObject vbo : this.attributes.values())
+        // Interleaved attributes share a vbo, so each vbo is only destroyed once.
+        Set<VertexBufferObject> vbos = Collections.newSetFromMap(new IdentityHashMap<>());
+        vbos.addAll(this.attributes.values());
+        for (VertexBufferObject vbo : vbos)
             vbo.destroy();
-        if (ebo != null)
+        if (ebo != null && ownsEbo)
             ebo.destroy();
         vao.destroy();
     }
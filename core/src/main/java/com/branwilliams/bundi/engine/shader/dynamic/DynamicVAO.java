@@ -181,6 +181,37 @@ public class DynamicVAO {
         }
     }
 
+    /**
+     * Adds whole vertices to this dynamicVao. The vertices are expected to follow the vertex format of this dynamicVao.
+     * @param vertices The array holding the vertices.
+     * @param vertexOffset The index of the first vertex within the array to add.
+     * @param vertexCount The number of vertices to add.
+     * */
+    public DynamicVAO vertices(float[] vertices, int vertexOffset, int vertexCount) {
+        if (!dirty)
+            throw new IllegalStateException("The begin() function must be called before assigning vertex data!");
+        if (vertexFormatIndex != 0)
+            throw new IllegalStateException("Cannot add whole vertices while a vertex is unfinished!");
+        int elementSize = vertexFormat.getElementSize();
+        int size = (this.vertexCount + vertexCount) * elementSize;
+        if (size >= tempBuffer.capacity()) {
+            int capacity = tempBuffer.capacity();
+            while (size >= capacity) {
+                capacity = (int) (capacity * RESIZE_FACTOR);
+            }
+            tempBuffer.limit(this.vertexCount * elementSize);
+            tempBuffer = createFloatBuffer(tempBuffer, capacity, true);
+            tempBuffer.clear();
+            resized = true;
+            log.info("Resized temp buffer to: " + tempBuffer.capacity() + ", " + (tempBuffer.capacity() / elementSize) + " elements.");
+        }
+        tempBuffer.position(this.vertexCount * elementSize);
+        tempBuffer.put(vertices, vertexOffset * elementSize, vertexCount * elementSize);
+        tempBuffer.position(0);
+        this.vertexCount += vertexCount;
+        return this;
+    }
+
     /**
      * Adds the provided x, y, z vertex information to this dynamicVao.
      * */
@@ -288,15 +319,36 @@ public class DynamicVAO {
         VertexArrayObject.unbind();
     }
 
+    /**
+     * Draws a range of the vertices of this dynamicVao. The vertices are only uploaded by the first draw after they
+     * have been modified, so a single set of vertices can be drawn in several ranges.
+     * @param mode The draw mode.
+     * @param firstVertex The index of the first vertex to draw.
+     * @param vertexCount The number of vertices to draw.
+     * */
+    public void draw(int mode, int firstVertex, int vertexCount) {
+        vao.bind();
+        loadVertexData();
+        DynamicVAO.draw(mode, vertexFormat, firstVertex, vertexCount);
+        VertexArrayObject.unbind();
+    }
+
     /**
      *
      * */
     public static void draw(int mode, VertexFormat vertexFormat, int vertexCount) {
+        draw(mode, vertexFormat, 0, vertexCount);
+    }
+
+    /**
+     *
+     * */
+    public static void draw(int mode, VertexFormat<?> vertexFormat, int firstVertex, int vertexCount) {
         for (int i = 0; i < vertexFormat.getElementCount(); i++) {
             glEnableVertexAttribArray(i);
         }
 
-        glDrawArrays(mode, 0, vertexCount);
+        glDrawArrays(mode, firstVertex, vertexCount);
 
         for (int i = 0; i < vertexFormat.getElementCount(); i++) {
             glDisableVertexAttribArray(i);
@@ -2,6 +2,9 @@ package com.branwilliams.bundi.engine.shape;
 
 import org.joml.Vector3f;
 
+/**
+ * An axis aligned box whose bounds are relative to its center.
+ */
 public class AABB3f implements Shape3f {
 
     private Vector3f center;
@@ -17,7 +20,7 @@ public class AABB3f implements Shape3f {
     }
 
     public AABB3f(float halfSize) {
-        this(halfSize, halfSize, halfSize, halfSize, halfSize, halfSize);
+        this(-halfSize, -halfSize, -halfSize, halfSize, halfSize, halfSize);
     }
 
     public AABB3f(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
@@ -34,9 +37,16 @@ public class AABB3f implements Shape3f {
     public boolean collides(Shape3f other) {
         if (other instanceof AABB3f) {
             AABB3f otherAABB = (AABB3f) other;
-            return (this.minX <= otherAABB.maxX && this.maxX >= otherAABB.minX) &&
-                    (this.minY <= otherAABB.maxY && this.maxY >= otherAABB.minY) &&
-                    (this.minZ <= otherAABB.maxZ && this.maxZ >= otherAABB.minZ);
+            return (getWorldMinX() <= otherAABB.getWorldMaxX() && getWorldMaxX() >= otherAABB.getWorldMinX()) &&
+                    (getWorldMinY() <= otherAABB.getWorldMaxY() && getWorldMaxY() >= otherAABB.getWorldMinY()) &&
+                    (getWorldMinZ() <= otherAABB.getWorldMaxZ() && getWorldMaxZ() >= otherAABB.getWorldMinZ());
+        } else if (other instanceof Spheref) {
+            Spheref sphere = (Spheref) other;
+            Vector3f sphereCenter = sphere.getCenter();
+            float dx = sphereCenter.x - Math.max(getWorldMinX(), Math.min(sphereCenter.x, getWorldMaxX()));
+            float dy = sphereCenter.y - Math.max(getWorldMinY(), Math.min(sphereCenter.y, getWorldMaxY()));
+            float dz = sphereCenter.z - Math.max(getWorldMinZ(), Math.min(sphereCenter.z, getWorldMaxZ()));
+            return dx * dx + dy * dy + dz * dz <= sphere.getRadius() * sphere.getRadius();
         }
         return false;
     }
@@ -51,9 +61,9 @@ public class AABB3f implements Shape3f {
     public boolean contains(Shape3f other) {
         if (other instanceof AABB3f) {
             AABB3f otherAABB = (AABB3f) other;
-            return (this.minX < otherAABB.minX && this.maxX > otherAABB.maxX) &&
-                    (this.minY < otherAABB.minY && this.maxY > otherAABB.maxY) &&
-                    (this.minZ < otherAABB.minZ && this.maxZ > otherAABB.maxZ);
+            return (getWorldMinX() < otherAABB.getWorldMinX() && getWorldMaxX() > otherAABB.getWorldMaxX()) &&
+                    (getWorldMinY() < otherAABB.getWorldMinY() && getWorldMaxY() > otherAABB.getWorldMaxY()) &&
+                    (getWorldMinZ() < otherAABB.getWorldMinZ() && getWorldMaxZ() > otherAABB.getWorldMaxZ());
         }
         return false;
     }
@@ -70,6 +80,36 @@ public class AABB3f implements Shape3f {
         return center;
     }
 
+    @Override
+    public void getBounds(Vector3f min, Vector3f max) {
+        min.set(getWorldMinX(), getWorldMinY(), getWorldMinZ());
+        max.set(getWorldMaxX(), getWorldMaxY(), getWorldMaxZ());
+    }
+
+    public float getWorldMinX() {
+        return center.x + minX;
+    }
+
+    public float getWorldMinY() {
+        return center.y + minY;
+    }
+
+    public float getWorldMinZ() {
+        return center.z + minZ;
+    }
+
+    public float getWorldMaxX() {
+        return center.x + maxX;
+    }
+
+    public float getWorldMaxY() {
+        return center.y + maxY;
+    }
+
+    public float getWorldMaxZ() {
+        return center.z + maxZ;
+    }
+
     public float getMinX() {
         return minX;
     }
@@ -0,0 +1,567 @@
+package com.branwilliams.bundi.engine.shape;
+
+import org.jetbrains.annotations.NotNull;
+import org.joml.Vector3f;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * A dynamic bounding volume hierarchy of {@link Shape3f}s. <br/>
+ * Each element is stored within a leaf whose box is the bounds of its shape grown by a margin, so a shape can move
+ * within that margin without changing the tree. Leaves are inserted next to the node which grows the surface area of
+ * the tree the least, and nodes are rotated to keep the tree balanced, so adding, removing and moving an element takes
+ * logarithmic time. <br/>
+ * The nodes are stored within flat arrays and freed nodes are reused. Queries through a callback allocate nothing.
+ * Each element may be added once.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class AABBTree3f<T> implements Spatial<Shape3f, T> {
+
+    private static final int NULL_NODE = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final float DEFAULT_MARGIN = 0.1F;
+
+    private final float margin;
+
+    // The boxes of each node, stored as the minimum x, y and z followed by the maximum x, y and z.
+    private float[] bounds;
+
+    // The parent of each node, or the next free node for freed nodes.
+    private int[] parents;
+
+    private int[] children1;
+
+    private int[] children2;
+
+    // The height of each node, zero for leaves and -1 for freed nodes.
+    private int[] heights;
+
+    private Shape3f[] shapes;
+
+    private Object[] elements;
+
+    private int root = NULL_NODE;
+
+    private int freeNode = NULL_NODE;
+
+    private final Map<T, Integer> leaves = new HashMap<>();
+
+    private int[] stack = new int[64];
+
+    private final Vector3f min = new Vector3f();
+
+    private final Vector3f max = new Vector3f();
+
+    public AABBTree3f() {
+        this(DEFAULT_MARGIN);
+    }
+
+    /**
+     * @param margin The distance each leaf extends beyond the bounds of its shape.
+     * */
+    public AABBTree3f(float margin) {
+        if (margin < 0F) {
+            throw new IllegalArgumentException("The margin cannot be negative!");
+        }
+        this.margin = margin;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Adds the element with the provided shape to this tree.
+     * @return False if the element is already within this tree.
+     * */
+    @Override
+    public boolean add(Shape3f shape, T element) {
+        if (shape == null || element == null) {
+            throw new IllegalArgumentException("Shape and element must not be null!");
+        }
+        if (leaves.containsKey(element)) {
+            return false;
+        }
+
+        int leaf = allocateNode();
+        shapes[leaf] = shape;
+        elements[leaf] = element;
+        setFatBounds(leaf, shape);
+        insertLeaf(leaf);
+        leaves.put(element, leaf);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Shape3f shape, T element) {
+        Integer leaf = leaves.get(element);
+        if (leaf == null || !shapes[leaf].equals(shape)) {
+            return false;
+        }
+        removeElement(leaf);
+        return true;
+    }
+
+    /**
+     * Removes every element added with the provided shape.
+     * */
+    @Override
+    public boolean removeByShape(Shape3f shape) {
+        boolean removed = false;
+        for (int node = 0; node < heights.length; node++) {
+            if (isLeaf(node) && shape.equals(shapes[node])) {
+                removeElement(node);
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean removeByElement(T element) {
+        Integer leaf = leaves.get(element);
+        if (leaf == null) {
+            return false;
+        }
+        removeElement(leaf);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void removeElement(int leaf) {
+        leaves.remove((T) elements[leaf]);
+        removeLeaf(leaf);
+        freeNode(leaf);
+    }
+
+    /**
+     * Moves the element within this tree to the current bounds of its shape. This should be invoked whenever the shape
+     * of an element changes.
+     * @return True if the element had moved beyond its leaf and was moved within this tree.
+     * */
+    public boolean update(T element) {
+        Integer leaf = leaves.get(element);
+        if (leaf == null) {
+            throw new IllegalArgumentException("The element is not within this tree!");
+        }
+
+        shapes[leaf].getBounds(min, max);
+        int offset = leaf * 6;
+        if (bounds[offset] <= min.x && bounds[offset + 1] <= min.y && bounds[offset + 2] <= min.z
+                && bounds[offset + 3] >= max.x && bounds[offset + 4] >= max.y && bounds[offset + 5] >= max.z) {
+            return false;
+        }
+
+        removeLeaf(leaf);
+        setFatBounds(leaf, shapes[leaf]);
+        insertLeaf(leaf);
+        return true;
+    }
+
+    /**
+     * Centers the shape of the element to the provided position and moves the element within this tree.
+     * @return True if the element had moved beyond its leaf and was moved within this tree.
+     * */
+    public boolean move(T element, float x, float y, float z) {
+        Integer leaf = leaves.get(element);
+        if (leaf == null) {
+            throw new IllegalArgumentException("The element is not within this tree!");
+        }
+        shapes[leaf].center(x, y, z);
+        return update(element);
+    }
+
+    public boolean contains(T element) {
+        return leaves.containsKey(element);
+    }
+
+    /**
+     * @return The shape the element was added with or null if the element is not within this tree.
+     * */
+    public Shape3f getShape(T element) {
+        Integer leaf = leaves.get(element);
+        return leaf == null ? null : shapes[leaf];
+    }
+
+    @Override
+    public int size() {
+        return leaves.size();
+    }
+
+    @Override
+    public void clear() {
+        leaves.clear();
+        root = NULL_NODE;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public Iterable<Shape3f> query(Shape3f shape) {
+        List<Shape3f> collisions = new ArrayList<>();
+        query(shape, (otherShape, element) -> collisions.add(otherShape));
+        return collisions;
+    }
+
+    /**
+     * Invokes the callback for every shape and element whose shape collides with the provided shape, other than the
+     * provided shape itself. The callback must not modify or query this tree.
+     * */
+    @SuppressWarnings("unchecked")
+    public void query(Shape3f shape, BiConsumer<Shape3f, T> callback) {
+        if (root == NULL_NODE) {
+            return;
+        }
+        shape.getBounds(min, max);
+        float minX = min.x, minY = min.y, minZ = min.z;
+        float maxX = max.x, maxY = max.y, maxZ = max.z;
+
+        int size = 0;
+        stack[size++] = root;
+        while (size > 0) {
+            int node = stack[--size];
+            if (!overlaps(node, minX, minY, minZ, maxX, maxY, maxZ)) {
+                continue;
+            }
+            if (isLeaf(node)) {
+                if (shapes[node] != shape && shapes[node].collides(shape)) {
+                    callback.accept(shapes[node], (T) elements[node]);
+                }
+            } else {
+                size = push(size, children1[node]);
+                size = push(size, children2[node]);
+            }
+        }
+    }
+
+    /**
+     * Invokes the callback once for every pair of elements whose shapes collide, which makes this a broad phase for
+     * collision detection. The callback must not modify or query this tree.
+     * */
+    @SuppressWarnings("unchecked")
+    public void queryPairs(BiConsumer<T, T> callback) {
+        for (int leaf = 0; leaf < heights.length; leaf++) {
+            if (!isLeaf(leaf)) {
+                continue;
+            }
+            int offset = leaf * 6;
+            int size = 0;
+            stack[size++] = root;
+            while (size > 0) {
+                int node = stack[--size];
+                if (!overlaps(node, bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3],
+                        bounds[offset + 4], bounds[offset + 5])) {
+                    continue;
+                }
+                if (isLeaf(node)) {
+                    // Each pair is found from both of its leaves, so only the leaf with the lower index reports it.
+                    if (node > leaf && shapes[leaf].collides(shapes[node])) {
+                        callback.accept((T) elements[leaf], (T) elements[node]);
+                    }
+                } else {
+                    size = push(size, children1[node]);
+                    size = push(size, children2[node]);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The height of this tree, zero if it holds a single element.
+     * */
+    public int getHeight() {
+        return root == NULL_NODE ? 0 : heights[root];
+    }
+
+    @NotNull
+    @Override
+    public Iterator<T> iterator() {
+        return Collections.unmodifiableSet(leaves.keySet()).iterator();
+    }
+
+    private int push(int size, int node) {
+        if (size == stack.length) {
+            stack = Arrays.copyOf(stack, size << 1);
+        }
+        stack[size] = node;
+        return size + 1;
+    }
+
+    private boolean overlaps(int node, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        int offset = node * 6;
+        return bounds[offset] <= maxX && bounds[offset + 3] >= minX
+                && bounds[offset + 1] <= maxY && bounds[offset + 4] >= minY
+                && bounds[offset + 2] <= maxZ && bounds[offset + 5] >= minZ;
+    }
+
+    private boolean isLeaf(int node) {
+        return heights[node] == 0;
+    }
+
+    private void setFatBounds(int leaf, Shape3f shape) {
+        shape.getBounds(min, max);
+        int offset = leaf * 6;
+        bounds[offset] = min.x - margin;
+        bounds[offset + 1] = min.y - margin;
+        bounds[offset + 2] = min.z - margin;
+        bounds[offset + 3] = max.x + margin;
+        bounds[offset + 4] = max.y + margin;
+        bounds[offset + 5] = max.z + margin;
+    }
+
+    private void insertLeaf(int leaf) {
+        if (root == NULL_NODE) {
+            root = leaf;
+            parents[leaf] = NULL_NODE;
+            return;
+        }
+
+        // Descend towards the sibling which grows the surface area of the tree the least.
+        int leafOffset = leaf * 6;
+        int node = root;
+        while (!isLeaf(node)) {
+            int child1 = children1[node];
+            int child2 = children2[node];
+
+            float area = surfaceArea(node);
+            float combinedArea = unionArea(node, leafOffset);
+
+            // The cost of creating a new parent for this node and the leaf.
+            float cost = 2F * combinedArea;
+
+            // The minimum cost of pushing the leaf further down the tree.
+            float inheritanceCost = 2F * (combinedArea - area);
+
+            float cost1 = unionArea(child1, leafOffset) + inheritanceCost;
+            if (!isLeaf(child1)) {
+                cost1 -= surfaceArea(child1);
+            }
+            float cost2 = unionArea(child2, leafOffset) + inheritanceCost;
+            if (!isLeaf(child2)) {
+                cost2 -= surfaceArea(child2);
+            }
+
+            if (cost < cost1 && cost < cost2) {
+                break;
+            }
+            node = cost1 < cost2 ? child1 : child2;
+        }
+
+        int sibling = node;
+        int oldParent = parents[sibling];
+        int newParent = allocateNode();
+        parents[newParent] = oldParent;
+        heights[newParent] = heights[sibling] + 1;
+        union(newParent, leaf, sibling);
+        children1[newParent] = sibling;
+        children2[newParent] = leaf;
+        parents[sibling] = newParent;
+        parents[leaf] = newParent;
+
+        if (oldParent == NULL_NODE) {
+            root = newParent;
+        } else if (children1[oldParent] == sibling) {
+            children1[oldParent] = newParent;
+        } else {
+            children2[oldParent] = newParent;
+        }
+
+        refit(parents[leaf]);
+    }
+
+    private void removeLeaf(int leaf) {
+        if (leaf == root) {
+            root = NULL_NODE;
+            return;
+        }
+
+        int parent = parents[leaf];
+        int grandParent = parents[parent];
+        int sibling = children1[parent] == leaf ? children2[parent] : children1[parent];
+
+        if (grandParent == NULL_NODE) {
+            root = sibling;
+            parents[sibling] = NULL_NODE;
+            freeNode(parent);
+            return;
+        }
+
+        if (children1[grandParent] == parent) {
+            children1[grandParent] = sibling;
+        } else {
+            children2[grandParent] = sibling;
+        }
+        parents[sibling] = grandParent;
+        freeNode(parent);
+
+        refit(grandParent);
+    }
+
+    /**
+     * Balances and fits the boxes of every node from the provided node up to the root.
+     * */
+    private void refit(int node) {
+        while (node != NULL_NODE) {
+            node = balance(node);
+            int child1 = children1[node];
+            int child2 = children2[node];
+            heights[node] = 1 + Math.max(heights[child1], heights[child2]);
+            union(node, child1, child2);
+            node = parents[node];
+        }
+    }
+
+    /**
+     * Rotates the taller child of the provided node up if the heights of its children differ by more than one.
+     * @return The node which has taken the place of the provided node.
+     * */
+    private int balance(int a) {
+        if (isLeaf(a) || heights[a] < 2) {
+            return a;
+        }
+
+        int b = children1[a];
+        int c = children2[a];
+        int balance = heights[c] - heights[b];
+
+        if (balance > 1) {
+            rotateUp(a, c, b, true);
+            return c;
+        }
+        if (balance < -1) {
+            rotateUp(a, b, c, false);
+            return b;
+        }
+        return a;
+    }
+
+    /**
+     * Moves the child up to take the place of its parent. The shorter child of the child takes its place beneath the
+     * parent, next to the sibling.
+     * @param second True if the child is the second child of its parent.
+     * */
+    private void rotateUp(int parent, int child, int sibling, boolean second) {
+        int grandChild1 = children1[child];
+        int grandChild2 = children2[child];
+
+        children1[child] = parent;
+        parents[child] = parents[parent];
+        parents[parent] = child;
+
+        int grandParent = parents[child];
+        if (grandParent == NULL_NODE) {
+            root = child;
+        } else if (children1[grandParent] == parent) {
+            children1[grandParent] = child;
+        } else {
+            children2[grandParent] = child;
+        }
+
+        int taller = heights[grandChild1] > heights[grandChild2] ? grandChild1 : grandChild2;
+        int shorter = taller == grandChild1 ? grandChild2 : grandChild1;
+
+        children2[child] = taller;
+        if (second) {
+            children2[parent] = shorter;
+        } else {
+            children1[parent] = shorter;
+        }
+        parents[shorter] = parent;
+
+        union(parent, sibling, shorter);
+        union(child, parent, taller);
+        heights[parent] = 1 + Math.max(heights[sibling], heights[shorter]);
+        heights[child] = 1 + Math.max(heights[parent], heights[taller]);
+    }
+
+    private void union(int node, int a, int b) {
+        int offset = node * 6;
+        int offsetA = a * 6;
+        int offsetB = b * 6;
+        for (int i = 0; i < 3; i++) {
+            bounds[offset + i] = Math.min(bounds[offsetA + i], bounds[offsetB + i]);
+            bounds[offset + i + 3] = Math.max(bounds[offsetA + i + 3], bounds[offsetB + i + 3]);
+        }
+    }
+
+    private float surfaceArea(int node) {
+        int offset = node * 6;
+        return surfaceArea(bounds[offset + 3] - bounds[offset], bounds[offset + 4] - bounds[offset + 1],
+                bounds[offset + 5] - bounds[offset + 2]);
+    }
+
+    /**
+     * @return The surface area of the box containing the node and the box at the provided offset.
+     * */
+    private float unionArea(int node, int offset) {
+        int nodeOffset = node * 6;
+        float sizeX = Math.max(bounds[nodeOffset + 3], bounds[offset + 3])
+                - Math.min(bounds[nodeOffset], bounds[offset]);
+        float sizeY = Math.max(bounds[nodeOffset + 4], bounds[offset + 4])
+                - Math.min(bounds[nodeOffset + 1], bounds[offset + 1]);
+        float sizeZ = Math.max(bounds[nodeOffset + 5], bounds[offset + 5])
+                - Math.min(bounds[nodeOffset + 2], bounds[offset + 2]);
+        return surfaceArea(sizeX, sizeY, sizeZ);
+    }
+
+    private static float surfaceArea(float sizeX, float sizeY, float sizeZ) {
+        return 2F * (sizeX * sizeY + sizeY * sizeZ + sizeZ * sizeX);
+    }
+
+    private int allocateNode() {
+        if (freeNode == NULL_NODE) {
+            grow(parents.length << 1);
+        }
+        int node = freeNode;
+        freeNode = parents[node];
+        parents[node] = NULL_NODE;
+        children1[node] = NULL_NODE;
+        children2[node] = NULL_NODE;
+        heights[node] = 0;
+        return node;
+    }
+
+    private void freeNode(int node) {
+        shapes[node] = null;
+        elements[node] = null;
+        heights[node] = -1;
+        parents[node] = freeNode;
+        freeNode = node;
+    }
+
+    private void allocate(int capacity) {
+        bounds = new float[capacity * 6];
+        parents = new int[capacity];
+        children1 = new int[capacity];
+        children2 = new int[capacity];
+        heights = new int[capacity];
+        shapes = new Shape3f[capacity];
+        elements = new Object[capacity];
+        freeNode = NULL_NODE;
+        linkFreeNodes(0, capacity);
+    }
+
+    private void grow(int capacity) {
+        int oldCapacity = parents.length;
+        bounds = Arrays.copyOf(bounds, capacity * 6);
+        parents = Arrays.copyOf(parents, capacity);
+        children1 = Arrays.copyOf(children1, capacity);
+        children2 = Arrays.copyOf(children2, capacity);
+        heights = Arrays.copyOf(heights, capacity);
+        shapes = Arrays.copyOf(shapes, capacity);
+        elements = Arrays.copyOf(elements, capacity);
+        linkFreeNodes(oldCapacity, capacity);
+    }
+
+    /**
+     * Adds the nodes from start up to end to the list of free nodes.
+     * */
+    private void linkFreeNodes(int start, int end) {
+        for (int node = end - 1; node >= start; node--) {
+            heights[node] = -1;
+            parents[node] = freeNode;
+            freeNode = node;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -17,6 +18,9 @@ public class QuadTree <Shape extends Shape2f, T> implements Spatial<Shape, T> {
 
     private final int maxSize;
 
+    // The number of tree elements holding each distinct element, so that the size agrees with the iterator.
+    private final Map<T, Integer> elementCounts = new HashMap<>();
+
     public QuadTree(int maxSize, float minX, float minY, float maxX, float maxY) {
         this(maxSize, new AABB2f(minX, minY, maxX, maxY));
     }
@@ -37,32 +41,22 @@ public class QuadTree <Shape extends Shape2f, T> implements Spatial<Shape, T> {
             throw new IllegalArgumentException("Element must not be null!");
         }
         TreeElement<T> element = new TreeElement<>(shape, e);
-        return root.add(element);
+        if (root.add(element)) {
+            elementCounts.merge(e, 1, Integer::sum);
+            return true;
+        }
+        return false;
     }
 
     /**
-     * TODO fix
+     * Removes every element equal to the provided element which was added with a shape equal to the provided shape.
      * */
     @Override
     public boolean remove(Shape shape, T element) {
-        final List<T> elements = new ArrayList<>();
-
-        // This consumer accepts the elements which shape collides with.
-        Consumer<TreeNode<T>> elementCollector = (node) -> {
-            for (TreeElement<T> treeElement : node.getTreeElements()) {
-                if (shape.equals(treeElement.shape) && element.equals(treeElement.element)) {
-
-                }
-            }
-        };
-
-        root.traverse(shape, elementCollector);
-
-        for (T t : elements) {
-            removeByElement(t);
+        if (element == null || shape == null) {
+            throw new IllegalArgumentException("Shape and element must not be null!");
         }
-
-        return false;
+        return removeIf((treeElement) -> shape.equals(treeElement.shape) && element.equals(treeElement.element));
     }
 
     /**
@@ -72,33 +66,41 @@ public class QuadTree <Shape extends Shape2f, T> implements Spatial<Shape, T> {
         if (e == null) {
             throw new IllegalArgumentException("Element must not be null!");
         }
-        return root.remove(e);
+        return removeIf((treeElement) -> e.equals(treeElement.element));
     }
 
-    @Override
-    public int size() {
-        return 0;
-    }
-
-
     /**
-     * Forcibly removes this element within the provided bounds.
+     * Removes every element which was added with a shape equal to the provided shape.
      * */
     public boolean removeByShape(Shape shape) {
         if (shape == null) {
             throw new IllegalArgumentException("Shape must not be null!");
         }
-        return false;
-//        final List<T> elements = new ArrayList<>();
-//
-//        // This consumer accepts the elements which shape collides with.
-//        Consumer<TreeNode<T>> elementCollector = (node) -> {
-//            if (node.getElements())
-//            elements.addAll(node.getElements());
-//        };
-//        root.traverse(shape, elementCollector);
-//        return root.remove(e);
+        return removeIf((treeElement) -> shape.equals(treeElement.shape));
+    }
+
+    /**
+     * Removes the elements matching the filter from every node. Shapes may have moved since they were added, so every
+     * node is searched. An element spanning several nodes is only counted once.
+     * */
+    private boolean removeIf(Predicate<TreeElement<T>> filter) {
+        Set<TreeElement<T>> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        root.remove(filter, removed);
+        for (TreeElement<T> element : removed) {
+            elementCounts.computeIfPresent(element.element, (e, count) -> count == 1 ? null : count - 1);
+        }
+        return !removed.isEmpty();
+    }
+
+    /**
+     * @return The number of distinct elements within this tree, which is the number of elements iterated. An element
+     * added more than once, such as with several shapes, is only counted once.
+     * */
+    @Override
+    public int size() {
+        return elementCounts.size();
     }
+
     public List<T> rangeQuery(Shape2f shape) {
         final List<T> elements = new ArrayList<>();
 
@@ -142,6 +144,7 @@ public class QuadTree <Shape extends Shape2f, T> implements Spatial<Shape, T> {
      * */
     public void clear() {
         root.clear();
+        elementCounts.clear();
     }
 
     @Override
@@ -193,7 +196,7 @@ public class QuadTree <Shape extends Shape2f, T> implements Spatial<Shape, T> {
     @NotNull
     @Override
     public Iterator<T> iterator() {
-        return null;
+        return getElements().iterator();
     }
 
     /**
@@ -201,17 +204,27 @@ public class QuadTree <Shape extends Shape2f, T> implements Spatial<Shape, T> {
      * */
     public static class TreeNode <T> {
 
+        // Nodes this deep are never split, since more than maxSize shapes overlapping one point can never be separated.
+        private static final int MAX_DEPTH = 16;
+
         private final AABB2f boundaries;
 
         private final int maxSize;
 
+        private final int depth;
+
         private List<TreeElement<T>> elements = new ArrayList<>();
 
         private TreeNode<T> nw, ne, sw, se;
 
         public TreeNode(AABB2f boundaries, int maxSize) {
+            this(boundaries, maxSize, 0);
+        }
+
+        private TreeNode(AABB2f boundaries, int maxSize, int depth) {
             this.boundaries = boundaries;
             this.maxSize = maxSize;
+            this.depth = depth;
         }
 
         /**
@@ -233,20 +246,39 @@ public class QuadTree <Shape extends Shape2f, T> implements Spatial<Shape, T> {
         }
 
         /**
-         * Attempts to remove the element from this quadtree.
+         * Removes the elements matching the filter from this node and its children. Children left without any elements
+         * are removed, so this node becomes a leaf again.
+         * @param removed Collects the elements removed.
          * */
-        public boolean remove(T e) {
+        public void remove(Predicate<TreeElement<T>> filter, Set<TreeElement<T>> removed) {
             if (isLeaf()) {
-                return elements.removeIf((node) -> node.getElement().equals(e));
+                Iterator<TreeElement<T>> iterator = elements.iterator();
+                while (iterator.hasNext()) {
+                    TreeElement<T> element = iterator.next();
+                    if (filter.test(element)) {
+                        iterator.remove();
+                        removed.add(element);
+                    }
+                }
             } else {
-                boolean removed = nw.remove(e);
-                removed = ne.remove(e) || removed;
-                removed = sw.remove(e) || removed;
-                removed = se.remove(e) || removed;
-                return removed;
+                nw.remove(filter, removed);
+                ne.remove(filter, removed);
+                sw.remove(filter, removed);
+                se.remove(filter, removed);
+
+                if (isEmptyLeaf(nw) && isEmptyLeaf(ne) && isEmptyLeaf(sw) && isEmptyLeaf(se)) {
+                    nw = null;
+                    ne = null;
+                    sw = null;
+                    se = null;
+                }
             }
         }
 
+        private static boolean isEmptyLeaf(TreeNode<?> node) {
+            return node.isLeaf() && node.elements.isEmpty();
+        }
+
         /**
          * Clears the list of elements within this tree node. If it is not a leaf, then the children will be cleared and
          * this node will become a leaf.
@@ -362,13 +394,13 @@ public class QuadTree <Shape extends Shape2f, T> implements Spatial<Shape, T> {
             float halfWidth = boundaries.getHalfX();
             float halfHeight = boundaries.getHalfY();
 
-            nw = new TreeNode<>(new AABB2f(minX, minY, minX + halfWidth, minY + halfHeight), maxSize);
+            nw = new TreeNode<>(new AABB2f(minX, minY, minX + halfWidth, minY + halfHeight), maxSize, depth + 1);
 
-            ne = new TreeNode<>(new AABB2f(minX + halfWidth, minY, maxX, minY + halfHeight), maxSize);
+            ne = new TreeNode<>(new AABB2f(minX + halfWidth, minY, maxX, minY + halfHeight), maxSize, depth + 1);
 
-            sw = new TreeNode<>(new AABB2f(minX, minY + halfHeight, minX + halfWidth, maxY), maxSize);
+            sw = new TreeNode<>(new AABB2f(minX, minY + halfHeight, minX + halfWidth, maxY), maxSize, depth + 1);
 
-            se = new TreeNode<>(new AABB2f(minX + halfWidth, minY + halfHeight, maxX, maxY), maxSize);
+            se = new TreeNode<>(new AABB2f(minX + halfWidth, minY + halfHeight, maxX, maxY), maxSize, depth + 1);
         }
 
         /**
@@ -406,7 +438,7 @@ public class QuadTree <Shape extends Shape2f, T> implements Spatial<Shape, T> {
          * @return True if this tree node breaches the max capacity.
          * */
         private boolean isOverFilled() {
-            return elements.size() > maxSize;
+            return elements.size() > maxSize && depth < MAX_DEPTH;
         }
 
     }
@@ -48,4 +48,9 @@ public interface Shape3f {
      * */
     Vector3f getCenter();
 
+    /**
+     * Stores the corners of the smallest axis aligned box containing this shape within the provided vectors.
+     * */
+    void getBounds(Vector3f min, Vector3f max);
+
 }
@@ -6,8 +6,30 @@ public class Spheref implements Shape3f {
 
     private Vector3f center;
 
+    private float radius;
+
+    public Spheref() {
+        this(0.5F);
+    }
+
+    public Spheref(float radius) {
+        this(0F, 0F, 0F, radius);
+    }
+
+    public Spheref(float x, float y, float z, float radius) {
+        this.center = new Vector3f(x, y, z);
+        this.radius = radius;
+    }
+
     @Override
     public boolean collides(Shape3f other) {
+        if (other instanceof Spheref) {
+            Spheref otherSphere = (Spheref) other;
+            float radii = radius + otherSphere.radius;
+            return center.distanceSquared(otherSphere.center) <= radii * radii;
+        } else if (other instanceof AABB3f) {
+            return other.collides(this);
+        }
         return false;
     }
 
@@ -18,16 +40,35 @@ public class Spheref implements Shape3f {
 
     @Override
     public boolean contains(Shape3f other) {
+        if (other instanceof Spheref) {
+            Spheref otherSphere = (Spheref) other;
+            return otherSphere.radius <= radius
+                    && center.distance(otherSphere.center) + otherSphere.radius <= radius;
+        }
         return false;
     }
 
     @Override
     public boolean contains(Vector3f point) {
-        return false;
+        return center.distanceSquared(point) <= radius * radius;
     }
 
     @Override
     public Vector3f getCenter() {
         return center;
     }
+
+    @Override
+    public void getBounds(Vector3f min, Vector3f max) {
+        min.set(center.x - radius, center.y - radius, center.z - radius);
+        max.set(center.x + radius, center.y + radius, center.z + radius);
+    }
+
+    public float getRadius() {
+        return radius;
+    }
+
+    public void setRadius(float radius) {
+        this.radius = radius;
+    }
 }
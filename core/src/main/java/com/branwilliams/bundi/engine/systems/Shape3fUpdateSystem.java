@@ -7,46 +7,119 @@ import com.branwilliams.bundi.engine.ecs.EntitySystemManager;
 import com.branwilliams.bundi.engine.ecs.IEntity;
 import com.branwilliams.bundi.engine.ecs.matchers.ClassComponentMatcher;
 import com.branwilliams.bundi.engine.shader.Transformable;
+import com.branwilliams.bundi.engine.shape.AABBTree3f;
 import com.branwilliams.bundi.engine.shape.Shape3f;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
- * Centers the Shape3f of an entity to the the entities transformation.
+ * Centers the Shape3f of an entity to the the entities transformation. <br/>
+ * When given an {@link AABBTree3f}, each entity is also kept within that tree as its shape moves, so collisions
+ * between entities can be found with {@link AABBTree3f#queryPairs} instead of testing every pair of entities. Entities
+ * are removed from the tree once they are removed or no longer have a {@link Transformable} and a {@link Shape3f}.
  * Created by Brandon Williams on 12/24/2018.
  */
 public class Shape3fUpdateSystem extends AbstractSystem {
 
+    private static final CollidableUpdater CENTER_UPDATER = (entity, transformable, shape3f) -> {
+        shape3f.center(transformable.getPosition().x, transformable.getPosition().y, transformable.getPosition().z);
+    };
+
     private final CollidableUpdater updater;
 
+    private final AABBTree3f<IEntity> tree;
+
+    // The entities found within the tree which no longer match this system, reused by each update.
+    private final List<IEntity> unmatched = new ArrayList<>();
+
     public Shape3fUpdateSystem() {
-        this(((entity, transformable, shape3f) -> {
-            shape3f.center(transformable.getPosition().x, transformable.getPosition().y, transformable.getPosition().z);
-        }));
+        this(CENTER_UPDATER);
     }
 
     public Shape3fUpdateSystem(CollidableUpdater updater) {
+        this(updater, null);
+    }
+
+    public Shape3fUpdateSystem(AABBTree3f<IEntity> tree) {
+        this(CENTER_UPDATER, tree);
+    }
+
+    /**
+     * @param tree The tree each entity is kept within, or null.
+     * */
+    public Shape3fUpdateSystem(CollidableUpdater updater, AABBTree3f<IEntity> tree) {
         super(new ClassComponentMatcher(Transformable.class, Shape3f.class));
         this.updater = updater;
+        this.tree = tree;
     }
 
     @Override
     public void init(Engine engine, EntitySystemManager entitySystemManager, Window window) {
+        if (tree != null) {
+            entitySystemManager.addListener(new EntitySystemManager.EntityListener() {
+                @Override
+                public void onEntityAdd(IEntity entity) {
 
+                }
+
+                @Override
+                public void onEntityRemove(IEntity entity) {
+                    tree.removeByElement(entity);
+                }
+            });
+        }
     }
 
     @Override
     public void update(Engine engine, EntitySystemManager entitySystemManager, double deltaTime) {
-        for (IEntity entity : entitySystemManager.getEntities(this)) {
+        List<IEntity> entities = entitySystemManager.getEntities(this);
+        for (IEntity entity : entities) {
             Transformable transformable = entity.getComponent(Transformable.class);
             Shape3f shape3F = entity.getComponent(Shape3f.class);
             updater.update(entity, transformable, shape3F);
+
+            if (tree != null) {
+                if (tree.getShape(entity) != shape3F) {
+                    // The entity is new to the tree or its shape has been replaced.
+                    tree.removeByElement(entity);
+                    tree.add(shape3F, entity);
+                } else {
+                    tree.update(entity);
+                }
+            }
+        }
+
+        // Every entity of this system is within the tree, so any other element has stopped matching this system.
+        if (tree != null && tree.size() > entities.size()) {
+            removeUnmatched();
         }
     }
 
+    /**
+     * Removes the entities which no longer match this system from the tree.
+     * */
+    private void removeUnmatched() {
+        for (IEntity entity : tree) {
+            if (!getMatcher().matches(entity)) {
+                unmatched.add(entity);
+            }
+        }
+        for (IEntity entity : unmatched) {
+            tree.removeByElement(entity);
+        }
+        unmatched.clear();
+    }
+
     @Override
     public void fixedUpdate(Engine engine, EntitySystemManager entitySystemManager, double deltaTime) {
 
     }
 
+    public AABBTree3f<IEntity> getTree() {
+        return tree;
+    }
+
     public interface CollidableUpdater {
         void update(IEntity entity, Transformable transformable, Shape3f shape3f);
     }
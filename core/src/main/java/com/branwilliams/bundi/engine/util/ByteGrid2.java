@@ -0,0 +1,113 @@
+package com.branwilliams.bundi.engine.util;
+
+import java.util.Arrays;
+
+/**
+ * A two dimensional grid of byte values backed by a single byte array, so no value is ever boxed. See
+ * {@link PrimitiveGrid2} for the layout of the values.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class ByteGrid2 extends PrimitiveGrid2 {
+
+    private final byte[] data;
+
+    public ByteGrid2(int width, int height) {
+        this(new byte[width * height], width, height);
+    }
+
+    public ByteGrid2(byte[] data, int width, int height) {
+        super(data.length, width, height);
+        this.data = data;
+    }
+
+    public void setValue(byte value, int x, int y) {
+        data[toFlatIndex(x, y)] = value;
+        setDirty(true);
+    }
+
+    public byte getValue(int x, int y) {
+        return data[toFlatIndex(x, y)];
+    }
+
+    /**
+     * Sets the value at the provided coordinates, which must lie within this grid.
+     * */
+    public void setUnchecked(byte value, int x, int y) {
+        data[x * height + y] = value;
+        setDirty(true);
+    }
+
+    /**
+     * @return The value at the provided coordinates, which must lie within this grid.
+     * */
+    public byte getUnchecked(int x, int y) {
+        return data[x * height + y];
+    }
+
+    public void set(int index, byte value) {
+        data[index] = value;
+        setDirty(true);
+    }
+
+    public byte get(int index) {
+        return data[index];
+    }
+
+    /**
+     * @return The array backing this grid. Writing to it directly does not mark this grid as dirty.
+     * */
+    public byte[] getData() {
+        return data;
+    }
+
+    public void fill(byte value) {
+        Arrays.fill(data, value);
+        setDirty(true);
+    }
+
+    public void fillRow(int x, byte value) {
+        int offset = rowOffset(x);
+        Arrays.fill(data, offset, offset + height, value);
+        setDirty(true);
+    }
+
+    /**
+     * Copies every value of the provided grid, which must have the same dimensions as this grid.
+     * */
+    public void copyFrom(ByteGrid2 other) {
+        checkSameDimensions(other);
+        System.arraycopy(other.data, 0, data, 0, data.length);
+        setDirty(true);
+    }
+
+    /**
+     * Copies the values of the provided array, which must be laid out like this grid.
+     * */
+    public void copyFrom(byte[] values) {
+        if (values.length != data.length)
+            throw new IllegalArgumentException("Values must have the dimensions of width * height");
+        System.arraycopy(values, 0, data, 0, data.length);
+        setDirty(true);
+    }
+
+    /**
+     * Copies the row at x into the destination array beginning at the provided offset.
+     * */
+    public void getRow(int x, byte[] destination, int destinationOffset) {
+        System.arraycopy(data, rowOffset(x), destination, destinationOffset, height);
+    }
+
+    /**
+     * Copies a row of values from the source array beginning at the provided offset into the row at x.
+     * */
+    public void setRow(int x, byte[] source, int sourceOffset) {
+        System.arraycopy(source, sourceOffset, data, rowOffset(x), height);
+        setDirty(true);
+    }
+
+    public ByteGrid2 copy() {
+        return new ByteGrid2(data.clone(), width, height);
+    }
+}
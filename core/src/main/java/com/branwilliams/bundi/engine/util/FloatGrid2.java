@@ -0,0 +1,113 @@
+package com.branwilliams.bundi.engine.util;
+
+import java.util.Arrays;
+
+/**
+ * A two dimensional grid of float values backed by a single float array, so no value is ever boxed. See
+ * {@link PrimitiveGrid2} for the layout of the values.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class FloatGrid2 extends PrimitiveGrid2 {
+
+    private final float[] data;
+
+    public FloatGrid2(int width, int height) {
+        this(new float[width * height], width, height);
+    }
+
+    public FloatGrid2(float[] data, int width, int height) {
+        super(data.length, width, height);
+        this.data = data;
+    }
+
+    public void setValue(float value, int x, int y) {
+        data[toFlatIndex(x, y)] = value;
+        setDirty(true);
+    }
+
+    public float getValue(int x, int y) {
+        return data[toFlatIndex(x, y)];
+    }
+
+    /**
+     * Sets the value at the provided coordinates, which must lie within this grid.
+     * */
+    public void setUnchecked(float value, int x, int y) {
+        data[x * height + y] = value;
+        setDirty(true);
+    }
+
+    /**
+     * @return The value at the provided coordinates, which must lie within this grid.
+     * */
+    public float getUnchecked(int x, int y) {
+        return data[x * height + y];
+    }
+
+    public void set(int index, float value) {
+        data[index] = value;
+        setDirty(true);
+    }
+
+    public float get(int index) {
+        return data[index];
+    }
+
+    /**
+     * @return The array backing this grid. Writing to it directly does not mark this grid as dirty.
+     * */
+    public float[] getData() {
+        return data;
+    }
+
+    public void fill(float value) {
+        Arrays.fill(data, value);
+        setDirty(true);
+    }
+
+    public void fillRow(int x, float value) {
+        int offset = rowOffset(x);
+        Arrays.fill(data, offset, offset + height, value);
+        setDirty(true);
+    }
+
+    /**
+     * Copies every value of the provided grid, which must have the same dimensions as this grid.
+     * */
+    public void copyFrom(FloatGrid2 other) {
+        checkSameDimensions(other);
+        System.arraycopy(other.data, 0, data, 0, data.length);
+        setDirty(true);
+    }
+
+    /**
+     * Copies the values of the provided array, which must be laid out like this grid.
+     * */
+    public void copyFrom(float[] values) {
+        if (values.length != data.length)
+            throw new IllegalArgumentException("Values must have the dimensions of width * height");
+        System.arraycopy(values, 0, data, 0, data.length);
+        setDirty(true);
+    }
+
+    /**
+     * Copies the row at x into the destination array beginning at the provided offset.
+     * */
+    public void getRow(int x, float[] destination, int destinationOffset) {
+        System.arraycopy(data, rowOffset(x), destination, destinationOffset, height);
+    }
+
+    /**
+     * Copies a row of values from the source array beginning at the provided offset into the row at x.
+     * */
+    public void setRow(int x, float[] source, int sourceOffset) {
+        System.arraycopy(source, sourceOffset, data, rowOffset(x), height);
+        setDirty(true);
+    }
+
+    public FloatGrid2 copy() {
+        return new FloatGrid2(data.clone(), width, height);
+    }
+}
@@ -0,0 +1,134 @@
+package com.branwilliams.bundi.engine.util;
+
+import java.util.Arrays;
+
+/**
+ * A three dimensional grid of float values backed by a single float array, so no value is ever boxed. See
+ * {@link PrimitiveGrid3} for the layout of the values.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class FloatGrid3 extends PrimitiveGrid3 {
+
+    private final float[] data;
+
+    public FloatGrid3(int width, int height, int depth) {
+        this(new float[width * height * depth], width, height, depth);
+    }
+
+    public FloatGrid3(float[] data, int width, int height, int depth) {
+        super(data.length, width, height, depth);
+        this.data = data;
+    }
+
+    public void setValue(float value, int x, int y, int z) {
+        data[toFlatIndex(x, y, z)] = value;
+        setDirty(true);
+    }
+
+    public float getValue(int x, int y, int z) {
+        return data[toFlatIndex(x, y, z)];
+    }
+
+    /**
+     * Sets the value at the provided coordinates, which must lie within this grid.
+     * */
+    public void setUnchecked(float value, int x, int y, int z) {
+        data[x + width * (y + height * z)] = value;
+        setDirty(true);
+    }
+
+    /**
+     * @return The value at the provided coordinates, which must lie within this grid.
+     * */
+    public float getUnchecked(int x, int y, int z) {
+        return data[x + width * (y + height * z)];
+    }
+
+    public void set(int index, float value) {
+        data[index] = value;
+        setDirty(true);
+    }
+
+    public float get(int index) {
+        return data[index];
+    }
+
+    /**
+     * @return The array backing this grid. Writing to it directly does not mark this grid as dirty.
+     * */
+    public float[] getData() {
+        return data;
+    }
+
+    public void fill(float value) {
+        Arrays.fill(data, value);
+        setDirty(true);
+    }
+
+    public void fillRow(int y, int z, float value) {
+        int offset = rowOffset(y, z);
+        Arrays.fill(data, offset, offset + width, value);
+        setDirty(true);
+    }
+
+    public void fillSlab(int z, float value) {
+        int offset = slabOffset(z);
+        Arrays.fill(data, offset, offset + getSlabSize(), value);
+        setDirty(true);
+    }
+
+    /**
+     * Copies every value of the provided grid, which must have the same dimensions as this grid.
+     * */
+    public void copyFrom(FloatGrid3 other) {
+        checkSameDimensions(other);
+        System.arraycopy(other.data, 0, data, 0, data.length);
+        setDirty(true);
+    }
+
+    /**
+     * Copies the values of the provided array, which must be laid out like this grid.
+     * */
+    public void copyFrom(float[] values) {
+        if (values.length != data.length)
+            throw new IllegalArgumentException("Values must have the dimensions of width * height * depth");
+        System.arraycopy(values, 0, data, 0, data.length);
+        setDirty(true);
+    }
+
+    /**
+     * Copies the row at (y, z) into the destination array beginning at the provided offset.
+     * */
+    public void getRow(int y, int z, float[] destination, int destinationOffset) {
+        System.arraycopy(data, rowOffset(y, z), destination, destinationOffset, width);
+    }
+
+    /**
+     * Copies a row of values from the source array beginning at the provided offset into the row at (y, z).
+     * */
+    public void setRow(int y, int z, float[] source, int sourceOffset) {
+        System.arraycopy(source, sourceOffset, data, rowOffset(y, z), width);
+        setDirty(true);
+    }
+
+    /**
+     * Copies the slab at z into the destination array beginning at the provided offset.
+     * */
+    public void getSlab(int z, float[] destination, int destinationOffset) {
+        System.arraycopy(data, slabOffset(z), destination, destinationOffset, getSlabSize());
+    }
+
+    /**
+     * Copies a slab of values from the source array beginning at the provided offset into the slab at z.
+     * */
+    public void setSlab(int z, float[] source, int sourceOffset) {
+        System.arraycopy(source, sourceOffset, data, slabOffset(z), getSlabSize());
+        setDirty(true);
+    }
+
+    public FloatGrid3 copy() {
+        return new FloatGrid3(data.clone(), width, height, depth);
+    }
+}
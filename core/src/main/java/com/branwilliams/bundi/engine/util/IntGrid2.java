@@ -0,0 +1,113 @@
+package com.branwilliams.bundi.engine.util;
+
+import java.util.Arrays;
+
+/**
+ * A two dimensional grid of int values backed by a single int array, so no value is ever boxed. See
+ * {@link PrimitiveGrid2} for the layout of the values.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class IntGrid2 extends PrimitiveGrid2 {
+
+    private final int[] data;
+
+    public IntGrid2(int width, int height) {
+        this(new int[width * height], width, height);
+    }
+
+    public IntGrid2(int[] data, int width, int height) {
+        super(data.length, width, height);
+        this.data = data;
+    }
+
+    public void setValue(int value, int x, int y) {
+        data[toFlatIndex(x, y)] = value;
+        setDirty(true);
+    }
+
+    public int getValue(int x, int y) {
+        return data[toFlatIndex(x, y)];
+    }
+
+    /**
+     * Sets the value at the provided coordinates, which must lie within this grid.
+     * */
+    public void setUnchecked(int value, int x, int y) {
+        data[x * height + y] = value;
+        setDirty(true);
+    }
+
+    /**
+     * @return The value at the provided coordinates, which must lie within this grid.
+     * */
+    public int getUnchecked(int x, int y) {
+        return data[x * height + y];
+    }
+
+    public void set(int index, int value) {
+        data[index] = value;
+        setDirty(true);
+    }
+
+    public int get(int index) {
+        return data[index];
+    }
+
+    /**
+     * @return The array backing this grid. Writing to it directly does not mark this grid as dirty.
+     * */
+    public int[] getData() {
+        return data;
+    }
+
+    public void fill(int value) {
+        Arrays.fill(data, value);
+        setDirty(true);
+    }
+
+    public void fillRow(int x, int value) {
+        int offset = rowOffset(x);
+        Arrays.fill(data, offset, offset + height, value);
+        setDirty(true);
+    }
+
+    /**
+     * Copies every value of the provided grid, which must have the same dimensions as this grid.
+     * */
+    public void copyFrom(IntGrid2 other) {
+        checkSameDimensions(other);
+        System.arraycopy(other.data, 0, data, 0, data.length);
+        setDirty(true);
+    }
+
+    /**
+     * Copies the values of the provided array, which must be laid out like this grid.
+     * */
+    public void copyFrom(int[] values) {
+        if (values.length != data.length)
+            throw new IllegalArgumentException("Values must have the dimensions of width * height");
+        System.arraycopy(values, 0, data, 0, data.length);
+        setDirty(true);
+    }
+
+    /**
+     * Copies the row at x into the destination array beginning at the provided offset.
+     * */
+    public void getRow(int x, int[] destination, int destinationOffset) {
+        System.arraycopy(data, rowOffset(x), destination, destinationOffset, height);
+    }
+
+    /**
+     * Copies a row of values from the source array beginning at the provided offset into the row at x.
+     * */
+    public void setRow(int x, int[] source, int sourceOffset) {
+        System.arraycopy(source, sourceOffset, data, rowOffset(x), height);
+        setDirty(true);
+    }
+
+    public IntGrid2 copy() {
+        return new IntGrid2(data.clone(), width, height);
+    }
+}
@@ -0,0 +1,228 @@
+package com.branwilliams.bundi.engine.util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A hash map from primitive long keys to values using open addressing with linear probing. <br/>
+ * Keys are stored within a long array, so looking up a value neither boxes its key nor allocates anything. Removal
+ * shifts the following entries of a probe sequence back instead of leaving tombstones, so lookups stay short after
+ * many removals. Null values are not allowed, since a null value marks an empty slot.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class LongObjectMap<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private static final float LOAD_FACTOR = 0.5F;
+
+    private long[] keys;
+
+    private Object[] values;
+
+    private int mask;
+
+    private int resizeThreshold;
+
+    private int size;
+
+    public LongObjectMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize The number of entries this map holds before it needs to grow.
+     * */
+    public LongObjectMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("The expected size cannot be negative!");
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * @return The value mapped to the provided key or null if there is none.
+     * */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = hash(key) & mask;
+        Object value;
+        while ((value = values[slot]) != null) {
+            if (keys[slot] == key) {
+                return (V) value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * @return True if a value is mapped to the provided key.
+     * */
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Maps the value to the provided key.
+     * @return The value previously mapped to the key or null if there was none.
+     * */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not allowed!");
+        }
+
+        int slot = hash(key) & mask;
+        Object previous;
+        while ((previous = values[slot]) != null) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return (V) previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeThreshold) {
+            rehash(values.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the value mapped to the provided key.
+     * @return The removed value or null if there was none.
+     * */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int slot = hash(key) & mask;
+        Object value;
+        while ((value = values[slot]) != null) {
+            if (keys[slot] == key) {
+                shiftBack(slot);
+                size--;
+                return (V) value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Removes every entry of this map. The capacity of this map is kept.
+     * */
+    public void clear() {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = null;
+        }
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return The values of this map in no particular order. This map must not be modified while the values are
+     * iterated.
+     * */
+    public Iterable<V> values() {
+        return ValueIterator::new;
+    }
+
+    /**
+     * Empties the provided slot and moves back the entries after it which would no longer be found once the slot is
+     * empty.
+     * */
+    private void shiftBack(int hole) {
+        int slot = (hole + 1) & mask;
+        while (values[slot] != null) {
+            int ideal = hash(keys[slot]) & mask;
+
+            // Move the entry if the hole lies between its ideal slot and its current slot.
+            if (((slot - ideal) & mask) >= ((slot - hole) & mask)) {
+                keys[hole] = keys[slot];
+                values[hole] = values[slot];
+                hole = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        values[hole] = null;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Spreads the bits of the key, since packed coordinates differ mostly within their low bits.
+     * */
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private class ValueIterator implements Iterator<V> {
+
+        private int slot = nextSlot(0);
+
+        @Override
+        public boolean hasNext() {
+            return slot < values.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            V value = (V) values[slot];
+            slot = nextSlot(slot + 1);
+            return value;
+        }
+
+        private int nextSlot(int slot) {
+            while (slot < values.length && values[slot] == null) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+}
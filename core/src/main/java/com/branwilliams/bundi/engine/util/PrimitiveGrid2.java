@@ -0,0 +1,90 @@
+package com.branwilliams.bundi.engine.util;
+
+/**
+ * The dimensions and index math shared by the two dimensional grids backed by flat primitive arrays. <br/>
+ * Values are laid out like {@link Grid2i}, so the value at (x, y) is stored at the index x * height + y. A row is the
+ * run of values along the y axis for some x and is contiguous within the backing array. <br/>
+ * {@link PrimitiveGrid2#toFlatIndex(int, int)} clamps its coordinates like {@link Grid2i} does, while
+ * {@link PrimitiveGrid2#index(int, int)} and the unchecked accessors of each grid expect coordinates within the grid
+ * and leave bounds checking to the backing array.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public abstract class PrimitiveGrid2 {
+
+    protected final int width;
+
+    protected final int height;
+
+    private boolean dirty;
+
+    protected PrimitiveGrid2(int length, int width, int height) {
+        if (width < 0 || height < 0)
+            throw new IllegalArgumentException("Grid dimensions cannot be negative!");
+        if (width * height != length)
+            throw new IllegalArgumentException("Kernel must have the dimensions of width * height");
+        this.width = width;
+        this.height = height;
+        this.dirty = true;
+    }
+
+    /**
+     * @return The index of the provided coordinates after clamping them within this grid.
+     * */
+    public int toFlatIndex(int x, int y) {
+        x = Mathf.clamp(x, 0, width - 1);
+        y = Mathf.clamp(y, 0, height - 1);
+        return x * height + y;
+    }
+
+    /**
+     * @return The index of the provided coordinates, which must lie within this grid.
+     * */
+    public int index(int x, int y) {
+        return x * height + y;
+    }
+
+    /**
+     * @return The index of the first value of the row at x. The row holds {@link PrimitiveGrid2#getHeight()} values.
+     * */
+    public int rowOffset(int x) {
+        return x * height;
+    }
+
+    /**
+     * @return True if the provided coordinates lie within this grid.
+     * */
+    public boolean contains(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getSize() {
+        return width * height;
+    }
+
+    public boolean hasSameDimensions(PrimitiveGrid2 other) {
+        return width == other.width && height == other.height;
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void setDirty(boolean dirty) {
+        this.dirty = dirty;
+    }
+
+    protected void checkSameDimensions(PrimitiveGrid2 other) {
+        if (!hasSameDimensions(other))
+            throw new IllegalArgumentException("Grids must have the same dimensions!");
+    }
+}
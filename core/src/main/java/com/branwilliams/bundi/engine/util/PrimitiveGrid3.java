@@ -0,0 +1,113 @@
+package com.branwilliams.bundi.engine.util;
+
+/**
+ * The dimensions and index math shared by the three dimensional grids backed by flat primitive arrays. <br/>
+ * Values are laid out like {@link Grid3i}, so the value at (x, y, z) is stored at the index x + width * (y + height *
+ * z). A row is the run of values along the x axis for some (y, z) and a slab is the plane of values for some z; both
+ * are contiguous within the backing array. <br/>
+ * {@link PrimitiveGrid3#toFlatIndex(int, int, int)} clamps its coordinates like {@link Grid3i} does, while
+ * {@link PrimitiveGrid3#index(int, int, int)} and the unchecked accessors of each grid expect coordinates within the
+ * grid and leave bounds checking to the backing array.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public abstract class PrimitiveGrid3 {
+
+    protected final int width;
+
+    protected final int height;
+
+    protected final int depth;
+
+    private boolean dirty;
+
+    protected PrimitiveGrid3(int length, int width, int height, int depth) {
+        if (width < 0 || height < 0 || depth < 0)
+            throw new IllegalArgumentException("Grid dimensions cannot be negative!");
+        if (width * height * depth != length)
+            throw new IllegalArgumentException("Kernel must have the dimensions of width * height * depth");
+        this.width = width;
+        this.height = height;
+        this.depth = depth;
+        this.dirty = true;
+    }
+
+    /**
+     * @return The index of the provided coordinates after clamping them within this grid.
+     * */
+    public int toFlatIndex(int x, int y, int z) {
+        x = Mathf.clamp(x, 0, width - 1);
+        y = Mathf.clamp(y, 0, height - 1);
+        z = Mathf.clamp(z, 0, depth - 1);
+
+        return x + width * (y + height * z);
+    }
+
+    /**
+     * @return The index of the provided coordinates, which must lie within this grid.
+     * */
+    public int index(int x, int y, int z) {
+        return x + width * (y + height * z);
+    }
+
+    /**
+     * @return The index of the first value of the row at (y, z). The row holds {@link PrimitiveGrid3#getWidth()}
+     * values.
+     * */
+    public int rowOffset(int y, int z) {
+        return width * (y + height * z);
+    }
+
+    /**
+     * @return The index of the first value of the slab at z. The slab holds {@link PrimitiveGrid3#getSlabSize()}
+     * values.
+     * */
+    public int slabOffset(int z) {
+        return width * height * z;
+    }
+
+    /**
+     * @return True if the provided coordinates lie within this grid.
+     * */
+    public boolean contains(int x, int y, int z) {
+        return x >= 0 && x < width && y >= 0 && y < height && z >= 0 && z < depth;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getSlabSize() {
+        return width * height;
+    }
+
+    public int getSize() {
+        return width * height * depth;
+    }
+
+    public boolean hasSameDimensions(PrimitiveGrid3 other) {
+        return width == other.width && height == other.height && depth == other.depth;
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void setDirty(boolean dirty) {
+        this.dirty = dirty;
+    }
+
+    protected void checkSameDimensions(PrimitiveGrid3 other) {
+        if (!hasSameDimensions(other))
+            throw new IllegalArgumentException("Grids must have the same dimensions!");
+    }
+}
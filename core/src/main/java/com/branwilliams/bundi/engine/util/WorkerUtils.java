@@ -0,0 +1,98 @@
+package com.branwilliams.bundi.engine.util;
+
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Shared pieces of the loaders which do their work on worker threads and hand the results back to the main thread.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public enum WorkerUtils {
+    INSTANCE;
+
+    /** The time spent each frame handing work back to the main thread, such as uploading meshes. */
+    public static final long DEFAULT_UPLOAD_BUDGET_NS = TimeUnit.MILLISECONDS.toNanos(4L);
+
+    /** The most frames waited before work which keeps failing is retried. */
+    public static final int MAX_RETRY_DELAY_FRAMES = 64;
+
+    /**
+     * @return The number of workers which leaves one available processor for the main thread. At least one.
+     * */
+    public static int defaultWorkerCount() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    /**
+     * @param failures The number of times in a row the work has failed. At least one.
+     * @return The number of frames to wait before retrying work which has failed, doubled with each failure up to
+     * {@link WorkerUtils#MAX_RETRY_DELAY_FRAMES}.
+     * */
+    public static int retryDelayFrames(int failures) {
+        if (failures <= 0) {
+            throw new IllegalArgumentException("The number of failures must be positive!");
+        }
+        return failures > Integer.numberOfTrailingZeros(MAX_RETRY_DELAY_FRAMES) ? MAX_RETRY_DELAY_FRAMES
+                : 1 << (failures - 1);
+    }
+
+    /**
+     * @return A pool of daemon threads shared by the whole application, with {@link WorkerUtils#defaultWorkerCount()}
+     * workers. It is created the first time it is used and must never be shut down. Work submitted to it may wait
+     * behind the work of others, so callers which wait for their work should be able to run it themselves.
+     * */
+    public static ExecutorService sharedWorkers() {
+        return SharedWorkers.WORKERS;
+    }
+
+    /**
+     * Creates a pool of daemon threads, so that the workers never keep the application alive.
+     * @param name The prefix of the name of each thread, which is followed by the number of the thread.
+     * */
+    public static ExecutorService newDaemonThreadPool(int workerCount, String name) {
+        return Executors.newFixedThreadPool(workerCount, daemonThreadFactory(name));
+    }
+
+    /**
+     * @param name The prefix of the name of each thread, which is followed by the number of the thread.
+     * @return A thread factory which creates daemon threads.
+     * */
+    public static ThreadFactory daemonThreadFactory(String name) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return (runnable) -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Performs the action for the elements polled from the queue until the budget has been spent or the queue is
+     * empty. The budget is checked after each element, so at least one element is polled when the queue is not empty.
+     * @param budgetNanos The time spent polling, in nanoseconds.
+     * */
+    public static <T> void pollWithinBudget(Queue<T> queue, long budgetNanos, Consumer<? super T> action) {
+        long start = System.nanoTime();
+        T element;
+        while ((element = queue.poll()) != null) {
+            action.accept(element);
+            if (System.nanoTime() - start >= budgetNanos) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Holds the shared workers, so that they are only created once they are first used.
+     * */
+    private static class SharedWorkers {
+        private static final ExecutorService WORKERS = newDaemonThreadPool(defaultWorkerCount(), "shared-worker");
+    }
+}
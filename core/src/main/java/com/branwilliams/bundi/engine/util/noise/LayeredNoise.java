@@ -1,11 +1,25 @@
 package com.branwilliams.bundi.engine.util.noise;
 
+import com.branwilliams.bundi.engine.util.FloatGrid2;
+import com.branwilliams.bundi.engine.util.FloatGrid3;
 import com.branwilliams.bundi.engine.util.Grid2i;
 import com.branwilliams.bundi.engine.util.Grid3i;
 import org.joml.Vector2d;
 import org.joml.Vector3d;
 
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
+ * Sums several layers (octaves) of a noise, each with a higher frequency and a lower amplitude than the last. <br/>
+ * Grids are split into tiles which are evaluated in parallel on a {@link ForkJoinPool}. Each octave of a tile is
+ * sampled as a grid of the delegate. The samples of the lowest octaves can be cached, see
+ * {@link LayeredNoise#setCachedOctaves(int)}. Cached tiles are aligned to the sample lattice of the world rather than
+ * to each request, so neighbouring and repeated requests share them. Grid samples are equal to
+ * {@link LayeredNoise#noise} up to rounding, since the coordinates of each octave are scaled once per tile rather
+ * than once per sample.
+ *
  * @author Brandon
  * @since February 12, 2020
  */
@@ -16,6 +30,18 @@ public class LayeredNoise implements Noise {
 
     public static final double DEFAULT_GAIN = 0.5D;
 
+    public static final int DEFAULT_TILE_SIZE_2D = 64;
+
+    public static final int DEFAULT_TILE_SIZE_3D = 16;
+
+    public static final int DEFAULT_CACHED_OCTAVES = 0;
+
+    // Tiles of the default sizes hold 32 KB each.
+    public static final int DEFAULT_CACHE_CAPACITY = 64;
+
+    // Origins within this fraction of a sample from the lattice of the world are considered to lie on it.
+    private static final double LATTICE_EPSILON = 1E-6;
+
     private final Noise delegate;
 
     private int layers;
@@ -24,6 +50,20 @@ public class LayeredNoise implements Noise {
 
     private double gain;
 
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    private boolean tiled = true;
+
+    private int tileSize2D = DEFAULT_TILE_SIZE_2D;
+
+    private int tileSize3D = DEFAULT_TILE_SIZE_3D;
+
+    private int cachedOctaves = DEFAULT_CACHED_OCTAVES;
+
+    private final OctaveCache octaveCache = new OctaveCache(DEFAULT_CACHE_CAPACITY);
+
+    private final ThreadLocal<TileScratch> scratches = ThreadLocal.withInitial(TileScratch::new);
+
     public LayeredNoise(Noise delegate, int layers) {
         this(delegate, layers, DEFAULT_LACUNARITY, DEFAULT_GAIN);
     }
@@ -46,21 +86,44 @@ public class LayeredNoise implements Noise {
     }
 
     @Override
-    public Grid2i<Double> noiseGrid2i(Vector2d origin, double noiseScale, int width, int height) {
-        Grid2i<Double> grid2i = Noise.super.noiseGrid2i(origin, noiseScale, width, height);
+    public void noiseGrid(double[] values, double originX, double originY, double noiseScale, int width,
+                          int height) {
+        NoiseLattice.checkCapacity(values.length, width, height, 1);
+        evaluate(new GridRequest(values, null, originX, originY, 0D, noiseScale, width, height, 1, false));
+    }
 
-        // Find the max noise value since this layered noise may produce noise values above 1.0.
-        double maxNoiseValue = 0;
-        for (double noiseValue : grid2i) {
-            if (noiseValue > maxNoiseValue) {
-                maxNoiseValue = noiseValue;
-            }
-        }
+    @Override
+    public void noiseGrid(float[] values, double originX, double originY, double noiseScale, int width,
+                          int height) {
+        NoiseLattice.checkCapacity(values.length, width, height, 1);
+        evaluate(new GridRequest(null, values, originX, originY, 0D, noiseScale, width, height, 1, false));
+    }
+
+    @Override
+    public void noiseGrid(double[] values, double originX, double originY, double originZ, double noiseScale,
+                          int width, int height, int depth) {
+        NoiseLattice.checkCapacity(values.length, width, height, depth);
+        evaluate(new GridRequest(values, null, originX, originY, originZ, noiseScale, width, height, depth, true));
+    }
 
-        // Normalize each value.
+    @Override
+    public void noiseGrid(float[] values, double originX, double originY, double originZ, double noiseScale,
+                          int width, int height, int depth) {
+        NoiseLattice.checkCapacity(values.length, width, height, depth);
+        evaluate(new GridRequest(null, values, originX, originY, originZ, noiseScale, width, height, depth, true));
+    }
+
+    @Override
+    public Grid2i<Double> noiseGrid2i(Vector2d origin, double noiseScale, int width, int height) {
+        double[] values = new double[width * height];
+        noiseGrid(values, origin.x, origin.y, noiseScale, width, height);
+
+        // Normalize each value since this layered noise may produce noise values above 1.0.
+        double maxNoiseValue = maxOrOne(values);
+        Grid2i<Double> grid2i = new Grid2i<>(Double[]::new, width, height);
         for (int i = 0; i < width; i++) {
             for (int j = 0; j < height; j++) {
-                grid2i.setValue(grid2i.getValue(i, j) / maxNoiseValue, i, j);
+                grid2i.setValue(values[i * height + j] / maxNoiseValue, i, j);
             }
         }
         return grid2i;
@@ -68,25 +131,265 @@ public class LayeredNoise implements Noise {
 
     @Override
     public Grid3i<Double> noiseGrid3i(Vector3d origin, double noiseScale, int width, int height, int depth) {
-        Grid3i<Double> grid3i = Noise.super.noiseGrid3i(origin, noiseScale, width, height, depth);
+        double[] values = new double[width * height * depth];
+        noiseGrid(values, origin.x, origin.y, origin.z, noiseScale, width, height, depth);
+
+        // Normalize each value since this layered noise may produce noise values above 1.0.
+        double maxNoiseValue = maxOrOne(values);
+        Grid3i<Double> grid3i = new Grid3i<>(Double[]::new, width, height, depth);
+        int index = 0;
+        for (int k = 0; k < depth; k++) {
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < width; i++) {
+                    grid3i.setValue(values[index++] / maxNoiseValue, i, j, k);
+                }
+            }
+        }
+        return grid3i;
+    }
+
+    @Override
+    public FloatGrid2 noiseFloatGrid2(Vector2d origin, double noiseScale, int width, int height) {
+        FloatGrid2 grid = new FloatGrid2(width, height);
+        noiseGrid(grid, origin.x, origin.y, noiseScale);
+
+        // Normalize each value since this layered noise may produce noise values above 1.0.
+        normalize(grid.getData());
+        return grid;
+    }
+
+    @Override
+    public FloatGrid3 noiseFloatGrid3(Vector3d origin, double noiseScale, int width, int height, int depth) {
+        FloatGrid3 grid = new FloatGrid3(width, height, depth);
+        noiseGrid(grid, origin.x, origin.y, origin.z, noiseScale);
+
+        // Normalize each value since this layered noise may produce noise values above 1.0.
+        normalize(grid.getData());
+        return grid;
+    }
 
-        // Find the max noise value since this layered noise may produce noise values above 1.0.
+    /**
+     * Divides each value within the array by the largest value within the array. The values are left as they are if
+     * none of them are positive.
+     * */
+    private static void normalize(float[] values) {
+        float maxNoiseValue = 0F;
+        for (float noiseValue : values) {
+            if (noiseValue > maxNoiseValue) {
+                maxNoiseValue = noiseValue;
+            }
+        }
+        if (maxNoiseValue <= 0F) {
+            return;
+        }
+        for (int i = 0; i < values.length; i++) {
+            values[i] /= maxNoiseValue;
+        }
+    }
+
+    /**
+     * @return The largest value within the array, or one if none of the values are positive, so that dividing by it
+     * leaves the values as they are.
+     * */
+    private static double maxOrOne(double[] values) {
         double maxNoiseValue = 0;
-        for (double noiseValue : grid3i) {
+        for (double noiseValue : values) {
             if (noiseValue > maxNoiseValue) {
                 maxNoiseValue = noiseValue;
             }
         }
+        return maxNoiseValue > 0 ? maxNoiseValue : 1D;
+    }
+
+    /**
+     * Splits the requested grid into tiles and evaluates them on the pool of this layered noise. Grids which fit
+     * within a single tile, or every grid when tiling is disabled, are evaluated on the calling thread. When octaves
+     * are cached and the origin of the grid lies on the sample lattice of the world, the tiles are aligned to that
+     * lattice so that they match the cached tiles.
+     * */
+    private void evaluate(GridRequest request) {
+        int tileSize = request.volumetric ? tileSize3D : tileSize2D;
+        int tileDepth = request.volumetric ? tileSize : 1;
+        Lattice lattice = cachedOctaves > 0 ? Lattice.of(request) : null;
+
+        if (lattice == null && (!tiled || (request.width <= tileSize && request.height <= tileSize
+                && request.depth <= tileDepth))) {
+            evaluateTile(request, null, 0, 0, 0, request.width, request.height, request.depth);
+            return;
+        }
 
-        // Normalize each value.
-        for (int i = 0; i < width; i++) {
-            for (int j = 0; j < height; j++) {
-                for (int k = 0; k < depth; k++) {
-                    grid3i.setValue(grid3i.getValue(i, j, k) / maxNoiseValue, i, j, k);
+        long latticeX = lattice == null ? 0L : lattice.x;
+        long latticeY = lattice == null ? 0L : lattice.y;
+        long latticeZ = lattice == null ? 0L : lattice.z;
+
+        List<RecursiveAction> tiles = new ArrayList<>();
+        for (int k = 0; k < request.depth; k = nextTile(latticeZ, k, tileDepth)) {
+            for (int j = 0; j < request.height; j = nextTile(latticeY, j, tileSize)) {
+                for (int i = 0; i < request.width; i = nextTile(latticeX, i, tileSize)) {
+                    int tileI = i, tileJ = j, tileK = k;
+                    int tileWidth = Math.min(nextTile(latticeX, i, tileSize), request.width) - i;
+                    int tileHeight = Math.min(nextTile(latticeY, j, tileSize), request.height) - j;
+                    int depth = Math.min(nextTile(latticeZ, k, tileDepth), request.depth) - k;
+                    tiles.add(new RecursiveAction() {
+                        @Override
+                        protected void compute() {
+                            evaluateTile(request, lattice, tileI, tileJ, tileK, tileWidth, tileHeight, depth);
+                        }
+                    });
                 }
             }
         }
-        return grid3i;
+
+        if (!tiled || tiles.size() == 1) {
+            tiles.forEach(RecursiveAction::invoke);
+            return;
+        }
+
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tiles);
+            }
+        });
+    }
+
+    /**
+     * @return The index of the first sample after the provided index which begins a new tile, given the position of
+     * the first sample on the lattice of the world.
+     * */
+    private static int nextTile(long latticeOrigin, int index, int tileSize) {
+        return index + tileSize - (int) Math.floorMod(latticeOrigin + index, (long) tileSize);
+    }
+
+    /**
+     * Sums every octave of a tile and stores the sum within the requested grid. Each octave is sampled as a grid of
+     * the delegate, scaled by the frequency of the octave. The lowest octaves are copied from cached tiles aligned to
+     * the lattice of the world when a lattice is provided. These are cached without their amplitude, so they are
+     * reused by repeated requests even after the gain has changed.
+     * */
+    private void evaluateTile(GridRequest request, Lattice lattice, int tileI, int tileJ, int tileK, int tileWidth,
+                              int tileHeight, int tileDepth) {
+        int size = tileWidth * tileHeight * tileDepth;
+        TileScratch scratch = scratches.get();
+        double[] sum = scratch.sum(size);
+        Arrays.fill(sum, 0, size, 0D);
+
+        double tileX = request.originX + tileI * request.noiseScale;
+        double tileY = request.originY + tileJ * request.noiseScale;
+        double tileZ = request.originZ + tileK * request.noiseScale;
+
+        double[] octave = scratch.octave(size);
+        double frequency = 1;
+        double amplitude = 1;
+        for (int layer = 0; layer < layers; layer++) {
+            if (lattice != null && layer < cachedOctaves) {
+                copyCachedOctave(request, lattice, frequency, octave, tileI, tileJ, tileK, tileWidth, tileHeight,
+                        tileDepth);
+            } else if (request.volumetric) {
+                delegate.noiseGrid(octave, tileX * frequency, tileY * frequency, tileZ * frequency,
+                        request.noiseScale * frequency, tileWidth, tileHeight, tileDepth);
+            } else {
+                delegate.noiseGrid(octave, tileX * frequency, tileY * frequency, request.noiseScale * frequency,
+                        tileWidth, tileHeight);
+            }
+
+            for (int index = 0; index < size; index++) {
+                sum[index] += octave[index] * amplitude;
+            }
+            frequency *= lacunarity;
+            amplitude *= gain;
+        }
+
+        storeTile(request, sum, tileI, tileJ, tileK, tileWidth, tileHeight, tileDepth);
+    }
+
+    /**
+     * Copies the samples of one octave of a tile from the cached tile which contains it. The cached tile is sampled
+     * first if it is missing.
+     * */
+    private void copyCachedOctave(GridRequest request, Lattice lattice, double frequency, double[] octave, int tileI,
+                                  int tileJ, int tileK, int tileWidth, int tileHeight, int tileDepth) {
+        int tileSize = request.volumetric ? tileSize3D : tileSize2D;
+        long sampleX = lattice.x + tileI, sampleY = lattice.y + tileJ, sampleZ = lattice.z + tileK;
+        OctaveKey key = new OctaveKey(request.volumetric, request.noiseScale, frequency, tileSize,
+                Math.floorDiv(sampleX, tileSize), Math.floorDiv(sampleY, tileSize),
+                request.volumetric ? Math.floorDiv(sampleZ, tileSize) : 0L);
+
+        double[] cached = octaveCache.get(key);
+        if (cached == null) {
+            cached = sampleOctave(key);
+            octaveCache.put(key, cached);
+        }
+
+        int offsetI = (int) Math.floorMod(sampleX, (long) tileSize);
+        int offsetJ = (int) Math.floorMod(sampleY, (long) tileSize);
+        int index = 0;
+        if (request.volumetric) {
+            int offsetK = (int) Math.floorMod(sampleZ, (long) tileSize);
+            for (int k = 0; k < tileDepth; k++) {
+                for (int j = 0; j < tileHeight; j++) {
+                    int offset = offsetI + tileSize * ((offsetJ + j) + tileSize * (offsetK + k));
+                    System.arraycopy(cached, offset, octave, index, tileWidth);
+                    index += tileWidth;
+                }
+            }
+        } else {
+            for (int i = 0; i < tileWidth; i++) {
+                System.arraycopy(cached, (offsetI + i) * tileSize + offsetJ, octave, index, tileHeight);
+                index += tileHeight;
+            }
+        }
+    }
+
+    /**
+     * Samples one octave of a whole tile aligned to the lattice of the world.
+     * */
+    private double[] sampleOctave(OctaveKey key) {
+        double noiseScale = key.noiseScale * key.frequency;
+        double x = key.tileX * key.tileSize * key.noiseScale * key.frequency;
+        double y = key.tileY * key.tileSize * key.noiseScale * key.frequency;
+        if (key.volumetric) {
+            double z = key.tileZ * key.tileSize * key.noiseScale * key.frequency;
+            double[] octave = new double[key.tileSize * key.tileSize * key.tileSize];
+            delegate.noiseGrid(octave, x, y, z, noiseScale, key.tileSize, key.tileSize, key.tileSize);
+            return octave;
+        } else {
+            double[] octave = new double[key.tileSize * key.tileSize];
+            delegate.noiseGrid(octave, x, y, noiseScale, key.tileSize, key.tileSize);
+            return octave;
+        }
+    }
+
+    /**
+     * Copies the tile into its place within the requested grid. Both use the layout of the grids of {@link Noise}.
+     * */
+    private static void storeTile(GridRequest request, double[] tile, int tileI, int tileJ, int tileK, int tileWidth,
+                                  int tileHeight, int tileDepth) {
+        int index = 0;
+        if (request.volumetric) {
+            for (int k = 0; k < tileDepth; k++) {
+                for (int j = 0; j < tileHeight; j++) {
+                    int offset = tileI + request.width * ((tileJ + j) + request.height * (tileK + k));
+                    for (int i = 0; i < tileWidth; i++) {
+                        request.store(offset + i, tile[index++]);
+                    }
+                }
+            }
+        } else {
+            for (int i = 0; i < tileWidth; i++) {
+                int offset = (tileI + i) * request.height + tileJ;
+                for (int j = 0; j < tileHeight; j++) {
+                    request.store(offset + j, tile[index++]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes every cached octave.
+     * */
+    public void clearCache() {
+        octaveCache.clear();
     }
 
     protected double fBm(double x, double y) {
@@ -145,4 +448,271 @@ public class LayeredNoise implements Noise {
     public Noise getDelegate() {
         return delegate;
     }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Sets the pool which evaluates the tiles of large grids.
+     * */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public boolean isTiled() {
+        return tiled;
+    }
+
+    /**
+     * Enables or disables splitting large grids into tiles which are evaluated in parallel. Grids are evaluated on the
+     * calling thread when this is disabled.
+     * */
+    public void setTiled(boolean tiled) {
+        this.tiled = tiled;
+    }
+
+    public int getTileSize2D() {
+        return tileSize2D;
+    }
+
+    public void setTileSize2D(int tileSize2D) {
+        if (tileSize2D <= 0) {
+            throw new IllegalArgumentException("The tile size must be positive!");
+        }
+        this.tileSize2D = tileSize2D;
+    }
+
+    public int getTileSize3D() {
+        return tileSize3D;
+    }
+
+    public void setTileSize3D(int tileSize3D) {
+        if (tileSize3D <= 0) {
+            throw new IllegalArgumentException("The tile size must be positive!");
+        }
+        this.tileSize3D = tileSize3D;
+    }
+
+    public int getCachedOctaves() {
+        return cachedOctaves;
+    }
+
+    /**
+     * Sets the number of octaves, starting from the lowest frequency, whose tiles are cached. No octaves are cached by
+     * default. Only grids whose origin lies on the sample lattice of the world, i.e. is a multiple of the noise scale,
+     * use the cache. Each cached tile is kept until it is evicted by newer tiles.
+     * */
+    public void setCachedOctaves(int cachedOctaves) {
+        if (cachedOctaves < 0) {
+            throw new IllegalArgumentException("The number of cached octaves cannot be negative!");
+        }
+        this.cachedOctaves = cachedOctaves;
+    }
+
+    public int getCacheCapacity() {
+        return octaveCache.getCapacity();
+    }
+
+    /**
+     * Sets the maximum number of octave tiles kept within the cache. Each tile holds one double per sample.
+     * */
+    public void setCacheCapacity(int cacheCapacity) {
+        if (cacheCapacity < 0) {
+            throw new IllegalArgumentException("The cache capacity cannot be negative!");
+        }
+        octaveCache.setCapacity(cacheCapacity);
+    }
+
+    /**
+     * A grid requested from this layered noise. The values are stored into whichever of the two arrays is not null.
+     * */
+    private static class GridRequest {
+
+        private final double[] doubles;
+
+        private final float[] floats;
+
+        private final double originX, originY, originZ;
+
+        private final double noiseScale;
+
+        private final int width, height, depth;
+
+        private final boolean volumetric;
+
+        private GridRequest(double[] doubles, float[] floats, double originX, double originY, double originZ,
+                            double noiseScale, int width, int height, int depth, boolean volumetric) {
+            this.doubles = doubles;
+            this.floats = floats;
+            this.originX = originX;
+            this.originY = originY;
+            this.originZ = originZ;
+            this.noiseScale = noiseScale;
+            this.width = width;
+            this.height = height;
+            this.depth = depth;
+            this.volumetric = volumetric;
+        }
+
+        private void store(int index, double value) {
+            if (doubles != null) {
+                doubles[index] = value;
+            } else {
+                floats[index] = (float) value;
+            }
+        }
+    }
+
+    /**
+     * The position of the first sample of a grid on the sample lattice of the world, i.e. its origin divided by the
+     * noise scale.
+     * */
+    private static class Lattice {
+
+        private final long x, y, z;
+
+        private Lattice(long x, long y, long z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        /**
+         * @return The position of the requested grid on the lattice of the world, or null if its origin does not lie
+         * on the lattice.
+         * */
+        private static Lattice of(GridRequest request) {
+            if (request.noiseScale <= 0D) {
+                return null;
+            }
+            double x = request.originX / request.noiseScale;
+            double y = request.originY / request.noiseScale;
+            double z = request.originZ / request.noiseScale;
+            if (!isOnLattice(x) || !isOnLattice(y) || !isOnLattice(z)) {
+                return null;
+            }
+            return new Lattice(Math.round(x), Math.round(y), Math.round(z));
+        }
+
+        private static boolean isOnLattice(double sample) {
+            return Math.abs(sample) < Long.MAX_VALUE && Math.abs(sample - Math.rint(sample)) <= LATTICE_EPSILON;
+        }
+    }
+
+    /**
+     * Identifies one octave of a tile aligned to the lattice of the world.
+     * */
+    private static class OctaveKey {
+
+        private final boolean volumetric;
+
+        private final double noiseScale;
+
+        private final double frequency;
+
+        private final int tileSize;
+
+        private final long tileX, tileY, tileZ;
+
+        private OctaveKey(boolean volumetric, double noiseScale, double frequency, int tileSize, long tileX,
+                          long tileY, long tileZ) {
+            this.volumetric = volumetric;
+            this.noiseScale = noiseScale;
+            this.frequency = frequency;
+            this.tileSize = tileSize;
+            this.tileX = tileX;
+            this.tileY = tileY;
+            this.tileZ = tileZ;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            OctaveKey octaveKey = (OctaveKey) o;
+            return volumetric == octaveKey.volumetric &&
+                    Double.compare(octaveKey.noiseScale, noiseScale) == 0 &&
+                    Double.compare(octaveKey.frequency, frequency) == 0 &&
+                    tileSize == octaveKey.tileSize &&
+                    tileX == octaveKey.tileX &&
+                    tileY == octaveKey.tileY &&
+                    tileZ == octaveKey.tileZ;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(volumetric, noiseScale, frequency, tileSize, tileX, tileY, tileZ);
+        }
+    }
+
+    /**
+     * A least recently used cache of the samples of octaves. Tiles are evaluated on several threads, so every access is
+     * synchronized.
+     * */
+    private static class OctaveCache {
+
+        private final Map<OctaveKey, double[]> octaves;
+
+        private int capacity;
+
+        private OctaveCache(int capacity) {
+            this.capacity = capacity;
+            this.octaves = new LinkedHashMap<OctaveKey, double[]>(16, 0.75F, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<OctaveKey, double[]> eldest) {
+                    return size() > OctaveCache.this.capacity;
+                }
+            };
+        }
+
+        private synchronized int getCapacity() {
+            return capacity;
+        }
+
+        private synchronized void setCapacity(int capacity) {
+            this.capacity = capacity;
+            Iterator<OctaveKey> keys = octaves.keySet().iterator();
+            while (octaves.size() > capacity && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+
+        private synchronized double[] get(OctaveKey key) {
+            return octaves.get(key);
+        }
+
+        private synchronized void put(OctaveKey key, double[] octave) {
+            octaves.put(key, octave);
+        }
+
+        private synchronized void clear() {
+            octaves.clear();
+        }
+    }
+
+    /**
+     * The arrays used by a single thread while evaluating a tile.
+     * */
+    private static class TileScratch {
+
+        private double[] sum = new double[0];
+
+        private double[] octave = new double[0];
+
+        private double[] sum(int size) {
+            if (sum.length < size) {
+                sum = new double[size];
+            }
+            return sum;
+        }
+
+        private double[] octave(int size) {
+            if (octave.length < size) {
+                octave = new double[size];
+            }
+            return octave;
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package com.branwilliams.bundi.engine.util.noise;
 
+import com.branwilliams.bundi.engine.util.FloatGrid2;
+import com.branwilliams.bundi.engine.util.FloatGrid3;
 import com.branwilliams.bundi.engine.util.Grid2i;
 import com.branwilliams.bundi.engine.util.Grid3i;
 import org.joml.Vector2d;
@@ -15,13 +17,121 @@ public interface Noise {
 
     double noise(double x, double y, double z);
 
+    /**
+     * Samples a grid of noise values into the provided array. The sample at (i, j) is the noise at
+     * (originX + i * noiseScale, originY + j * noiseScale) and is stored at the index i * height + j, which is the layout
+     * of {@link Grid2i}. <br/>
+     * Implementations are expected to override this when they are able to reuse work between neighboring samples.
+     * */
+    default void noiseGrid(double[] values, double originX, double originY, double noiseScale, int width,
+                           int height) {
+        NoiseLattice.checkCapacity(values.length, width, height, 1);
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < height; j++) {
+                values[i * height + j] = noise(originX + i * noiseScale, originY + j * noiseScale);
+            }
+        }
+    }
+
+    /**
+     * Same as {@link Noise#noiseGrid(double[], double, double, double, int, int)}, except the values are stored as
+     * floats.
+     * */
+    default void noiseGrid(float[] values, double originX, double originY, double noiseScale, int width,
+                           int height) {
+        NoiseLattice.checkCapacity(values.length, width, height, 1);
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < height; j++) {
+                values[i * height + j] = (float) noise(originX + i * noiseScale, originY + j * noiseScale);
+            }
+        }
+    }
+
+    /**
+     * Samples a grid of noise values into the provided array. The sample at (i, j, k) is the noise at
+     * (originX + i * noiseScale, originY + j * noiseScale, originZ + k * noiseScale) and is stored at the index
+     * i + width * (j + height * k), which is the layout of {@link Grid3i}. <br/>
+     * Implementations are expected to override this when they are able to reuse work between neighboring samples.
+     * */
+    default void noiseGrid(double[] values, double originX, double originY, double originZ, double noiseScale,
+                           int width, int height, int depth) {
+        NoiseLattice.checkCapacity(values.length, width, height, depth);
+        int index = 0;
+        for (int k = 0; k < depth; k++) {
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < width; i++) {
+                    values[index++] = noise(originX + i * noiseScale, originY + j * noiseScale,
+                            originZ + k * noiseScale);
+                }
+            }
+        }
+    }
+
+    /**
+     * Same as {@link Noise#noiseGrid(double[], double, double, double, double, int, int, int)}, except the values are
+     * stored as floats.
+     * */
+    default void noiseGrid(float[] values, double originX, double originY, double originZ, double noiseScale,
+                           int width, int height, int depth) {
+        NoiseLattice.checkCapacity(values.length, width, height, depth);
+        int index = 0;
+        for (int k = 0; k < depth; k++) {
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < width; i++) {
+                    values[index++] = (float) noise(originX + i * noiseScale, originY + j * noiseScale,
+                            originZ + k * noiseScale);
+                }
+            }
+        }
+    }
+
+    /**
+     * Samples noise values into every value of the provided grid, the value at (i, j) being the noise at
+     * (originX + i * noiseScale, originY + j * noiseScale).
+     * */
+    default void noiseGrid(FloatGrid2 grid, double originX, double originY, double noiseScale) {
+        noiseGrid(grid.getData(), originX, originY, noiseScale, grid.getWidth(), grid.getHeight());
+        grid.setDirty(true);
+    }
+
+    /**
+     * Samples noise values into every value of the provided grid, the value at (i, j, k) being the noise at
+     * (originX + i * noiseScale, originY + j * noiseScale, originZ + k * noiseScale).
+     * */
+    default void noiseGrid(FloatGrid3 grid, double originX, double originY, double originZ, double noiseScale) {
+        noiseGrid(grid.getData(), originX, originY, originZ, noiseScale, grid.getWidth(), grid.getHeight(),
+                grid.getDepth());
+        grid.setDirty(true);
+    }
+
+    /**
+     * Same as {@link Noise#noiseGrid2i(Vector2d, double, int, int)}, except the values are stored within a
+     * {@link FloatGrid2} instead of being boxed.
+     * */
+    default FloatGrid2 noiseFloatGrid2(Vector2d origin, double noiseScale, int width, int height) {
+        FloatGrid2 grid = new FloatGrid2(width, height);
+        noiseGrid(grid, origin.x, origin.y, noiseScale);
+        return grid;
+    }
+
+    /**
+     * Same as {@link Noise#noiseGrid3i(Vector3d, double, int, int, int)}, except the values are stored within a
+     * {@link FloatGrid3} instead of being boxed.
+     * */
+    default FloatGrid3 noiseFloatGrid3(Vector3d origin, double noiseScale, int width, int height, int depth) {
+        FloatGrid3 grid = new FloatGrid3(width, height, depth);
+        noiseGrid(grid, origin.x, origin.y, origin.z, noiseScale);
+        return grid;
+    }
+
     default Grid2i<Double> noiseGrid2i(Vector2d origin, double noiseScale, int width, int height) {
-        Grid2i<Double> grid2i = new Grid2i<>(Double[]::new, width, height);
+        double[] values = new double[width * height];
+        noiseGrid(values, origin.x, origin.y, noiseScale, width, height);
 
+        Grid2i<Double> grid2i = new Grid2i<>(Double[]::new, width, height);
         for (int i = 0; i < width; i++) {
             for (int j = 0; j < height; j++) {
-                double noiseValue = noise(origin.x + i * noiseScale, origin.y + j * noiseScale);
-                grid2i.setValue(noiseValue, i, j);
+                grid2i.setValue(values[i * height + j], i, j);
             }
         }
 
@@ -29,15 +139,15 @@ public interface Noise {
     }
 
     default Grid3i<Double> noiseGrid3i(Vector3d origin, double noiseScale, int width, int height, int depth) {
-        Grid3i<Double> grid3i = new Grid3i<>(Double[]::new, width, height, depth);
+        double[] values = new double[width * height * depth];
+        noiseGrid(values, origin.x, origin.y, origin.z, noiseScale, width, height, depth);
 
-        for (int i = 0; i < width; i++) {
+        Grid3i<Double> grid3i = new Grid3i<>(Double[]::new, width, height, depth);
+        int index = 0;
+        for (int k = 0; k < depth; k++) {
             for (int j = 0; j < height; j++) {
-                for (int k = 0; k < depth; k++) {
-                    double noiseValue = noise(origin.x + i * noiseScale,
-                            origin.y + j * noiseScale,
-                            origin.z + k * noiseScale);
-                    grid3i.setValue(noiseValue, i, j, k);
+                for (int i = 0; i < width; i++) {
+                    grid3i.setValue(values[index++], i, j, k);
                 }
             }
         }
@@ -0,0 +1,37 @@
+package com.branwilliams.bundi.engine.util.noise;
+
+/**
+ * Helpers shared by the implementations of the grid sampling methods of {@link Noise}.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+final class NoiseLattice {
+
+    private NoiseLattice() {
+    }
+
+    /**
+     * Ensures an array of the provided length is able to hold a grid of the provided dimensions.
+     * */
+    static void checkCapacity(int length, int width, int height, int depth) {
+        if (width < 0 || height < 0 || depth < 0) {
+            throw new IllegalArgumentException("The dimensions of a noise grid cannot be negative!");
+        }
+        if ((long) width * height * depth > length) {
+            throw new IllegalArgumentException("An array of " + length + " values cannot hold a noise grid of "
+                    + width + "x" + height + "x" + depth + "!");
+        }
+    }
+
+    /**
+     * @return The coordinate of each sample along one axis of a grid.
+     * */
+    static double[] coordinates(double origin, double noiseScale, int count) {
+        double[] coordinates = new double[count];
+        for (int i = 0; i < count; i++) {
+            coordinates[i] = origin + i * noiseScale;
+        }
+        return coordinates;
+    }
+}
@@ -107,6 +107,129 @@ public class PerlinNoise implements Noise {
                                 grad(p[BB+1], x-1, y-1, z-1 ))));
     }
 
+    @Override
+    public void noiseGrid(double[] values, double originX, double originY, double noiseScale, int width,
+                          int height) {
+        NoiseLattice.checkCapacity(values.length, width, height, 1);
+        noiseGrid(values, null, originX, originY, noiseScale, width, height);
+    }
+
+    @Override
+    public void noiseGrid(float[] values, double originX, double originY, double noiseScale, int width,
+                          int height) {
+        NoiseLattice.checkCapacity(values.length, width, height, 1);
+        noiseGrid(null, values, originX, originY, noiseScale, width, height);
+    }
+
+    @Override
+    public void noiseGrid(double[] values, double originX, double originY, double originZ, double noiseScale,
+                          int width, int height, int depth) {
+        NoiseLattice.checkCapacity(values.length, width, height, depth);
+        noiseGrid(values, null, originX, originY, originZ, noiseScale, width, height, depth);
+    }
+
+    @Override
+    public void noiseGrid(float[] values, double originX, double originY, double originZ, double noiseScale,
+                          int width, int height, int depth) {
+        NoiseLattice.checkCapacity(values.length, width, height, depth);
+        noiseGrid(null, values, originX, originY, originZ, noiseScale, width, height, depth);
+    }
+
+    /**
+     * Samples a 2D grid into whichever of the two arrays is not null. Two dimensional noise is three dimensional noise
+     * at z = 0, where the far corners of each cube have no weight, so only the four near corners are blended. The
+     * results are identical to {@link PerlinNoise#noise(double, double)}.
+     * */
+    private void noiseGrid(double[] doubles, float[] floats, double originX, double originY, double noiseScale,
+                           int width, int height) {
+        Axis xAxis = new Axis(originX, noiseScale, width);
+        Axis yAxis = new Axis(originY, noiseScale, height);
+
+        for (int i = 0; i < width; i++) {
+            // The corners of the cube only depend upon the cell of the x and y axis.
+            int X = xAxis.cells[i];
+            double x = xAxis.fractions[i];
+            double u = xAxis.fades[i];
+            int pX = p[X];
+            int pX1 = p[X + 1];
+
+            for (int j = 0; j < height; j++) {
+                int Y = yAxis.cells[j];
+                double y = yAxis.fractions[j];
+                double v = yAxis.fades[j];
+
+                int A = pX + Y,
+                        AA = p[A],
+                        AB = p[A + 1],
+                        B = pX1 + Y,
+                        BA = p[B],
+                        BB = p[B + 1];
+
+                double value = lerp(v, lerp(u, grad(p[AA], x, y, 0), grad(p[BA], x - 1, y, 0)),
+                        lerp(u, grad(p[AB], x, y - 1, 0), grad(p[BB], x - 1, y - 1, 0)));
+
+                if (doubles != null) {
+                    doubles[i * height + j] = value;
+                } else {
+                    floats[i * height + j] = (float) value;
+                }
+            }
+        }
+    }
+
+    /**
+     * Samples a 3D grid into whichever of the two arrays is not null. The cell, fraction, and fade curve of each
+     * coordinate along each axis are computed once instead of once per sample, which removes the floors and fade
+     * curves from the inner loop. The results are identical to {@link PerlinNoise#noise(double, double, double)}.
+     * */
+    private void noiseGrid(double[] doubles, float[] floats, double originX, double originY, double originZ,
+                           double noiseScale, int width, int height, int depth) {
+        Axis xAxis = new Axis(originX, noiseScale, width);
+        Axis yAxis = new Axis(originY, noiseScale, height);
+        Axis zAxis = new Axis(originZ, noiseScale, depth);
+
+        int index = 0;
+        for (int k = 0; k < depth; k++) {
+            int Z = zAxis.cells[k];
+            double z = zAxis.fractions[k];
+            double w = zAxis.fades[k];
+
+            for (int j = 0; j < height; j++) {
+                int Y = yAxis.cells[j];
+                double y = yAxis.fractions[j];
+                double v = yAxis.fades[j];
+
+                for (int i = 0; i < width; i++) {
+                    int X = xAxis.cells[i];
+                    double x = xAxis.fractions[i];
+                    double u = xAxis.fades[i];
+
+                    int A = p[X] + Y,
+                            AA = p[A] + Z,
+                            AB = p[A + 1] + Z,
+                            B = p[X + 1] + Y,
+                            BA = p[B] + Z,
+                            BB = p[B + 1] + Z;
+
+                    double value = lerp(w, lerp(v, lerp(u, grad(p[AA], x, y, z),
+                            grad(p[BA], x - 1, y, z)),
+                            lerp(u, grad(p[AB], x, y - 1, z),
+                                    grad(p[BB], x - 1, y - 1, z))),
+                            lerp(v, lerp(u, grad(p[AA + 1], x, y, z - 1),
+                                    grad(p[BA + 1], x - 1, y, z - 1)),
+                                    lerp(u, grad(p[AB + 1], x, y - 1, z - 1),
+                                            grad(p[BB + 1], x - 1, y - 1, z - 1))));
+
+                    if (doubles != null) {
+                        doubles[index++] = value;
+                    } else {
+                        floats[index++] = (float) value;
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Credits go to Ken Perlin for his noise function implementation.
      * */
@@ -134,4 +257,30 @@ public class PerlinNoise implements Noise {
     public Random getRandom() {
         return random;
     }
+
+    /**
+     * The unit cube cell, the position within the cell, and the fade curve of each sample along one axis of a grid.
+     * */
+    private class Axis {
+
+        private final int[] cells;
+
+        private final double[] fractions;
+
+        private final double[] fades;
+
+        private Axis(double origin, double noiseScale, int count) {
+            this.cells = new int[count];
+            this.fractions = new double[count];
+            this.fades = new double[count];
+
+            double[] coordinates = NoiseLattice.coordinates(origin, noiseScale, count);
+            for (int i = 0; i < count; i++) {
+                double floor = Math.floor(coordinates[i]);
+                cells[i] = (int) floor & 255;
+                fractions[i] = coordinates[i] - floor;
+                fades[i] = fade(fractions[i]);
+            }
+        }
+    }
 }
@@ -0,0 +1,239 @@
+package com.branwilliams.bundi.engine.ecs;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class EntitySystemManagerTest {
+
+    @Test
+    public void testArchetypeMovesOnAddAndRemove() {
+        EntitySystemManager es = new EntitySystemManager(true);
+        IComponentMatcher withVelocity = es.matcher(Velocity.class);
+
+        Position positionA = new Position();
+        Position positionB = new Position();
+        Velocity velocityB = new Velocity();
+        ArchetypeEntity a = (ArchetypeEntity) es.entity("a").component(positionA).build();
+        ArchetypeEntity b = (ArchetypeEntity) es.entity("b").component(positionB, velocityB).build();
+
+        Archetype positions = a.getArchetype();
+        Archetype moving = b.getArchetype();
+        assertEquals(types(Position.class), positions.getTypes());
+        assertEquals(types(Position.class, Velocity.class), moving.getTypes());
+        assertEquals(Arrays.asList(moving), es.getArchetypes(withVelocity));
+
+        // Adding a component moves the entity into the archetype with that component.
+        Velocity velocityA = new Velocity();
+        a.addComponent(velocityA);
+        assertSame(moving, a.getArchetype());
+        assertEquals(0, positions.size());
+        assertEquals(2, moving.size());
+        assertSame(positionA, a.getComponent(Position.class));
+        assertSame(velocityA, a.getComponent(Velocity.class));
+
+        // Replacing a component keeps the entity within its archetype.
+        Velocity replaced = new Velocity();
+        a.addComponent(replaced);
+        assertSame(moving, a.getArchetype());
+        assertSame(replaced, a.getComponent(Velocity.class));
+
+        // Removing a component moves the entity into the archetype without it, and another entity fills its row.
+        assertTrue(b.removeComponent(positionB));
+        assertFalse(b.removeComponent(positionB));
+        assertEquals(types(Velocity.class), b.getArchetype().getTypes());
+        assertFalse(b.hasComponent(Position.class));
+        assertSame(velocityB, b.getComponent(Velocity.class));
+        assertEquals(1, moving.size());
+        assertSame(a, moving.getEntity(a.getRow()));
+        assertSame(positionA, a.getComponent(Position.class));
+        assertEquals(2, es.getArchetypes(withVelocity).size());
+
+        // Removed entities keep their components outside of every archetype.
+        assertTrue(es.removeEntity(a));
+        assertNull(a.getArchetype());
+        assertEquals(0, moving.size());
+        assertSame(positionA, a.getComponent(Position.class));
+        assertSame(replaced, a.getComponent(Velocity.class));
+    }
+
+    @Test
+    public void testPooledEntitiesAreReused() {
+        for (boolean archetypeStorage : new boolean[] { false, true }) {
+            EntitySystemManager es = new EntitySystemManager(archetypeStorage);
+            IComponentMatcher positions = es.matcher(Position.class);
+            es.setEntityPooling(true);
+
+            IEntity first = es.entity("first").component(new Position()).build();
+            int firstId = first.getId();
+            assertTrue(es.removeEntity(first));
+
+            Velocity velocity = new Velocity();
+            IEntity second = es.entity("second").component(velocity).build();
+            assertSame(first, second);
+            assertEquals("second", second.getName());
+            assertFalse(second.hasComponent(Position.class));
+            assertSame(velocity, second.getComponent(Velocity.class));
+            assertTrue(es.getEntities(positions).isEmpty());
+
+            // The handle of the removed entity does not find the entity which took its place.
+            assertNull(es.getEntity(firstId));
+            assertSame(second, es.getEntity(second.getId()));
+
+            es.setEntityPooling(false);
+            assertTrue(es.removeEntity(second));
+            assertNotSame(second, es.entity("third").build());
+        }
+    }
+
+    @Test
+    public void testIdsAreAssignedWhenBuilt() {
+        for (boolean archetypeStorage : new boolean[] { false, true }) {
+            EntitySystemManager es = new EntitySystemManager(archetypeStorage);
+            IComponentMatcher positions = es.matcher(Position.class);
+            es.setEntityPooling(true);
+            IEntity removed = es.entity("removed").component(new Position()).build();
+            es.entity("a").component(new Position()).build();
+            assertTrue(es.removeEntity(removed));
+
+            // Adding the entities built within the forEach is queued, but their ids are known immediately.
+            List<IEntity> built = new ArrayList<>();
+            es.forEach(positions, (entity) -> {
+                IEntity child = es.entity("child").component(new Velocity()).build();
+                assertTrue(child.getId() >= 0);
+                assertNull(es.getEntity(child.getId()));
+                built.add(child);
+            });
+
+            assertEquals(1, built.size());
+            IEntity child = built.get(0);
+            assertSame(removed, child);
+            assertSame(child, es.getEntity(child.getId()));
+            assertEquals(2, es.getEntityCount());
+        }
+    }
+
+    @Test
+    public void testGroupMembership() {
+        for (boolean archetypeStorage : new boolean[] { false, true }) {
+            EntitySystemManager es = new EntitySystemManager(archetypeStorage);
+            IComponentMatcher positions = es.matcher(Position.class);
+            IComponentMatcher moving = es.matcher(Position.class, Velocity.class);
+
+            IEntity a = es.entity("a").component(new Position()).build();
+            IEntity b = es.entity("b").component(new Position(), new Velocity()).build();
+            IEntity c = es.entity("c").component(new Velocity()).build();
+            assertGroup(es.getEntities(positions), a, b);
+            assertGroup(es.getEntities(moving), b);
+
+            Position position = new Position();
+            c.addComponent(position);
+            assertGroup(es.getEntities(positions), a, b, c);
+            assertGroup(es.getEntities(moving), b, c);
+
+            b.removeComponent(b.getComponent(Velocity.class));
+            assertGroup(es.getEntities(positions), a, b, c);
+            assertGroup(es.getEntities(moving), c);
+
+            es.removeEntity(c);
+            assertGroup(es.getEntities(positions), a, b);
+            assertGroup(es.getEntities(moving));
+
+            // Matchers added after the entities were built track their changes too.
+            IComponentMatcher velocities = es.matcher(Velocity.class);
+            b.addComponent(new Velocity());
+            assertGroup(es.getEntities(velocities), b);
+            assertGroup(es.getEntities(moving), b);
+
+            es.clearEntities();
+            assertEquals(0, es.getEntityCount());
+            assertGroup(es.getEntities(positions));
+            assertGroup(es.getEntities(moving));
+        }
+    }
+
+    @Test
+    public void testForEachWithoutSchedulerVisitsEveryEntity() {
+        for (boolean archetypeStorage : new boolean[] { false, true }) {
+            EntitySystemManager es = new EntitySystemManager(archetypeStorage);
+            IComponentMatcher positions = es.matcher(Position.class);
+
+            IEntity[] entities = new IEntity[16];
+            for (int i = 0; i < entities.length; i++) {
+                entities[i] = es.entity("entity" + i).component(new Position()).build();
+            }
+
+            // Removing the matched component within the action must not shift the group out from under the loop.
+            Set<IEntity> visited = new HashSet<>();
+            es.forEach(positions, (entity) -> {
+                assertTrue(visited.add(entity));
+                entity.removeComponent(entity.getComponent(Position.class));
+            });
+
+            assertGroup(new ArrayList<>(visited), entities);
+            assertGroup(es.getEntities(positions));
+            for (IEntity entity : entities) {
+                assertFalse(entity.hasComponent(Position.class));
+            }
+        }
+    }
+
+    private static HashSet<Class<?>> types(Class<?>... types) {
+        return new HashSet<>(Arrays.asList(types));
+    }
+
+    @Test
+    public void testIndexedNamesFindTheNextEntityAdded() {
+        EntitySystemManager es = new EntitySystemManager(false);
+        es.setNameIndexed(true);
+
+        IEntity first = es.entity("wall").build();
+        IEntity second = es.entity("wall").build();
+        IEntity third = es.entity("wall").build();
+        IEntity other = es.entity("floor").build();
+        assertSame(first, es.getEntity("wall"));
+
+        // Removing an entity behind the first keeps the first, and removing the first finds the next one added.
+        assertTrue(es.removeEntity(second));
+        assertSame(first, es.getEntity("wall"));
+        assertTrue(es.removeEntity(first));
+        assertSame(third, es.getEntity("wall"));
+
+        assertTrue(es.removeEntity(third));
+        assertNull(es.getEntity("wall"));
+        assertSame(other, es.getEntity("floor"));
+
+        // Many removals of the same name leave the remaining entities findable in the order they were added.
+        IEntity[] walls = new IEntity[64];
+        for (int i = 0; i < walls.length; i++) {
+            walls[i] = es.entity("wall").build();
+        }
+        for (int i = 1; i < walls.length - 1; i++) {
+            assertTrue(es.removeEntity(walls[i]));
+        }
+        assertSame(walls[0], es.getEntity("wall"));
+        assertTrue(es.removeEntity(walls[0]));
+        assertSame(walls[walls.length - 1], es.getEntity("wall"));
+    }
+
+    private static void assertGroup(List<IEntity> group, IEntity... expected) {
+        assertEquals(new HashSet<>(Arrays.asList(expected)), new HashSet<>(group));
+        assertEquals(expected.length, group.size());
+    }
+
+    private static class Position {
+    }
+
+    private static class Velocity {
+    }
+}
@@ -0,0 +1,243 @@
+package com.branwilliams.bundi.engine.ecs;
+
+import com.branwilliams.bundi.engine.core.Engine;
+import com.branwilliams.bundi.engine.core.window.Window;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class SystemSchedulerTest {
+
+    private static final int ENTITY_COUNT = 5000;
+
+    @Test
+    public void testComponentChangesWithinParallelForEach() {
+        for (boolean archetypeStorage : new boolean[] { false, true }) {
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                EntitySystemManager es = new EntitySystemManager(archetypeStorage);
+                es.setScheduler(new SystemScheduler(pool, 16));
+                IComponentMatcher moving = es.matcher(Position.class);
+                IComponentMatcher stopped = es.matcher(Stopped.class);
+
+                List<IEntity> entities = new ArrayList<>();
+                for (int i = 0; i < ENTITY_COUNT; i++) {
+                    entities.add(es.entity("entity" + i).component(new Position()).build());
+                }
+
+                // Every entity leaves the group being iterated and joins another.
+                es.forEach(moving, (entity) -> {
+                    entity.addComponent(new Stopped());
+                    entity.removeComponent(entity.getComponent(Position.class));
+                });
+                assertEquals(0, es.getEntities(moving).size());
+                assertEquals(ENTITY_COUNT, es.getEntities(stopped).size());
+
+                // Changes made by a system are applied once the system is done updating.
+                es.addSystem(new ForEachSystem(stopped));
+                es.update(null, 0);
+                assertEquals(ENTITY_COUNT, es.getEntities(moving).size());
+                assertEquals(0, es.getEntities(stopped).size());
+                assertEquals(ENTITY_COUNT * 2, es.getEntityCount());
+
+                for (IEntity entity : entities) {
+                    assertTrue(entity.hasComponent(Position.class));
+                    assertFalse(entity.hasComponent(Stopped.class));
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testPooledEntitiesBuiltWithinParallelForEach() {
+        for (boolean archetypeStorage : new boolean[] { false, true }) {
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                EntitySystemManager es = new EntitySystemManager(archetypeStorage);
+                es.setEntityPooling(true);
+                es.setScheduler(new SystemScheduler(pool, 16));
+                IComponentMatcher moving = es.matcher(Position.class);
+                IComponentMatcher stopped = es.matcher(Stopped.class);
+
+                for (int i = 0; i < ENTITY_COUNT; i++) {
+                    es.entity("entity" + i).component(new Position()).build();
+                }
+
+                // Fill the pool with removed entities.
+                List<IEntity> removed = new ArrayList<>();
+                for (int i = 0; i < ENTITY_COUNT; i++) {
+                    removed.add(es.entity("removed" + i).component(new Stopped()).build());
+                }
+                removed.forEach(es::removeEntity);
+                es.forEach(moving, (entity) -> es.entity("spawned").component(new Stopped()).build());
+
+                // Every entity built concurrently is a distinct entity.
+                assertEquals(ENTITY_COUNT * 2, es.getEntityCount());
+                assertEquals(ENTITY_COUNT, new HashSet<>(es.getEntities(stopped)).size());
+                for (IEntity entity : es.getEntities(stopped)) {
+                    assertEquals("spawned", entity.getName());
+                    assertFalse(entity.hasComponent(Position.class));
+                }
+
+                // The pool is used again once the entities are no longer handled concurrently.
+                assertTrue(removed.contains(es.entity("pooled").build()));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testWritersOfTheSameComponentRunInSeparateStages() {
+        ISystem first = new DeclaredSystem().writing(Position.class);
+        ISystem second = new DeclaredSystem().writing(Position.class);
+        ISystem third = new DeclaredSystem().reading(Position.class);
+
+        List<List<ISystem>> stages = new SystemScheduler().getStages(Arrays.asList(first, second, third));
+        assertEquals(3, stages.size());
+        assertEquals(Arrays.asList(first), stages.get(0));
+        assertEquals(Arrays.asList(second), stages.get(1));
+        assertEquals(Arrays.asList(third), stages.get(2));
+    }
+
+    @Test
+    public void testReadersShareAStage() {
+        ISystem first = new DeclaredSystem().reading(Position.class, Stopped.class);
+        ISystem second = new DeclaredSystem().reading(Position.class);
+        ISystem third = new DeclaredSystem().reading(Stopped.class, Velocity.class);
+
+        List<List<ISystem>> stages = new SystemScheduler().getStages(Arrays.asList(first, second, third));
+        assertEquals(1, stages.size());
+        assertEquals(Arrays.asList(first, second, third), stages.get(0));
+    }
+
+    @Test
+    public void testUndeclaredSystemsRunAlone() {
+        ISystem undeclared = new DeclaredSystem();
+        ISystem reader = new DeclaredSystem().reading(Position.class);
+        ISystem writer = new DeclaredSystem().writing(Stopped.class);
+        assertTrue(SystemScheduler.conflicts(undeclared, reader));
+        assertTrue(SystemScheduler.conflicts(reader, undeclared));
+        assertTrue(SystemScheduler.conflicts(undeclared, new DeclaredSystem()));
+
+        List<List<ISystem>> stages = new SystemScheduler().getStages(Arrays.asList(reader, undeclared, writer));
+        assertEquals(3, stages.size());
+        assertEquals(Arrays.asList(reader), stages.get(0));
+        assertEquals(Arrays.asList(undeclared), stages.get(1));
+        assertEquals(Arrays.asList(writer), stages.get(2));
+    }
+
+    @Test
+    public void testSuperTypesConflict() {
+        ISystem writer = new DeclaredSystem().writing(Velocity.class);
+        ISystem reader = new DeclaredSystem().reading(Position.class);
+        ISystem unrelated = new DeclaredSystem().writing(Stopped.class);
+        assertTrue(SystemScheduler.conflicts(writer, reader));
+        assertTrue(SystemScheduler.conflicts(reader, writer));
+        assertFalse(SystemScheduler.conflicts(writer, unrelated));
+        assertFalse(SystemScheduler.conflicts(reader, unrelated));
+
+        List<List<ISystem>> stages = new SystemScheduler().getStages(Arrays.asList(reader, unrelated, writer));
+        assertEquals(2, stages.size());
+        assertEquals(Arrays.asList(reader, unrelated), stages.get(0));
+        assertEquals(Arrays.asList(writer), stages.get(1));
+    }
+
+    @Test
+    public void testStagesAreRebuiltWhenSystemsChange() {
+        SystemScheduler scheduler = new SystemScheduler();
+        ISystem reader = new DeclaredSystem().reading(Position.class);
+        ISystem writer = new DeclaredSystem().writing(Position.class);
+
+        List<ISystem> systems = new ArrayList<>(Arrays.asList(reader));
+        assertEquals(1, scheduler.getStages(systems).size());
+
+        systems.add(writer);
+        List<List<ISystem>> stages = scheduler.getStages(systems);
+        assertEquals(2, stages.size());
+        assertEquals(Arrays.asList(reader), stages.get(0));
+        assertEquals(Arrays.asList(writer), stages.get(1));
+
+        systems.remove(reader);
+        stages = scheduler.getStages(systems);
+        assertEquals(1, stages.size());
+        assertEquals(Arrays.asList(writer), stages.get(0));
+    }
+
+    private static class Position {
+    }
+
+    private static class Velocity extends Position {
+    }
+
+    private static class Stopped {
+    }
+
+    private static class DeclaredSystem extends AbstractSystem {
+
+        private DeclaredSystem() {
+            super(null);
+        }
+
+        private DeclaredSystem reading(Class<?>... components) {
+            reads(components);
+            return this;
+        }
+
+        private DeclaredSystem writing(Class<?>... components) {
+            writes(components);
+            return this;
+        }
+
+        @Override
+        public void init(Engine engine, EntitySystemManager entitySystemManager, Window window) {
+        }
+
+        @Override
+        public void update(Engine engine, EntitySystemManager entitySystemManager, double deltaTime) {
+        }
+
+        @Override
+        public void fixedUpdate(Engine engine, EntitySystemManager entitySystemManager, double deltaTime) {
+        }
+    }
+
+    private static class ForEachSystem extends AbstractSystem {
+
+        private ForEachSystem(IComponentMatcher matcher) {
+            super(matcher);
+        }
+
+        @Override
+        public void init(Engine engine, EntitySystemManager entitySystemManager, Window window) {
+        }
+
+        @Override
+        public void update(Engine engine, EntitySystemManager es, double deltaTime) {
+            es.forEach(getMatcher(), (entity) -> {
+                entity.removeComponent(entity.getComponent(Stopped.class));
+                entity.addComponent(new Position());
+
+                // Entities are added alongside the component changes.
+                es.entity("spawned").build();
+            });
+            assertEquals(ENTITY_COUNT, es.getEntities(getMatcher()).size());
+        }
+
+        @Override
+        public void fixedUpdate(Engine engine, EntitySystemManager entitySystemManager, double deltaTime) {
+        }
+    }
+}
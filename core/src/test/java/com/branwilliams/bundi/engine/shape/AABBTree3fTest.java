@@ -0,0 +1,94 @@
+package com.branwilliams.bundi.engine.shape;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class AABBTree3fTest {
+
+    @Test
+    public void testAddRemove() {
+        AABBTree3f<String> tree = new AABBTree3f<>();
+        Spheref a = new Spheref(0F, 0F, 0F, 1F);
+        AABB3f b = new AABB3f(1F);
+        b.center(1.5F, 0F, 0F);
+
+        assertTrue(tree.add(a, "a"));
+        assertTrue(tree.add(b, "b"));
+        assertFalse(tree.add(b, "b"));
+        assertEquals(2, tree.size());
+
+        List<Shape3f> collisions = new ArrayList<>();
+        tree.query(a).forEach(collisions::add);
+        assertEquals(Collections.singletonList(b), collisions);
+
+        assertFalse(tree.remove(b, "a"));
+        assertTrue(tree.removeByShape(b));
+        assertFalse(tree.contains("b"));
+        assertTrue(tree.removeByElement("a"));
+        assertEquals(0, tree.size());
+        assertFalse(tree.query(a).iterator().hasNext());
+    }
+
+    @Test
+    public void testMatchesBruteForce() {
+        AABBTree3f<Integer> tree = new AABBTree3f<>(0.5F);
+        Map<Integer, Spheref> expected = new HashMap<>();
+        Random random = new Random(0);
+
+        for (int i = 0; i < 20000; i++) {
+            int element = random.nextInt(500);
+            int action = random.nextInt(3);
+            if (action == 0) {
+                Spheref sphere = new Spheref(random.nextFloat() * 100F, random.nextFloat() * 100F,
+                        random.nextFloat() * 100F, 1F + random.nextFloat() * 4F);
+                assertEquals(!expected.containsKey(element), tree.add(sphere, element));
+                expected.putIfAbsent(element, sphere);
+            } else if (action == 1 && expected.containsKey(element)) {
+                Spheref sphere = expected.get(element);
+                tree.move(element, sphere.getCenter().x + random.nextFloat() * 4F - 2F,
+                        sphere.getCenter().y + random.nextFloat() * 4F - 2F,
+                        sphere.getCenter().z + random.nextFloat() * 4F - 2F);
+            } else {
+                assertEquals(expected.remove(element) != null, tree.removeByElement(element));
+            }
+        }
+        assertEquals(expected.size(), tree.size());
+        assertTrue(tree.getHeight() <= 2 * (32 - Integer.numberOfLeadingZeros(expected.size())));
+
+        for (Map.Entry<Integer, Spheref> entry : expected.entrySet()) {
+            Set<Integer> found = new HashSet<>();
+            tree.query(entry.getValue(), (shape, element) -> assertTrue(found.add(element)));
+
+            Set<Integer> collisions = new HashSet<>();
+            for (Map.Entry<Integer, Spheref> other : expected.entrySet()) {
+                if (!other.getKey().equals(entry.getKey()) && other.getValue().collides(entry.getValue())) {
+                    collisions.add(other.getKey());
+                }
+            }
+            assertEquals(collisions, found);
+        }
+
+        Set<Long> pairs = new HashSet<>();
+        tree.queryPairs((a, b) -> assertTrue(pairs.add(toPair(a, b))));
+        Set<Long> expectedPairs = new HashSet<>();
+        for (Map.Entry<Integer, Spheref> a : expected.entrySet()) {
+            for (Map.Entry<Integer, Spheref> b : expected.entrySet()) {
+                if (a.getKey() < b.getKey() && a.getValue().collides(b.getValue())) {
+                    expectedPairs.add(toPair(a.getKey(), b.getKey()));
+                }
+            }
+        }
+        assertEquals(expectedPairs, pairs);
+    }
+
+    private static long toPair(int a, int b) {
+        return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+    }
+}
@@ -0,0 +1,54 @@
+package com.branwilliams.bundi.engine.shape;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class QuadTreeTest {
+
+    @Test
+    public void testSizeMatchesIterator() {
+        QuadTree<AABB2f, String> tree = new QuadTree<>(1, 0F, 0F, 8F, 8F);
+
+        // The wide shape straddles the center, so it is held by every child once the root splits.
+        AABB2f wide = new AABB2f(3F, 3F, 5F, 5F);
+        tree.add(wide, "wide");
+        tree.add(new AABB2f(0F, 0F, 1F, 1F), "a");
+        tree.add(new AABB2f(6F, 6F, 7F, 7F), "b");
+
+        // An element added with a second shape is still one element.
+        AABB2f second = new AABB2f(0F, 6F, 1F, 7F);
+        tree.add(second, "a");
+        assertSize(tree, "wide", "a", "b");
+
+        assertTrue(tree.removeByShape(wide));
+        assertSize(tree, "a", "b");
+
+        // Removing one of the shapes of an element keeps the element.
+        assertTrue(tree.remove(second, "a"));
+        assertSize(tree, "a", "b");
+
+        assertTrue(tree.removeByElement("a"));
+        assertSize(tree, "b");
+
+        tree.clear();
+        assertSize(tree);
+    }
+
+    private static void assertSize(QuadTree<AABB2f, String> tree, String... expected) {
+        Set<String> iterated = new HashSet<>();
+        for (String element : tree) {
+            iterated.add(element);
+        }
+        assertEquals(expected.length, tree.size());
+        assertEquals(new HashSet<>(Arrays.asList(expected)), iterated);
+    }
+}
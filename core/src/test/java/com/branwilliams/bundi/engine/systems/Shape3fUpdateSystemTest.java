@@ -0,0 +1,58 @@
+package com.branwilliams.bundi.engine.systems;
+
+import com.branwilliams.bundi.engine.ecs.EntitySystemManager;
+import com.branwilliams.bundi.engine.ecs.IEntity;
+import com.branwilliams.bundi.engine.shader.Transformable;
+import com.branwilliams.bundi.engine.shader.Transformation;
+import com.branwilliams.bundi.engine.shape.AABB3f;
+import com.branwilliams.bundi.engine.shape.AABBTree3f;
+import com.branwilliams.bundi.engine.shape.Shape3f;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class Shape3fUpdateSystemTest {
+
+    @Test
+    public void testEntitiesLeaveTheTree() {
+        for (boolean archetypeStorage : new boolean[] { false, true }) {
+            EntitySystemManager es = new EntitySystemManager(archetypeStorage);
+            AABBTree3f<IEntity> tree = new AABBTree3f<>();
+            es.addSystem(new Shape3fUpdateSystem(tree));
+            es.initSystems(null, null);
+
+            IEntity first = es.entity("first").component(new Transformation(), new AABB3f(1F)).build();
+            IEntity second = es.entity("second").component(new Transformation(), new AABB3f(1F)).build();
+            IEntity third = es.entity("third").component(new Transformation(), new AABB3f(1F)).build();
+            es.update(null, 0);
+            assertEquals(3, tree.size());
+
+            // Entities leave the tree once they lose either component, or are removed.
+            first.removeComponent(first.getComponent(Shape3f.class));
+            second.removeComponent(second.getComponent(Transformable.class));
+            es.removeEntity(third);
+            es.update(null, 0);
+            assertEquals(0, tree.size());
+            assertQueryIsEmpty(tree);
+
+            // An entity given back its shape returns to the tree.
+            first.addComponent(new AABB3f(1F));
+            es.update(null, 0);
+            assertEquals(1, tree.size());
+            assertTrue(tree.contains(first));
+        }
+    }
+
+    private static void assertQueryIsEmpty(AABBTree3f<IEntity> tree) {
+        List<IEntity> found = new ArrayList<>();
+        tree.query(new AABB3f(10F), (shape, entity) -> found.add(entity));
+        assertTrue(found.isEmpty());
+    }
+}
@@ -0,0 +1,123 @@
+package com.branwilliams.bundi.engine.util;
+
+import com.branwilliams.bundi.engine.util.noise.LayeredNoise;
+import com.branwilliams.bundi.engine.util.noise.Noise;
+import com.branwilliams.bundi.engine.util.noise.PerlinNoise;
+import org.joml.Vector2d;
+import org.joml.Vector3d;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class PrimitiveGridTest {
+
+    private static final int WIDTH = 7, HEIGHT = 5, DEPTH = 3;
+
+    @Test
+    public void testLayoutMatchesBoxedGrids() {
+        FloatGrid2 floatGrid2 = new FloatGrid2(WIDTH, HEIGHT);
+        Grid2i<Double> grid2i = new Grid2i<>(Double[]::new, WIDTH, HEIGHT);
+        for (int x = -1; x <= WIDTH; x++) {
+            for (int y = -1; y <= HEIGHT; y++) {
+                assertEquals(grid2i.toFlatIndex(x, y), floatGrid2.toFlatIndex(x, y));
+            }
+        }
+
+        FloatGrid3 floatGrid3 = new FloatGrid3(WIDTH, HEIGHT, DEPTH);
+        Grid3i<Double> grid3i = new Grid3i<>(Double[]::new, WIDTH, HEIGHT, DEPTH);
+        for (int x = -1; x <= WIDTH; x++) {
+            for (int y = -1; y <= HEIGHT; y++) {
+                for (int z = -1; z <= DEPTH; z++) {
+                    assertEquals(grid3i.toFlatIndex(x, y, z), floatGrid3.toFlatIndex(x, y, z));
+                    if (floatGrid3.contains(x, y, z)) {
+                        assertEquals(floatGrid3.toFlatIndex(x, y, z), floatGrid3.index(x, y, z));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFloatGridsMatchScalarNoise() {
+        Noise noise = new PerlinNoise(7L);
+        double noiseScale = 0.21D;
+        Vector3d origin = new Vector3d(-2.5D, 4.75D, 1.125D);
+
+        FloatGrid2 grid2 = noise.noiseFloatGrid2(new Vector2d(origin.x, origin.y), noiseScale, WIDTH, HEIGHT);
+        assertTrue(grid2.isDirty());
+        for (int x = 0; x < WIDTH; x++) {
+            for (int y = 0; y < HEIGHT; y++) {
+                float expected = (float) noise.noise(origin.x + x * noiseScale, origin.y + y * noiseScale);
+                assertEquals(expected, grid2.getValue(x, y), 0F);
+            }
+        }
+
+        FloatGrid3 grid3 = noise.noiseFloatGrid3(origin, noiseScale, WIDTH, HEIGHT, DEPTH);
+        for (int x = 0; x < WIDTH; x++) {
+            for (int y = 0; y < HEIGHT; y++) {
+                for (int z = 0; z < DEPTH; z++) {
+                    float expected = (float) noise.noise(origin.x + x * noiseScale, origin.y + y * noiseScale,
+                            origin.z + z * noiseScale);
+                    assertEquals(expected, grid3.getUnchecked(x, y, z), 1E-6F);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLayeredFloatGridsMatchBoxedGrids() {
+        LayeredNoise noise = new LayeredNoise(new PerlinNoise(7L), 3);
+        double noiseScale = 0.21D;
+
+        Vector2d origin2 = new Vector2d(3.5D, -1.25D);
+        FloatGrid2 floatGrid2 = noise.noiseFloatGrid2(origin2, noiseScale, WIDTH, HEIGHT);
+        Grid2i<Double> grid2i = noise.noiseGrid2i(origin2, noiseScale, WIDTH, HEIGHT);
+        for (int x = 0; x < WIDTH; x++) {
+            for (int y = 0; y < HEIGHT; y++) {
+                assertEquals(grid2i.getValue(x, y), floatGrid2.getValue(x, y), 1E-5);
+            }
+        }
+
+        Vector3d origin3 = new Vector3d(3.5D, -1.25D, 0.5D);
+        FloatGrid3 floatGrid3 = noise.noiseFloatGrid3(origin3, noiseScale, WIDTH, HEIGHT, DEPTH);
+        Grid3i<Double> grid3i = noise.noiseGrid3i(origin3, noiseScale, WIDTH, HEIGHT, DEPTH);
+        for (int x = 0; x < WIDTH; x++) {
+            for (int y = 0; y < HEIGHT; y++) {
+                for (int z = 0; z < DEPTH; z++) {
+                    assertEquals(grid3i.getValue(x, y, z), floatGrid3.getValue(x, y, z), 1E-5);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRowsAndSlabs() {
+        FloatGrid3 grid = new FloatGrid3(WIDTH, HEIGHT, DEPTH);
+        for (int i = 0; i < grid.getSize(); i++) {
+            grid.set(i, i);
+        }
+
+        float[] slab = new float[grid.getSlabSize()];
+        grid.getSlab(1, slab, 0);
+        assertEquals(grid.getValue(0, 0, 1), slab[0], 0F);
+        assertEquals(grid.getValue(WIDTH - 1, HEIGHT - 1, 1), slab[slab.length - 1], 0F);
+
+        FloatGrid3 copy = grid.copy();
+        copy.setSlab(0, slab, 0);
+        assertEquals(grid.getValue(2, 3, 1), copy.getValue(2, 3, 0), 0F);
+        // The copy does not share its values with the original grid.
+        assertEquals(grid.index(2, 3, 0), grid.getValue(2, 3, 0), 0F);
+
+        float[] row = new float[WIDTH];
+        copy.fillRow(4, 2, -1F);
+        copy.getRow(4, 2, row, 0);
+        for (float value : row) {
+            assertEquals(-1F, value, 0F);
+        }
+        assertEquals(grid.getValue(0, 3, 2), copy.getValue(0, 3, 2), 0F);
+    }
+}
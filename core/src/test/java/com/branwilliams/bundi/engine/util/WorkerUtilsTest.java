@@ -0,0 +1,69 @@
+package com.branwilliams.bundi.engine.util;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class WorkerUtilsTest {
+
+    @Test
+    public void testPollWithinBudget() {
+        Queue<Integer> queue = new ArrayDeque<>(Arrays.asList(1, 2, 3));
+        List<Integer> polled = new ArrayList<>();
+
+        // A spent budget still polls one element.
+        WorkerUtils.pollWithinBudget(queue, 0L, polled::add);
+        assertEquals(Arrays.asList(1), polled);
+        assertEquals(2, queue.size());
+
+        WorkerUtils.pollWithinBudget(queue, Long.MAX_VALUE, polled::add);
+        assertEquals(Arrays.asList(1, 2, 3), polled);
+        assertTrue(queue.isEmpty());
+
+        WorkerUtils.pollWithinBudget(queue, Long.MAX_VALUE, polled::add);
+        assertEquals(3, polled.size());
+    }
+
+    @Test
+    public void testRetryDelayFrames() {
+        assertEquals(1, WorkerUtils.retryDelayFrames(1));
+        assertEquals(2, WorkerUtils.retryDelayFrames(2));
+        assertEquals(32, WorkerUtils.retryDelayFrames(6));
+        assertEquals(WorkerUtils.MAX_RETRY_DELAY_FRAMES, WorkerUtils.retryDelayFrames(7));
+        assertEquals(WorkerUtils.MAX_RETRY_DELAY_FRAMES, WorkerUtils.retryDelayFrames(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testDaemonThreadPool() throws Exception {
+        ExecutorService workers = WorkerUtils.newDaemonThreadPool(2, "test-worker");
+        try {
+            Future<Thread> thread = workers.submit(Thread::currentThread);
+            assertTrue(thread.get().isDaemon());
+            assertTrue(thread.get().getName().startsWith("test-worker-"));
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSharedWorkers() throws Exception {
+        ExecutorService workers = WorkerUtils.sharedWorkers();
+        assertSame(workers, WorkerUtils.sharedWorkers());
+
+        Future<Thread> thread = workers.submit(Thread::currentThread);
+        assertTrue(thread.get().isDaemon());
+        assertTrue(thread.get().getName().startsWith("shared-worker-"));
+    }
+}
@@ -0,0 +1,185 @@
+package com.branwilliams.bundi.engine.util.noise;
+
+import com.branwilliams.bundi.engine.util.Grid2i;
+import com.branwilliams.bundi.engine.util.Grid3i;
+import org.joml.Vector2d;
+import org.joml.Vector3d;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class LayeredNoiseTest {
+
+    private static final double EPSILON = 1E-9;
+
+    private static final double ORIGIN_X = -3.7D, ORIGIN_Y = 12.25D, ORIGIN_Z = 5.5D;
+
+    private static final double NOISE_SCALE = 0.13D;
+
+    // An origin on the sample lattice of the world, i.e. a multiple of the noise scale.
+    private static final double LATTICE_X = -3.75D, LATTICE_Y = 12.25D, LATTICE_Z = 5.5D;
+
+    private static final double LATTICE_SCALE = 0.125D;
+
+    @Test
+    public void testGridMatchesScalarNoise() {
+        LayeredNoise noise = createNoise();
+        // Neither grid is a multiple of the tile sizes, so the last tiles along each axis are partial.
+        int width = 21, height = 18, depth = 11;
+
+        double[] values2D = new double[width * height];
+        noise.noiseGrid(values2D, ORIGIN_X, ORIGIN_Y, NOISE_SCALE, width, height);
+        assertMatches2D(noise, values2D, ORIGIN_X, ORIGIN_Y, NOISE_SCALE, width, height);
+
+        double[] values3D = new double[width * height * depth];
+        noise.noiseGrid(values3D, ORIGIN_X, ORIGIN_Y, ORIGIN_Z, NOISE_SCALE, width, height, depth);
+        assertMatches3D(noise, values3D, ORIGIN_X, ORIGIN_Y, ORIGIN_Z, NOISE_SCALE, width, height, depth);
+
+        // Tiling does not change the samples.
+        noise.setTiled(false);
+        noise.noiseGrid(values3D, ORIGIN_X, ORIGIN_Y, ORIGIN_Z, NOISE_SCALE, width, height, depth);
+        assertMatches3D(noise, values3D, ORIGIN_X, ORIGIN_Y, ORIGIN_Z, NOISE_SCALE, width, height, depth);
+    }
+
+    @Test
+    public void testCachedOctavesAreShared() {
+        CountingNoise counting = new CountingNoise(new PerlinNoise(42L));
+        LayeredNoise noise = new LayeredNoise(counting, 4);
+        noise.setTileSize2D(8);
+        noise.setTileSize3D(4);
+        noise.setCachedOctaves(2);
+        noise.setCacheCapacity(512);
+        int width = 21, height = 18, depth = 11;
+
+        double[] values2D = new double[width * height];
+        noise.noiseGrid(values2D, LATTICE_X, LATTICE_Y, LATTICE_SCALE, width, height);
+        assertMatches2D(noise, values2D, LATTICE_X, LATTICE_Y, LATTICE_SCALE, width, height);
+
+        // A repeated request only samples the octaves which are not cached.
+        counting.samples = 0;
+        noise.noiseGrid(values2D, LATTICE_X, LATTICE_Y, LATTICE_SCALE, width, height);
+        assertEquals(2 * width * height, counting.samples);
+        assertMatches2D(noise, values2D, LATTICE_X, LATTICE_Y, LATTICE_SCALE, width, height);
+
+        // A neighbouring request within the same tiles reuses them too, even though its origin differs.
+        double[] neighbour2D = new double[10 * 10];
+        double neighbourX = LATTICE_X + 3 * LATTICE_SCALE, neighbourY = LATTICE_Y + 5 * LATTICE_SCALE;
+        counting.samples = 0;
+        noise.noiseGrid(neighbour2D, neighbourX, neighbourY, LATTICE_SCALE, 10, 10);
+        assertEquals(2 * 10 * 10, counting.samples);
+        assertMatches2D(noise, neighbour2D, neighbourX, neighbourY, LATTICE_SCALE, 10, 10);
+
+        double[] values3D = new double[width * height * depth];
+        noise.noiseGrid(values3D, LATTICE_X, LATTICE_Y, LATTICE_Z, LATTICE_SCALE, width, height, depth);
+        assertMatches3D(noise, values3D, LATTICE_X, LATTICE_Y, LATTICE_Z, LATTICE_SCALE, width, height, depth);
+
+        counting.samples = 0;
+        noise.setTiled(false);
+        noise.noiseGrid(values3D, LATTICE_X, LATTICE_Y, LATTICE_Z, LATTICE_SCALE, width, height, depth);
+        assertEquals(2 * width * height * depth, counting.samples);
+        assertMatches3D(noise, values3D, LATTICE_X, LATTICE_Y, LATTICE_Z, LATTICE_SCALE, width, height, depth);
+
+        // Grids off the lattice are not cached, but still match the scalar noise.
+        noise.setTiled(true);
+        noise.clearCache();
+        noise.noiseGrid(values3D, ORIGIN_X, ORIGIN_Y, ORIGIN_Z, NOISE_SCALE, width, height, depth);
+        assertMatches3D(noise, values3D, ORIGIN_X, ORIGIN_Y, ORIGIN_Z, NOISE_SCALE, width, height, depth);
+    }
+
+    @Test
+    public void testNormalizedGridsWithoutPositiveValues() {
+        LayeredNoise noise = new LayeredNoise(new ConstantNoise(-0.5D), 3);
+
+        Grid2i<Double> grid2i = noise.noiseGrid2i(new Vector2d(), 1D, 4, 4);
+        Grid3i<Double> grid3i = noise.noiseGrid3i(new Vector3d(), 1D, 4, 4, 4);
+        float[] floats = noise.noiseFloatGrid3(new Vector3d(), 1D, 4, 4, 4).getData();
+
+        // Nothing can be normalized, so the values are left as they are.
+        double expected = -0.5D * (1D + 0.5D + 0.25D);
+        assertEquals(expected, grid2i.getValue(3, 2), EPSILON);
+        assertEquals(expected, grid3i.getValue(1, 2, 3), EPSILON);
+        for (float value : floats) {
+            assertEquals(expected, value, 1E-6);
+        }
+    }
+
+    private static LayeredNoise createNoise() {
+        LayeredNoise noise = new LayeredNoise(new PerlinNoise(42L), 4);
+        noise.setTileSize2D(8);
+        noise.setTileSize3D(4);
+        return noise;
+    }
+
+    private static void assertMatches2D(LayeredNoise noise, double[] values, double originX, double originY,
+                                        double noiseScale, int width, int height) {
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < height; j++) {
+                double expected = noise.noise(originX + i * noiseScale, originY + j * noiseScale);
+                assertEquals(expected, values[i * height + j], EPSILON);
+            }
+        }
+    }
+
+    private static void assertMatches3D(LayeredNoise noise, double[] values, double originX, double originY,
+                                        double originZ, double noiseScale, int width, int height, int depth) {
+        int index = 0;
+        for (int k = 0; k < depth; k++) {
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < width; i++) {
+                    double expected = noise.noise(originX + i * noiseScale, originY + j * noiseScale,
+                            originZ + k * noiseScale);
+                    assertEquals(expected, values[index++], EPSILON);
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the samples taken from the noise it delegates to. Grids are sampled one scalar sample at a time.
+     * */
+    private static class CountingNoise implements Noise {
+
+        private final Noise delegate;
+
+        private volatile int samples;
+
+        private CountingNoise(Noise delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public synchronized double noise(double x, double y) {
+            samples++;
+            return delegate.noise(x, y);
+        }
+
+        @Override
+        public synchronized double noise(double x, double y, double z) {
+            samples++;
+            return delegate.noise(x, y, z);
+        }
+    }
+
+    private static class ConstantNoise implements Noise {
+
+        private final double value;
+
+        private ConstantNoise(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double noise(double x, double y) {
+            return value;
+        }
+
+        @Override
+        public double noise(double x, double y, double z) {
+            return value;
+        }
+    }
+}
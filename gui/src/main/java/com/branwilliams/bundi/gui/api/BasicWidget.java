@@ -67,8 +67,8 @@ public class BasicWidget implements Widget {
 
     @Override
     public void scale(float scale) {
-        width *= scale;
-        height *= scale;
+        setWidth((int) (width * scale));
+        setHeight((int) (height * scale));
     }
 
     /**
@@ -74,6 +74,48 @@ public abstract class Component extends BasicWidget {
      * */
     public abstract void update();
 
+    @Override
+    public void setX(int x) {
+        if (x != getX()) {
+            super.setX(x);
+            invalidateLayout();
+        }
+    }
+
+    @Override
+    public void setY(int y) {
+        if (y != getY()) {
+            super.setY(y);
+            invalidateLayout();
+        }
+    }
+
+    @Override
+    public void setWidth(int width) {
+        if (width != getWidth()) {
+            super.setWidth(width);
+            invalidateLayout();
+        }
+    }
+
+    @Override
+    public void setHeight(int height) {
+        if (height != getHeight()) {
+            super.setHeight(height);
+            invalidateLayout();
+        }
+    }
+
+    /**
+     * Invoked when the position, size, or visibility of this component changes. Marks the layout of the container
+     * holding this component as invalid.
+     * */
+    public void invalidateLayout() {
+        if (parent instanceof Container) {
+            ((Container) parent).childInvalidated();
+        }
+    }
+
     @Override
     public void destroy() {
         if (font != null)
@@ -226,6 +268,9 @@ public abstract class Component extends BasicWidget {
     }
 
     public void setVisible(boolean visible) {
-        this.visible = visible;
+        if (this.visible != visible) {
+            this.visible = visible;
+            invalidateLayout();
+        }
     }
 }
@@ -33,6 +33,23 @@ public class Container extends Component {
 
     private Color backgroundColor;
 
+    // Incremented whenever the components within this container or any container within it change.
+    private int treeVersion;
+
+    // True when this container must be laid out again.
+    private boolean layoutDirty = true;
+
+    // True when a container within this container must be laid out again.
+    private boolean childLayoutDirty = false;
+
+    // True while the layout of this container is positioning its components.
+    private boolean layingOut = false;
+
+    // The area containing this container and every component within it, used to quickly reject points.
+    private int boundsX, boundsY, boundsX1, boundsY1;
+
+    private boolean boundsDirty = true;
+
     @Override
     public void update() {
         // Used to ensure only one component is updated with a true hover state. When this container has a hover state of false, no component will receive a true hover state.
@@ -55,7 +72,7 @@ public class Container extends Component {
             component.update();
         }
         if (autoLayout)
-            layout();
+            validateLayout();
     }
 
     @Override
@@ -65,9 +82,10 @@ public class Container extends Component {
             Component component = components.get(i);
             if (component.isActivated(type, data)) {
                 // Layer this component.
-                if (layering) {
+                if (layering && components.get(components.size() - 1) != component) {
                     components.remove(component);
                     components.add(component);
+                    childrenChanged();
                 }
                 return true;
             }
@@ -76,27 +94,122 @@ public class Container extends Component {
     }
 
     /**
-     * Lays out each component within the container according to the layout specified.
+     * Lays out each component within the container according to the layout specified. Containers within this one are
+     * only laid out when their layouts are invalid.
      * */
     public void layout() {
+        // Components are sized before this layout measures them, then any containers moved by this layout have their
+        // components follow.
         if (alwaysLayoutChildren)
             this.layoutChildren();
-        int[] size = this.layout.layout(this, components);
-        if (useLayoutSize) {
-            this.setSize(size[0], size[1]);
-            //System.out.println(getTag() + " getting size " + size[0] + ", " + size[1]);
+        layingOut = true;
+        try {
+            int[] size = this.layout.layout(this, components);
+            if (useLayoutSize) {
+                this.setSize(size[0], size[1]);
+                //System.out.println(getTag() + " getting size " + size[0] + ", " + size[1]);
+            }
+        } finally {
+            layingOut = false;
+        }
+        layoutDirty = false;
+        if (alwaysLayoutChildren)
+            this.layoutChildren();
+    }
+
+    /**
+     * Lays out the containers within this container whose layouts are invalid, then lays out this container if its
+     * layout is invalid.
+     * */
+    public void validateLayout() {
+        // Laying out the containers within this one may change their sizes and invalidate this layout.
+        if (!layoutDirty && childLayoutDirty && alwaysLayoutChildren) {
+            layoutChildren();
+        }
+        if (layoutDirty) {
+            layout();
         }
     }
 
     /**
-     * Lays out any child components which are containers.
+     * Lays out any child components which are containers and have invalid layouts.
      * */
     public void layoutChildren() {
-        for (Component component : components) {
+        childLayoutDirty = false;
+        for (int i = 0; i < components.size(); i++) {
+            Component component = components.get(i);
+            if (component instanceof Container) {
+                ((Container) component).validateLayout();
+            }
+        }
+    }
+
+    /**
+     * @return True if this container or a container within it must be laid out again.
+     * */
+    public boolean isLayoutDirty() {
+        return layoutDirty || childLayoutDirty;
+    }
+
+    /**
+     * Marks the layout of this container and the layout of the container holding it as invalid.
+     * */
+    @Override
+    public void invalidateLayout() {
+        // A change made by this container's own layout, such as taking the size of the layout, is already accounted for.
+        if (!layingOut)
+            layoutDirty = true;
+        boundsDirty = true;
+        super.invalidateLayout();
+    }
+
+    /**
+     * Invoked when a component within this container changes. The bounds of this container and every container above
+     * it become invalid. The layout of this container becomes invalid unless the change was made by that layout, and
+     * the containers above are told to lay out the containers within them.
+     * */
+    protected void childInvalidated() {
+        boundsDirty = true;
+        boolean layoutInvalid = !layingOut;
+        if (layoutInvalid)
+            layoutDirty = true;
+
+        Component ancestor = getParent();
+        while (ancestor instanceof Container) {
+            Container container = (Container) ancestor;
+            container.boundsDirty = true;
+            if (layoutInvalid)
+                container.childLayoutDirty = true;
+            ancestor = container.getParent();
+        }
+    }
+
+    /**
+     * Updates the area containing this container and every component within it.
+     * */
+    private void updateBounds() {
+        boundsX = getX();
+        boundsY = getY();
+        boundsX1 = getX() + getWidth();
+        boundsY1 = getY() + getHeight();
+        for (int i = 0; i < components.size(); i++) {
+            Component component = components.get(i);
             if (component instanceof Container) {
-                ((Container) component).layout();
+                Container container = (Container) component;
+                if (container.boundsDirty)
+                    container.updateBounds();
+                boundsX = Math.min(boundsX, container.boundsX);
+                boundsY = Math.min(boundsY, container.boundsY);
+                boundsX1 = Math.max(boundsX1, container.boundsX1);
+                boundsY1 = Math.max(boundsY1, container.boundsY1);
+            } else {
+                boundsX = Math.min(boundsX, component.getX());
+                boundsY = Math.min(boundsY, component.getY());
+                boundsX1 = Math.max(boundsX1, component.getX() + component.getWidth());
+                boundsY1 = Math.max(boundsY1, component.getY() + component.getHeight());
             }
         }
+        boundsDirty = false;
     }
 
     /**
@@ -128,7 +241,22 @@ public class Container extends Component {
         // Update this component with the new gui utility.
         component.setToolbox(toolbox);
         component.setParent(this);
-        return components.add(component);
+        boolean added = components.add(component);
+        childrenChanged();
+        return added;
+    }
+
+    /**
+     * Invoked when the components within this container change. Increments the tree version of this container and
+     * every container above it.
+     * */
+    protected void childrenChanged() {
+        Component container = this;
+        while (container instanceof Container) {
+            ((Container) container).treeVersion++;
+            container = container.getParent();
+        }
+        childInvalidated();
     }
 
     @Override
@@ -149,6 +277,7 @@ public class Container extends Component {
         // Ensure no negative layout.
         if (this.layout == null)
             this.layout = new PaddedLayout();
+        childInvalidated();
     }
 
     @Override
@@ -157,6 +286,14 @@ public class Container extends Component {
             return true;
         }
 
+        // Components are expected to be within their own area, so a point outside of the area containing every
+        // component cannot be inside any of them.
+        if (boundsDirty)
+            updateBounds();
+        if (x < boundsX || y < boundsY || x > boundsX1 || y > boundsY1) {
+            return false;
+        }
+
         for (int i = components.size() - 1; i >= 0; i--) {
             Component component = components.get(i);
             if (component.isPointInside(x, y)) {
@@ -172,11 +309,22 @@ public class Container extends Component {
     }
 
     public boolean remove(Component component) {
-        return components.remove(component);
+        boolean removed = components.remove(component);
+        if (removed)
+            childrenChanged();
+        return removed;
     }
 
     public void clear() {
         components.clear();
+        childrenChanged();
+    }
+
+    /**
+     * @return A number which changes whenever the components within this container or any container within it change.
+     * */
+    public int getTreeVersion() {
+        return treeVersion;
     }
 
     public void setLayering(boolean layering) {
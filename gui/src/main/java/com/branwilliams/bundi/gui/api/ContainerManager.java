@@ -54,12 +54,18 @@ public class ContainerManager implements Destructible, MouseListener, KeyListene
      * Invoked to render the containers.
      * */
     public void render() {
-        for (Container container : containers) {
-            renderManager.render(container);
-        }
-        if (tooltip != null) {
-            tooltip.updatePosition(toolbox.getMouseX(), toolbox.getMouseY());
-            renderManager.render(tooltip);
+        renderManager.begin();
+        try {
+            for (Container container : containers) {
+                renderManager.render(container);
+            }
+            if (tooltip != null) {
+                tooltip.updatePosition(toolbox.getMouseX(), toolbox.getMouseY());
+                renderManager.render(tooltip);
+            }
+        } finally {
+            // Otherwise the render manager would keep rendering through render lists after a failed pass.
+            renderManager.end();
         }
 //        renderManager.getPopupRenderer().drawTooltip(tooltip, toolbox.getMouseX(), toolbox.getMouseY());
     }
@@ -14,10 +14,10 @@ public class PopupContainer extends Container {
     public void updatePosition(int x, int y) {
         this.setPosition(x, y);
         if (isAutoLayout())
-            layout();
+            validateLayout();
         this.setPosition(x, y - this.getHeight());
         if (isAutoLayout())
-            layout();
+            validateLayout();
     }
 
 //    @Override
@@ -88,7 +88,7 @@ public class Label extends Component {
 
     @Override
     public void update() {
-        // TODO Unecessary??
+        // The font may have been loaded since the text was last measured.
         if (this.font.hasFont() && !this.hasTextSize()) {
             updateTextSize();
         }
@@ -111,7 +111,7 @@ public class Label extends Component {
      * @return True if this label has it's text size calculated.
      * */
     private boolean hasTextSize() {
-        return textWidth == NO_TEXT_SIZE || textHeight == NO_TEXT_SIZE;
+        return textWidth != NO_TEXT_SIZE && textHeight != NO_TEXT_SIZE;
     }
 
     /**
@@ -144,6 +144,11 @@ public class Label extends Component {
 
     public void setText(String text) {
         this.text = text;
+        // Measured now so that the size of this label, and in turn the layout of its container, follows the text.
+        if (this.font.hasFont())
+            this.updateTextSize();
+        else
+            this.resetTextSize();
     }
 
     public Color getColor() {
@@ -151,6 +151,15 @@ public class Scrollbar {
         return has() ? scrollOffset : 0;
     }
 
+    /**
+     * Scrolls to the given offset, constricted to the scrollable area.
+     * */
+    public void setScrollOffset(int scrollOffset) {
+        this.scrollOffset = scrollOffset;
+        this.scrollVelocity = 0F;
+        constrict();
+    }
+
     /**
      * @return A float value between 0 ~ 1 which represents the percentage this scrollbar has scrolled.
      * */
@@ -0,0 +1,30 @@
+package com.branwilliams.bundi.gui.api.containers;
+
+import com.branwilliams.bundi.gui.api.Component;
+
+/**
+ * Supplies the items shown by a {@link VirtualScrollableContainer}. Rather than a component for every item, the
+ * container creates only enough rows to fill its viewable area and binds an item to each row as it scrolls into view.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public interface VirtualListAdapter <T extends Component> {
+
+    /**
+     * @return The number of items within the list.
+     * */
+    int getItemCount();
+
+    /**
+     * @return A new row which items can be bound to.
+     * */
+    T createRow();
+
+    /**
+     * Updates the row to show the item at the given index. Rows are reused, so anything set for a previous item must
+     * be replaced.
+     * */
+    void bindRow(T row, int index);
+
+}
@@ -0,0 +1,164 @@
+package com.branwilliams.bundi.gui.api.containers;
+
+import com.branwilliams.bundi.gui.api.Component;
+import com.branwilliams.bundi.gui.api.Layout;
+import com.branwilliams.bundi.gui.api.Widget;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Scrollable list of items which all share the same height. Only the rows within the viewable area exist as
+ * components, so the cost of laying out, updating, and rendering this container depends on its height rather than the
+ * number of items. <br/>
+ * Rows are created by the {@link VirtualListAdapter} and reused as the list scrolls. There is always one more row than
+ * the items which fit within the viewable area, so rows are only created when the height of this container changes.
+ * The item at an index is always bound to the row at that index modulo the number of rows, so scrolling by a single
+ * item only binds a single row. Rows without an item in view are hidden.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class VirtualScrollableContainer <T extends Component> extends ScrollableContainer {
+
+    private final VirtualListAdapter<T> adapter;
+
+    private final int itemHeight;
+
+    private final List<T> rows = new ArrayList<>();
+
+    // The index of the item bound to each row, or -1 when the row must be bound again.
+    private int[] rowItems = new int[0];
+
+    private RowLayout rowLayout;
+
+    public VirtualScrollableContainer(VirtualListAdapter<T> adapter, int itemHeight) {
+        super();
+        if (itemHeight <= 0) {
+            throw new IllegalArgumentException("The item height must be positive!");
+        }
+        this.adapter = adapter;
+        this.itemHeight = itemHeight;
+        this.rowLayout = new RowLayout();
+        super.setLayout(rowLayout);
+    }
+
+    @Override
+    public void update() {
+        // Rows are created and bound during layout, so changes to the items or size of this container are applied
+        // before anything is updated.
+        validateLayout();
+        super.update();
+    }
+
+    /**
+     * Binds every row again on the next layout. Invoked when the items of the adapter change.
+     * */
+    public void refresh() {
+        Arrays.fill(rowItems, -1);
+        childInvalidated();
+    }
+
+    /**
+     * Scrolls so that the item at the given index is at the top of the viewable area.
+     * */
+    public void scrollTo(int index) {
+        getVerticalScrollbar().setScrollOffset(index * itemHeight);
+        layout();
+    }
+
+    @Override
+    public void setLayout(Layout layout) {
+        // The scrollable container sets its own layout while it is constructed, which is replaced by the row layout.
+        if (rowLayout == null) {
+            super.setLayout(layout);
+        } else if (layout != rowLayout) {
+            throw new IllegalStateException("The layout of a virtual scrollable container cannot be replaced!");
+        }
+    }
+
+    /**
+     * @return The index of the item bound to the given row or -1 if it has no item in view.
+     * */
+    public int getRowItem(T row) {
+        int index = rows.indexOf(row);
+        return index == -1 || !row.isVisible() ? -1 : rowItems[index];
+    }
+
+    public VirtualListAdapter<T> getAdapter() {
+        return adapter;
+    }
+
+    public int getItemHeight() {
+        return itemHeight;
+    }
+
+    /**
+     * Creates enough rows to fill the viewable area, binds the items in view to them, and stacks them at the position
+     * of their items. The scrollable layout wrapping this one applies the scroll offset.
+     * */
+    private class RowLayout implements Layout<Widget, Component> {
+
+        @Override
+        public int[] layout(Widget area, List<Component> components) {
+            int itemCount = adapter.getItemCount();
+            int totalHeight = itemCount * itemHeight;
+
+            // The offset must reflect the current items before the rows in view can be found. The render area is
+            // found again since the scroll bar may appear or disappear with the new items.
+            Scrollbar scrollbar = getVerticalScrollbar();
+            scrollbar.setTotalAreaLength(totalHeight);
+            scrollbar.constrict();
+            int scrollOffset = scrollbar.getScrollOffset();
+            Widget renderArea = getRenderArea();
+
+            // However the viewable area is scrolled, it never shows more than one item beyond those which fit.
+            resizeRows((renderArea.getHeight() + itemHeight - 1) / itemHeight + 1);
+            int rowCount = rows.size();
+
+            int first = Math.min(itemCount, scrollOffset / itemHeight);
+            int last = Math.min(itemCount, (scrollOffset + renderArea.getHeight() + itemHeight - 1) / itemHeight);
+
+            for (int row = 0; row < rowCount; row++) {
+                // The index within the viewable area whose row this is.
+                int index = first + Math.floorMod(row - first, rowCount);
+                T component = rows.get(row);
+
+                if (index >= last) {
+                    component.setVisible(false);
+                    continue;
+                }
+                if (rowItems[row] != index) {
+                    adapter.bindRow(component, index);
+                    rowItems[row] = index;
+                }
+                component.setVisible(true);
+                component.setPosition(renderArea.getX(), renderArea.getY() + index * itemHeight);
+                component.setSize(renderArea.getWidth(), itemHeight);
+            }
+            return new int[] { renderArea.getWidth(), totalHeight };
+        }
+
+        /**
+         * Creates or removes rows until there are exactly the number of rows provided. Every row is bound again when
+         * the number of rows changes, since the row of each item changes with it. This only happens when the height
+         * of the viewable area changes.
+         * */
+        private void resizeRows(int rowCount) {
+            if (rowCount == rows.size()) {
+                return;
+            }
+            while (rows.size() < rowCount) {
+                T row = adapter.createRow();
+                rows.add(row);
+                add(row);
+            }
+            while (rows.size() > rowCount) {
+                remove(rows.remove(rows.size() - 1));
+            }
+            rowItems = new int[rowCount];
+            Arrays.fill(rowItems, -1);
+        }
+    }
+}
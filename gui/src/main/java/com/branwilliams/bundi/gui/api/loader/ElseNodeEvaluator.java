@@ -1,12 +1,9 @@
 package com.branwilliams.bundi.gui.api.loader;
 
-import com.branwilliams.bundi.gui.util.XmlUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Node;
 
-import java.util.Map;
-
 public class ElseNodeEvaluator implements NodeEvaluator {
 
     private static final String ELSE_NODE_NAME = "else";
@@ -21,20 +18,26 @@ public class ElseNodeEvaluator implements NodeEvaluator {
     }
 
     @Override
-    public Node applyTemplateToDocument(Node parent, Node original, Map<String, Object> env,
-                                        TemplateEvaluator templateEvaluator) {
+    public TemplateNode compile(Node original, TemplateEvaluator templateEvaluator) {
         Node variable = original.getAttributes().getNamedItem(ELSE_VAR_ATTR);
-        Object val = env.getOrDefault(variable.getTextContent(), null);
-
-        if (!(val instanceof Boolean)) {
-            log.error(variable.getTextContent() + " is not a boolean!");
+        if (variable == null) {
+            log.error("Unable to find attribute for 'var' in else node");
             return null;
         }
 
-        if (!((boolean) val)) {
-            Node finalParent = parent;
-            XmlUtils.forChildren(original, (c) -> templateEvaluator.applyTemplateToDocument(finalParent, c, env));
-        }
-        return parent;
+        String name = variable.getTextContent();
+        TemplateNode[] children = templateEvaluator.compileChildren(original);
+        return (document, parent, env) -> {
+            Object val = env.getOrDefault(name, null);
+
+            if (!(val instanceof Boolean)) {
+                log.error(name + " is not a boolean!");
+                return;
+            }
+
+            if (!((boolean) val)) {
+                TemplateNode.applyAll(children, document, parent, env);
+            }
+        };
     }
 }
@@ -1,6 +1,5 @@
 package com.branwilliams.bundi.gui.api.loader;
 
-import com.branwilliams.bundi.gui.util.XmlUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Node;
@@ -27,41 +26,45 @@ public class ForNodeEvaluator implements NodeEvaluator {
     }
 
     @Override
-    public Node applyTemplateToDocument(Node parent, Node original, Map<String, Object> env,
-                                        TemplateEvaluator templateEvaluator) {
+    public TemplateNode compile(Node original, TemplateEvaluator templateEvaluator) {
         Node list = original.getAttributes().getNamedItem(FOR_LIST_ATTR);
         Node var = original.getAttributes().getNamedItem(FOR_VAR_ATTR);
         Node index = original.getAttributes().getNamedItem(FOR_INDEX_ATTR);
 
         if (list == null || var == null) {
             log.error("Unable to find attribute for 'list' and/or 'var' in for node");
-            return parent;
+            return null;
         }
 
-        Object iter = env.getOrDefault(list.getTextContent(), null);
+        String listName = list.getTextContent();
+        String varName = var.getTextContent();
+        String indexName = index == null ? null : index.getTextContent();
+        TemplateNode[] children = templateEvaluator.compileChildren(original);
 
-        int iterIndex = 0;
-        if (iter instanceof Iterable) {
-            Iterable<?> iterable = (Iterable) iter;
-            Iterator<?> iterator = iterable.iterator();
+        return (document, parent, env) -> {
+            Object iter = env.getOrDefault(listName, null);
 
-            Node finalParent = parent;
-            while (iterator.hasNext()) {
-                Object next = iterator.next();
+            int iterIndex = 0;
+            if (iter instanceof Iterable) {
+                Iterable<?> iterable = (Iterable) iter;
+                Iterator<?> iterator = iterable.iterator();
 
-                Map<String, Object> forEnv = new HashMap<>(env);
-                forEnv.put(var.getTextContent(), next);
-                if (index != null) {
-                    forEnv.put(index.getTextContent(), iterIndex);
-                }
+                while (iterator.hasNext()) {
+                    Object next = iterator.next();
+
+                    Map<String, Object> forEnv = new HashMap<>(env);
+                    forEnv.put(varName, next);
+                    if (indexName != null) {
+                        forEnv.put(indexName, iterIndex);
+                    }
 
-                XmlUtils.forChildren(original, (c) -> templateEvaluator.applyTemplateToDocument(finalParent, c, forEnv));
+                    TemplateNode.applyAll(children, document, parent, forEnv);
 
-                iterIndex++;
+                    iterIndex++;
+                }
+            } else {
+                log.error("Environment variable '" + listName + "' is not iterable.");
             }
-        } else {
-            log.error("Environment variable '" + list.getTextContent() + "' is not iterable.");
-        }
-        return parent;
+        };
     }
 }
@@ -9,9 +9,9 @@ import org.w3c.dom.Node;
 import org.xml.sax.SAXException;
 
 import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
-import java.util.Map;
 
 import static com.branwilliams.bundi.gui.api.loader.UILoader.UI_BASE_ELEMENT;
 
@@ -34,18 +34,24 @@ public class ImportNodeEvaluator implements NodeEvaluator {
         return IMPORT_NODE_NAME;
     }
 
+    /**
+     * Imports are resolved when compiled, so the children of the imported file are compiled in place of the import
+     * node and the imported file is recorded as a dependency of the template.
+     * */
     @Override
-    public Node applyTemplateToDocument(Node parent, Node original, Map<String, Object> env,
-                                        TemplateEvaluator templateEvaluator) {
+    public TemplateNode compile(Node original, TemplateEvaluator templateEvaluator) {
         Node file = original.getAttributes().getNamedItem(IMPORT_FILE_ATTR);
 
         if (file == null) {
             log.error("Unable to find attribute for file for env node.");
-            return parent;
+            return null;
         }
         String fileName = file.getTextContent();
 
-        String fileContents = IOUtils.readFile(directory, fileName, null);
+        File importedFile = directory.resolve(fileName).toFile();
+        templateEvaluator.addDependency(importedFile);
+
+        String fileContents = IOUtils.readFile(importedFile, null);
         if (fileContents == null) {
             log.error("Unable to read file " + directory.resolve(fileName));
             return null;
@@ -56,16 +62,13 @@ public class ImportNodeEvaluator implements NodeEvaluator {
             Node documentElement = document.getDocumentElement();
 
             if (UI_BASE_ELEMENT.equalsIgnoreCase(documentElement.getNodeName())) {
-                XmlUtils.forChildren(documentElement,
-                        (c) -> {
-                    c = templateEvaluator.getCurrentlyLoadingDocument().importNode(c, true);
-                    templateEvaluator.applyTemplateToDocument(parent, c, env);
-                });
+                TemplateNode[] children = templateEvaluator.compileChildren(documentElement);
+                return (d, parent, env) -> TemplateNode.applyAll(children, d, parent, env);
             }
         } catch (ParserConfigurationException | IOException | SAXException e) {
             log.error("Unable to parse XML from document " + directory.resolve(fileName));
         }
 
-        return parent;
+        return null;
     }
 }
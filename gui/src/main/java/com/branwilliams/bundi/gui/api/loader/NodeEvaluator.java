@@ -2,8 +2,6 @@ package com.branwilliams.bundi.gui.api.loader;
 
 import org.w3c.dom.Node;
 
-import java.util.Map;
-
 public interface NodeEvaluator {
 
     /**
@@ -11,5 +9,11 @@ public interface NodeEvaluator {
      * */
     String getNodeName();
 
-    Node applyTemplateToDocument(Node parent, Node original, Map<String, Object> env, TemplateEvaluator templateEvaluator);
+    /**
+     * Compiles the original node, and its children, into a template node which is applied each time its template is
+     * instantiated.
+     *
+     * @return The compiled node, or null if the original node produces nothing.
+     * */
+    TemplateNode compile(Node original, TemplateEvaluator templateEvaluator);
 }
@@ -0,0 +1,49 @@
+package com.branwilliams.bundi.gui.api.loader;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import java.util.Map;
+
+/**
+ * Compiled element which is copied into the document with its attribute variables replaced.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class TemplateElement implements TemplateNode {
+
+    private final String nodeName;
+
+    private final String[] attributeNames;
+
+    private final TemplateText[] attributeValues;
+
+    private final TemplateNode[] children;
+
+    public TemplateElement(String nodeName, String[] attributeNames, TemplateText[] attributeValues,
+                           TemplateNode[] children) {
+        if (attributeNames.length != attributeValues.length) {
+            throw new IllegalArgumentException("Each attribute must have a value!");
+        }
+        this.nodeName = nodeName;
+        this.attributeNames = attributeNames;
+        this.attributeValues = attributeValues;
+        this.children = children;
+    }
+
+    @Override
+    public void apply(Document document, Node parent, Map<String, Object> env) {
+        Element element = document.createElement(nodeName);
+        for (int i = 0; i < attributeNames.length; i++) {
+            element.setAttribute(attributeNames[i], attributeValues[i].evaluate(env));
+        }
+        parent.appendChild(element);
+        TemplateNode.applyAll(children, document, element, env);
+    }
+
+    public String getNodeName() {
+        return nodeName;
+    }
+}
@@ -3,27 +3,25 @@ package com.branwilliams.bundi.gui.api.loader;
 import com.branwilliams.bundi.gui.util.XmlUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 
+import java.io.File;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class TemplateEvaluator {
 
-    /**
-     * Group 1 matches: "{{ variable name }}" for environment variables given to this loader.
-     * */
-    private final Pattern environmentVariablePattern = Pattern.compile("\\{\\{\\s*([\\w\\d]+[^\\s]*)\\s*}}");
-
     private final Logger log = LoggerFactory.getLogger(getClass());
 
     private final Map<String, NodeEvaluator> evaluators = new HashMap<>();
 
-    private Document currentlyLoadingDocument;
+    private Map<File, Long> currentDependencies;
 
     public TemplateEvaluator() {
     }
@@ -51,40 +49,78 @@ public class TemplateEvaluator {
         }
     }
 
-    public Node applyTemplateToDocument(Document document, Node parent, Node original, Map<String, Object> env) {
-        this.currentlyLoadingDocument = document;
-        Node applied = applyTemplateToDocument(parent, original, env);
-        this.currentlyLoadingDocument = null;
-        return applied;
+    /**
+     * Compiles the root element of a UI file into a template.
+     *
+     * @param file The file the root element was read from. Any files it imports are recorded alongside it.
+     * */
+    public UITemplate compileTemplate(File file, Element root) {
+        this.currentDependencies = new LinkedHashMap<>();
+        try {
+            addDependency(file);
+            return new UITemplate(compileElement(root), currentDependencies);
+        } finally {
+            this.currentDependencies = null;
+        }
     }
 
-    public Node applyTemplateToDocument(Node parent, Node original, Map<String, Object> env) {
-        String nodeName = original.getNodeName().toLowerCase();
-        if (evaluators.containsKey(nodeName)) {
-            NodeEvaluator evaluator = evaluators.get(nodeName);
-            evaluator.applyTemplateToDocument(parent, original, env, this);
-        } else {
-            Node copy = original.cloneNode(false);
-            XmlUtils.forAttributes(copy, (attr) -> {
-                attr.setNodeValue(replaceEnvironmentVariables(attr.getNodeValue(), env));
-            });
-
-            if (parent == null) {
-                parent = copy;
-            } else {
-                parent.appendChild(copy);
-            }
-            XmlUtils.forChildren(original, (c) -> applyTemplateToDocument(copy, c, env));
+    /**
+     * @return The compiled node, or null if the original node produces nothing.
+     * */
+    public TemplateNode compile(Node original) {
+        switch (original.getNodeType()) {
+            case Node.ELEMENT_NODE:
+                String nodeName = original.getNodeName().toLowerCase();
+                if (evaluators.containsKey(nodeName)) {
+                    return evaluators.get(nodeName).compile(original, this);
+                }
+                return compileElement(original);
+            case Node.TEXT_NODE:
+            case Node.CDATA_SECTION_NODE:
+                // Whitespace between elements is never read by the loader.
+                String text = original.getNodeValue();
+                if (text.trim().isEmpty()) {
+                    return null;
+                }
+                return (document, parent, env) -> parent.appendChild(document.createTextNode(text));
+            default:
+                return null;
         }
-        return parent;
     }
 
-    private String replaceEnvironmentVariables(String input, Map<String, Object> env) {
-        Matcher matcher = environmentVariablePattern.matcher(input);
-        return matcher.replaceAll((result) -> env.getOrDefault(result.group(1), "null").toString());
+    /**
+     * @return The compiled children of the original node, excluding those which produce nothing.
+     * */
+    public TemplateNode[] compileChildren(Node original) {
+        List<TemplateNode> children = new ArrayList<>();
+        XmlUtils.forChildren(original, (c) -> {
+            TemplateNode child = compile(c);
+            if (child != null) {
+                children.add(child);
+            }
+        });
+        return children.toArray(new TemplateNode[0]);
     }
 
-    public Document getCurrentlyLoadingDocument() {
-        return currentlyLoadingDocument;
+    private TemplateElement compileElement(Node original) {
+        NamedNodeMap attributes = original.getAttributes();
+        String[] attributeNames = new String[attributes.getLength()];
+        TemplateText[] attributeValues = new TemplateText[attributes.getLength()];
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Node attribute = attributes.item(i);
+            attributeNames[i] = attribute.getNodeName();
+            attributeValues[i] = TemplateText.compile(attribute.getNodeValue());
+        }
+        return new TemplateElement(original.getNodeName(), attributeNames, attributeValues, compileChildren(original));
+    }
+
+    /**
+     * Records a file which the template currently compiling was compiled from, such as an imported file.
+     * */
+    public void addDependency(File file) {
+        if (currentDependencies == null) {
+            throw new IllegalStateException("No template is being compiled!");
+        }
+        currentDependencies.put(file, file.lastModified());
     }
 }
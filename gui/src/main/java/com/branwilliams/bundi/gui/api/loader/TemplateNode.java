@@ -0,0 +1,30 @@
+package com.branwilliams.bundi.gui.api.loader;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+import java.util.Map;
+
+/**
+ * A node of a compiled {@link UITemplate}. Compiled nodes are immutable and are applied to a new document each time
+ * the template is instantiated, so one compiled template can be shared by every load of its file.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public interface TemplateNode {
+
+    /**
+     * Appends the nodes produced by this template node for the given environment to the parent.
+     * */
+    void apply(Document document, Node parent, Map<String, Object> env);
+
+    /**
+     * Applies each of the template nodes to the parent in order.
+     * */
+    static void applyAll(TemplateNode[] nodes, Document document, Node parent, Map<String, Object> env) {
+        for (TemplateNode node : nodes) {
+            node.apply(document, parent, env);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.branwilliams.bundi.gui.api.loader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Attribute value split into its literal text and the "{{ variable name }}" slots between them. The value is matched
+ * against the variable pattern once when compiled, so evaluating it only looks up each variable.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class TemplateText {
+
+    /**
+     * Group 1 matches: "{{ variable name }}" for environment variables given to the template.
+     * */
+    public static final Pattern ENVIRONMENT_VARIABLE_PATTERN = Pattern.compile("\\{\\{\\s*([\\w\\d]+[^\\s]*)\\s*}}");
+
+    // The literal text before each variable, followed by the text after the last variable.
+    private final String[] literals;
+
+    private final String[] variables;
+
+    private TemplateText(String[] literals, String[] variables) {
+        this.literals = literals;
+        this.variables = variables;
+    }
+
+    public static TemplateText compile(String text) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+
+        Matcher matcher = ENVIRONMENT_VARIABLE_PATTERN.matcher(text);
+        int end = 0;
+        while (matcher.find()) {
+            literals.add(text.substring(end, matcher.start()));
+            variables.add(matcher.group(1));
+            end = matcher.end();
+        }
+        literals.add(text.substring(end));
+
+        return new TemplateText(literals.toArray(new String[0]), variables.toArray(new String[0]));
+    }
+
+    /**
+     * @return The text with each variable replaced by its value within the environment, or "null" if the environment
+     * does not contain it.
+     * */
+    public String evaluate(Map<String, Object> env) {
+        if (variables.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder text = new StringBuilder(literals[0]);
+        for (int i = 0; i < variables.length; i++) {
+            text.append(env.getOrDefault(variables[i], "null")).append(literals[i + 1]);
+        }
+        return text.toString();
+    }
+}
@@ -13,6 +13,7 @@ import org.w3c.dom.*;
 import org.xml.sax.SAXException;
 
 import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -38,6 +39,8 @@ public class UILoader {
 
     private Map<String, UIElementFactory> elementFactories = new HashMap<>();
 
+    private final Map<File, UITemplate> templates = new HashMap<>();
+
     public UILoader(FontCache fontCache, Toolbox toolbox) {
         this.toolbox = toolbox;
 
@@ -81,51 +84,83 @@ public class UILoader {
 
     public List<Container> loadUI(Path file, Map<String, Object> env) throws IOException, SAXException, ParserConfigurationException,
             IllegalArgumentException {
-        String fileContents = IOUtils.readFile(directory, file.toString(), null);
-        if (fileContents == null) {
-            log.error("Unable to read file " + directory.resolve(file.toString()));
+        UITemplate template = getTemplate(file);
+        if (template == null) {
             return null;
         }
 
-        Document document = XmlUtils.fromString(fileContents);
-        Node documentElement = document.getDocumentElement();
-
         List<Container> containers = new ArrayList<>();
-        if (UI_BASE_ELEMENT.equalsIgnoreCase(documentElement.getNodeName())) {
-
-            Node root = templateEvaluator.applyTemplateToDocument(document, null, documentElement, env);
-            NodeList nodeList = root.getChildNodes();
+        Node root = template.instantiate(env);
+        NodeList nodeList = root.getChildNodes();
 
-            for (int i = 0; i < nodeList.getLength(); i++) {
-                Node node = nodeList.item(i);
-
-                if (node.getNodeType() != Node.ELEMENT_NODE)
-                    continue;
+        for (int i = 0; i < nodeList.getLength(); i++) {
+            Node node = nodeList.item(i);
 
-                String nodeName = node.getNodeName().toLowerCase();
+            if (node.getNodeType() != Node.ELEMENT_NODE)
+                continue;
 
-                if (elementFactories.containsKey(nodeName)) {
-                    UIElementFactory elementFactory = elementFactories.get(nodeName);
+            String nodeName = node.getNodeName().toLowerCase();
 
-                    if (elementFactory.getType() == UIElementType.CONTAINER) {
-                        Container container = (Container) elementFactory.createElement(toolbox, node, node.getAttributes());
-                        loadContainerElements(container, node.getChildNodes());
-                        container.layout();
-                        containers.add(container);
-                    } else {
-                        log.error("Cannot create element '" + nodeName + "' without parent container!");
-                    }
+            if (elementFactories.containsKey(nodeName)) {
+                UIElementFactory elementFactory = elementFactories.get(nodeName);
 
+                if (elementFactory.getType() == UIElementType.CONTAINER) {
+                    Container container = (Container) elementFactory.createElement(toolbox, node, node.getAttributes());
+                    loadContainerElements(container, node.getChildNodes());
+                    container.layout();
+                    containers.add(container);
                 } else {
-                    log.error("Invalid element '" + nodeName + "' from file: " + file);
+                    log.error("Cannot create element '" + nodeName + "' without parent container!");
                 }
+
+            } else {
+                log.error("Invalid element '" + nodeName + "' from file: " + file);
             }
-        } else
+        }
+
+        return containers;
+    }
+
+    /**
+     * Provides the compiled template of a UI file. Templates are cached until the file, or any file it imports, is
+     * modified.
+     *
+     * @return The compiled template or null if the file cannot be read.
+     * */
+    public UITemplate getTemplate(Path file) throws IOException, SAXException, ParserConfigurationException,
+            IllegalArgumentException {
+        File templateFile = directory.resolve(file.toString()).toFile();
+
+        UITemplate template = templates.get(templateFile);
+        if (template != null && !template.isModified()) {
+            return template;
+        }
+        templates.remove(templateFile);
+
+        String fileContents = IOUtils.readFile(templateFile, null);
+        if (fileContents == null) {
+            log.error("Unable to read file " + templateFile);
+            return null;
+        }
+
+        Document document = XmlUtils.fromString(fileContents);
+        Element documentElement = document.getDocumentElement();
+
+        if (!UI_BASE_ELEMENT.equalsIgnoreCase(documentElement.getNodeName()))
             throw new IllegalArgumentException(documentElement.getNodeName()
                     + ", "
                     + "The base element must of type '" + UI_BASE_ELEMENT + "'.");
 
-        return containers;
+        template = templateEvaluator.compileTemplate(templateFile, documentElement);
+        templates.put(templateFile, template);
+        return template;
+    }
+
+    /**
+     * Removes every compiled template, so each file is compiled again when next loaded.
+     * */
+    public void clearTemplates() {
+        templates.clear();
     }
 
     private void loadContainerElements(Container parent, NodeList nodeList) {
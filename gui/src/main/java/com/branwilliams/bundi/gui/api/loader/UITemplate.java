@@ -0,0 +1,63 @@
+package com.branwilliams.bundi.gui.api.loader;
+
+import com.branwilliams.bundi.gui.util.XmlUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * UI file compiled by the {@link TemplateEvaluator}. Imports are resolved when compiled, so the template records the
+ * modification time of every file it was compiled from in order to know when it must be compiled again.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class UITemplate {
+
+    private final TemplateElement root;
+
+    private final Map<File, Long> dependencies;
+
+    public UITemplate(TemplateElement root, Map<File, Long> dependencies) {
+        this.root = root;
+        this.dependencies = Collections.unmodifiableMap(dependencies);
+    }
+
+    /**
+     * Applies this template to a new document with the given environment.
+     *
+     * @return The root element of the new document.
+     * */
+    public Node instantiate(Map<String, Object> env) throws ParserConfigurationException {
+        Document document = XmlUtils.newDocument();
+        root.apply(document, document, env);
+        return document.getDocumentElement();
+    }
+
+    /**
+     * @return True if any of the files this template was compiled from have been modified or removed since.
+     * */
+    public boolean isModified() {
+        for (Map.Entry<File, Long> dependency : dependencies.entrySet()) {
+            if (dependency.getKey().lastModified() != dependency.getValue()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public TemplateElement getRoot() {
+        return root;
+    }
+
+    /**
+     * @return The files this template was compiled from, with their modification times when compiled.
+     * */
+    public Map<File, Long> getDependencies() {
+        return dependencies;
+    }
+}
@@ -4,8 +4,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Node;
 
-import java.util.Map;
-
 public class VarSetNodeEvaluator implements NodeEvaluator {
 
     private static final String ENV_SET_NODE_NAME = "varset";
@@ -22,17 +20,16 @@ public class VarSetNodeEvaluator implements NodeEvaluator {
     }
 
     @Override
-    public Node applyTemplateToDocument(Node parent, Node original, Map<String, Object> env,
-                                        TemplateEvaluator templateEvaluator) {
+    public TemplateNode compile(Node original, TemplateEvaluator templateEvaluator) {
         Node variable = original.getAttributes().getNamedItem(ENV_SET_VAR_ATTR);
         Node value = original.getAttributes().getNamedItem(ENV_SET_VAL_ATTR);
         if (variable == null || value == null) {
             log.error("Unable to find attributes var or val for VarSet node.");
-            return parent;
+            return null;
         }
 
-        env.put(variable.getTextContent().toLowerCase(), value.getTextContent());
-
-        return parent;
+        String name = variable.getTextContent().toLowerCase();
+        String text = value.getTextContent();
+        return (document, parent, env) -> env.put(name, text);
     }
 }
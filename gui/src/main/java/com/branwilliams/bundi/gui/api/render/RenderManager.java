@@ -3,10 +3,7 @@ package com.branwilliams.bundi.gui.api.render;
 import com.branwilliams.bundi.gui.api.Component;
 import com.branwilliams.bundi.gui.api.Container;
 
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
 
 /**
  * Manages the rendering of components. This is separated from the container manager to allow for a 'theme-able' component system. <br/>
@@ -17,7 +14,19 @@ public class RenderManager {
     /**
      * Each component's class is mapped to a renderer. This is used to ensure each component type has it's own renderer.
      * */
-    private final Map<ComponentRendererMatcher, ComponentRenderer> renderers = new HashMap<>();
+    private final Map<ComponentRendererMatcher, ComponentRenderer<Component>> renderers = new HashMap<>();
+
+    /**
+     * The renderer resolved for each component class and tag. Cleared whenever a renderer is assigned.
+     * */
+    private final Map<Class<?>, Map<String, ComponentRenderer<Component>>> resolvedRenderers = new HashMap<>();
+
+    /**
+     * The render list of each component rendered since {@link RenderManager#begin()}.
+     * */
+    private final Map<Component, RenderList> renderLists = new IdentityHashMap<>();
+
+    private boolean rendering;
 
     private PopupRenderer popupRenderer = new EmptyPopupRenderer();
 
@@ -25,7 +34,8 @@ public class RenderManager {
      * Assigns this renderer to the class specified. Can render subclasses of this class.
      * */
     public <T extends Component> void setRenderer(Class<T> clazz, ComponentRenderer<T> renderer) {
-        renderers.put(new ClassMatcher<>(clazz), renderer);
+        renderers.put(new ClassMatcher<>(clazz), asComponentRenderer(renderer));
+        rendererChanged();
     }
 
     /**
@@ -33,46 +43,176 @@ public class RenderManager {
      * @param loose 'Loose-Comparison' - When false exactly matches the class, which may prove problematic with internal classes.
      * */
     public <T extends Component> void setRenderer(Class<T> clazz, boolean loose, ComponentRenderer<T> renderer) {
-        renderers.put(new ClassMatcher<>(clazz, loose), renderer);
+        renderers.put(new ClassMatcher<>(clazz, loose), asComponentRenderer(renderer));
+        rendererChanged();
     }
 
     /**
      * Assigns this renderer to a class with a tag.
      * */
     public <T extends Component> void setRenderer(Class<T> clazz, boolean loose, String tag, ComponentRenderer<T> renderer) {
-        renderers.put(new TagMatcher<>(tag, clazz, loose), renderer);
+        renderers.put(new TagMatcher<>(tag, clazz, loose), asComponentRenderer(renderer));
+        rendererChanged();
     }
 
     /**
      * Assigns this renderer to a class with a tag.
      * */
     public <T extends Component> void setRenderer(Class<T> clazz, String tag, ComponentRenderer<T> renderer) {
-        renderers.put(new TagMatcher<>(tag, clazz), renderer);
+        renderers.put(new TagMatcher<>(tag, clazz), asComponentRenderer(renderer));
+        rendererChanged();
+    }
+
+    private void rendererChanged() {
+        resolvedRenderers.clear();
+        renderLists.clear();
+    }
+
+    /**
+     * Renderers are only given the components their matchers matched, so every renderer is kept as a renderer of any
+     * component. This is the only unchecked conversion of renderers.
+     * */
+    @SuppressWarnings("unchecked")
+    private static ComponentRenderer<Component> asComponentRenderer(ComponentRenderer<? extends Component> renderer) {
+        return (ComponentRenderer<Component>) renderer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ComponentRenderer<Component>[] newRenderers(int length) {
+        return new ComponentRenderer[length];
+    }
+
+    /**
+     * Invoked before the components of a {@link com.branwilliams.bundi.gui.api.ContainerManager} are rendered. Until
+     * {@link RenderManager#end()}, components are rendered using a render list which is kept between passes.
+     * */
+    public void begin() {
+        rendering = true;
+        for (RenderList renderList : renderLists.values()) {
+            renderList.used = false;
+        }
+    }
+
+    /**
+     * Invoked after the components of a {@link com.branwilliams.bundi.gui.api.ContainerManager} are rendered. Drops
+     * the render lists of components which were not rendered.
+     * */
+    public void end() {
+        rendering = false;
+        renderLists.values().removeIf(renderList -> !renderList.used);
     }
 
     /**
      * Renders a component and the components within that component.
      * */
     public void render(Component component) {
+        if (!rendering) {
+            renderRecursively(component);
+            return;
+        }
+
+        RenderList renderList = renderLists.get(component);
+        int treeVersion = getTreeVersion(component);
+        if (renderList == null || renderList.treeVersion != treeVersion) {
+            renderList = buildRenderList(component, renderList);
+            renderList.treeVersion = treeVersion;
+            renderLists.put(component, renderList);
+        }
+        renderList.used = true;
+        renderList.render();
+    }
+
+    private void renderRecursively(Component component) {
         if (component.isVisible()) {
-            // Filter the
-            // ^ I'm keeping it this way.
-            Optional<Map.Entry<ComponentRendererMatcher, ComponentRenderer>> renderer = renderers.entrySet().stream().max(Comparator.comparingInt(o -> o.getKey().matches(component)));
-            if (renderer.isPresent()) {
-                renderer.get().getValue().pre(component);
-                renderer.get().getValue().render(component);
+            ComponentRenderer<Component> renderer = getRenderer(component);
+            if (renderer != null) {
+                renderer.pre(component);
+                renderer.render(component);
 
                 // Render the children of this component if it is a container.
                 if (component instanceof Container) {
                     for (Component child : ((Container) component).getComponents()) {
-                        render(child);
+                        renderRecursively(child);
                     }
                 }
-                renderer.get().getValue().post(component);
+                renderer.post(component);
             }
         }
     }
 
+    /**
+     * Finds the renderer which best matches the component. The renderer resolved for each class and tag is cached
+     * until a renderer is assigned, since the matchers only look at the class and tag of a component.
+     * @return The renderer for this component or null if no renderers have been assigned.
+     * */
+    public ComponentRenderer<Component> getRenderer(Component component) {
+        Map<String, ComponentRenderer<Component>> resolved = resolvedRenderers.computeIfAbsent(component.getClass(),
+                clazz -> new HashMap<>());
+        ComponentRenderer<Component> renderer = resolved.get(component.getTag());
+        if (renderer == null && !resolved.containsKey(component.getTag())) {
+            renderer = resolveRenderer(component);
+            resolved.put(component.getTag(), renderer);
+        }
+        return renderer;
+    }
+
+    /**
+     * @return The renderer of the first matcher with the greatest weight for this component.
+     * */
+    private ComponentRenderer<Component> resolveRenderer(Component component) {
+        ComponentRenderer<Component> renderer = null;
+        int weight = 0;
+        for (Map.Entry<ComponentRendererMatcher, ComponentRenderer<Component>> entry : renderers.entrySet()) {
+            int matches = entry.getKey().matches(component);
+            if (renderer == null || matches > weight) {
+                renderer = entry.getValue();
+                weight = matches;
+            }
+        }
+        return renderer;
+    }
+
+    private static int getTreeVersion(Component component) {
+        return component instanceof Container ? ((Container) component).getTreeVersion() : 0;
+    }
+
+    /**
+     * Flattens the tree of components below the provided component into a render list, reusing the arrays of the
+     * previous render list when possible.
+     * */
+    private RenderList buildRenderList(Component root, RenderList renderList) {
+        if (renderList == null) {
+            renderList = new RenderList();
+        }
+        int previousSize = renderList.size;
+        renderList.size = 0;
+        renderList.maxDepth = 0;
+        addToRenderList(renderList, root, 1);
+        if (previousSize > renderList.size) {
+            // Let go of the components which are no longer within the tree.
+            Arrays.fill(renderList.components, renderList.size, previousSize, null);
+            Arrays.fill(renderList.renderers, renderList.size, previousSize, null);
+            Arrays.fill(renderList.tags, renderList.size, previousSize, null);
+        }
+        renderList.openComponents = new int[renderList.maxDepth];
+        return renderList;
+    }
+
+    private void addToRenderList(RenderList renderList, Component component, int depth) {
+        ComponentRenderer<Component> renderer = getRenderer(component);
+        if (renderer == null) {
+            return;
+        }
+        int index = renderList.add(component, renderer);
+        renderList.maxDepth = Math.max(renderList.maxDepth, depth);
+        if (component instanceof Container) {
+            for (Component child : ((Container) component).getComponents()) {
+                addToRenderList(renderList, child, depth + 1);
+            }
+        }
+        renderList.subtreeEnds[index] = renderList.size;
+    }
+
     public void setPopupRenderer(PopupRenderer popupRenderer) {
         if (popupRenderer != null)
             this.popupRenderer = popupRenderer;
@@ -82,6 +222,77 @@ public class RenderManager {
         return popupRenderer;
     }
 
+    /**
+     * A tree of components flattened in the order they are rendered. Each component stores the index after the last
+     * component within it, so that invisible components can be skipped along with everything within them.
+     * */
+    private class RenderList {
+
+        private Component[] components = new Component[16];
+
+        private ComponentRenderer<Component>[] renderers = newRenderers(16);
+
+        // The tag of each component when its renderer was resolved.
+        private String[] tags = new String[16];
+
+        private int[] subtreeEnds = new int[16];
+
+        // Stack of the components whose post function has yet to be invoked.
+        private int[] openComponents;
+
+        private int size;
+
+        private int maxDepth;
+
+        private int treeVersion;
+
+        private boolean used;
+
+        private int add(Component component, ComponentRenderer<Component> renderer) {
+            if (size == components.length) {
+                components = Arrays.copyOf(components, size * 2);
+                renderers = Arrays.copyOf(renderers, size * 2);
+                tags = Arrays.copyOf(tags, size * 2);
+                subtreeEnds = Arrays.copyOf(subtreeEnds, size * 2);
+            }
+            components[size] = component;
+            renderers[size] = renderer;
+            tags[size] = component.getTag();
+            return size++;
+        }
+
+        private void render() {
+            int open = 0;
+            int index = 0;
+            while (index < size) {
+                // Finish each component whose subtree ends here.
+                while (open > 0 && subtreeEnds[openComponents[open - 1]] <= index) {
+                    int finished = openComponents[--open];
+                    renderers[finished].post(components[finished]);
+                }
+
+                Component component = components[index];
+                if (!component.isVisible()) {
+                    index = subtreeEnds[index];
+                    continue;
+                }
+                // Tags can change without the tree changing.
+                if (tags[index] != component.getTag()) {
+                    renderers[index] = getRenderer(component);
+                    tags[index] = component.getTag();
+                }
+                renderers[index].pre(component);
+                renderers[index].render(component);
+                openComponents[open++] = index;
+                index++;
+            }
+            while (open > 0) {
+                int finished = openComponents[--open];
+                renderers[finished].post(components[finished]);
+            }
+        }
+    }
+
     /**
      * Matches a component to a renderer.
      * */
@@ -1,6 +1,5 @@
 package com.branwilliams.bundi.gui.impl;
 
-import com.branwilliams.bundi.engine.font.BasicFontRenderer;
 import com.branwilliams.bundi.engine.font.FontRenderer;
 import com.branwilliams.bundi.gui.api.PopupContainer;
 import com.branwilliams.bundi.gui.impl.render.ShapeRenderer;
@@ -19,7 +18,7 @@ import com.branwilliams.bundi.gui.api.render.RenderManager;
  */
 public class BasicRenderer extends RenderManager {
 
-    private final FontRenderer fontRenderer = new BasicFontRenderer();
+    private final FontRenderer fontRenderer;
     
     private final ImageRenderer imageRenderer;
 
@@ -31,13 +30,14 @@ public class BasicRenderer extends RenderManager {
         super();
         this.toolbox = toolbox;
         this.shapeRenderer = new ShapeRenderer();
+        this.fontRenderer = new BatchedFontRenderer(shapeRenderer);
         this.imageRenderer = new BasicImageRenderer();
 
         this.setPopupRenderer(new BasicPopupRenderer(shapeRenderer, toolbox, fontRenderer, imageRenderer));
         this.setRenderer(Button.class, new ButtonRenderer(shapeRenderer, toolbox, fontRenderer, imageRenderer));
         this.setRenderer(Checkbox.class, new CheckboxRenderer(shapeRenderer, toolbox, fontRenderer, imageRenderer));
         this.setRenderer(Container.class, false, new ContainerRenderer(shapeRenderer, toolbox, fontRenderer, imageRenderer));
-        this.setRenderer(ScrollableContainer.class, false, new ScrollableContainerRenderer(shapeRenderer, toolbox, fontRenderer, imageRenderer));
+        this.setRenderer(ScrollableContainer.class, true, new ScrollableContainerRenderer(shapeRenderer, toolbox, fontRenderer, imageRenderer));
         this.setRenderer(PopupContainer.class, false, new PopupContainerRenderer(shapeRenderer, toolbox, fontRenderer, imageRenderer));
         this.setRenderer(Slider.class, new SliderRenderer(shapeRenderer, toolbox, fontRenderer, imageRenderer));
         this.setRenderer(Label.class, new LabelRenderer(shapeRenderer, toolbox, fontRenderer, imageRenderer));
@@ -48,6 +48,21 @@ public class BasicRenderer extends RenderManager {
 
     }
 
+    /**
+     * Batches everything rendered until {@link BasicRenderer#end()} so that it is drawn at once.
+     * */
+    @Override
+    public void begin() {
+        super.begin();
+        shapeRenderer.begin();
+    }
+
+    @Override
+    public void end() {
+        super.end();
+        shapeRenderer.end();
+    }
+
     public FontRenderer getFontRenderer() {
         return fontRenderer;
     }
@@ -56,6 +71,10 @@ public class BasicRenderer extends RenderManager {
         return imageRenderer;
     }
 
+    public ShapeRenderer getShapeRenderer() {
+        return shapeRenderer;
+    }
+
     public Toolbox getToolbox() {
         return toolbox;
     }
@@ -0,0 +1,76 @@
+package com.branwilliams.bundi.gui.impl.render;
+
+import com.branwilliams.bundi.engine.font.FontData;
+import com.branwilliams.bundi.engine.font.FontRenderer;
+import com.branwilliams.bundi.engine.texture.Texture;
+
+/**
+ * Font renderer which adds the characters of each string to the {@link GuiBatch} of a {@link ShapeRenderer}, so text
+ * is drawn along with the shapes of the GUI.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class BatchedFontRenderer implements FontRenderer {
+
+    private final ShapeRenderer shapeRenderer;
+
+    protected int kerning = 0;
+
+    protected FontData fontData = new FontData();
+
+    public BatchedFontRenderer(ShapeRenderer shapeRenderer) {
+        this.shapeRenderer = shapeRenderer;
+    }
+
+    @Override
+    public int drawString(FontData fontData, String text, int x, int y, int color) {
+        if (!fontData.hasFont())
+            return 0;
+        Texture texture = fontData.getTexture();
+        float width = texture.getWidth();
+        float height = texture.getHeight();
+
+        GuiBatch batch = shapeRenderer.getBatch();
+        batch.texture(texture.getId(), fontData.getWhiteU(), fontData.getWhiteV());
+        int size = text.length();
+        for (int i = 0; i < size; i++) {
+            char character = text.charAt(i);
+            if (character == '\t') {
+                x += 4 * fontData.getSpaceWidth();
+            } else if (fontData.hasBounds(character)) {
+                FontData.CharacterData area = fontData.getCharacterBounds(character);
+                batch.addRect(x, y, x + area.width, y + area.height,
+                        area.x / width, area.y / height,
+                        (area.x + area.width) / width, (area.y + area.height) / height,
+                        color);
+                x += (area.width + kerning);
+            }
+        }
+        shapeRenderer.flushUnlessBatching();
+        return x;
+    }
+
+    public int getKerning() {
+        return kerning;
+    }
+
+    public void setKerning(int kerning) {
+        this.kerning = kerning;
+    }
+
+    @Override
+    public FontData getFontData() {
+        return fontData;
+    }
+
+    @Override
+    public void setFontData(FontData fontData) {
+        this.fontData = fontData;
+    }
+
+    @Override
+    public void destroy() {
+        fontData.destroy();
+    }
+}
@@ -0,0 +1,345 @@
+package com.branwilliams.bundi.gui.impl.render;
+
+import com.branwilliams.bundi.engine.shader.dynamic.VertexFormat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Accumulates the triangles drawn by the GUI into a single stream of vertices following
+ * {@link VertexFormat#POSITION_UV_COLOR}. The stream is split into {@link Command commands}, each drawing a range of
+ * the vertices with a single texture and scissor box. A new command is only started when the texture or scissor box
+ * changes, and the order of the triangles is kept so that components still overlap in the order they are drawn. <br/>
+ * Solid shapes are drawn using a white texel of the current texture when it has one (font images do), so drawing a
+ * background between strings of the same font does not start a new command. <br/>
+ * Nothing here touches OpenGL, the commands are drawn by the {@link ShapeRenderer}.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class GuiBatch {
+
+    /** The number of floats within each vertex. */
+    public static final int VERTEX_SIZE = 9;
+
+    private static final int DEFAULT_VERTEX_CAPACITY = 1536;
+
+    private final int whiteTextureId;
+
+    private final List<Command> commands = new ArrayList<>();
+
+    private int commandCount;
+
+    private float[] vertices = new float[DEFAULT_VERTEX_CAPACITY * VERTEX_SIZE];
+
+    private int vertexCount;
+
+    // The scissor boxes pushed, stored as x, y, width, and height.
+    private int[] scissors = new int[4 * 4];
+
+    private int scissorDepth;
+
+    private int textureId;
+
+    private boolean hasWhiteTexel;
+
+    private float whiteU, whiteV;
+
+    /**
+     * @param whiteTextureId The id of a texture which is white everywhere. Used to draw solid shapes when the current
+     *                       texture has no white texel.
+     * */
+    public GuiBatch(int whiteTextureId) {
+        this.whiteTextureId = whiteTextureId;
+        clear();
+    }
+
+    /**
+     * Removes every vertex and command from this batch. The scissor boxes pushed are kept.
+     * */
+    public void clear() {
+        vertexCount = 0;
+        commandCount = 0;
+        texture(whiteTextureId, 0.5F, 0.5F);
+    }
+
+    /**
+     * Sets the texture used by the textured shapes which follow.
+     * */
+    public void texture(int textureId) {
+        this.textureId = textureId;
+        this.hasWhiteTexel = false;
+    }
+
+    /**
+     * Sets the texture used by the textured shapes which follow. The texture has a solid white texel at the given
+     * texture coordinates, which is used for the solid shapes which follow.
+     * */
+    public void texture(int textureId, float whiteU, float whiteV) {
+        this.textureId = textureId;
+        this.hasWhiteTexel = true;
+        this.whiteU = whiteU;
+        this.whiteV = whiteV;
+    }
+
+    /**
+     * Clips the shapes which follow to the given area, intersected with the area of the previous scissor box.
+     * */
+    public void pushScissor(int x, int y, int width, int height) {
+        if (scissorDepth > 0) {
+            int index = (scissorDepth - 1) * 4;
+            int x1 = Math.min(x + width, scissors[index] + scissors[index + 2]);
+            int y1 = Math.min(y + height, scissors[index + 1] + scissors[index + 3]);
+            x = Math.max(x, scissors[index]);
+            y = Math.max(y, scissors[index + 1]);
+            width = Math.max(0, x1 - x);
+            height = Math.max(0, y1 - y);
+        }
+        if ((scissorDepth + 1) * 4 > scissors.length) {
+            int[] scissors = new int[this.scissors.length * 2];
+            System.arraycopy(this.scissors, 0, scissors, 0, this.scissors.length);
+            this.scissors = scissors;
+        }
+        int index = scissorDepth * 4;
+        scissors[index] = x;
+        scissors[index + 1] = y;
+        scissors[index + 2] = width;
+        scissors[index + 3] = height;
+        scissorDepth++;
+    }
+
+    /**
+     * Restores the scissor box used before the last {@link GuiBatch#pushScissor(int, int, int, int)}.
+     * */
+    public void popScissor() {
+        if (scissorDepth == 0) {
+            throw new IllegalStateException("There is no scissor box to pop!");
+        }
+        scissorDepth--;
+    }
+
+    /**
+     * Adds a rectangle textured with the current texture.
+     * */
+    public void addRect(float x, float y, float x1, float y1,
+                        float u, float v, float s, float t,
+                        int color) {
+        beginShape(6);
+        float r = red(color), g = green(color), b = blue(color), a = alpha(color);
+        vertex(x1, y, s, v, r, g, b, a);
+        vertex(x, y, u, v, r, g, b, a);
+        vertex(x, y1, u, t, r, g, b, a);
+        vertex(x, y1, u, t, r, g, b, a);
+        vertex(x1, y1, s, t, r, g, b, a);
+        vertex(x1, y, s, v, r, g, b, a);
+    }
+
+    /**
+     * Adds a solid rectangle.
+     * */
+    public void addSolidRect(float x, float y, float x1, float y1, int color) {
+        useWhiteTexel();
+        addRect(x, y, x1, y1, whiteU, whiteV, whiteU, whiteV, color);
+    }
+
+    /**
+     * Adds a solid triangle.
+     * */
+    public void addSolidTriangle(float x, float y, float x1, float y1, float x2, float y2, int color) {
+        useWhiteTexel();
+        beginShape(3);
+        float r = red(color), g = green(color), b = blue(color), a = alpha(color);
+        vertex(x, y, whiteU, whiteV, r, g, b, a);
+        vertex(x1, y1, whiteU, whiteV, r, g, b, a);
+        vertex(x2, y2, whiteU, whiteV, r, g, b, a);
+    }
+
+    /**
+     * Adds a solid line one pixel wide. The line is drawn as a thin rectangle so that it can share a command with
+     * triangles.
+     * */
+    public void addSolidLine(float x, float y, float x1, float y1, int color) {
+        float dx = x1 - x;
+        float dy = y1 - y;
+        float length = (float) Math.sqrt(dx * dx + dy * dy);
+        if (length == 0F) {
+            return;
+        }
+        // Half of the unit perpendicular of the line.
+        float nx = -dy / length * 0.5F;
+        float ny = dx / length * 0.5F;
+
+        useWhiteTexel();
+        beginShape(6);
+        float r = red(color), g = green(color), b = blue(color), a = alpha(color);
+        vertex(x + nx, y + ny, whiteU, whiteV, r, g, b, a);
+        vertex(x - nx, y - ny, whiteU, whiteV, r, g, b, a);
+        vertex(x1 - nx, y1 - ny, whiteU, whiteV, r, g, b, a);
+        vertex(x1 - nx, y1 - ny, whiteU, whiteV, r, g, b, a);
+        vertex(x1 + nx, y1 + ny, whiteU, whiteV, r, g, b, a);
+        vertex(x + nx, y + ny, whiteU, whiteV, r, g, b, a);
+    }
+
+    private void useWhiteTexel() {
+        if (!hasWhiteTexel) {
+            texture(whiteTextureId, 0.5F, 0.5F);
+        }
+    }
+
+    /**
+     * Makes room for a shape with the given number of vertices and starts a new command if the texture or scissor box
+     * differs from the last command.
+     * */
+    private void beginShape(int shapeVertexCount) {
+        if ((vertexCount + shapeVertexCount) * VERTEX_SIZE > vertices.length) {
+            float[] vertices = new float[Math.max(this.vertices.length * 2,
+                    (vertexCount + shapeVertexCount) * VERTEX_SIZE)];
+            System.arraycopy(this.vertices, 0, vertices, 0, vertexCount * VERTEX_SIZE);
+            this.vertices = vertices;
+        }
+
+        Command command = commandCount > 0 ? commands.get(commandCount - 1) : null;
+        if (command == null || !command.matches(textureId, scissors, scissorDepth)) {
+            if (commandCount == commands.size()) {
+                commands.add(new Command());
+            }
+            command = commands.get(commandCount++);
+            command.set(textureId, scissors, scissorDepth, vertexCount);
+        }
+        command.vertexCount += shapeVertexCount;
+    }
+
+    private void vertex(float x, float y, float u, float v, float r, float g, float b, float a) {
+        int index = vertexCount * VERTEX_SIZE;
+        vertices[index] = x;
+        vertices[index + 1] = y;
+        vertices[index + 2] = 0F;
+        vertices[index + 3] = u;
+        vertices[index + 4] = v;
+        vertices[index + 5] = r;
+        vertices[index + 6] = g;
+        vertices[index + 7] = b;
+        vertices[index + 8] = a;
+        vertexCount++;
+    }
+
+    private static float red(int color) {
+        return (float) (color >> 16 & 255) / 255F;
+    }
+
+    private static float green(int color) {
+        return (float) (color >> 8 & 255) / 255F;
+    }
+
+    private static float blue(int color) {
+        return (float) (color & 255) / 255F;
+    }
+
+    private static float alpha(int color) {
+        return (float) (color >> 24 & 255) / 255F;
+    }
+
+    public boolean isEmpty() {
+        return vertexCount == 0;
+    }
+
+    /**
+     * @return The vertices of this batch. Only the first {@link GuiBatch#getVertexCount()} vertices are used.
+     * */
+    public float[] getVertices() {
+        return vertices;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public int getCommandCount() {
+        return commandCount;
+    }
+
+    public Command getCommand(int index) {
+        if (index < 0 || index >= commandCount) {
+            throw new IndexOutOfBoundsException("Command index " + index + " is out of bounds!");
+        }
+        return commands.get(index);
+    }
+
+    public int getScissorDepth() {
+        return scissorDepth;
+    }
+
+    /**
+     * A range of vertices drawn with a single texture and scissor box.
+     * */
+    public static final class Command {
+
+        private int textureId;
+
+        private boolean scissored;
+
+        private int scissorX, scissorY, scissorWidth, scissorHeight;
+
+        private int firstVertex;
+
+        private int vertexCount;
+
+        private void set(int textureId, int[] scissors, int scissorDepth, int firstVertex) {
+            this.textureId = textureId;
+            this.scissored = scissorDepth > 0;
+            if (scissored) {
+                int index = (scissorDepth - 1) * 4;
+                this.scissorX = scissors[index];
+                this.scissorY = scissors[index + 1];
+                this.scissorWidth = scissors[index + 2];
+                this.scissorHeight = scissors[index + 3];
+            }
+            this.firstVertex = firstVertex;
+            this.vertexCount = 0;
+        }
+
+        private boolean matches(int textureId, int[] scissors, int scissorDepth) {
+            if (this.textureId != textureId || this.scissored != scissorDepth > 0) {
+                return false;
+            }
+            if (!scissored) {
+                return true;
+            }
+            int index = (scissorDepth - 1) * 4;
+            return scissorX == scissors[index] && scissorY == scissors[index + 1]
+                    && scissorWidth == scissors[index + 2] && scissorHeight == scissors[index + 3];
+        }
+
+        public int getTextureId() {
+            return textureId;
+        }
+
+        public boolean isScissored() {
+            return scissored;
+        }
+
+        public int getScissorX() {
+            return scissorX;
+        }
+
+        public int getScissorY() {
+            return scissorY;
+        }
+
+        public int getScissorWidth() {
+            return scissorWidth;
+        }
+
+        public int getScissorHeight() {
+            return scissorHeight;
+        }
+
+        public int getFirstVertex() {
+            return firstVertex;
+        }
+
+        public int getVertexCount() {
+            return vertexCount;
+        }
+    }
+}
@@ -32,8 +32,7 @@ public class ScrollableContainerRenderer extends AbstractComponentRenderer<Scrol
         glStencilOp(GL_KEEP, GL_KEEP, GL_KEEP);
         //glColorMask(false, false, false, false);
         //glDepthMask(false);*/
-        //glEnable(GL_SCISSOR_TEST);
-        //GLUtils.glScissor(container.getArea());
+        shapeRenderer.pushScissor(container.getArea());
     }
 
     @Override
@@ -58,7 +57,7 @@ public class ScrollableContainerRenderer extends AbstractComponentRenderer<Scrol
 
     @Override
     public void post(ScrollableContainer container) {
-        //glDisable(GL_SCISSOR_TEST);
+        shapeRenderer.popScissor();
         //glDisable(GL_STENCIL_TEST);
     }
 }
@@ -6,8 +6,14 @@ import com.branwilliams.bundi.engine.texture.Texture;
 
 import java.awt.*;
 
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
+import static org.lwjgl.opengl.GL13.glActiveTexture;
+
 /**
- * Used by UI components to draw shapes.
+ * Used by UI components to draw shapes. <br/>
+ * Shapes are added to a {@link GuiBatch}. Between {@link ShapeRenderer#begin()} and {@link ShapeRenderer#end()} the
+ * batch is drawn once at the end, otherwise it is drawn after each shape.
  * @author Brandon
  * @since May 15, 2019
  */
@@ -17,19 +23,41 @@ public class ShapeRenderer {
 
     private final Texture whiteTexture;
 
+    private final GuiBatch batch;
+
+    private final int[] viewport = new int[4];
+
+    private boolean batching;
+
     public ShapeRenderer() {
         dynamicVAO = new DynamicVAO(VertexFormat.POSITION_UV_COLOR);
         whiteTexture = new Texture(255, 255, 255, 255, 1, 1, false);
+        batch = new GuiBatch(whiteTexture.getId());
+    }
+
+    /**
+     * Begins batching the shapes drawn until {@link ShapeRenderer#end()}.
+     * */
+    public void begin() {
+        if (batching)
+            throw new IllegalStateException("This shape renderer is already batching!");
+        batch.clear();
+        batching = true;
+    }
+
+    /**
+     * Draws every shape batched since {@link ShapeRenderer#begin()}.
+     * */
+    public void end() {
+        if (!batching)
+            throw new IllegalStateException("This shape renderer is not batching!");
+        batching = false;
+        flush();
     }
 
     public void drawTriangle(int x, int y, int x1, int y1, int color) {
-        float z = 0F;
-        whiteTexture.bind();
-        dynamicVAO.begin();
-        dynamicVAO.position(x1, y, z).texture(1, 0).color(color).endVertex();
-        dynamicVAO.position(x, y, z).texture(0, 0).color(color).endVertex();
-        dynamicVAO.position((x + x1) * 0.5F, y1, z).texture(0, 1).color(color).endVertex();
-        dynamicVAO.draw();
+        batch.addSolidTriangle(x1, y, x, y, (x + x1) * 0.5F, y1, color);
+        flushUnlessBatching();
     }
 
     public void drawRect(int[] area, Color color) {
@@ -37,10 +65,8 @@ public class ShapeRenderer {
     }
 
     public void drawRect(int[] area, int color) {
-        whiteTexture.bind();
-        dynamicVAO.begin();
         addRect(area, color);
-        dynamicVAO.draw();
+        flushUnlessBatching();
     }
 
     public void drawLine(int x, int y, int x1, int y1, Color color) {
@@ -48,18 +74,17 @@ public class ShapeRenderer {
     }
 
     public void drawLine(int x, int y, int x1, int y1, int color) {
-        whiteTexture.bind();
-        dynamicVAO.begin();
-        dynamicVAO.addLine(x, y, x1, y1, 0F, 0F, 1F, 1F, color);
-        dynamicVAO.draw();
+        batch.addSolidLine(x, y, x1, y1, color);
+        flushUnlessBatching();
     }
 
     public void drawRect(int x, int y, int x1, int y1, Color color) {
-        drawRect(whiteTexture, x, y, x1, y1, color.getRGB());
+        drawRect(x, y, x1, y1, color.getRGB());
     }
 
     public void drawRect(int x, int y, int x1, int y1, int color) {
-        drawRect(whiteTexture, x, y, x1, y1, color);
+        batch.addSolidRect(x, y, x1, y1, color);
+        flushUnlessBatching();
     }
 
     public void drawRect(Texture texture, int x, int y, float scale, Color color) {
@@ -71,17 +96,13 @@ public class ShapeRenderer {
     }
 
     public void drawRect(Texture texture, int x, int y, int x1, int y1, int color) {
-        texture.bind();
-        dynamicVAO.begin();
-        dynamicVAO.addRect(x, y, x1, y1, 0F, 0F, 1F, 1F, color);
-        dynamicVAO.draw();
+        batch.texture(texture.getId());
+        batch.addRect(x, y, x1, y1, 0F, 0F, 1F, 1F, color);
+        flushUnlessBatching();
     }
 
     public void drawRect(Texture texture, int[] area, int color) {
-        texture.bind();
-        dynamicVAO.begin();
-        addRect(area, color);
-        dynamicVAO.draw();
+        drawRect(texture, area[0], area[1], area[0] + area[2], area[1] + area[3], color);
     }
 
     public void addRect(int[] area, Color color) {
@@ -89,7 +110,73 @@ public class ShapeRenderer {
     }
 
     public void addRect(int[] area,  int color) {
-        dynamicVAO.addRect(area[0], area[1], area[0] + area[2], area[1] + area[3], 0F, 0F, 1F, 1F, color);
+        batch.addSolidRect(area[0], area[1], area[0] + area[2], area[1] + area[3], color);
+    }
+
+    /**
+     * Clips the shapes drawn until {@link ShapeRenderer#popScissor()} to the given area.
+     * */
+    public void pushScissor(int[] area) {
+        batch.pushScissor(area[0], area[1], area[2], area[3]);
+    }
+
+    public void popScissor() {
+        batch.popScissor();
+    }
+
+    /**
+     * Draws the shapes added since the last flush unless this renderer is batching.
+     * */
+    public void flushUnlessBatching() {
+        if (!batching) {
+            flush();
+        }
+    }
+
+    /**
+     * Uploads the vertices of the batch once and draws each of its commands.
+     * */
+    public void flush() {
+        if (batch.isEmpty()) {
+            return;
+        }
+        dynamicVAO.begin();
+        dynamicVAO.vertices(batch.getVertices(), 0, batch.getVertexCount());
+
+        glActiveTexture(GL_TEXTURE0);
+        boolean scissorTest = false;
+        for (int i = 0; i < batch.getCommandCount(); i++) {
+            GuiBatch.Command command = batch.getCommand(i);
+            glBindTexture(GL_TEXTURE_2D, command.getTextureId());
+
+            if (command.isScissored()) {
+                if (!scissorTest) {
+                    glGetIntegerv(GL_VIEWPORT, viewport);
+                    glEnable(GL_SCISSOR_TEST);
+                    scissorTest = true;
+                }
+                // Scissor boxes start from the bottom of the viewport while the GUI starts from the top.
+                glScissor(viewport[0] + command.getScissorX(),
+                        viewport[1] + viewport[3] - command.getScissorY() - command.getScissorHeight(),
+                        command.getScissorWidth(), command.getScissorHeight());
+            } else if (scissorTest) {
+                glDisable(GL_SCISSOR_TEST);
+                scissorTest = false;
+            }
+            dynamicVAO.draw(GL_TRIANGLES, command.getFirstVertex(), command.getVertexCount());
+        }
+        if (scissorTest) {
+            glDisable(GL_SCISSOR_TEST);
+        }
+        batch.clear();
+    }
+
+    public boolean isBatching() {
+        return batching;
+    }
+
+    public GuiBatch getBatch() {
+        return batch;
     }
 
     public DynamicVAO getDynamicVAO() {
@@ -32,6 +32,10 @@ public enum XmlUtils {
         return doc;
     }
 
+    public static Document newDocument() throws ParserConfigurationException {
+        return dbFactory.newDocumentBuilder().newDocument();
+    }
+
     public static void forAttributes(Node node, Consumer<Node> attributeConsumer) {
         NamedNodeMap attributes = node.getAttributes();
         if (attributes == null)
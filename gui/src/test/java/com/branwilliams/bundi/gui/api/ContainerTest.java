@@ -0,0 +1,107 @@
+package com.branwilliams.bundi.gui.api;
+
+import com.branwilliams.bundi.gui.api.components.Label;
+import com.branwilliams.bundi.gui.api.layouts.ListLayout;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class ContainerTest {
+
+    @Test
+    public void testLayoutOnlyRunsForInvalidContainers() {
+        CountingLayout rootLayout = new CountingLayout();
+        CountingLayout firstLayout = new CountingLayout();
+        CountingLayout secondLayout = new CountingLayout();
+
+        Container root = container(rootLayout);
+        Container first = container(firstLayout);
+        Container second = container(secondLayout);
+        root.add(first);
+        root.add(second);
+        Label label = new Label("label");
+        label.setSize(50, 10);
+        first.add(label);
+        second.add(new Label("other"));
+
+        root.validateLayout();
+        assertFalse(root.isLayoutDirty());
+        rootLayout.count = firstLayout.count = secondLayout.count = 1;
+
+        // Nothing changed, so nothing is laid out.
+        root.validateLayout();
+        assertEquals(1, rootLayout.count);
+        assertEquals(1, firstLayout.count);
+        assertEquals(1, secondLayout.count);
+
+        // Resizing a label lays out its container, which then resizes and lays out the root. The root moves the
+        // second container, which lays out again so that its components follow.
+        label.setHeight(30);
+        assertTrue(root.isLayoutDirty());
+        root.validateLayout();
+        assertEquals(2, firstLayout.count);
+        assertEquals(2, rootLayout.count);
+        assertEquals(2, secondLayout.count);
+        assertEquals(36, second.getY());
+        assertEquals(38, second.getComponents().get(0).getY());
+
+        // The first container is not moved by changes to the second.
+        second.getComponents().get(0).setHeight(5);
+        root.validateLayout();
+        assertEquals(2, firstLayout.count);
+        assertEquals(3, rootLayout.count);
+        assertEquals(3, secondLayout.count);
+
+        label.setVisible(false);
+        root.validateLayout();
+        assertEquals(3, firstLayout.count);
+    }
+
+    @Test
+    public void testPointInsideUsesComponentBounds() {
+        Container root = container(new ListLayout(0, 0, true, false));
+        Container child = container(new ListLayout(0, 0, true, false));
+        root.setSize(10, 10);
+        child.setUseLayoutSize(false);
+        child.setSize(10, 10);
+        Label label = new Label("label");
+        label.setSize(20, 20);
+        child.add(label);
+        root.add(child);
+        root.validateLayout();
+
+        assertTrue(root.isPointInside(15, 15));
+        assertFalse(root.isPointInside(25, 25));
+
+        // Moving the label moves the bounds of both containers.
+        label.setPosition(100, 100);
+        assertFalse(root.isPointInside(15, 15));
+        assertTrue(root.isPointInside(110, 110));
+    }
+
+    private static Container container(Layout<?, ?> layout) {
+        Container container = new Container();
+        container.setLayout(layout);
+        container.setUseLayoutSize(true);
+        return container;
+    }
+
+    private static class CountingLayout implements Layout<Widget, Widget> {
+
+        private final ListLayout layout = new ListLayout(2, 0, true, false);
+
+        private int count;
+
+        @Override
+        public int[] layout(Widget container, List<Widget> components) {
+            count++;
+            return layout.layout(container, components);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.branwilliams.bundi.gui.api.containers;
+
+import com.branwilliams.bundi.gui.api.Component;
+import com.branwilliams.bundi.gui.api.components.Label;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class VirtualScrollableContainerTest {
+
+    @Test
+    public void testOnlyRowsInViewExist() {
+        CountingAdapter adapter = new CountingAdapter(100000);
+        VirtualScrollableContainer<Label> list = new VirtualScrollableContainer<>(adapter, 10);
+        list.setSize(200, 100);
+        list.validateLayout();
+
+        // One more row than fits is kept for when the list is scrolled part way through an item.
+        assertEquals(11, list.getComponents().size());
+        assertEquals(11, adapter.created);
+        assertEquals(10, adapter.bound);
+        assertEquals(200 - list.getVerticalScrollbar().getBarSize(), list.getComponents().get(0).getWidth());
+        assertRows(list, 0, 10);
+
+        // Scrolling by a single item only binds the item scrolling into view.
+        list.scrollTo(1);
+        assertEquals(11, adapter.bound);
+        assertRows(list, 1, 10);
+
+        // Part of an eleventh item is in view.
+        list.getVerticalScrollbar().setScrollOffset(5555);
+        list.layout();
+        assertEquals(11, list.getComponents().size());
+        assertEquals(11, adapter.created);
+        assertRows(list, 555, 11);
+        assertEquals(-5, list.getComponents().get(555 % 11).getY());
+
+        // Scrolling is constricted to the last item.
+        list.scrollTo(100000);
+        assertRows(list, 99990, 10);
+
+        adapter.itemCount = 3;
+        list.refresh();
+        list.validateLayout();
+        assertEquals(11, list.getComponents().size());
+        assertEquals(200, list.getComponents().get(0).getWidth());
+        assertRows(list, 0, 3);
+        assertEquals("item 2", list.getComponents().get(2).getTag());
+        assertEquals(11, adapter.created);
+    }
+
+    @Test
+    public void testScrollingByPixelsBindsEachItemOnce() {
+        CountingAdapter adapter = new CountingAdapter(1000);
+        VirtualScrollableContainer<Label> list = new VirtualScrollableContainer<>(adapter, 30);
+        list.setSize(200, 100);
+        list.validateLayout();
+        assertEquals(5, adapter.created);
+        assertEquals(4, adapter.bound);
+
+        // Scroll ten items, one pixel at a time.
+        for (int offset = 1; offset <= 300; offset++) {
+            list.getVerticalScrollbar().setScrollOffset(offset);
+            list.layout();
+            assertRows(list, offset / 30, offset % 30 > 20 ? 5 : 4);
+        }
+        assertEquals(5, adapter.created);
+        assertEquals(14, adapter.bound);
+
+        // Rows are only created when the height of the list changes, and only those missing.
+        list.setHeight(160);
+        list.validateLayout();
+        assertEquals(7, list.getComponents().size());
+        assertEquals(7, adapter.created);
+        assertRows(list, 10, 6);
+    }
+
+    private static void assertRows(VirtualScrollableContainer<Label> list, int first, int count) {
+        int rowCount = list.getComponents().size();
+        int visible = 0;
+        for (Component component : list.getComponents()) {
+            if (component.isVisible()) {
+                visible++;
+            } else {
+                assertEquals(-1, list.getRowItem((Label) component));
+            }
+        }
+        assertEquals(count, visible);
+
+        for (int index = first; index < first + count; index++) {
+            Label row = (Label) list.getComponents().get(index % rowCount);
+            assertTrue(row.isVisible());
+            assertEquals(index, list.getRowItem(row));
+            assertEquals("item " + index, row.getText());
+            assertEquals(index * list.getItemHeight() - list.getVerticalScrollbar().getScrollOffset(), row.getY());
+            assertEquals(list.getRenderArea().getWidth(), row.getWidth());
+        }
+    }
+
+    private static class CountingAdapter implements VirtualListAdapter<Label> {
+
+        private int itemCount;
+
+        private int created;
+
+        private int bound;
+
+        private CountingAdapter(int itemCount) {
+            this.itemCount = itemCount;
+        }
+
+        @Override
+        public int getItemCount() {
+            return itemCount;
+        }
+
+        @Override
+        public Label createRow() {
+            created++;
+            return new Label("");
+        }
+
+        @Override
+        public void bindRow(Label row, int index) {
+            bound++;
+            row.setText("item " + index);
+            row.setTag("item " + index);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.branwilliams.bundi.gui.api.loader;
+
+import com.branwilliams.bundi.gui.util.XmlUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class TemplateEvaluatorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testTemplateIsAppliedToEachEnvironment() throws Exception {
+        File imported = write("imported.xml", "<UI><Label text='imported {{ name }}'/></UI>");
+        File file = write("main.xml",
+                "<UI>\n"
+                + "    <VarSet var='Greeting' val='hello'/>\n"
+                + "    <Frame title='{{ greeting }}, {{name}}!' width='100'>\n"
+                + "        <For list='items' var='item' index='i'>\n"
+                + "            <Label tag='item{{ i }}' text='{{ item }}'/>\n"
+                + "        </For>\n"
+                + "        <If var='show'><Button text='{{ missing }}'/></If>\n"
+                + "        <Else var='show'><Import file='imported.xml'/></Else>\n"
+                + "    </Frame>\n"
+                + "</UI>");
+
+        TemplateEvaluator templateEvaluator = TemplateEvaluator.getDefault(folder.getRoot().toPath());
+        Element root = XmlUtils.fromString(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8))
+                .getDocumentElement();
+        UITemplate template = templateEvaluator.compileTemplate(file, root);
+        assertEquals(2, template.getDependencies().size());
+        assertTrue(template.getDependencies().containsKey(imported));
+
+        Map<String, Object> env = new HashMap<>();
+        env.put("name", "world");
+        env.put("items", Arrays.asList("a", "b"));
+        env.put("show", true);
+
+        Node frame = firstElement(template.instantiate(env));
+        assertEquals("Frame", frame.getNodeName());
+        assertEquals("hello, world!", attribute(frame, "title"));
+        assertEquals("100", attribute(frame, "width"));
+
+        NodeList children = frame.getChildNodes();
+        assertEquals(3, children.getLength());
+        assertEquals("item0", attribute(children.item(0), "tag"));
+        assertEquals("a", attribute(children.item(0), "text"));
+        assertEquals("item1", attribute(children.item(1), "tag"));
+        assertEquals("b", attribute(children.item(1), "text"));
+        assertEquals("Button", children.item(2).getNodeName());
+        assertEquals("null", attribute(children.item(2), "text"));
+
+        // The same template produces a new document for each environment.
+        env.put("name", "again");
+        env.put("items", Arrays.asList("c"));
+        env.put("show", false);
+
+        frame = firstElement(template.instantiate(env));
+        assertEquals("hello, again!", attribute(frame, "title"));
+        children = frame.getChildNodes();
+        assertEquals(2, children.getLength());
+        assertEquals("c", attribute(children.item(0), "text"));
+        assertEquals("imported again", attribute(children.item(1), "text"));
+
+        assertFalse(template.isModified());
+        assertTrue(imported.setLastModified(imported.lastModified() + 2000));
+        assertTrue(template.isModified());
+    }
+
+    private File write(String name, String contents) throws Exception {
+        File file = folder.newFile(name);
+        Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static Node firstElement(Node node) {
+        NodeList children = node.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            if (children.item(i).getNodeType() == Node.ELEMENT_NODE) {
+                return children.item(i);
+            }
+        }
+        return null;
+    }
+
+    private static String attribute(Node node, String name) {
+        return XmlUtils.getAttributeText(node.getAttributes(), name, null);
+    }
+}
@@ -0,0 +1,107 @@
+package com.branwilliams.bundi.gui.api.render;
+
+import com.branwilliams.bundi.gui.api.Component;
+import com.branwilliams.bundi.gui.api.Container;
+import com.branwilliams.bundi.gui.api.components.Label;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class RenderManagerTest {
+
+    @Test
+    public void testRenderListMatchesRecursiveRendering() {
+        List<String> calls = new ArrayList<>();
+        RenderManager renderManager = new RenderManager();
+        renderManager.setRenderer(Container.class, new RecordingRenderer<>(calls, "container"));
+        renderManager.setRenderer(Label.class, new RecordingRenderer<>(calls, "label"));
+        renderManager.setRenderer(Label.class, "title", new RecordingRenderer<>(calls, "title"));
+
+        Container root = container("root");
+        Container left = container("left");
+        Container right = container("right");
+        root.add(left);
+        root.add(right);
+        left.add(label("a"));
+        left.add(label("title"));
+        right.add(label("b"));
+
+        assertSameCalls(renderManager, root, calls);
+
+        // Changes to the tree, visibility, and tags are all picked up by the render list.
+        Container nested = container("nested");
+        nested.add(label("c"));
+        right.add(nested);
+        assertSameCalls(renderManager, root, calls);
+
+        left.setVisible(false);
+        assertSameCalls(renderManager, root, calls);
+
+        right.getComponents().get(0).setTag("title");
+        left.setVisible(true);
+        left.clear();
+        assertSameCalls(renderManager, root, calls);
+        assertEquals("pre title", calls.get(7));
+    }
+
+    private static void assertSameCalls(RenderManager renderManager, Component root, List<String> calls) {
+        calls.clear();
+        renderManager.render(root);
+        List<String> expected = new ArrayList<>(calls);
+
+        // Render twice so that the second pass uses the render list built by the first.
+        for (int i = 0; i < 2; i++) {
+            calls.clear();
+            renderManager.begin();
+            renderManager.render(root);
+            renderManager.end();
+            assertEquals(expected, calls);
+        }
+    }
+
+    private static Container container(String tag) {
+        Container container = new Container();
+        container.setTag(tag);
+        return container;
+    }
+
+    private static Label label(String tag) {
+        Label label = new Label(tag);
+        label.setTag(tag);
+        return label;
+    }
+
+    private static class RecordingRenderer<T extends Component> implements ComponentRenderer<T> {
+
+        private final List<String> calls;
+
+        private final String name;
+
+        private RecordingRenderer(List<String> calls, String name) {
+            this.calls = calls;
+            this.name = name;
+        }
+
+        @Override
+        public void pre(T component) {
+            calls.add("pre " + name);
+        }
+
+        @Override
+        public void render(T component) {
+            calls.add("render " + component.getTag());
+        }
+
+        @Override
+        public void post(T component) {
+            calls.add("post " + component.getTag());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.branwilliams.bundi.gui.impl.render;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class GuiBatchTest {
+
+    private static final int WHITE = 1;
+
+    private static final int FONT = 2;
+
+    private static final int IMAGE = 3;
+
+    @Test
+    public void testCommandsSplitOnTextureAndScissor() {
+        GuiBatch batch = new GuiBatch(WHITE);
+        batch.addSolidRect(0, 0, 100, 100, 0xFF202020);
+
+        // Text and the solid shapes which follow it share the font image.
+        batch.texture(FONT, 0.01F, 0.02F);
+        batch.addRect(4, 4, 10, 12, 0.1F, 0.1F, 0.2F, 0.2F, 0xFFFFFFFF);
+        batch.addSolidRect(0, 20, 100, 22, 0xFF808080);
+        batch.addSolidTriangle(90, 4, 80, 4, 85, 10, 0xFF808080);
+
+        batch.texture(IMAGE);
+        batch.addRect(0, 30, 32, 62, 0F, 0F, 1F, 1F, 0xFFFFFFFF);
+        batch.addSolidRect(0, 70, 100, 72, 0xFF808080);
+
+        batch.pushScissor(10, 10, 50, 50);
+        batch.pushScissor(40, 0, 50, 30);
+        batch.addSolidRect(0, 0, 100, 100, 0xFF000000);
+        batch.popScissor();
+        batch.popScissor();
+        batch.addSolidLine(0, 99, 100, 99, 0xFF000000);
+
+        assertEquals(6 * 7 + 3, batch.getVertexCount());
+        assertEquals(6, batch.getCommandCount());
+        assertCommand(batch.getCommand(0), WHITE, 0, 6);
+        assertCommand(batch.getCommand(1), FONT, 6, 15);
+        assertCommand(batch.getCommand(2), IMAGE, 21, 6);
+        assertCommand(batch.getCommand(3), WHITE, 27, 6);
+        assertCommand(batch.getCommand(4), WHITE, 33, 6);
+        assertCommand(batch.getCommand(5), WHITE, 39, 6);
+
+        GuiBatch.Command scissored = batch.getCommand(4);
+        assertTrue(scissored.isScissored());
+        assertEquals(40, scissored.getScissorX());
+        assertEquals(10, scissored.getScissorY());
+        assertEquals(20, scissored.getScissorWidth());
+        assertEquals(20, scissored.getScissorHeight());
+        assertFalse(batch.getCommand(5).isScissored());
+
+        // The solid rectangle drawn after the text samples the white texel of the font.
+        float[] vertices = batch.getVertices();
+        int index = 12 * GuiBatch.VERTEX_SIZE;
+        assertArrayEquals(new float[] { 100F, 20F, 0F, 0.01F, 0.02F, 128F / 255F, 128F / 255F, 128F / 255F, 1F },
+                copy(vertices, index), 0F);
+
+        batch.clear();
+        assertTrue(batch.isEmpty());
+        assertEquals(0, batch.getCommandCount());
+    }
+
+    @Test
+    public void testGrowsVertexStream() {
+        GuiBatch batch = new GuiBatch(WHITE);
+        for (int i = 0; i < 10000; i++) {
+            batch.addSolidRect(i, 0, i + 1, 1, 0xFFFFFFFF);
+        }
+        assertEquals(60000, batch.getVertexCount());
+        assertEquals(1, batch.getCommandCount());
+        assertEquals(9999F, batch.getVertices()[(59999 - 4) * GuiBatch.VERTEX_SIZE], 0F);
+    }
+
+    private static void assertCommand(GuiBatch.Command command, int textureId, int firstVertex, int vertexCount) {
+        assertEquals(textureId, command.getTextureId());
+        assertEquals(firstVertex, command.getFirstVertex());
+        assertEquals(vertexCount, command.getVertexCount());
+    }
+
+    private static float[] copy(float[] vertices, int index) {
+        float[] vertex = new float[GuiBatch.VERTEX_SIZE];
+        System.arraycopy(vertices, index, vertex, 0, vertex.length);
+        return vertex;
+    }
+}
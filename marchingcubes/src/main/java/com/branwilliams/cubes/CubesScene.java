@@ -32,7 +32,9 @@ import org.joml.Vector3i;
 
 import java.awt.Color;
 import java.lang.reflect.Type;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.branwilliams.bundi.engine.util.ColorUtils.*;
 import static org.lwjgl.glfw.GLFW.GLFW_KEY_ESCAPE;
@@ -75,6 +77,11 @@ public class CubesScene extends AbstractScene {
 
     private static final float ISO_LEVEL = 0.25F;
 
+    // The number of chunks loaded along each axis on each side of the camera.
+    private static final int VIEW_DISTANCE = 4;
+
+    private static final int MAX_LOADED_CHUNKS = 1024;
+
     private final DirectionalLight sun = new DirectionalLight(
             new Vector3f(-0.2F, -1F, -0.3F), // direction
             new Vector3f(0.5F),  // ambient
@@ -102,6 +109,8 @@ public class CubesScene extends AbstractScene {
 
     private MarchingCubeWorld world;
 
+    private final Map<MarchingCubeChunk, IEntity> chunkEntities = new HashMap<>();
+
     private Lockable pauseState = new Lock();
 
     public CubesScene() {
@@ -137,42 +146,50 @@ public class CubesScene extends AbstractScene {
         camera.lookAt(0, 0, 0);
 
 
-//        GridCellGridBuilder gridCellGridBuilder = new GridCellGridBuilderImpl(
+//        DensityGridBuilder densityGridBuilder = new DensityGridBuilderImpl(
 //                new NoiseIsoEvaluator(new OpenSimplexNoise(), 0.1F)
 //                        .andThen(new GradientIsoEvaluator(GRID_CELL_SIZE_Y)));
 
-        GridCellGridBuilder gridCellGridBuilder = new GridCellGridBuilderImpl(
+        DensityGridBuilder densityGridBuilder = new DensityGridBuilderImpl(
                 new NoiseIsoEvaluator(new OpenSimplexNoise(), 0.1F)
                         .andThen(new SphereIsoEvaluator(new Vector3f(GRID_CELL_SIZE_X, GRID_CELL_SIZE_Y * 0.5F, GRID_CELL_SIZE_Z), 16)));
 
-//        GridCellGridBuilder gridCellGridBuilder = new GridCellGridBuilderImpl(
+//        DensityGridBuilder densityGridBuilder = new DensityGridBuilderImpl(
 //                new NoiseIsoEvaluator(new OpenSimplexNoise(), 0.1F)
 //                        .andThen(new TorusIsoEvaluator(new Vector3f(GRID_CELL_SIZE_X, GRID_CELL_SIZE_Y * 0.5F, GRID_CELL_SIZE_Z),
 //                                new Torus(8, 4))));
 
-        GridCellMeshBuilder gridCellMeshBuilder = new GridCellMeshBuilderImpl();
+        GridCellMeshBuilder gridCellMeshBuilder = new GridCellMeshBuilderImpl(true);
 
         WorldProperties worldProperties = new WorldProperties(
                 new Vector3i(MAX_NUM_CHUNKS_X, MAX_NUM_CHUNKS_Y, MAX_NUM_CHUNKS_Z),
                 new Vector3i(GRID_CELL_SIZE_X, GRID_CELL_SIZE_Y, GRID_CELL_SIZE_Z), CUBE_SIZE, ISO_LEVEL);
+        worldProperties.setMaxLoadedChunks(MAX_LOADED_CHUNKS);
 
         world = new MarchingCubeWorld(worldProperties,
-                gridCellGridBuilder, gridCellMeshBuilder);
-        world.loadAllChunks();
-
-//        loadFromFile("cubes/world_properties.json", "cubes/world00.json");
-        buildWorld();
-    }
+                densityGridBuilder, gridCellMeshBuilder);
+        world.addListener(new MarchingCubeWorld.ChunkListener() {
+            @Override
+            public void onChunkLoad(MarchingCubeChunk chunk) {
+                IEntity entity = es.entity("chunk-(" + chunk.getOffset() + ")")
+                        .component(
+                                new Transformation().position(chunk.getOffset()),
+                                chunk)
+                        .build();
+                chunkEntities.put(chunk, entity);
+            }
 
+            @Override
+            public void onChunkUnload(MarchingCubeChunk chunk) {
+                IEntity entity = chunkEntities.remove(chunk);
+                if (entity != null) {
+                    es.removeEntity(entity);
+                }
+            }
+        });
+        world.loadChunks(camera.getPosition(), VIEW_DISTANCE);
 
-    private void buildWorld() {
-        for (MarchingCubeChunk chunk : world.getChunks()) {
-            IEntity entity = es.entity("chunk-(" + chunk.getOffset() + ")")
-                    .component(
-                            new Transformation().position(chunk.getOffset()),
-                            chunk)
-                    .build();
-        }
+//        loadFromFile("cubes/world_properties.json", "cubes/world00.json");
     }
 
     private void loadFromFile(String worldProperties, String worldDir) {
@@ -192,6 +209,14 @@ public class CubesScene extends AbstractScene {
         
     }
 
+    @Override
+    public void destroy() {
+        super.destroy();
+        if (world != null) {
+            world.destroy();
+        }
+    }
+
     @Override
     public void pause(Engine engine) {
 
@@ -200,6 +225,7 @@ public class CubesScene extends AbstractScene {
     @Override
     public void update(Engine engine, double deltaTime) {
         super.update(engine, deltaTime);
+        world.loadChunks(camera.getPosition(), VIEW_DISTANCE);
         world.update(engine, deltaTime);
     }
 
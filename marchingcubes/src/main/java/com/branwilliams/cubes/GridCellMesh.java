@@ -2,6 +2,11 @@ package com.branwilliams.cubes;
 
 import com.branwilliams.bundi.engine.core.Destructible;
 import com.branwilliams.bundi.engine.mesh.Mesh;
+import com.branwilliams.bundi.engine.shader.dynamic.VertexElements;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
 
 import static org.lwjgl.opengl.GL11.GL_POINTS;
 
@@ -20,6 +25,51 @@ public class GridCellMesh implements Destructible {
         this.mesh.unbind();
     }
 
+    /**
+     * Replaces the vertices of this mesh with the triangles of each of the provided regions. The indices of indexed
+     * regions are offset past the vertices of the regions before them. Indexed and non-indexed regions must not be
+     * uploaded to the same mesh.
+     * */
+    public void upload(GridCellMeshData... regions) {
+        int vertexCount = 0;
+        int indexCount = 0;
+        boolean indexed = false;
+        for (GridCellMeshData region : regions) {
+            vertexCount += region.getVertexCount();
+            indexCount += region.getIndexCount();
+            indexed |= region.isIndexed();
+        }
+
+        mesh.bind();
+        if (vertexCount > 0) {
+            FloatBuffer vertices = MemoryUtil.memAllocFloat(vertexCount * GridCellMeshData.VERTEX_SIZE);
+            for (GridCellMeshData region : regions) {
+                vertices.put(region.getVertices(), 0, region.getVertexCount() * GridCellMeshData.VERTEX_SIZE);
+            }
+            vertices.flip();
+
+            mesh.storeInterleavedAttributes(vertices, new int[] { 0, 1 },
+                    new int[] { VertexElements.POSITION.getSize(), VertexElements.NORMAL.getSize() });
+        }
+
+        if (indexed && indexCount > 0) {
+            IntBuffer indices = MemoryUtil.memAllocInt(indexCount);
+            int baseVertex = 0;
+            for (GridCellMeshData region : regions) {
+                int[] regionIndices = region.getIndices();
+                for (int i = 0; i < region.getIndexCount(); i++) {
+                    indices.put(baseVertex + regionIndices[i]);
+                }
+                baseVertex += region.getVertexCount();
+            }
+            indices.flip();
+            mesh.storeIndices(indices);
+        }
+        // An empty mesh is skipped by the renderer, so its previous buffers are never drawn.
+        mesh.setVertexCount(vertexCount);
+        mesh.unbind();
+    }
+
     public Mesh getMesh() {
         return mesh;
     }
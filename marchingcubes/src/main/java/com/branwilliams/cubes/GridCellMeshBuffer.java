@@ -0,0 +1,187 @@
+package com.branwilliams.cubes;
+
+import java.util.Arrays;
+
+/**
+ * Scratch space which the triangles of cells are written into. The vertices are interleaved as described by
+ * {@link GridCellMeshData}. <br/>
+ * Indexed triangles share the vertex along each edge of the lattice between the cells around that edge. The index of
+ * the vertex along each edge within the region being triangulated is cached, see
+ * {@link GridCellMeshBuffer#beginIndexedRegion(int, int, int, int, int, int)}. <br/>
+ * A builder keeps one of these per thread and clears it before each build, so triangulating cells does not allocate
+ * anything once the buffer has grown to fit the largest region. Only the final copy made by
+ * {@link GridCellMeshBuffer#toMeshData()} is allocated.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class GridCellMeshBuffer {
+
+    private static final int INITIAL_TRIANGLE_CAPACITY = 1024;
+
+    // The position of the vertex along each of the twelve edges of the cell being triangulated.
+    final float[] edgeVertices = new float[12 * 3];
+
+    // The index of the vertex along each of the twelve edges of the cell being triangulated.
+    final int[] edgeIndices = new int[12];
+
+    private float[] vertices;
+
+    private int vertexCount;
+
+    private int[] indices;
+
+    private int indexCount;
+
+    private int[] edgeCache = new int[0];
+
+    private int regionMinX;
+
+    private int regionMinY;
+
+    private int regionMinZ;
+
+    private int regionPointsX;
+
+    private int regionPointsY;
+
+    private int regionPointsZ;
+
+    public GridCellMeshBuffer() {
+        this.vertices = new float[INITIAL_TRIANGLE_CAPACITY * 3 * GridCellMeshData.VERTEX_SIZE];
+        this.indices = new int[INITIAL_TRIANGLE_CAPACITY * 3];
+    }
+
+    /**
+     * Removes every triangle from this buffer.
+     * */
+    public void clear() {
+        vertexCount = 0;
+        indexCount = 0;
+    }
+
+    /**
+     * Forgets the vertices of every edge and prepares the cache of edges for the cells from (minX, minY, minZ)
+     * inclusive to (maxX, maxY, maxZ) exclusive. Indexed triangles may only be written for cells within this region.
+     * */
+    public void beginIndexedRegion(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        regionMinX = minX;
+        regionMinY = minY;
+        regionMinZ = minZ;
+        regionPointsX = maxX - minX + 1;
+        regionPointsY = maxY - minY + 1;
+        regionPointsZ = maxZ - minZ + 1;
+
+        int length = 3 * regionPointsX * regionPointsY * regionPointsZ;
+        if (edgeCache.length < length) {
+            edgeCache = new int[length];
+        }
+        Arrays.fill(edgeCache, 0, length, -1);
+    }
+
+    /**
+     * @return The index of the vertex along the edge beginning at the lattice point (x, y, z) and running along the
+     * provided axis, or -1 if it has not been written.
+     * */
+    int getEdgeVertex(int axis, int x, int y, int z) {
+        return edgeCache[edgeKey(axis, x, y, z)];
+    }
+
+    void setEdgeVertex(int axis, int x, int y, int z, int index) {
+        edgeCache[edgeKey(axis, x, y, z)] = index;
+    }
+
+    private int edgeKey(int axis, int x, int y, int z) {
+        return (x - regionMinX) + regionPointsX * ((y - regionMinY) + regionPointsY
+                * ((z - regionMinZ) + regionPointsZ * axis));
+    }
+
+    /**
+     * Writes a triangle made of the provided vertices.
+     * */
+    void putIndices(int index1, int index2, int index3) {
+        if (indexCount + 3 > indices.length) {
+            indices = Arrays.copyOf(indices, indices.length * 2);
+        }
+        indices[indexCount++] = index1;
+        indices[indexCount++] = index2;
+        indices[indexCount++] = index3;
+    }
+
+    /**
+     * Writes a triangle whose vertices are the provided edge vertices of the cell being triangulated. Each vertex is
+     * given the unnormalized normal of the triangle, like
+     * {@link com.branwilliams.bundi.engine.util.MeshUtils#calculateNormal}.
+     * */
+    void putTriangle(int edge1, int edge2, int edge3) {
+        ensureCapacity();
+        float[] e = edgeVertices;
+        int p1 = edge1 * 3;
+        int p2 = edge2 * 3;
+        int p3 = edge3 * 3;
+
+        float ux = e[p2] - e[p1];
+        float uy = e[p2 + 1] - e[p1 + 1];
+        float uz = e[p2 + 2] - e[p1 + 2];
+        float vx = e[p3] - e[p1];
+        float vy = e[p3 + 1] - e[p1 + 1];
+        float vz = e[p3 + 2] - e[p1 + 2];
+
+        float normalX = (uy * vz) - (uz * vy);
+        float normalY = (uz * vx) - (ux * vz);
+        float normalZ = (ux * vy) - (uy * vx);
+
+        putVertex(e[p1], e[p1 + 1], e[p1 + 2], normalX, normalY, normalZ);
+        putVertex(e[p2], e[p2 + 1], e[p2 + 2], normalX, normalY, normalZ);
+        putVertex(e[p3], e[p3 + 1], e[p3 + 2], normalX, normalY, normalZ);
+    }
+
+    /**
+     * Writes a vertex without any triangle.
+     * @return The index of the vertex.
+     * */
+    int putVertex(float x, float y, float z, float normalX, float normalY, float normalZ) {
+        if ((vertexCount + 1) * GridCellMeshData.VERTEX_SIZE > vertices.length) {
+            vertices = Arrays.copyOf(vertices, vertices.length * 2);
+        }
+        int offset = vertexCount * GridCellMeshData.VERTEX_SIZE;
+        vertices[offset] = x;
+        vertices[offset + 1] = y;
+        vertices[offset + 2] = z;
+        vertices[offset + 3] = normalX;
+        vertices[offset + 4] = normalY;
+        vertices[offset + 5] = normalZ;
+        return vertexCount++;
+    }
+
+    /**
+     * Doubles the capacity of the buffer when another triangle would not fit.
+     * */
+    private void ensureCapacity() {
+        if ((vertexCount + 3) * GridCellMeshData.VERTEX_SIZE > vertices.length) {
+            vertices = Arrays.copyOf(vertices, vertices.length * 2);
+        }
+    }
+
+    /**
+     * @return A copy of the triangles within this buffer which can be handed to another thread.
+     * */
+    public GridCellMeshData toMeshData() {
+        if (vertexCount == 0) {
+            return GridCellMeshData.EMPTY;
+        }
+        float[] vertexData = Arrays.copyOf(vertices, vertexCount * GridCellMeshData.VERTEX_SIZE);
+        if (indexCount == 0) {
+            return new GridCellMeshData(vertexData, vertexCount);
+        }
+        return new GridCellMeshData(vertexData, vertexCount, Arrays.copyOf(indices, indexCount), indexCount);
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public int getIndexCount() {
+        return indexCount;
+    }
+}
@@ -0,0 +1,74 @@
+package com.branwilliams.cubes;
+
+/**
+ * The triangles of a region of cells. This is built without any OpenGL calls, so it can be built on a worker thread
+ * and uploaded to a {@link GridCellMesh} later on the thread which owns the OpenGL context. <br/>
+ * The vertices are interleaved, each holding its position (3) and normal (3). Without indices every three vertices
+ * form a triangle, otherwise every three indices do.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class GridCellMeshData {
+
+    /** The number of floats within each vertex. */
+    public static final int VERTEX_SIZE = 3 + 3;
+
+    public static final GridCellMeshData EMPTY = new GridCellMeshData(new float[0], 0);
+
+    private final float[] vertices;
+
+    private final int vertexCount;
+
+    private final int[] indices;
+
+    private final int indexCount;
+
+    public GridCellMeshData(float[] vertices, int vertexCount) {
+        this(vertices, vertexCount, null, 0);
+    }
+
+    /**
+     * @param indices The indices of the vertices of each triangle or null if every three vertices form a triangle.
+     * */
+    public GridCellMeshData(float[] vertices, int vertexCount, int[] indices, int indexCount) {
+        if (vertices.length < vertexCount * VERTEX_SIZE)
+            throw new IllegalArgumentException("Vertices must hold vertexCount * VERTEX_SIZE floats");
+        if (indices != null && indices.length < indexCount)
+            throw new IllegalArgumentException("Indices must hold indexCount ints");
+        this.vertices = vertices;
+        this.vertexCount = vertexCount;
+        this.indices = indices;
+        this.indexCount = indexCount;
+    }
+
+    public float[] getVertices() {
+        return vertices;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * @return The indices of the vertices of each triangle or null if this data is not indexed.
+     * */
+    public int[] getIndices() {
+        return indices;
+    }
+
+    public int getIndexCount() {
+        return indexCount;
+    }
+
+    public boolean isIndexed() {
+        return indices != null;
+    }
+
+    /**
+     * @return True if this data has no triangles.
+     * */
+    public boolean isEmpty() {
+        return vertexCount == 0;
+    }
+}
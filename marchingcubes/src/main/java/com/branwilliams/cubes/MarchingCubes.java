@@ -1,15 +1,27 @@
 package com.branwilliams.cubes;
 
+import com.branwilliams.bundi.engine.util.FloatGrid3;
 import org.joml.Vector3f;
 
-import java.util.Arrays;
 import java.util.List;
 
 /**
+ * Triangulates the cells of a density lattice. The lattice of a grid of cells has one more point than the grid has
+ * cells along each axis, so the cell at (x, y, z) has its lowest corner at the point (x, y, z) and shares each of its
+ * corners with its neighbors. Corners are read directly from the lattice, so no cell is ever stored. <br/>
+ * The lattice is padded by {@link MarchingCubes#BORDER} points on each side, so the point (x, y, z) is stored at (x +
+ * BORDER, y + BORDER, z + BORDER). The padding is never triangulated. It is only read for the gradients of the points
+ * along the faces of the lattice, so lattices which share a face find the same normals along it. <br/>
+ * The point (x, y, z) of the lattice is positioned at ((x - 0.5) * cubeSize, (y - 0.5) * cubeSize, (z - 0.5) *
+ * cubeSize), which centers each cell of a cube size of one on its coordinates. <br/>
  * See http://paulbourke.net/geometry/polygonise/ for more details.
  * This implementation is adapted from Paul Bourke's implementation with little alteration from the original.
  * */
-public class GridCell {
+public final class MarchingCubes {
+
+    /** The number of points padding each side of a lattice. */
+    public static final int BORDER = 1;
+
     public static int[] edgeTable = {
             0x0,   0x109, 0x203, 0x30a, 0x406, 0x50f, 0x605, 0x70c,
             0x80c, 0x905, 0xa0f, 0xb06, 0xc0a, 0xd03, 0xe09, 0xf00,
@@ -303,150 +315,305 @@ public class GridCell {
             {-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1}
     };
 
-    private Vector3f center;
+    // The offset of each corner of a cell from its lowest corner, in the order used by the tables above.
+    private static final int[] CORNER_X = { 0, 1, 1, 0, 0, 1, 1, 0 };
+
+    private static final int[] CORNER_Y = { 0, 0, 0, 0, 1, 1, 1, 1 };
+
+    private static final int[] CORNER_Z = { 1, 1, 0, 0, 1, 1, 0, 0 };
 
-    private float size;
+    // The two corners of each edge of a cell, in the order used by the tables above.
+    private static final int[] EDGE_START = { 0, 1, 2, 3, 4, 5, 6, 7, 0, 1, 2, 3 };
 
-    private Vector3f[] points;
+    private static final int[] EDGE_END   = { 1, 2, 3, 0, 5, 6, 7, 4, 4, 5, 6, 7 };
 
-    private float[] isoValues;
+    // The axis each edge of a cell runs along and the corner of each edge nearest the lowest corner of the cell. Every
+    // edge of the lattice is identified by its lower point and its axis, so neighboring cells find the same edge.
+    private static final int[] EDGE_AXIS = new int[12];
 
-    public GridCell(Vector3f center, float size) {
-        this.center = center;
-        this.size = size;
-        float halfSize = 0.5F * size;
-        this.points = new Vector3f[8];
-        this.isoValues = new float[8];
+    private static final int[] EDGE_LOW = new int[12];
+
+    static {
+        for (int edge = 0; edge < 12; edge++) {
+            int start = EDGE_START[edge];
+            int end = EDGE_END[edge];
+            if (CORNER_X[start] != CORNER_X[end]) {
+                EDGE_AXIS[edge] = 0;
+            } else if (CORNER_Y[start] != CORNER_Y[end]) {
+                EDGE_AXIS[edge] = 1;
+            } else {
+                EDGE_AXIS[edge] = 2;
+            }
+            int startSum = CORNER_X[start] + CORNER_Y[start] + CORNER_Z[start];
+            int endSum = CORNER_X[end] + CORNER_Y[end] + CORNER_Z[end];
+            EDGE_LOW[edge] = startSum < endSum ? start : end;
+        }
+    }
 
-        // bottom 0 ~ 3
-        points[0] = new Vector3f(center).add(-halfSize, -halfSize, halfSize);
-        points[1] = new Vector3f(center).add(halfSize, -halfSize, halfSize);
-        points[2] = new Vector3f(center).add(halfSize, -halfSize, -halfSize);
-        points[3] = new Vector3f(center).add(-halfSize, -halfSize, -halfSize);
+    private MarchingCubes() {
 
-        // top 4 ~ 7
-        points[4] = new Vector3f(center).add(-halfSize, halfSize, halfSize);
-        points[5] = new Vector3f(center).add(halfSize, halfSize, halfSize);
-        points[6] = new Vector3f(center).add(halfSize, halfSize, -halfSize);
-        points[7] = new Vector3f(center).add(-halfSize, halfSize, -halfSize);
     }
 
-    public int getCubeIndex(float isoLevel) {
+    /**
+     * @return The number of points along an axis of the lattice of a grid with the provided number of cells along it,
+     * including its padding.
+     * */
+    public static int getLatticeSize(int cellCount) {
+        return cellCount + 1 + 2 * BORDER;
+    }
+
+    /**
+     * @return The number of cells along an axis of a lattice with the provided number of points along it.
+     * */
+    public static int getCellCount(int latticeSize) {
+        return latticeSize - 1 - 2 * BORDER;
+    }
+
+    /**
+     * @return The index into {@link MarchingCubes#edgeTable} and {@link MarchingCubes#triTable} of the cell at (x, y,
+     * z) of the provided lattice. Each bit is set when its corner lies below the iso level.
+     * */
+    public static int getCubeIndex(FloatGrid3 densities, int x, int y, int z, float isoLevel) {
+        float[] data = densities.getData();
+        int base = densities.index(x + BORDER, y + BORDER, z + BORDER);
+
         int cubeIndex = 0;
-        if (isoValues[0] < isoLevel) cubeIndex |= 1;
-        if (isoValues[1] < isoLevel) cubeIndex |= 2;
-        if (isoValues[2] < isoLevel) cubeIndex |= 4;
-        if (isoValues[3] < isoLevel) cubeIndex |= 8;
-        if (isoValues[4] < isoLevel) cubeIndex |= 16;
-        if (isoValues[5] < isoLevel) cubeIndex |= 32;
-        if (isoValues[6] < isoLevel) cubeIndex |= 64;
-        if (isoValues[7] < isoLevel) cubeIndex |= 128;
+        for (int corner = 0; corner < 8; corner++) {
+            if (data[base + cornerOffset(densities, corner)] < isoLevel) {
+                cubeIndex |= 1 << corner;
+            }
+        }
         return cubeIndex;
     }
 
-    public int getTriangles(float isoLevel, List<Vector3f> vertices) {
-        int cubeIndex = getCubeIndex(isoLevel);
+    /**
+     * Adds the vertices of the triangles of the cell at (x, y, z) of the provided lattice to the list of vertices.
+     * @return The number of triangles added.
+     * */
+    public static int getTriangles(FloatGrid3 densities, int x, int y, int z, float cubeSize, float isoLevel,
+                                   List<Vector3f> vertices) {
+        int cubeIndex = getCubeIndex(densities, x, y, z, isoLevel);
 
-        Vector3f[] vertexList = new Vector3f[12];
+        /* Cube is entirely in/out of the surface */
+        if (edgeTable[cubeIndex] == 0)
+            return 0;
+
+        float[] edgeVertices = new float[12 * 3];
+        interpolateEdges(densities, x, y, z, cubeSize, isoLevel, cubeIndex, edgeVertices);
+
+        int triangles = 0;
+        for (int i = 0; triTable[cubeIndex][i] != -1; i++) {
+            int edge = triTable[cubeIndex][i] * 3;
+            vertices.add(new Vector3f(edgeVertices[edge], edgeVertices[edge + 1], edgeVertices[edge + 2]));
+            if (i % 3 == 2)
+                triangles++;
+        }
+        return triangles;
+    }
+
+    /**
+     * Writes the triangles of the cell at (x, y, z) of the provided lattice into the buffer.
+     * @return The number of triangles written.
+     * */
+    public static int triangulate(FloatGrid3 densities, int x, int y, int z, float cubeSize, float isoLevel,
+                                  GridCellMeshBuffer buffer) {
+        int cubeIndex = getCubeIndex(densities, x, y, z, isoLevel);
 
         /* Cube is entirely in/out of the surface */
         if (edgeTable[cubeIndex] == 0)
             return 0;
 
-        /* Find the vertices where the surface intersects the cube */
-        if ((edgeTable[cubeIndex] & 1) != 0)
-            vertexList[0] =
-                    interpolateVertex(isoLevel,points[0],points[1],isoValues[0],isoValues[1]);
-        if ((edgeTable[cubeIndex] & 2) != 0)
-            vertexList[1] =
-                    interpolateVertex(isoLevel,points[1],points[2],isoValues[1],isoValues[2]);
-        if ((edgeTable[cubeIndex] & 4) != 0)
-            vertexList[2] =
-                    interpolateVertex(isoLevel,points[2],points[3],isoValues[2],isoValues[3]);
-        if ((edgeTable[cubeIndex] & 8) != 0)
-            vertexList[3] =
-                    interpolateVertex(isoLevel,points[3],points[0],isoValues[3],isoValues[0]);
-        if ((edgeTable[cubeIndex] & 16) != 0)
-            vertexList[4] =
-                    interpolateVertex(isoLevel,points[4],points[5],isoValues[4],isoValues[5]);
-        if ((edgeTable[cubeIndex] & 32) != 0)
-            vertexList[5] =
-                    interpolateVertex(isoLevel,points[5],points[6],isoValues[5],isoValues[6]);
-        if ((edgeTable[cubeIndex] & 64) != 0)
-            vertexList[6] =
-                    interpolateVertex(isoLevel,points[6],points[7],isoValues[6],isoValues[7]);
-        if ((edgeTable[cubeIndex] & 128) != 0)
-            vertexList[7] =
-                    interpolateVertex(isoLevel,points[7],points[4],isoValues[7],isoValues[4]);
-        if ((edgeTable[cubeIndex] & 256) != 0)
-            vertexList[8] =
-                    interpolateVertex(isoLevel,points[0],points[4],isoValues[0],isoValues[4]);
-        if ((edgeTable[cubeIndex] & 512) != 0)
-            vertexList[9] =
-                    interpolateVertex(isoLevel,points[1],points[5],isoValues[1],isoValues[5]);
-        if ((edgeTable[cubeIndex] & 1024) != 0)
-            vertexList[10] =
-                    interpolateVertex(isoLevel,points[2],points[6],isoValues[2],isoValues[6]);
-        if ((edgeTable[cubeIndex] & 2048) != 0)
-            vertexList[11] =
-                    interpolateVertex(isoLevel,points[3],points[7],isoValues[3],isoValues[7]);
+        interpolateEdges(densities, x, y, z, cubeSize, isoLevel, cubeIndex, buffer.edgeVertices);
+
+        int triangles = 0;
+        for (int i = 0; triTable[cubeIndex][i] != -1; i += 3) {
+            buffer.putTriangle(triTable[cubeIndex][i], triTable[cubeIndex][i+1], triTable[cubeIndex][i+2]);
+            triangles++;
+        }
+        return triangles;
+    }
+
+    /**
+     * Writes the triangles of the cell at (x, y, z) of the provided lattice into the buffer as indexed triangles. The
+     * vertex along each edge is shared by every cell around that edge within the region begun by
+     * {@link GridCellMeshBuffer#beginIndexedRegion(int, int, int, int, int, int)}, so each is interpolated once. The
+     * normal of each vertex points against the gradient of the densities, which are lowest outside of the surface.
+     * @return The number of triangles written.
+     * */
+    public static int triangulateIndexed(FloatGrid3 densities, int x, int y, int z, float cubeSize, float isoLevel,
+                                         GridCellMeshBuffer buffer) {
+        int cubeIndex = getCubeIndex(densities, x, y, z, isoLevel);
+        int edges = edgeTable[cubeIndex];
+
+        /* Cube is entirely in/out of the surface */
+        if (edges == 0)
+            return 0;
+
+        int[] edgeIndices = buffer.edgeIndices;
+        for (int edge = 0; edge < 12; edge++) {
+            if ((edges & (1 << edge)) != 0) {
+                int low = EDGE_LOW[edge];
+                int axis = EDGE_AXIS[edge];
+                int pointX = x + CORNER_X[low];
+                int pointY = y + CORNER_Y[low];
+                int pointZ = z + CORNER_Z[low];
+
+                int index = buffer.getEdgeVertex(axis, pointX, pointY, pointZ);
+                if (index == -1) {
+                    index = putEdgeVertex(densities, pointX, pointY, pointZ, axis, cubeSize, isoLevel, buffer);
+                    buffer.setEdgeVertex(axis, pointX, pointY, pointZ, index);
+                }
+                edgeIndices[edge] = index;
+            }
+        }
 
         int triangles = 0;
         for (int i = 0; triTable[cubeIndex][i] != -1; i += 3) {
-            vertices.add(vertexList[triTable[cubeIndex][i  ]]);
-            vertices.add(vertexList[triTable[cubeIndex][i+1]]);
-            vertices.add(vertexList[triTable[cubeIndex][i+2]]);
+            buffer.putIndices(edgeIndices[triTable[cubeIndex][i]], edgeIndices[triTable[cubeIndex][i+1]],
+                    edgeIndices[triTable[cubeIndex][i+2]]);
             triangles++;
         }
         return triangles;
     }
 
+    /**
+     * @return The position of the provided corner of the cell at (x, y, z), stored within the destination.
+     * */
+    public static Vector3f getCornerPosition(int x, int y, int z, int corner, float cubeSize, Vector3f dest) {
+        return dest.set((x + CORNER_X[corner] - 0.5F) * cubeSize,
+                (y + CORNER_Y[corner] - 0.5F) * cubeSize,
+                (z + CORNER_Z[corner] - 0.5F) * cubeSize);
+    }
+
+    /**
+     * Finds the vertices where the surface intersects the edges of the cell and stores the position of each within
+     * the edge vertices, three floats per edge.
+     * */
+    private static void interpolateEdges(FloatGrid3 densities, int x, int y, int z, float cubeSize, float isoLevel,
+                                         int cubeIndex, float[] edgeVertices) {
+        float[] data = densities.getData();
+        int base = densities.index(x + BORDER, y + BORDER, z + BORDER);
+        int edges = edgeTable[cubeIndex];
+
+        for (int edge = 0; edge < 12; edge++) {
+            if ((edges & (1 << edge)) != 0) {
+                int start = EDGE_START[edge];
+                int end = EDGE_END[edge];
+                interpolateVertex(isoLevel, x, y, z, cubeSize, start, end,
+                        data[base + cornerOffset(densities, start)], data[base + cornerOffset(densities, end)],
+                        edgeVertices, edge * 3);
+            }
+        }
+    }
+
     /*
    Linearly interpolate the position where an isosurface cuts
    an edge between two vertices, each with their own scalar value
 */
-    private Vector3f interpolateVertex(float isoLevel, Vector3f p1, Vector3f p2, float valp1, float valp2) {
-        float mu;
-        Vector3f p = new Vector3f();
+    private static void interpolateVertex(float isoLevel, int x, int y, int z, float cubeSize, int corner1,
+                                          int corner2, float valp1, float valp2, float[] dest, int offset) {
+        float x1 = (x + CORNER_X[corner1] - 0.5F) * cubeSize;
+        float y1 = (y + CORNER_Y[corner1] - 0.5F) * cubeSize;
+        float z1 = (z + CORNER_Z[corner1] - 0.5F) * cubeSize;
+        float x2 = (x + CORNER_X[corner2] - 0.5F) * cubeSize;
+        float y2 = (y + CORNER_Y[corner2] - 0.5F) * cubeSize;
+        float z2 = (z + CORNER_Z[corner2] - 0.5F) * cubeSize;
 
-        if (Math.abs(isoLevel-valp1) < 0.00001)
-            return p1;
-        if (Math.abs(isoLevel-valp2) < 0.00001)
-            return p2;
-        if (Math.abs(valp1-valp2) < 0.00001)
-            return p1;
-        
-        mu = (isoLevel - valp1) / (valp2 - valp1);
-        p.x = p1.x + mu * (p2.x - p1.x);
-        p.y = p1.y + mu * (p2.y - p1.y);
-        p.z = p1.z + mu * (p2.z - p1.z);
-
-        return p;
+        float mu = interpolationFactor(isoLevel, valp1, valp2);
+
+        // The endpoints are copied rather than interpolated so that they are exact.
+        if (mu == 1F) {
+            dest[offset] = x2;
+            dest[offset + 1] = y2;
+            dest[offset + 2] = z2;
+            return;
+        }
+        dest[offset] = x1 + mu * (x2 - x1);
+        dest[offset + 1] = y1 + mu * (y2 - y1);
+        dest[offset + 2] = z1 + mu * (z2 - z1);
     }
 
-    public Vector3f[] getPoints() {
-        return points;
+    /**
+     * Writes the vertex where the surface intersects the edge from the lattice point (x, y, z) to its neighbor along
+     * the provided axis. Its normal is interpolated between the gradients at both points.
+     * @return The index of the vertex.
+     * */
+    private static int putEdgeVertex(FloatGrid3 densities, int x, int y, int z, int axis, float cubeSize,
+                                     float isoLevel, GridCellMeshBuffer buffer) {
+        // The positions of both points within the padded lattice.
+        int x1 = x + BORDER;
+        int y1 = y + BORDER;
+        int z1 = z + BORDER;
+        int x2 = axis == 0 ? x1 + 1 : x1;
+        int y2 = axis == 1 ? y1 + 1 : y1;
+        int z2 = axis == 2 ? z1 + 1 : z1;
+        float mu = interpolationFactor(isoLevel, densities.getUnchecked(x1, y1, z1),
+                densities.getUnchecked(x2, y2, z2));
+
+        float positionX = (x - 0.5F) * cubeSize;
+        float positionY = (y - 0.5F) * cubeSize;
+        float positionZ = (z - 0.5F) * cubeSize;
+        if (axis == 0) {
+            positionX += mu * cubeSize;
+        } else if (axis == 1) {
+            positionY += mu * cubeSize;
+        } else {
+            positionZ += mu * cubeSize;
+        }
+
+        float normalX = lerp(gradient(densities, x1, y1, z1, 0), gradient(densities, x2, y2, z2, 0), mu);
+        float normalY = lerp(gradient(densities, x1, y1, z1, 1), gradient(densities, x2, y2, z2, 1), mu);
+        float normalZ = lerp(gradient(densities, x1, y1, z1, 2), gradient(densities, x2, y2, z2, 2), mu);
+        float length = (float) Math.sqrt(normalX * normalX + normalY * normalY + normalZ * normalZ);
+        if (length > 0F) {
+            normalX /= -length;
+            normalY /= -length;
+            normalZ /= -length;
+        }
+        return buffer.putVertex(positionX, positionY, positionZ, normalX, normalY, normalZ);
     }
 
-    public void setPoints(Vector3f[] points) {
-        this.points = points;
+    /**
+     * @return The change in density per point of the lattice along the provided axis at the point (x, y, z) of the
+     * padded lattice, found by central differences. Every point of the lattice which is not padding has a neighbor on
+     * each side, including those along its faces.
+     * */
+    private static float gradient(FloatGrid3 densities, int x, int y, int z, int axis) {
+        float lowDensity;
+        float highDensity;
+        if (axis == 0) {
+            lowDensity = densities.getUnchecked(x - 1, y, z);
+            highDensity = densities.getUnchecked(x + 1, y, z);
+        } else if (axis == 1) {
+            lowDensity = densities.getUnchecked(x, y - 1, z);
+            highDensity = densities.getUnchecked(x, y + 1, z);
+        } else {
+            lowDensity = densities.getUnchecked(x, y, z - 1);
+            highDensity = densities.getUnchecked(x, y, z + 1);
+        }
+        return (highDensity - lowDensity) * 0.5F;
     }
 
-    public float[] getIsoValues() {
-        return isoValues;
+    private static float lerp(float a, float b, float mu) {
+        return a + mu * (b - a);
     }
 
-    public void setIsoValues(float[] isoValues) {
-        this.isoValues = isoValues;
+    /**
+     * @return How far along the edge between two corners of the provided densities the surface lies.
+     * */
+    private static float interpolationFactor(float isoLevel, float valp1, float valp2) {
+        if (Math.abs(isoLevel-valp1) < 0.00001)
+            return 0F;
+        else if (Math.abs(isoLevel-valp2) < 0.00001)
+            return 1F;
+        else if (Math.abs(valp1-valp2) < 0.00001)
+            return 0F;
+        else
+            return (isoLevel - valp1) / (valp2 - valp1);
     }
 
-    @Override
-    public String toString() {
-        return "GridCell{" +
-                "center=" + center +
-                ", size=" + size +
-                ", points=" + Arrays.toString(points) +
-                ", isoValues=" + Arrays.toString(isoValues) +
-                '}';
+    private static int cornerOffset(FloatGrid3 densities, int corner) {
+        return CORNER_X[corner]
+                + densities.getWidth() * (CORNER_Y[corner] + densities.getHeight() * CORNER_Z[corner]);
     }
 }
@@ -0,0 +1,26 @@
+package com.branwilliams.cubes.builder;
+
+import com.branwilliams.bundi.engine.util.FloatGrid3;
+import com.branwilliams.cubes.world.MarchingCubeWorld;
+import org.joml.Vector3f;
+
+/**
+ * Builds the density lattice of a chunk, see {@link com.branwilliams.cubes.MarchingCubes} for its layout.
+ *
+ * @author Brandon
+ * @since January 21, 2020
+ */
+public interface DensityGridBuilder {
+
+    /**
+     * Builds the density lattice of a grid of the provided dimensions in cells, which has one more point than the grid
+     * has cells along each axis and is padded by {@link com.branwilliams.cubes.MarchingCubes#BORDER} points on each
+     * side.
+     * */
+    FloatGrid3 buildDensityGrid(MarchingCubeWorld world, Vector3f offset, int width, int height, int depth);
+
+    /**
+     * Evaluates each point of the provided lattice again, passing its current density to the evaluator.
+     * */
+    FloatGrid3 rebuildDensityGrid(MarchingCubeWorld world, Vector3f offset, FloatGrid3 densities);
+}
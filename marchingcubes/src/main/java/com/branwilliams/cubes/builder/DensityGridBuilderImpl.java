@@ -0,0 +1,38 @@
+package com.branwilliams.cubes.builder;
+
+import com.branwilliams.bundi.engine.util.FloatGrid3;
+import com.branwilliams.cubes.MarchingCubes;
+import com.branwilliams.cubes.builder.evaluators.IsoEvaluator;
+import com.branwilliams.cubes.world.MarchingCubeWorld;
+import org.joml.Vector3f;
+
+/**
+ * Evaluates its {@link IsoEvaluator} once for each point of a density lattice.
+ *
+ * @author Brandon
+ * @since January 21, 2020
+ */
+public class DensityGridBuilderImpl implements DensityGridBuilder {
+
+    private final IsoEvaluator evaluator;
+
+    public DensityGridBuilderImpl(IsoEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    @Override
+    public FloatGrid3 buildDensityGrid(MarchingCubeWorld world, Vector3f offset, int width, int height, int depth) {
+        FloatGrid3 densities = new FloatGrid3(MarchingCubes.getLatticeSize(width), MarchingCubes.getLatticeSize(height),
+                MarchingCubes.getLatticeSize(depth));
+        return rebuildDensityGrid(world, offset, densities);
+    }
+
+    @Override
+    public FloatGrid3 rebuildDensityGrid(MarchingCubeWorld world, Vector3f offset, FloatGrid3 densities) {
+        // The first point of the lattice is its padding.
+        float start = (0.5F + MarchingCubes.BORDER) * world.getCubeSize();
+        evaluator.evaluateGrid(densities, offset.x - start, offset.y - start, offset.z - start, world.getCubeSize());
+        return densities;
+    }
+
+}
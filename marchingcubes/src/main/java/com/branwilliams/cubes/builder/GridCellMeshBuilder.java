@@ -1,16 +1,21 @@
 package com.branwilliams.cubes.builder;
 
-import com.branwilliams.bundi.engine.util.Grid3i;
-import com.branwilliams.cubes.GridCell;
+import com.branwilliams.bundi.engine.util.FloatGrid3;
 import com.branwilliams.cubes.GridCellMesh;
+import com.branwilliams.cubes.GridCellMeshData;
 import com.branwilliams.cubes.world.MarchingCubeWorld;
 
-import static com.branwilliams.bundi.engine.util.MeshUtils.toArray3f;
-
 public interface GridCellMeshBuilder {
 
-    GridCellMesh buildMesh(MarchingCubeWorld world, Grid3i<GridCell> gridCellGrid);
+    GridCellMesh buildMesh(MarchingCubeWorld world, FloatGrid3 densities);
+
+    GridCellMesh rebuildMesh(MarchingCubeWorld world, GridCellMesh gridCellMesh, FloatGrid3 densities);
 
-    GridCellMesh rebuildMesh(MarchingCubeWorld world, GridCellMesh gridCellMesh, Grid3i<GridCell> gridCellGrid);
+    /**
+     * Triangulates the cells from (minX, minY, minZ) inclusive to (maxX, maxY, maxZ) exclusive of the provided
+     * lattice. This makes no OpenGL calls and may be invoked from any thread.
+     * */
+    GridCellMeshData buildMeshData(FloatGrid3 densities, float cubeSize, float isoLevel, int minX, int minY,
+                                   int minZ, int maxX, int maxY, int maxZ);
 
 }
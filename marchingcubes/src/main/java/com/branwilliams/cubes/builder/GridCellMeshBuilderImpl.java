@@ -1,54 +1,75 @@
 package com.branwilliams.cubes.builder;
 
-import com.branwilliams.bundi.engine.shader.dynamic.VertexElements;
-import com.branwilliams.bundi.engine.util.Grid3i;
-import com.branwilliams.bundi.engine.util.MeshUtils;
-import com.branwilliams.cubes.GridCell;
+import com.branwilliams.bundi.engine.util.FloatGrid3;
 import com.branwilliams.cubes.GridCellMesh;
+import com.branwilliams.cubes.GridCellMeshBuffer;
+import com.branwilliams.cubes.GridCellMeshData;
+import com.branwilliams.cubes.MarchingCubes;
 import com.branwilliams.cubes.world.MarchingCubeWorld;
-import org.joml.Vector3f;
 
-import java.util.ArrayList;
-import java.util.List;
+/**
+ * Builds the triangles of cells either as a triangle soup with a flat normal per triangle or as indexed triangles
+ * which share each vertex between the cells around its edge and have smooth normals taken from the gradient of the
+ * densities. Vertices are only shared within each region built, so the vertices along the boundaries between the
+ * sections of a chunk are duplicated.
+ * */
+public class GridCellMeshBuilderImpl implements GridCellMeshBuilder {
 
-import static com.branwilliams.bundi.engine.util.MeshUtils.toArray3f;
+    private final ThreadLocal<GridCellMeshBuffer> meshBuffer = ThreadLocal.withInitial(GridCellMeshBuffer::new);
 
-public class GridCellMeshBuilderImpl implements GridCellMeshBuilder {
+    private final boolean indexed;
+
+    public GridCellMeshBuilderImpl() {
+        this(false);
+    }
+
+    /**
+     * @param indexed True if indexed triangles with smooth normals should be built.
+     * */
+    public GridCellMeshBuilderImpl(boolean indexed) {
+        this.indexed = indexed;
+    }
 
     @Override
-    public GridCellMesh buildMesh(MarchingCubeWorld world, Grid3i<GridCell> gridCellGrid) {
+    public GridCellMesh buildMesh(MarchingCubeWorld world, FloatGrid3 densities) {
         GridCellMesh gridCellMesh = new GridCellMesh();
         gridCellMesh.init();
-        return rebuildMesh(world, gridCellMesh, gridCellGrid);
+        return rebuildMesh(world, gridCellMesh, densities);
     }
 
     @Override
-    public GridCellMesh rebuildMesh(MarchingCubeWorld world, GridCellMesh gridCellMesh, Grid3i<GridCell> gridCellGrid) {
-        List<Vector3f> positions = new ArrayList<>();
-        for (GridCell gridCell : gridCellGrid) {
-            gridCell.getTriangles(world.getIsoLevel(), positions);
-        }
-
-        List<Vector3f> normals = new ArrayList<>();
-        for (int i = 0; i < positions.size(); i += 3) {
-            Vector3f p1 = positions.get(i  );
-            Vector3f p2 = positions.get(i+1);
-            Vector3f p3 = positions.get(i+2);
-
-            Vector3f normal = MeshUtils.calculateNormal(p1, p2, p3);
+    public GridCellMesh rebuildMesh(MarchingCubeWorld world, GridCellMesh gridCellMesh, FloatGrid3 densities) {
+        GridCellMeshData meshData = buildMeshData(densities, world.getCubeSize(), world.getIsoLevel(), 0, 0, 0,
+                MarchingCubes.getCellCount(densities.getWidth()), MarchingCubes.getCellCount(densities.getHeight()),
+                MarchingCubes.getCellCount(densities.getDepth()));
+        gridCellMesh.upload(meshData);
+        return gridCellMesh;
+    }
 
-            normals.add(normal);
-            normals.add(normal);
-            normals.add(normal);
+    @Override
+    public GridCellMeshData buildMeshData(FloatGrid3 densities, float cubeSize, float isoLevel, int minX, int minY,
+                                          int minZ, int maxX, int maxY, int maxZ) {
+        GridCellMeshBuffer buffer = meshBuffer.get();
+        buffer.clear();
+        if (indexed) {
+            buffer.beginIndexedRegion(minX, minY, minZ, maxX, maxY, maxZ);
         }
+        for (int k = minZ; k < maxZ; k++) {
+            for (int j = minY; j < maxY; j++) {
+                for (int i = minX; i < maxX; i++) {
+                    if (indexed) {
+                        MarchingCubes.triangulateIndexed(densities, i, j, k, cubeSize, isoLevel, buffer);
+                    } else {
+                        MarchingCubes.triangulate(densities, i, j, k, cubeSize, isoLevel, buffer);
+                    }
+                }
+            }
+        }
+        return buffer.toMeshData();
+    }
 
-        gridCellMesh.getMesh().bind();
-        gridCellMesh.getMesh().storeAttribute(0, toArray3f(positions), VertexElements.POSITION.getSize());
-        gridCellMesh.getMesh().storeAttribute(1, toArray3f(normals), VertexElements.NORMAL.getSize());
-        gridCellMesh.getMesh().setVertexCount(positions.size());
-        gridCellMesh.getMesh().unbind();
-
-        return gridCellMesh;
+    public boolean isIndexed() {
+        return indexed;
     }
 
 }
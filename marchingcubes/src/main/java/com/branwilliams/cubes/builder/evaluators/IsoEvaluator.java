@@ -1,5 +1,7 @@
 package com.branwilliams.cubes.builder.evaluators;
 
+import com.branwilliams.bundi.engine.util.FloatGrid3;
+
 /**
  * @author Brandon
  * @since January 26, 2020
@@ -8,6 +10,27 @@ public interface IsoEvaluator {
 
     float evaluate(float x, float y, float z, float isoValue);
 
+    /**
+     * Evaluates every point of the provided grid in place. The point at (i, j, k) is at (originX + i * step,
+     * originY + j * step, originZ + k * step) and its current value is passed as the iso value to
+     * {@link IsoEvaluator#evaluate(float, float, float, float)}. <br/>
+     * Implementations are expected to override this when they are able to evaluate many points at once.
+     * */
+    default void evaluateGrid(FloatGrid3 grid, float originX, float originY, float originZ, float step) {
+        float[] values = grid.getData();
+        for (int k = 0; k < grid.getDepth(); k++) {
+            float z = originZ + k * step;
+            for (int j = 0; j < grid.getHeight(); j++) {
+                float y = originY + j * step;
+                int offset = grid.rowOffset(j, k);
+                for (int i = 0; i < grid.getWidth(); i++) {
+                    values[offset + i] = evaluate(originX + i * step, y, z, values[offset + i]);
+                }
+            }
+        }
+        grid.setDirty(true);
+    }
+
     default IsoEvaluator andThen(IsoEvaluator next) {
         class SequentialIsoEvaluator implements IsoEvaluator {
 
@@ -22,6 +45,12 @@ public interface IsoEvaluator {
                 isoValue = IsoEvaluator.this.evaluate(x, y, z, isoValue);
                 return next.evaluate(x, y, z, isoValue);
             }
+
+            @Override
+            public void evaluateGrid(FloatGrid3 grid, float originX, float originY, float originZ, float step) {
+                IsoEvaluator.this.evaluateGrid(grid, originX, originY, originZ, step);
+                next.evaluateGrid(grid, originX, originY, originZ, step);
+            }
         }
 
         return new SequentialIsoEvaluator(next);
@@ -1,5 +1,6 @@
 package com.branwilliams.cubes.builder.evaluators;
 
+import com.branwilliams.bundi.engine.util.FloatGrid3;
 import com.branwilliams.bundi.engine.util.noise.Noise;
 
 /**
@@ -21,4 +22,9 @@ public class NoiseIsoEvaluator implements IsoEvaluator {
     public float evaluate(float x, float y, float z, float isoValue) {
         return (float) noise.noise(x * noiseScale, y * noiseScale, z * noiseScale);
     }
+
+    @Override
+    public void evaluateGrid(FloatGrid3 grid, float originX, float originY, float originZ, float step) {
+        noise.noiseGrid(grid, originX * noiseScale, originY * noiseScale, originZ * noiseScale, step * noiseScale);
+    }
 }
@@ -12,7 +12,6 @@ import com.branwilliams.bundi.engine.shader.dynamic.DynamicShaderProgram;
 import com.branwilliams.bundi.engine.shader.dynamic.VertexFormat;
 import com.branwilliams.bundi.engine.util.Mathf;
 import com.branwilliams.cubes.CubesScene;
-import com.branwilliams.cubes.GridCell;
 import com.branwilliams.cubes.math.RaycastResult;
 import com.branwilliams.cubes.world.MarchingCubeChunk;
 import org.joml.Vector3f;
@@ -85,23 +84,18 @@ public class RaycastResultRenderPass extends RenderPass<RenderContext> {
         int chunkY = scene.getWorld().toChunkY(y);
         int chunkZ = scene.getWorld().toChunkZ(z);
 
-        MarchingCubeChunk chunk = scene.getWorld().getChunks().getValue(chunkX, chunkY, chunkZ);
+        MarchingCubeChunk chunk = scene.getWorld().getChunk(chunkX, chunkY, chunkZ);
         if (chunk == null) {
             return null;
         }
 
         Vector3f offset = chunk.getOffset();
-        GridCell gridCell = chunk.getGridCell(
+        List<Vector3f> triangles = new ArrayList<>();
+        int triangleCount = chunk.getTriangles(
                 (int) (x - offset.x),
                 (int) (y - offset.y),
-                (int) (z - offset.z));
-
-        if (gridCell == null) {
-            return null;
-        }
-
-        List<Vector3f> triangles = new ArrayList<>();
-        int triangleCount = gridCell.getTriangles(scene.getWorld().getIsoLevel(), triangles);
+                (int) (z - offset.z),
+                scene.getWorld().getCubeSize(), scene.getWorld().getIsoLevel(), triangles);
 
         if (triangleCount > 0) {
 //            shaderProgram.setModelMatrix(transformable.position(x, y, z).scale(0.25F));
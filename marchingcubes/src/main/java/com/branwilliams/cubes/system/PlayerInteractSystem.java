@@ -9,7 +9,6 @@ import com.branwilliams.bundi.engine.ecs.EntitySystemManager;
 import com.branwilliams.bundi.engine.ecs.matchers.ClassComponentMatcher;
 import com.branwilliams.bundi.engine.shader.Transformable;
 import com.branwilliams.cubes.CubesScene;
-import com.branwilliams.cubes.GridCell;
 import com.branwilliams.cubes.GridCellMesh;
 import com.branwilliams.cubes.world.MarchingCubeChunk;
 import org.joml.Vector3f;
@@ -53,55 +52,28 @@ public class PlayerInteractSystem extends AbstractSystem implements KeyListener,
 //        scene.setRaycast(result);
 
         Vector3f ray = scene.getCamera().getFacingDirection().mul(raycastDistance.get());
-        int radius = 2;
         if (scene.getRaycast() != null && pressed != -1 && shouldEdit) {
-            MarchingCubeChunk chunk = scene.getWorld().getChunk(scene.getRaycast().position);
+            Vector3f position = scene.getRaycast().position;
+            MarchingCubeChunk chunk = scene.getWorld().getChunk(position);
             if (chunk != null) {
-                GridCell gridCell = scene.getWorld().getGridCell(scene.getRaycast().position);
-                if (gridCell != null) {
-                    for (int i = 0; i < gridCell.getIsoValues().length; i++) {
-                        gridCell.getIsoValues()[i] += pressed == 0 ? 0.01F : -0.01F;
-                    }
-
-                    for (int x = -radius; x <= radius; x++) {
-                        for (int y = -radius; y <= radius; y++) {
-                            for (int z = -radius; z <= radius; z++) {
-
-                                // skip origin
-                                if (x == 0 && y == 0 && z == 0)
-                                    continue;
-                                updateNeighborCells(gridCell, scene.getRaycast().position, x, y, z);
-                            }
+                int cellX = (int) Math.floor(position.x);
+                int cellY = (int) Math.floor(position.y);
+                int cellZ = (int) Math.floor(position.z);
+                float amount = pressed == 0 ? 0.01F : -0.01F;
+
+                // Corners are shared between neighboring cells, so editing them updates every cell touching them.
+                for (int x = 0; x <= 1; x++) {
+                    for (int y = 0; y <= 1; y++) {
+                        for (int z = 0; z <= 1; z++) {
+                            scene.getWorld().addDensity(cellX + x, cellY + y, cellZ + z, amount);
                         }
                     }
-                    chunk.markDirty();
                 }
             }
 
         }
     }
 
-    private void updateNeighborCells(GridCell origin, Vector3f pos, float x, float y, float z) {
-        boolean markdirty = false;
-        GridCell neighbor = scene.getWorld().getGridCell(pos.x + x, pos.y + y, pos.z + z);
-
-        if (neighbor == null)
-            return;
-
-        for (int i = 0; i < origin.getPoints().length; i++) {
-            Vector3f originPosition = origin.getPoints()[i];
-            for (int j = 0; j < neighbor.getPoints().length; j++) {
-                Vector3f neighborPosition = neighbor.getPoints()[j];
-                if (originPosition.equals(neighborPosition)) {
-                    neighbor.getIsoValues()[j] = origin.getIsoValues()[i];
-                    markdirty = true;
-                }
-            }
-        }
-        if (markdirty)
-            scene.getWorld().getChunk(pos.x + x, pos.y + y, pos.z + z).markDirty();
-    }
-
     @Override
     public void fixedUpdate(Engine engine, EntitySystemManager entitySystemManager, double deltaTime) {
     }
@@ -0,0 +1,91 @@
+package com.branwilliams.cubes.world;
+
+import com.branwilliams.bundi.engine.util.FloatGrid3;
+import com.branwilliams.cubes.GridCellMeshData;
+import com.branwilliams.cubes.builder.GridCellMeshBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+
+/**
+ * Triangulates the dirty sections of a chunk on a worker thread and queues itself for upload. The densities of the
+ * chunk are copied when this task is created, so the densities read by this task cannot change while it runs.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class GridCellMeshTask implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(GridCellMeshTask.class);
+
+    private final GridCellMeshBuilder gridCellMeshBuilder;
+
+    private final MarchingCubeChunk chunk;
+
+    private final FloatGrid3 densities;
+
+    private final float cubeSize;
+
+    private final float isoLevel;
+
+    private final int[] sections;
+
+    private final GridCellMeshData[] sectionMeshes;
+
+    private final Queue<GridCellMeshTask> completed;
+
+    /**
+     * @param chunk The chunk whose sections are triangulated. Only the dimensions of this chunk are read by this task.
+     * @param densities A copy of the densities of the chunk.
+     * @param sections The indices of the sections to triangulate.
+     * @param completed The queue this task is put into once it has finished.
+     * */
+    public GridCellMeshTask(GridCellMeshBuilder gridCellMeshBuilder, MarchingCubeChunk chunk, FloatGrid3 densities,
+                            float cubeSize, float isoLevel, int[] sections, Queue<GridCellMeshTask> completed) {
+        this.gridCellMeshBuilder = gridCellMeshBuilder;
+        this.chunk = chunk;
+        this.densities = densities;
+        this.cubeSize = cubeSize;
+        this.isoLevel = isoLevel;
+        this.sections = sections;
+        this.sectionMeshes = new GridCellMeshData[sections.length];
+        this.completed = completed;
+    }
+
+    @Override
+    public void run() {
+        try {
+            for (int i = 0; i < sections.length; i++) {
+                int section = sections[i];
+                sectionMeshes[i] = gridCellMeshBuilder.buildMeshData(densities, cubeSize, isoLevel,
+                        chunk.getSectionMinX(section), chunk.getSectionMinY(section), chunk.getSectionMinZ(section),
+                        chunk.getSectionMaxX(section), chunk.getSectionMaxY(section), chunk.getSectionMaxZ(section));
+            }
+        } catch (RuntimeException e) {
+            log.error("Unable to triangulate the chunk at " + chunk.getOffset(), e);
+        } finally {
+            // The task is queued even if the build failed so that the chunk is no longer meshing.
+            completed.add(this);
+        }
+    }
+
+    public MarchingCubeChunk getChunk() {
+        return chunk;
+    }
+
+    /**
+     * @return The indices of the sections triangulated by this task.
+     * */
+    public int[] getSections() {
+        return sections;
+    }
+
+    /**
+     * @return The triangles of each section of this task, in the order of {@link GridCellMeshTask#getSections()}.
+     * Elements are null if the sections could not be triangulated.
+     * */
+    public GridCellMeshData[] getSectionMeshes() {
+        return sectionMeshes;
+    }
+}
@@ -1,44 +1,230 @@
 package com.branwilliams.cubes.world;
 
-import com.branwilliams.bundi.engine.util.Grid3i;
-import com.branwilliams.cubes.GridCell;
+import com.branwilliams.bundi.engine.util.FloatGrid3;
+import com.branwilliams.bundi.engine.util.WorkerUtils;
 import com.branwilliams.cubes.GridCellMesh;
+import com.branwilliams.cubes.GridCellMeshData;
+import com.branwilliams.cubes.MarchingCubes;
 import org.joml.Vector3f;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
+ * A chunk of cells which stores the densities of the corners of its cells within a single lattice, see
+ * {@link MarchingCubes} for its layout. The points along the faces of the lattice and its padding are shared with the
+ * neighboring chunks, so each chunk holds its own copy of them. <br/>
+ * The cells are split into sections of {@link MarchingCubeChunk#SECTION_SIZE} cells along each axis. The triangles of
+ * each section are kept, so that changing a few densities only triangulates the sections touching them again before
+ * the mesh of this chunk is rebuilt.
+ *
  * @author Brandon
  * @since January 25, 2020
  */
 public class MarchingCubeChunk {
 
+    /** The number of cells along each side of a section. */
+    public static final int SECTION_SIZE = 8;
+
     private final Vector3f offset;
 
-    private Grid3i<GridCell> gridCells;
+    private FloatGrid3 densities;
 
     private GridCellMesh gridCellMesh;
 
-    private boolean dirty;
+    private final int sectionCountX;
+
+    private final int sectionCountY;
+
+    private final int sectionCountZ;
+
+    private final GridCellMeshData[] sectionMeshes;
+
+    private final boolean[] dirtySections;
+
+    private int dirtySectionCount;
+
+    private boolean meshing;
 
-    public MarchingCubeChunk(Vector3f offset, Grid3i<GridCell> gridCells, GridCellMesh gridCellMesh) {
+    // The number of times in a row the sections of this chunk have failed to triangulate.
+    private int failedMeshes;
+
+    // The frame from which the sections of this chunk may be triangulated again after a failure.
+    private long retryFrame;
+
+    public MarchingCubeChunk(Vector3f offset, FloatGrid3 densities, GridCellMesh gridCellMesh) {
         this.offset = offset;
-        this.gridCells = gridCells;
+        this.densities = densities;
         this.gridCellMesh = gridCellMesh;
+
+        this.sectionCountX = sectionCount(getCellCountX());
+        this.sectionCountY = sectionCount(getCellCountY());
+        this.sectionCountZ = sectionCount(getCellCountZ());
+        this.sectionMeshes = new GridCellMeshData[sectionCountX * sectionCountY * sectionCountZ];
+        this.dirtySections = new boolean[sectionMeshes.length];
+        Arrays.fill(sectionMeshes, GridCellMeshData.EMPTY);
+        markDirty();
     }
 
     public Vector3f getOffset() {
         return offset;
     }
 
-    public GridCell getGridCell(int gridX, int gridY, int griZ) {
-        return gridCells.getValue(gridX, gridY, griZ);
+    /**
+     * @return The density of the lattice point at the provided position relative to this chunk. Points of the padding
+     * are one point outside of the cells of this chunk.
+     * */
+    public float getDensity(int latticeX, int latticeY, int latticeZ) {
+        return densities.getValue(latticeX + MarchingCubes.BORDER, latticeY + MarchingCubes.BORDER,
+                latticeZ + MarchingCubes.BORDER);
+    }
+
+    /**
+     * Sets the density of the lattice point at the provided position relative to this chunk and marks dirty the
+     * sections of each cell touching that point or one of its neighbors, since their normals depend on it.
+     * */
+    public void setDensity(float density, int latticeX, int latticeY, int latticeZ) {
+        densities.setValue(density, latticeX + MarchingCubes.BORDER, latticeY + MarchingCubes.BORDER,
+                latticeZ + MarchingCubes.BORDER);
+        markCellsDirty(latticeX - 2, latticeY - 2, latticeZ - 2, latticeX + 1, latticeY + 1, latticeZ + 1);
+    }
+
+    /**
+     * Adds the vertices of the triangles of the cell at the provided position relative to this chunk to the list of
+     * vertices. Vertices are relative to this chunk.
+     * @return The number of triangles added.
+     * */
+    public int getTriangles(int gridX, int gridY, int gridZ, float cubeSize, float isoLevel,
+                            List<Vector3f> vertices) {
+        if (gridX < 0 || gridX >= getCellCountX() || gridY < 0 || gridY >= getCellCountY()
+                || gridZ < 0 || gridZ >= getCellCountZ()) {
+            return 0;
+        }
+        return MarchingCubes.getTriangles(densities, gridX, gridY, gridZ, cubeSize, isoLevel, vertices);
+    }
+
+    public int getCellCountX() {
+        return MarchingCubes.getCellCount(densities.getWidth());
+    }
+
+    public int getCellCountY() {
+        return MarchingCubes.getCellCount(densities.getHeight());
+    }
+
+    public int getCellCountZ() {
+        return MarchingCubes.getCellCount(densities.getDepth());
+    }
+
+    public FloatGrid3 getDensities() {
+        return densities;
+    }
+
+    /**
+     * Replaces the lattice of this chunk with one of the same dimensions and marks every section dirty.
+     * */
+    public void setDensities(FloatGrid3 densities) {
+        if (!this.densities.hasSameDimensions(densities))
+            throw new IllegalArgumentException("Densities must have the dimensions of this chunk!");
+        this.densities = densities;
+        markDirty();
+    }
+
+    /**
+     * Marks the sections of the cells from (minX, minY, minZ) to (maxX, maxY, maxZ), both inclusive, dirty. Cells
+     * outside of this chunk are ignored.
+     * */
+    public void markCellsDirty(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        int minSectionX = Math.max(minX, 0) / SECTION_SIZE;
+        int minSectionY = Math.max(minY, 0) / SECTION_SIZE;
+        int minSectionZ = Math.max(minZ, 0) / SECTION_SIZE;
+        int maxSectionX = Math.min(maxX, getCellCountX() - 1) / SECTION_SIZE;
+        int maxSectionY = Math.min(maxY, getCellCountY() - 1) / SECTION_SIZE;
+        int maxSectionZ = Math.min(maxZ, getCellCountZ() - 1) / SECTION_SIZE;
+
+        for (int k = minSectionZ; k <= maxSectionZ; k++) {
+            for (int j = minSectionY; j <= maxSectionY; j++) {
+                for (int i = minSectionX; i <= maxSectionX; i++) {
+                    markSectionDirty(i + sectionCountX * (j + sectionCountY * k));
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks the section with the provided index dirty.
+     * */
+    public void markSectionDirty(int section) {
+        if (!dirtySections[section]) {
+            dirtySections[section] = true;
+            dirtySectionCount++;
+        }
     }
 
-    public Grid3i<GridCell> getGridCells() {
-        return gridCells;
+    /**
+     * Clears the dirty sections of this chunk.
+     * @return The indices of the sections which were dirty.
+     * */
+    public int[] takeDirtySections() {
+        int[] sections = new int[dirtySectionCount];
+        int count = 0;
+        for (int i = 0; i < dirtySections.length; i++) {
+            if (dirtySections[i]) {
+                sections[count++] = i;
+                dirtySections[i] = false;
+            }
+        }
+        dirtySectionCount = 0;
+        return sections;
     }
 
-    public void setGridCells(Grid3i<GridCell> gridCells) {
-        this.gridCells = gridCells;
+    public int getSectionCount() {
+        return sectionMeshes.length;
+    }
+
+    /**
+     * @return The lowest cell of the provided section along the x axis. This only reads the dimensions of this chunk,
+     * which never change, so it may be invoked from any thread.
+     * */
+    public int getSectionMinX(int section) {
+        return (section % sectionCountX) * SECTION_SIZE;
+    }
+
+    public int getSectionMinY(int section) {
+        return ((section / sectionCountX) % sectionCountY) * SECTION_SIZE;
+    }
+
+    public int getSectionMinZ(int section) {
+        return (section / (sectionCountX * sectionCountY)) * SECTION_SIZE;
+    }
+
+    /**
+     * @return The cell after the highest cell of the provided section along the x axis.
+     * */
+    public int getSectionMaxX(int section) {
+        return Math.min(getSectionMinX(section) + SECTION_SIZE, getCellCountX());
+    }
+
+    public int getSectionMaxY(int section) {
+        return Math.min(getSectionMinY(section) + SECTION_SIZE, getCellCountY());
+    }
+
+    public int getSectionMaxZ(int section) {
+        return Math.min(getSectionMinZ(section) + SECTION_SIZE, getCellCountZ());
+    }
+
+    public GridCellMeshData getSectionMesh(int section) {
+        return sectionMeshes[section];
+    }
+
+    public void setSectionMesh(int section, GridCellMeshData meshData) {
+        sectionMeshes[section] = meshData;
+    }
+
+    /**
+     * @return The triangles of every section of this chunk.
+     * */
+    public GridCellMeshData[] getSectionMeshes() {
+        return sectionMeshes;
     }
 
     public GridCellMesh getGridCellMesh() {
@@ -49,19 +235,74 @@ public class MarchingCubeChunk {
         this.gridCellMesh = gridCellMesh;
     }
 
+    /**
+     * Marks every section of this chunk dirty.
+     * */
     public void markDirty() {
-        dirty = true;
+        for (int i = 0; i < dirtySections.length; i++) {
+            markSectionDirty(i);
+        }
     }
 
     public void resetDirty() {
-        dirty = false;
+        Arrays.fill(dirtySections, false);
+        dirtySectionCount = 0;
     }
 
+    /**
+     * @return True if any section of this chunk is dirty.
+     * */
     public boolean isDirty() {
-        return dirty;
+        return dirtySectionCount > 0;
     }
 
     public void setDirty(boolean dirty) {
-        this.dirty = dirty;
+        if (dirty) {
+            markDirty();
+        } else {
+            resetDirty();
+        }
+    }
+
+    /**
+     * @return True while the dirty sections taken from this chunk are being triangulated.
+     * */
+    public boolean isMeshing() {
+        return meshing;
+    }
+
+    public void setMeshing(boolean meshing) {
+        this.meshing = meshing;
+    }
+
+    /**
+     * Records that some sections of this chunk failed to triangulate, so that they are not triangulated again until
+     * the delay of {@link WorkerUtils#retryDelayFrames(int)} has passed.
+     * @param frame The current frame.
+     * */
+    public void failMesh(long frame) {
+        failedMeshes++;
+        retryFrame = frame + WorkerUtils.retryDelayFrames(failedMeshes);
+    }
+
+    /**
+     * Records that the sections of this chunk were triangulated, so that the next failure is retried without a long
+     * delay.
+     * */
+    public void succeedMesh() {
+        failedMeshes = 0;
+        retryFrame = 0L;
+    }
+
+    /**
+     * @param frame The current frame.
+     * @return True if this chunk is not meshing and the delay after any failed triangulation has passed.
+     * */
+    public boolean canRequestMesh(long frame) {
+        return !meshing && frame >= retryFrame;
+    }
+
+    private static int sectionCount(int cellCount) {
+        return (cellCount + SECTION_SIZE - 1) / SECTION_SIZE;
     }
 }
@@ -0,0 +1,247 @@
+package com.branwilliams.cubes.world;
+
+import com.branwilliams.bundi.engine.core.Destructible;
+import com.branwilliams.bundi.engine.util.FloatGrid3;
+import com.branwilliams.bundi.engine.util.LongObjectMap;
+import com.branwilliams.bundi.engine.util.WorkerUtils;
+import com.branwilliams.cubes.builder.DensityGridBuilder;
+import com.branwilliams.cubes.builder.GridCellMeshBuilder;
+import org.joml.Vector3f;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Generates the densities of chunks and triangulates the dirty sections of chunks on a pool of worker threads. <br/>
+ * Generated chunks are handed back through a queue which is drained by the main thread. A chunk whose request is
+ * cancelled before it has been handed back is discarded, so chunks the world no longer wants never reach it. <br/>
+ * Each request copies the densities of its chunk, so the chunk may keep being edited on the main thread while its
+ * sections are triangulated. Triangulated sections are handed back through a queue which is drained by the main thread
+ * within a time budget each frame, so every OpenGL call stays on the main thread and uploading many meshes at once does
+ * not stall a frame. <br/>
+ * Every method except the work done by the workers must be invoked from the main thread.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class MarchingCubeChunkLoader implements Destructible {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final ExecutorService workers;
+
+    private final Queue<ChunkRequest> generatedChunks;
+
+    // The requests for chunks which have not been handed back yet, keyed by their chunk key.
+    private final LongObjectMap<ChunkRequest> pendingChunks;
+
+    private final Queue<GridCellMeshTask> builtMeshes;
+
+    private final long uploadBudgetNanos;
+
+    // The number of times the built meshes have been polled, which counts the frames for the delay of failed meshes.
+    private long frame;
+
+    public MarchingCubeChunkLoader() {
+        this(WorkerUtils.defaultWorkerCount(), WorkerUtils.DEFAULT_UPLOAD_BUDGET_NS);
+    }
+
+    /**
+     * @param workerCount The number of worker threads.
+     * @param uploadBudgetNanos The time spent uploading meshes each frame. At least one mesh is uploaded each frame.
+     * */
+    public MarchingCubeChunkLoader(int workerCount, long uploadBudgetNanos) {
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("The worker count must be positive!");
+        }
+        this.workers = WorkerUtils.newDaemonThreadPool(workerCount, "marching-cubes-chunk-worker");
+        this.generatedChunks = new ConcurrentLinkedQueue<>();
+        this.pendingChunks = new LongObjectMap<>();
+        this.builtMeshes = new ConcurrentLinkedQueue<>();
+        this.uploadBudgetNanos = uploadBudgetNanos;
+    }
+
+    /**
+     * Generates the densities of the chunk at the provided offset on a worker thread. Nothing happens if a chunk with
+     * this key is already being generated.
+     * @param chunkKey The key of the chunk within its world, see {@link MarchingCubeWorld#toChunkKey(int, int, int)}.
+     * @return True if the chunk was requested.
+     * */
+    public boolean requestChunk(DensityGridBuilder densityGridBuilder, MarchingCubeWorld world, long chunkKey,
+                                Vector3f offset) {
+        if (pendingChunks.containsKey(chunkKey)) {
+            return false;
+        }
+
+        int width = world.getChunkDimensions().x;
+        int height = world.getChunkDimensions().y;
+        int depth = world.getChunkDimensions().z;
+        ChunkRequest request = new ChunkRequest(chunkKey, offset);
+        request.future = workers.submit(() -> {
+            try {
+                request.densities = densityGridBuilder.buildDensityGrid(world, offset, width, height, depth);
+            } catch (RuntimeException e) {
+                log.error("Unable to generate chunk at " + offset, e);
+            } finally {
+                // Failed requests are handed back too, so that they are no longer pending.
+                generatedChunks.add(request);
+            }
+        });
+        pendingChunks.put(chunkKey, request);
+        return true;
+    }
+
+    /**
+     * Cancels the request for the chunk with the provided key. The chunk is discarded if it has already been
+     * generated.
+     * @return True if the chunk was pending.
+     * */
+    public boolean cancelChunk(long chunkKey) {
+        ChunkRequest request = pendingChunks.remove(chunkKey);
+        if (request == null) {
+            return false;
+        }
+        request.future.cancel(false);
+        return true;
+    }
+
+    /**
+     * Cancels the request for every pending chunk whose offset matches the provided predicate.
+     * */
+    public void cancelChunks(Predicate<Vector3f> predicate) {
+        List<ChunkRequest> cancelled = new ArrayList<>();
+        for (ChunkRequest request : pendingChunks.values()) {
+            if (predicate.test(request.offset)) {
+                cancelled.add(request);
+            }
+        }
+        for (ChunkRequest request : cancelled) {
+            cancelChunk(request.chunkKey);
+        }
+    }
+
+    /**
+     * @return True if the chunk with the provided key is being generated.
+     * */
+    public boolean isChunkPending(long chunkKey) {
+        return pendingChunks.containsKey(chunkKey);
+    }
+
+    /**
+     * @return The number of chunks being generated.
+     * */
+    public int getPendingChunkCount() {
+        return pendingChunks.size();
+    }
+
+    /**
+     * Creates each chunk which has finished generating since the previous invocation and was not cancelled and
+     * performs the action for it. The chunks are created without a mesh.
+     * */
+    public void pollGeneratedChunks(Consumer<MarchingCubeChunk> action) {
+        pollGeneratedChunks(action, (chunkKey) -> { });
+    }
+
+    /**
+     * Same as {@link MarchingCubeChunkLoader#pollGeneratedChunks(Consumer)}, except the key of each chunk which failed
+     * to generate is given to the failure action. These chunks are no longer pending.
+     * */
+    public void pollGeneratedChunks(Consumer<MarchingCubeChunk> action, LongConsumer failure) {
+        ChunkRequest request;
+        while ((request = generatedChunks.poll()) != null) {
+            // Cancelled requests are no longer pending, even when the same chunk has been requested again since.
+            if (pendingChunks.get(request.chunkKey) != request) {
+                continue;
+            }
+            pendingChunks.remove(request.chunkKey);
+
+            if (request.densities != null) {
+                action.accept(new MarchingCubeChunk(request.offset, request.densities, null));
+            } else {
+                failure.accept(request.chunkKey);
+            }
+        }
+    }
+
+    /**
+     * Triangulates the dirty sections of the provided chunk on a worker thread. The chunk is marked as meshing and its
+     * dirty sections are cleared, so sections made dirty while this request runs are triangulated by a later request.
+     * Nothing happens if the chunk is already meshing, has no dirty sections or is waiting to retry sections which
+     * failed to triangulate.
+     * */
+    public void requestMesh(GridCellMeshBuilder gridCellMeshBuilder, MarchingCubeChunk chunk, float cubeSize,
+                            float isoLevel) {
+        if (!chunk.canRequestMesh(frame) || !chunk.isDirty()) {
+            return;
+        }
+
+        chunk.setMeshing(true);
+        workers.execute(new GridCellMeshTask(gridCellMeshBuilder, chunk, chunk.getDensities().copy(), cubeSize,
+                isoLevel, chunk.takeDirtySections(), builtMeshes));
+    }
+
+    /**
+     * Stores the triangulated sections of each finished request within its chunk, clears its meshing flag and performs
+     * the action for its chunk, see {@link WorkerUtils#pollWithinBudget(Queue, long, Consumer)}. Sections which failed
+     * to triangulate are marked dirty again and their chunk is not triangulated again until the delay of
+     * {@link WorkerUtils#retryDelayFrames(int)} has passed. This must be invoked once per frame.
+     * */
+    public void pollBuiltMeshes(Consumer<MarchingCubeChunk> action) {
+        frame++;
+        WorkerUtils.pollWithinBudget(builtMeshes, uploadBudgetNanos, (task) -> {
+            MarchingCubeChunk chunk = task.getChunk();
+            int[] sections = task.getSections();
+            boolean failed = false;
+            for (int i = 0; i < sections.length; i++) {
+                // A section which could not be triangulated keeps its previous triangles and is triangulated again by a
+                // later request.
+                if (task.getSectionMeshes()[i] != null) {
+                    chunk.setSectionMesh(sections[i], task.getSectionMeshes()[i]);
+                } else {
+                    chunk.markSectionDirty(sections[i]);
+                    failed = true;
+                }
+            }
+
+            if (failed) {
+                chunk.failMesh(frame);
+            } else {
+                chunk.succeedMesh();
+            }
+            chunk.setMeshing(false);
+            action.accept(chunk);
+        });
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+        generatedChunks.clear();
+        pendingChunks.clear();
+        builtMeshes.clear();
+    }
+
+    private static class ChunkRequest {
+
+        private final long chunkKey;
+
+        private final Vector3f offset;
+
+        private Future<?> future;
+
+        // Written by the worker before this request is queued, so it is visible once polled from the queue.
+        private FloatGrid3 densities;
+
+        private ChunkRequest(long chunkKey, Vector3f offset) {
+            this.chunkKey = chunkKey;
+            this.offset = offset;
+        }
+    }
+}
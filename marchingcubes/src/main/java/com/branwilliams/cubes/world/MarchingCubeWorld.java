@@ -1,45 +1,124 @@
 package com.branwilliams.cubes.world;
 
+import com.branwilliams.bundi.engine.core.Destructible;
 import com.branwilliams.bundi.engine.core.Engine;
 import com.branwilliams.bundi.engine.core.Updateable;
-import com.branwilliams.bundi.engine.util.Grid3i;
-import com.branwilliams.cubes.GridCell;
+import com.branwilliams.bundi.engine.util.FloatGrid3;
+import com.branwilliams.bundi.engine.util.LongObjectMap;
+import com.branwilliams.bundi.engine.util.WorkerUtils;
 import com.branwilliams.cubes.GridCellMesh;
-import com.branwilliams.cubes.builder.GridCellGridBuilder;
+import com.branwilliams.cubes.MarchingCubes;
+import com.branwilliams.cubes.builder.DensityGridBuilder;
 import com.branwilliams.cubes.builder.GridCellMeshBuilder;
 import org.joml.Vector3f;
 import org.joml.Vector3i;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
 /**
+ * A sparse map of marching cube chunks. Bounded worlds hold a fixed number of chunks, while unbounded worlds only
+ * hold the chunks around the positions provided to {@link MarchingCubeWorld#loadChunks(Vector3f, int)}. <br/>
+ * The densities of chunks are generated and chunks are triangulated by a {@link MarchingCubeChunkLoader}, so loading
+ * chunks never blocks a frame. Editing the densities of a chunk only marks the sections it touches dirty and the new
+ * mesh is uploaded on a later frame. <br/>
+ * When the world holds more than {@link WorldProperties#getMaxLoadedChunks()} chunks, the chunks furthest from the
+ * center of the loaded chunks are unloaded. Unloaded chunks are not saved, so any edits made to them are lost. <br/>
+ * A chunk which fails to generate is not requested again until the delay of
+ * {@link WorkerUtils#retryDelayFrames(int)} has passed, so a generator which keeps failing is not resubmitted each
+ * frame.
+ *
  * @author Brandon
  * @since January 25, 2020
  */
-public class MarchingCubeWorld implements Updateable {
+public class MarchingCubeWorld implements Updateable, Destructible {
+
+    // The number of bits of each chunk coordinate within a chunk key.
+    private static final int CHUNK_KEY_BITS = 21;
+
+    private static final long CHUNK_KEY_MASK = (1L << CHUNK_KEY_BITS) - 1L;
+
+    private final LongObjectMap<MarchingCubeChunk> chunks;
 
-    private final Grid3i<MarchingCubeChunk> chunks;
+    // The chunks which failed to generate and have not been generated since, keyed by their chunk key.
+    private final LongObjectMap<FailedChunk> failedChunks = new LongObjectMap<>();
 
     private final WorldProperties worldProperties;
 
-    private final GridCellGridBuilder gridCellGridBuilder;
+    private final DensityGridBuilder densityGridBuilder;
 
     private final GridCellMeshBuilder gridCellMeshBuilder;
 
+    private final MarchingCubeChunkLoader chunkLoader;
+
+    private final List<ChunkListener> chunkListeners = new ArrayList<>();
+
+    // The chunk at the center of the loaded chunks and the view distance around it.
+    private final Vector3i loadCenter = new Vector3i();
+
+    private int viewDistance = -1;
+
+    // True when chunks within the view distance were left unrequested because this world was full, or failed to
+    // generate, so they are requested again even if the center has not changed.
+    private boolean chunksMissing;
+
+    // The offset of each chunk within the view distance from the center, nearest first.
+    private int[] viewOffsets = new int[0];
+
+    // The number of updates, which counts the frames for the delay of failed chunks.
+    private long frame;
+
+    /**
+     * Listens for the chunks loaded and unloaded by a {@link MarchingCubeWorld}.
+     * */
+    public interface ChunkListener {
+        /**
+         * Invoked once a chunk has been added to the world. The mesh of this chunk is empty until it has been built.
+         * */
+        void onChunkLoad(MarchingCubeChunk chunk);
+
+        /**
+         * Invoked once a chunk has been removed from the world, before its mesh is destroyed.
+         * */
+        void onChunkUnload(MarchingCubeChunk chunk);
+    }
+
     public MarchingCubeWorld(WorldProperties worldProperties,
-                             GridCellGridBuilder gridCellGridBuilder,
+                             DensityGridBuilder densityGridBuilder,
                              GridCellMeshBuilder gridCellMeshBuilder) {
+        this(worldProperties, densityGridBuilder, gridCellMeshBuilder, new MarchingCubeChunkLoader());
+    }
+
+    public MarchingCubeWorld(WorldProperties worldProperties,
+                             DensityGridBuilder densityGridBuilder,
+                             GridCellMeshBuilder gridCellMeshBuilder,
+                             MarchingCubeChunkLoader chunkLoader) {
         this.worldProperties = worldProperties;
-        this.gridCellGridBuilder = gridCellGridBuilder;
+        this.densityGridBuilder = densityGridBuilder;
         this.gridCellMeshBuilder = gridCellMeshBuilder;
-
-        this.chunks = new Grid3i<>(MarchingCubeChunk[]::new, worldProperties.getWorldDimensions().x,
-                worldProperties.getWorldDimensions().y, worldProperties.getWorldDimensions().z);
+        this.chunkLoader = chunkLoader;
+        this.chunks = new LongObjectMap<>();
     }
 
+    /**
+     * Adds the chunks generated since the previous frame, uploads the meshes which have been built and requests new
+     * meshes for dirty chunks. This must be invoked once per frame from the thread which owns the OpenGL context.
+     * */
     public void update(Engine engine, double deltaTime) {
-        for (MarchingCubeChunk chunk : chunks) {
+        frame++;
+        chunkLoader.pollGeneratedChunks(this::addChunk, this::onChunkFailed);
+
+        chunkLoader.pollBuiltMeshes(chunk -> {
+            // A chunk unloaded while it was being triangulated has already destroyed its mesh.
+            if (isChunkLoaded(chunk)) {
+                chunk.getGridCellMesh().upload(chunk.getSectionMeshes());
+            }
+        });
+
+        for (MarchingCubeChunk chunk : chunks.values()) {
             if (chunk.isDirty()) {
-                gridCellMeshBuilder.rebuildMesh(this, chunk.getGridCellMesh(), chunk.getGridCells());
-                chunk.resetDirty();
+                chunkLoader.requestMesh(gridCellMeshBuilder, chunk, getCubeSize(), getIsoLevel());
             }
         }
     }
@@ -49,29 +128,117 @@ public class MarchingCubeWorld implements Updateable {
 
     }
 
+    /**
+     * Requests every chunk of a bounded world, until the maximum number of loaded chunks has been reached. The chunks
+     * are generated on the workers of the chunk loader and added to this world by later updates.
+     * */
     public void loadAllChunks() {
+        if (!worldProperties.isBounded())
+            throw new IllegalStateException("An unbounded world cannot load all of its chunks!");
+
         for (int x = 0; x < this.worldProperties.getWorldDimensions().x; x++) {
             for (int y = 0; y < this.worldProperties.getWorldDimensions().y; y++) {
                 for (int z = 0; z < this.worldProperties.getWorldDimensions().z; z++) {
-                    loadChunk(x, y, z);
+                    if (isFull()) {
+                        return;
+                    }
+                    requestChunk(x, y, z);
                 }
             }
         }
     }
 
+    /**
+     * Centers the loaded chunks around the chunk containing the provided position. Chunks further than one chunk past
+     * the view distance are unloaded and the chunks within the view distance which are not loaded are requested,
+     * nearest first, until the maximum number of loaded chunks has been reached. This only does any work when the
+     * center or the view distance has changed, or when chunks within the view distance are still missing, so it may be
+     * invoked each frame.
+     * @param viewDistance The number of chunks loaded along each axis on each side of the center.
+     * */
+    public void loadChunks(Vector3f position, int viewDistance) {
+        if (viewDistance < 0)
+            throw new IllegalArgumentException("The view distance cannot be negative!");
+
+        int chunkX = toChunkX(position.x);
+        int chunkY = toChunkY(position.y);
+        int chunkZ = toChunkZ(position.z);
+        boolean moved = viewDistance != this.viewDistance || !loadCenter.equals(chunkX, chunkY, chunkZ);
+        if (!moved && !chunksMissing) {
+            return;
+        }
+
+        if (moved) {
+            if (viewDistance != this.viewDistance) {
+                this.viewOffsets = createViewOffsets(viewDistance);
+                this.viewDistance = viewDistance;
+            }
+            loadCenter.set(chunkX, chunkY, chunkZ);
+
+            // Chunks just outside of the view distance are kept, so moving back and forth across the edge of a chunk
+            // does not keep loading and unloading the same chunks.
+            unloadChunksOutside(viewDistance + 1);
+        }
+
+        chunksMissing = false;
+        for (int i = 0; i < viewOffsets.length; i += 3) {
+            if (isFull()) {
+                chunksMissing = true;
+                break;
+            }
+            int x = chunkX + viewOffsets[i];
+            int y = chunkY + viewOffsets[i + 1];
+            int z = chunkZ + viewOffsets[i + 2];
+            if (!isChunkPosWithinWorld(x, y, z)) {
+                continue;
+            }
+
+            if (isWaitingToRetry(toChunkKey(x, y, z))) {
+                chunksMissing = true;
+            } else {
+                requestChunk(x, y, z);
+            }
+        }
+    }
+
+    /**
+     * Marks every chunk as dirty in order to reload them.
+     * */
     public void reloadChunks() {
-        for (MarchingCubeChunk chunk : chunks) {
+        for (MarchingCubeChunk chunk : chunks.values()) {
             chunk.markDirty();
         }
     }
 
     public MarchingCubeChunk getChunk(int chunkX, int chunkY, int chunkZ) {
         if (isChunkPosWithinWorld(chunkX, chunkY, chunkZ)) {
-            return chunks.getValue(chunkX, chunkY, chunkZ);
+            return chunks.get(toChunkKey(chunkX, chunkY, chunkZ));
         }
         return null;
     }
 
+    /**
+     * Generates the chunk at the provided chunk position on the workers of the chunk loader. The chunk is added to
+     * this world by a later update unless it has been unloaded before then.
+     * @return False if the chunk is outside of this world, already loaded, already requested or failed to generate
+     * and the delay before it is retried has not passed.
+     * */
+    public boolean requestChunk(int chunkX, int chunkY, int chunkZ) {
+        if (!isChunkPosWithinWorld(chunkX, chunkY, chunkZ)) {
+            return false;
+        }
+
+        long chunkKey = toChunkKey(chunkX, chunkY, chunkZ);
+        if (chunks.containsKey(chunkKey) || isWaitingToRetry(chunkKey)) {
+            return false;
+        }
+        return chunkLoader.requestChunk(densityGridBuilder, this, chunkKey, getChunkOffset(chunkX, chunkY, chunkZ));
+    }
+
+    /**
+     * Generates the chunk at the provided chunk position before this returns.
+     * @return False if the chunk is outside of this world or already loaded.
+     * */
     public boolean loadChunk(int chunkX, int chunkY, int chunkZ) {
         if (isChunkPosWithinWorld(chunkX, chunkY, chunkZ)) {
 
@@ -79,70 +246,300 @@ public class MarchingCubeWorld implements Updateable {
             if (getChunk(chunkX, chunkY, chunkZ) != null)
                 return false;
 
-            Vector3f offset = new Vector3f(chunkX * worldProperties.getChunkDimensions().x,
-                    chunkY * worldProperties.getChunkDimensions().y,
-                    chunkZ * worldProperties.getChunkDimensions().z);
-
-            Grid3i<GridCell> gridCellGrid = gridCellGridBuilder.buildGridCellGrid(this, offset,
+            Vector3f offset = getChunkOffset(chunkX, chunkY, chunkZ);
+            FloatGrid3 densities = densityGridBuilder.buildDensityGrid(this, offset,
                     worldProperties.getChunkDimensions().x, worldProperties.getChunkDimensions().y,
                     worldProperties.getChunkDimensions().z);
 
-            GridCellMesh gridCellMesh = gridCellMeshBuilder.buildMesh(this, gridCellGrid);
-            MarchingCubeChunk chunk = new MarchingCubeChunk(offset, gridCellGrid, gridCellMesh);
-            this.chunks.setValue(chunk, chunkX, chunkY, chunkZ);
+            // A request for this chunk would replace it once generated.
+            chunkLoader.cancelChunk(toChunkKey(chunkX, chunkY, chunkZ));
+            addChunk(new MarchingCubeChunk(offset, densities, null));
             return true;
         }
         return false;
     }
 
+    /**
+     * Removes the chunk at the provided chunk position and destroys its mesh. A pending request for this chunk is
+     * cancelled.
+     * @return False if the chunk was neither loaded nor requested.
+     * */
+    public boolean unloadChunk(int chunkX, int chunkY, int chunkZ) {
+        long chunkKey = toChunkKey(chunkX, chunkY, chunkZ);
+        boolean cancelled = chunkLoader.cancelChunk(chunkKey);
+
+        MarchingCubeChunk chunk = chunks.remove(chunkKey);
+        if (chunk == null) {
+            return cancelled;
+        }
+        chunkListeners.forEach((l) -> l.onChunkUnload(chunk));
+        chunk.getGridCellMesh().destroy();
+        return true;
+    }
+
+    /**
+     * Adds the chunk with an empty mesh. Every section of a new chunk is dirty, so its mesh is built by the next
+     * update.
+     * */
+    private void addChunk(MarchingCubeChunk chunk) {
+        GridCellMesh gridCellMesh = new GridCellMesh();
+        gridCellMesh.init();
+        chunk.setGridCellMesh(gridCellMesh);
+
+        long chunkKey = toChunkKey(chunk);
+        chunks.put(chunkKey, chunk);
+        failedChunks.remove(chunkKey);
+        chunkListeners.forEach((l) -> l.onChunkLoad(chunk));
+        evictChunks();
+    }
+
+    /**
+     * Records the failure of the chunk with the provided key, so that it is requested again once the delay of
+     * {@link WorkerUtils#retryDelayFrames(int)} has passed.
+     * */
+    private void onChunkFailed(long chunkKey) {
+        FailedChunk failedChunk = failedChunks.get(chunkKey);
+        if (failedChunk == null) {
+            failedChunk = new FailedChunk(chunkKey);
+            failedChunks.put(chunkKey, failedChunk);
+        }
+        failedChunk.failures++;
+        failedChunk.retryFrame = frame + WorkerUtils.retryDelayFrames(failedChunk.failures);
+        chunksMissing = true;
+    }
+
+    /**
+     * @return True if the chunk with the provided key failed to generate and the delay before it is retried has not
+     * passed.
+     * */
+    private boolean isWaitingToRetry(long chunkKey) {
+        FailedChunk failedChunk = failedChunks.get(chunkKey);
+        return failedChunk != null && frame < failedChunk.retryFrame;
+    }
+
+    /**
+     * Unloads every chunk, cancels every request and forgets every failed chunk further than the provided distance
+     * from the load center along any axis.
+     * */
+    private void unloadChunksOutside(int distance) {
+        chunkLoader.cancelChunks((offset) -> getLoadDistance(offset) > distance);
+
+        List<FailedChunk> forgotten = new ArrayList<>();
+        for (FailedChunk failedChunk : failedChunks.values()) {
+            if (getLoadDistance(failedChunk.chunkKey) > distance) {
+                forgotten.add(failedChunk);
+            }
+        }
+        forgotten.forEach((failedChunk) -> failedChunks.remove(failedChunk.chunkKey));
+
+        List<MarchingCubeChunk> toUnload = new ArrayList<>();
+        for (MarchingCubeChunk chunk : chunks.values()) {
+            if (getLoadDistance(chunk.getOffset()) > distance) {
+                toUnload.add(chunk);
+            }
+        }
+        toUnload.forEach(this::unloadChunk);
+    }
+
+    /**
+     * Unloads the chunks furthest from the load center until no more than the maximum number of chunks are loaded.
+     * */
+    private void evictChunks() {
+        int maxLoadedChunks = worldProperties.getMaxLoadedChunks();
+        if (maxLoadedChunks <= 0 || chunks.size() <= maxLoadedChunks) {
+            return;
+        }
+
+        List<MarchingCubeChunk> loaded = new ArrayList<>(chunks.size());
+        for (MarchingCubeChunk chunk : chunks.values()) {
+            loaded.add(chunk);
+        }
+        loaded.sort(Comparator.comparingInt(this::getSquaredLoadDistance).reversed());
+
+        for (int i = 0; i < loaded.size() - maxLoadedChunks; i++) {
+            unloadChunk(loaded.get(i));
+        }
+    }
+
+    private void unloadChunk(MarchingCubeChunk chunk) {
+        Vector3f offset = chunk.getOffset();
+        unloadChunk(toChunkX(offset.x), toChunkY(offset.y), toChunkZ(offset.z));
+    }
+
+    /**
+     * @return True if no more chunks may be requested without exceeding the maximum number of loaded chunks.
+     * */
+    private boolean isFull() {
+        int maxLoadedChunks = worldProperties.getMaxLoadedChunks();
+        return maxLoadedChunks > 0 && chunks.size() + chunkLoader.getPendingChunkCount() >= maxLoadedChunks;
+    }
+
+    /**
+     * @return True if the provided chunk is the chunk loaded at its position.
+     * */
+    private boolean isChunkLoaded(MarchingCubeChunk chunk) {
+        return chunks.get(toChunkKey(chunk)) == chunk;
+    }
+
+    /**
+     * @return The greatest distance, in chunks, along any axis between the chunk at the provided offset and the load
+     * center.
+     * */
+    private int getLoadDistance(Vector3f offset) {
+        return Math.max(Math.abs(toChunkX(offset.x) - loadCenter.x), Math.max(Math.abs(toChunkY(offset.y)
+                - loadCenter.y), Math.abs(toChunkZ(offset.z) - loadCenter.z)));
+    }
+
+    /**
+     * @return The greatest distance, in chunks, along any axis between the chunk with the provided key and the load
+     * center.
+     * */
+    private int getLoadDistance(long chunkKey) {
+        return Math.max(Math.abs(fromChunkKey(chunkKey, CHUNK_KEY_BITS * 2) - loadCenter.x),
+                Math.max(Math.abs(fromChunkKey(chunkKey, CHUNK_KEY_BITS) - loadCenter.y),
+                        Math.abs(fromChunkKey(chunkKey, 0) - loadCenter.z)));
+    }
+
+    private int getSquaredLoadDistance(MarchingCubeChunk chunk) {
+        Vector3f offset = chunk.getOffset();
+        int x = toChunkX(offset.x) - loadCenter.x;
+        int y = toChunkY(offset.y) - loadCenter.y;
+        int z = toChunkZ(offset.z) - loadCenter.z;
+        return x * x + y * y + z * z;
+    }
+
+    /**
+     * @return The offset of each chunk within the view distance of a center chunk, ordered nearest first. Each offset
+     * is three ints.
+     * */
+    private static int[] createViewOffsets(int viewDistance) {
+        List<int[]> offsets = new ArrayList<>();
+        for (int x = -viewDistance; x <= viewDistance; x++) {
+            for (int y = -viewDistance; y <= viewDistance; y++) {
+                for (int z = -viewDistance; z <= viewDistance; z++) {
+                    offsets.add(new int[] { x, y, z });
+                }
+            }
+        }
+        offsets.sort(Comparator.comparingInt((offset) -> offset[0] * offset[0] + offset[1] * offset[1]
+                + offset[2] * offset[2]));
+
+        int[] viewOffsets = new int[offsets.size() * 3];
+        for (int i = 0; i < offsets.size(); i++) {
+            System.arraycopy(offsets.get(i), 0, viewOffsets, i * 3, 3);
+        }
+        return viewOffsets;
+    }
+
     public MarchingCubeChunk getChunk(Vector3f position) {
         return getChunk(position.x, position.y, position.z);
     }
 
     public MarchingCubeChunk getChunk(float x, float y, float z) {
-        int chunkX = toChunkX(x);
-        int chunkY = toChunkY(y);
-        int chunkZ = toChunkZ(z);
-        return chunks.getValue(chunkX, chunkY, chunkZ);
-    }
-
-    public GridCell getGridCell(Vector3f position) {
-        return getGridCell(position.x, position.y, position.z);
+        return getChunk(toChunkX(x), toChunkY(y), toChunkZ(z));
     }
 
-    public GridCell getGridCell(float x, float y, float z) {
-        MarchingCubeChunk chunk = getChunk(x, y, z);
+    /**
+     * @return The density of the lattice point at the provided world position or zero if no loaded chunk holds it.
+     * */
+    public float getDensity(int x, int y, int z) {
+        MarchingCubeChunk chunk = getChunk(toChunkX(x), toChunkY(y), toChunkZ(z));
         if (chunk == null) {
-            return null;
+            return 0F;
         }
 
         Vector3f offset = chunk.getOffset();
-        GridCell gridCell = chunk.getGridCell(
-                (int) (x - offset.x),
-                (int) (y - offset.y),
-                (int) (z - offset.z));
+        return chunk.getDensity(x - (int) offset.x, y - (int) offset.y, z - (int) offset.z);
+    }
 
-        return gridCell;
+    /**
+     * Adds the amount to the density of the lattice point at the provided world position. Points along the faces of a
+     * chunk, and those within the padding of its lattice, are held by each of the neighboring chunks, so every copy is
+     * updated and each of those chunks is marked dirty.
+     * */
+    public void addDensity(int x, int y, int z, float amount) {
+        // A chunk holds the points from its lowest face, less its padding, to its highest face, plus its padding.
+        int minChunkX = toChunkX(x - 1 - MarchingCubes.BORDER);
+        int minChunkY = toChunkY(y - 1 - MarchingCubes.BORDER);
+        int minChunkZ = toChunkZ(z - 1 - MarchingCubes.BORDER);
+        int maxChunkX = toChunkX(x + MarchingCubes.BORDER);
+        int maxChunkY = toChunkY(y + MarchingCubes.BORDER);
+        int maxChunkZ = toChunkZ(z + MarchingCubes.BORDER);
+
+        for (int i = minChunkX; i <= maxChunkX; i++) {
+            for (int j = minChunkY; j <= maxChunkY; j++) {
+                for (int k = minChunkZ; k <= maxChunkZ; k++) {
+                    MarchingCubeChunk chunk = getChunk(i, j, k);
+                    if (chunk != null) {
+                        Vector3f offset = chunk.getOffset();
+                        int latticeX = x - (int) offset.x;
+                        int latticeY = y - (int) offset.y;
+                        int latticeZ = z - (int) offset.z;
+                        chunk.setDensity(chunk.getDensity(latticeX, latticeY, latticeZ) + amount,
+                                latticeX, latticeY, latticeZ);
+                    }
+                }
+            }
+        }
     }
 
     public int toChunkX(float x) {
-        return ((int) x) >> worldProperties.getWidthBitshift();
+        return ((int) Math.floor(x)) >> worldProperties.getWidthBitshift();
     }
 
     public int toChunkY(float y) {
-        return ((int) y) >> worldProperties.getHeightBitshift();
+        return ((int) Math.floor(y)) >> worldProperties.getHeightBitshift();
     }
 
     public int toChunkZ(float z) {
-        return ((int) z) >> worldProperties.getDepthBitshift();
+        return ((int) Math.floor(z)) >> worldProperties.getDepthBitshift();
+    }
+
+    /**
+     * @return The position of the lowest corner of the chunk at the provided chunk position.
+     * */
+    public Vector3f getChunkOffset(int chunkX, int chunkY, int chunkZ) {
+        return new Vector3f(chunkX * worldProperties.getChunkDimensions().x,
+                chunkY * worldProperties.getChunkDimensions().y,
+                chunkZ * worldProperties.getChunkDimensions().z);
     }
 
+    /**
+     * @return True if the chunk position lies within this world. Every chunk position lies within an unbounded world.
+     * */
     public boolean isChunkPosWithinWorld(int chunkX, int chunkY, int chunkZ) {
+        if (!worldProperties.isBounded()) {
+            return true;
+        }
         return chunkX >= 0 && chunkX < worldProperties.getWorldDimensions().x
                 && chunkY >= 0 && chunkY < worldProperties.getWorldDimensions().y
                 && chunkZ >= 0 && chunkZ < worldProperties.getWorldDimensions().z;
     }
 
+    private long toChunkKey(MarchingCubeChunk chunk) {
+        Vector3f offset = chunk.getOffset();
+        return toChunkKey(toChunkX(offset.x), toChunkY(offset.y), toChunkZ(offset.z));
+    }
+
+    /**
+     * Packs the chunk coordinates into a long, {@link MarchingCubeWorld#CHUNK_KEY_BITS} bits for each coordinate. This
+     * allows chunks to be looked up by their coordinates without creating a chunk position.
+     * */
+    public static long toChunkKey(int chunkX, int chunkY, int chunkZ) {
+        return (chunkX & CHUNK_KEY_MASK) << (CHUNK_KEY_BITS * 2)
+                | (chunkY & CHUNK_KEY_MASK) << CHUNK_KEY_BITS
+                | (chunkZ & CHUNK_KEY_MASK);
+    }
+
+    /**
+     * @return The chunk coordinate packed at the provided shift within the chunk key, see
+     * {@link MarchingCubeWorld#toChunkKey(int, int, int)}.
+     * */
+    private static int fromChunkKey(long chunkKey, int shift) {
+        // The coordinate is moved to the highest bits and back, so that its sign is extended.
+        return (int) ((chunkKey << (Long.SIZE - CHUNK_KEY_BITS - shift)) >> (Long.SIZE - CHUNK_KEY_BITS));
+    }
+
 //    /**
 //     * Ray - triangle interesection test taken from
 //     * <a href="https://www.scratchapixel.com/lessons/3d-basic-rendering/ray-tracing-rendering-a-triangle/ray-triangle-intersection-geometric-solution">Ray-Triangle Intersection: Geometric Solution</a>
@@ -332,10 +729,21 @@ public class MarchingCubeWorld implements Updateable {
         return worldProperties.getCubeSize();
     }
 
-    public Grid3i<MarchingCubeChunk> getChunks() {
-        return chunks;
+    /**
+     * @return The loaded chunks in no particular order. Chunks must not be loaded or unloaded while these are
+     * iterated.
+     * */
+    public Iterable<MarchingCubeChunk> getChunks() {
+        return chunks.values();
     }
 
+    public int getLoadedChunkCount() {
+        return chunks.size();
+    }
+
+    /**
+     * @return The dimensions of this world in chunks or null if this world is unbounded.
+     * */
     public Vector3i getWorldDimensions() {
         return worldProperties.getWorldDimensions();
     }
@@ -355,4 +763,42 @@ public class MarchingCubeWorld implements Updateable {
     public WorldProperties getWorldProperties() {
         return worldProperties;
     }
+
+    public MarchingCubeChunkLoader getChunkLoader() {
+        return chunkLoader;
+    }
+
+    public void addListener(ChunkListener listener) {
+        chunkListeners.add(listener);
+    }
+
+    public boolean removeListener(ChunkListener listener) {
+        return chunkListeners.remove(listener);
+    }
+
+    @Override
+    public void destroy() {
+        chunkLoader.destroy();
+        failedChunks.clear();
+        for (MarchingCubeChunk chunk : chunks.values()) {
+            chunk.getGridCellMesh().destroy();
+        }
+        chunks.clear();
+    }
+
+    /**
+     * The failures of a chunk which has not been generated since it last failed.
+     * */
+    private static class FailedChunk {
+
+        private final long chunkKey;
+
+        private int failures;
+
+        private long retryFrame;
+
+        private FailedChunk(long chunkKey) {
+            this.chunkKey = chunkKey;
+        }
+    }
 }
@@ -19,6 +19,8 @@ public class WorldProperties {
 
     private float isoLevel;
 
+    private int maxLoadedChunks;
+
     private final int widthBitshift;
 
     private final int heightBitshift;
@@ -37,7 +39,8 @@ public class WorldProperties {
         this.cubeSize = cubeSize;
         this.isoLevel = isoLevel;
 
-        if (!isPowerOfTwo(worldDimensions.x) || !isPowerOfTwo(worldDimensions.y) || !isPowerOfTwo(worldDimensions.z)) {
+        if (worldDimensions != null && (!isPowerOfTwo(worldDimensions.x) || !isPowerOfTwo(worldDimensions.y)
+                || !isPowerOfTwo(worldDimensions.z))) {
             System.err.println(isPowerOfTwo(worldDimensions.x) + ", " + isPowerOfTwo(worldDimensions.y) + ", z=" + isPowerOfTwo(worldDimensions.z));
             throw new IllegalArgumentException("World dimensions must be in powers of two!");
         }
@@ -51,6 +54,24 @@ public class WorldProperties {
         this.depthBitshift = getTwosPower(chunkDimensions.z);
     }
 
+    /**
+     * Creates the properties of an unbounded world, whose chunks are only loaded around the positions provided to
+     * {@link MarchingCubeWorld#loadChunks(org.joml.Vector3f, int)}.
+     * @param chunkDimensions The dimensions of each chunk in cubes. Values must all be a powers of two.
+     * @param cubeSize The size of the individual cubes for each chunk.
+     * @param isoLevel The minimum iso level for each cube.
+     * */
+    public WorldProperties(Vector3i chunkDimensions, float cubeSize, float isoLevel) {
+        this(null, chunkDimensions, cubeSize, isoLevel);
+    }
+
+    /**
+     * @return True if this world has a fixed number of chunks. The dimensions of unbounded worlds are null.
+     * */
+    public boolean isBounded() {
+        return worldDimensions != null;
+    }
+
     public Vector3i getWorldDimensions() {
         return worldDimensions;
     }
@@ -83,6 +104,24 @@ public class WorldProperties {
         this.isoLevel = isoLevel;
     }
 
+    /**
+     * @return The maximum number of chunks loaded at once or zero if there is no limit.
+     * */
+    public int getMaxLoadedChunks() {
+        return maxLoadedChunks;
+    }
+
+    /**
+     * @param maxLoadedChunks The maximum number of chunks loaded at once or zero if there is no limit. The chunks
+     *                        furthest from the center of the loaded chunks are unloaded first.
+     * */
+    public void setMaxLoadedChunks(int maxLoadedChunks) {
+        if (maxLoadedChunks < 0) {
+            throw new IllegalArgumentException("The maximum number of loaded chunks cannot be negative!");
+        }
+        this.maxLoadedChunks = maxLoadedChunks;
+    }
+
     public int getWidthBitshift() {
         return widthBitshift;
     }
@@ -103,6 +142,7 @@ public class WorldProperties {
                 ", chunkDimensions=" + chunkDimensions +
                 ", cubeSize=" + cubeSize +
                 ", isoLevel=" + isoLevel +
+                ", maxLoadedChunks=" + maxLoadedChunks +
                 ", widthBitshift=" + widthBitshift +
                 ", heightBitshift=" + heightBitshift +
                 ", depthBitshift=" + depthBitshift +
@@ -0,0 +1,37 @@
+#version 330
+
+layout (location = 0) in vec3 position;
+layout (location = 1) in vec2 textureCoordinates;
+layout (location = 2) in vec3 normal;
+layout (location = 3) in vec3 tangent;
+layout (location = 4) in vec3 bitangent;
+layout (location = 5) in float morphHeight;
+
+out vec3 passPosition;
+out vec2 passTextureCoordinates;
+out mat3 passTBN;
+
+uniform mat4 projectionMatrix;
+uniform mat4 viewMatrix;
+uniform mat4 modelMatrix;
+
+uniform vec3 cameraPosition;
+
+// The distances at which vertices begin and finish morphing into the next level of detail.
+uniform vec2 morphRange;
+
+void main() {
+    float distanceToCamera = distance((modelMatrix * vec4(position, 1.0)).xyz, cameraPosition);
+    float morph = clamp((distanceToCamera - morphRange.x) / (morphRange.y - morphRange.x), 0.0, 1.0);
+    vec3 morphedPosition = vec3(position.x, mix(position.y, morphHeight, morph), position.z);
+
+    vec4 modelPosition = modelMatrix * vec4(morphedPosition, 1.0);
+    gl_Position = projectionMatrix * viewMatrix * modelPosition;
+    passPosition = modelPosition.xyz;
+    passTextureCoordinates = textureCoordinates;
+
+    vec3 T = normalize(vec3(modelMatrix * vec4(tangent,   0.0)));
+    vec3 B = normalize(vec3(modelMatrix * vec4(bitangent, 0.0)));
+    vec3 N = normalize(vec3(modelMatrix * vec4(normal,    0.0)));
+    passTBN = mat3(T, B, N);
+}
@@ -10,6 +10,7 @@ in vec3 passNormal;
 in vec2 passTextureCoordinates;
 in vec3 passTangent;
 in vec4 passViewSpace;
+flat in vec4 passAtlasTile;
 
 out vec4 fragColor;
 
@@ -92,6 +93,26 @@ float computeDist(vec4 viewSpace) {
     return -(viewSpace.z);
 }
 
+// The texture coordinates within the atlas tile and their gradients.
+vec2 atlasCoordinates;
+vec2 atlasDx;
+vec2 atlasDy;
+
+/**
+ The texture coordinates repeat once per voxel over the tile of the texture atlas. The gradients are taken before
+ wrapping so that mipmapping does not break along the edges of each repeat.
+*/
+void computeAtlasCoordinates() {
+    vec2 tileSize = passAtlasTile.zw - passAtlasTile.xy;
+    atlasCoordinates = passAtlasTile.xy + fract(passTextureCoordinates) * tileSize;
+    atlasDx = dFdx(passTextureCoordinates) * tileSize;
+    atlasDy = dFdy(passTextureCoordinates) * tileSize;
+}
+
+vec4 sampleAtlas(sampler2D atlas) {
+    return textureGrad(atlas, atlasCoordinates, atlasDx, atlasDy);
+}
+
 /**
  TBN calculation from
  http://ogldev.atspace.co.uk/www/tutorial26/tutorial26.html
@@ -101,7 +122,7 @@ vec3 calculateMappedNormal() {
     vec3 tangent = normalize(passTangent);
     tangent = normalize(tangent - dot(tangent, normal) * normal);
     vec3 bitangent = cross(tangent, normal);
-    vec3 bumpMapNormal = texture(material.normal, passTextureCoordinates).xyz;
+    vec3 bumpMapNormal = sampleAtlas(material.normal).xyz;
     bumpMapNormal = 2.0 * bumpMapNormal - vec3(1.0, 1.0, 1.0);
     vec3 newNormal;
     mat3 TBN = mat3(tangent, bitangent, normal);
@@ -111,7 +132,8 @@ vec3 calculateMappedNormal() {
 }
 
 void main() {
-    vec4 textureColor = texture(material.diffuse, passTextureCoordinates);
+    computeAtlasCoordinates();
+    vec4 textureColor = sampleAtlas(material.diffuse);
 
     // Allow transparency
     if (textureColor.a < transparencyThreshold) {
@@ -133,9 +155,9 @@ void main() {
 
     vec3 ambient  = directionalLight.ambient  *        textureColor.rgb;
     vec3 diffuse  = directionalLight.diffuse  * diff * textureColor.rgb;
-    vec3 specular = directionalLight.specular * spec * texture(material.specular, passTextureCoordinates).rgb;
+    vec3 specular = directionalLight.specular * spec * sampleAtlas(material.specular).rgb;
 
-    vec3 emission = texture(material.emission, passTextureCoordinates).rgb;
+    vec3 emission = sampleAtlas(material.emission).rgb;
 
     vec4 lightColor = vec4(ambient + diffuse + specular + emission, 1.0);
 
@@ -4,12 +4,14 @@ layout (location = 0) in vec3 position;
 layout (location = 1) in vec2 textureCoordinates;
 layout (location = 2) in vec3 normal;
 layout (location = 3) in vec3 tangent;
+layout (location = 4) in vec4 atlasTile;
 
 out vec3 passFragPos;
 out vec3 passNormal;
 out vec2 passTextureCoordinates;
 out vec3 passTangent;
 out vec4 passViewSpace;
+flat out vec4 passAtlasTile;
 
 uniform mat4 projectionMatrix;
 uniform mat4 modelMatrix;
@@ -21,6 +23,7 @@ void main() {
     passNormal = mat3(transpose(inverse(modelMatrix))) * normal;
     passTangent = vec3(modelMatrix * vec4(tangent, 0.0));
     passTextureCoordinates = textureCoordinates;
+    passAtlasTile = atlasTile;
     passViewSpace = viewMatrix * vec4(passFragPos, 1.0);
 
     gl_Position = projectionMatrix * passViewSpace;
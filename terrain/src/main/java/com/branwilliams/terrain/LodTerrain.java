@@ -0,0 +1,343 @@
+package com.branwilliams.terrain;
+
+import com.branwilliams.bundi.engine.core.Destructible;
+import com.branwilliams.bundi.engine.material.Material;
+import com.branwilliams.bundi.engine.mesh.Mesh;
+import com.branwilliams.bundi.engine.shader.Transformation;
+import com.branwilliams.bundi.engine.util.FloatGrid2;
+import com.branwilliams.bundi.engine.util.WorkerUtils;
+import com.branwilliams.terrain.builder.TerrainLodMeshBuilder;
+import com.branwilliams.terrain.builder.TerrainLodMeshData;
+import com.branwilliams.terrain.generator.HeightGenerator;
+import com.branwilliams.terrain.render.TerrainLodIndexBuffers;
+import org.joml.Vector3f;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * A terrain split into square {@link TerrainTile}s, each drawn at a level of detail picked by its distance from the
+ * camera. Level zero draws every height, while each following level skips every other height of the level before
+ * it. <br/>
+ * The vertices of a tile are built on the worker threads of a {@link TerrainTileLoader} whenever its level of detail
+ * changes, while the indices are shared by every tile with the same level of detail and the same neighbors, see
+ * {@link TerrainLodIndexBuffers}. The edges of a tile next to a coarser tile only use the vertices that coarser tile
+ * has, so there are no cracks between levels. <br/>
+ * Every method must be invoked from the thread which owns the OpenGL context.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class LodTerrain implements Destructible {
+
+    private static final int NO_LOD = -1;
+
+    private final FloatGrid2 heights;
+
+    private final float spacing;
+
+    private final int tileQuads;
+
+    private final int lodCount;
+
+    private final float lodDistance;
+
+    private final Material material;
+
+    private final TerrainTileLoader tileLoader;
+
+    private final TerrainLodMeshBuilder meshBuilder;
+
+    private final TerrainLodIndexBuffers indexBuffers;
+
+    private final int tileCountX;
+
+    private final int tileCountZ;
+
+    private final TerrainTile[] tiles;
+
+    // The level of detail each tile is drawn at.
+    private final int[] tileLods;
+
+    // The level of detail being built for each tile.
+    private final int[] requestedLods;
+
+    // The number of times in a row each tile has failed to build.
+    private final int[] failedBuilds;
+
+    // The frames left before each tile which failed to build is requested again.
+    private final int[] retryFrames;
+
+    // The key of the indices each tile is drawn with.
+    private final int[] indexKeys;
+
+    private final float[] minHeights;
+
+    private final float[] maxHeights;
+
+    private final Vector3f tileCenter = new Vector3f();
+
+    /**
+     * @param heights The heights of the entire terrain.
+     * @param spacing The distance between neighboring heights.
+     * @param tileQuads The number of quads along each side of a tile at the full resolution. This must be a power of
+     *                  two.
+     * @param lodCount The number of levels of detail. The coarsest level must still have two quads along each side of a
+     *                 tile.
+     * @param lodDistance The distance from the camera at which tiles stop using the full resolution. Each level after
+     *                    that is used for twice the distance of the level before it.
+     * */
+    public LodTerrain(FloatGrid2 heights, float spacing, int tileQuads, int lodCount, float lodDistance,
+                      Material material, TerrainTileLoader tileLoader) {
+        if (tileQuads < 2 || Integer.bitCount(tileQuads) != 1)
+            throw new IllegalArgumentException("The number of quads of a tile must be a power of two!");
+        if (lodCount <= 0 || (tileQuads >> (lodCount - 1)) < 2)
+            throw new IllegalArgumentException("The coarsest level of detail must have two quads along each side!");
+        if (lodDistance <= 0F)
+            throw new IllegalArgumentException("The level of detail distance must be positive!");
+
+        this.heights = heights;
+        this.spacing = spacing;
+        this.tileQuads = tileQuads;
+        this.lodCount = lodCount;
+        this.lodDistance = lodDistance;
+        this.material = material;
+        this.tileLoader = tileLoader;
+        this.meshBuilder = new TerrainLodMeshBuilder();
+        this.indexBuffers = new TerrainLodIndexBuffers(tileQuads);
+
+        this.tileCountX = Math.max(1, (heights.getWidth() - 1 + tileQuads - 1) / tileQuads);
+        this.tileCountZ = Math.max(1, (heights.getHeight() - 1 + tileQuads - 1) / tileQuads);
+
+        int tileCount = tileCountX * tileCountZ;
+        this.tiles = new TerrainTile[tileCount];
+        this.tileLods = new int[tileCount];
+        this.requestedLods = new int[tileCount];
+        this.failedBuilds = new int[tileCount];
+        this.retryFrames = new int[tileCount];
+        this.indexKeys = new int[tileCount];
+        this.minHeights = new float[tileCount];
+        this.maxHeights = new float[tileCount];
+        Arrays.fill(tileLods, NO_LOD);
+        Arrays.fill(requestedLods, NO_LOD);
+        Arrays.fill(indexKeys, NO_LOD);
+
+        float tileSize = tileQuads * spacing;
+        for (int tileZ = 0; tileZ < tileCountZ; tileZ++) {
+            for (int tileX = 0; tileX < tileCountX; tileX++) {
+                int tile = tileX + tileZ * tileCountX;
+                tiles[tile] = new TerrainTile(new Transformation().position(tileX * tileSize, 0, tileZ * tileSize),
+                        material);
+                computeHeightRange(tile, tileX, tileZ);
+            }
+        }
+    }
+
+    /**
+     * Creates the heights of a terrain with the provided number of heights along each side using a height generator.
+     * */
+    public static FloatGrid2 generateHeights(HeightGenerator heightGenerator, int vertexCountX, int vertexCountZ,
+                                             float amplitude) {
+        float[][] generated = heightGenerator.generateHeight(0, 0, vertexCountX, vertexCountZ, amplitude);
+        FloatGrid2 heights = new FloatGrid2(vertexCountX, vertexCountZ);
+        for (int x = 0; x < vertexCountX; x++) {
+            for (int z = 0; z < vertexCountZ; z++) {
+                heights.setUnchecked(generated[x][z], x, z);
+            }
+        }
+        return heights;
+    }
+
+    /**
+     * Uploads the tiles which have finished building, requests the tiles whose level of detail has changed and
+     * stitches every tile to its neighbors. Tiles which failed to build keep their last level of detail and are
+     * requested again after a delay which grows with each failure, see {@link WorkerUtils#retryDelayFrames(int)}.
+     * */
+    public void update(Vector3f cameraPosition) {
+        tileLoader.pollBuiltTiles(this::uploadTile);
+
+        for (int tile = 0; tile < tiles.length; tile++) {
+            if (retryFrames[tile] > 0) {
+                retryFrames[tile]--;
+                continue;
+            }
+            int lod = getDesiredLod(tile, cameraPosition);
+            if (requestedLods[tile] == NO_LOD && lod != tileLods[tile]) {
+                requestTile(tile, lod);
+            }
+        }
+
+        for (int tile = 0; tile < tiles.length; tile++) {
+            updateIndices(tile);
+        }
+    }
+
+    private void requestTile(int tile, int lod) {
+        int tileX = tile % tileCountX;
+        int tileZ = tile / tileCountX;
+        boolean coarsest = lod == lodCount - 1;
+        requestedLods[tile] = lod;
+        tileLoader.requestTile(tile, lod,
+                () -> meshBuilder.buildMeshData(heights, spacing, tileX, tileZ, tileQuads, lod, coarsest));
+    }
+
+    private void uploadTile(TerrainTileLoader.BuiltTile builtTile) {
+        int tile = builtTile.getTile();
+        requestedLods[tile] = NO_LOD;
+
+        TerrainLodMeshData meshData = builtTile.getMeshData();
+        if (meshData == null) {
+            failedBuilds[tile]++;
+            retryFrames[tile] = WorkerUtils.retryDelayFrames(failedBuilds[tile]);
+            return;
+        }
+        failedBuilds[tile] = 0;
+
+        TerrainTile terrainTile = tiles[tile];
+        Mesh mesh = terrainTile.getMesh();
+        if (mesh == null) {
+            mesh = new Mesh();
+            terrainTile.setMesh(mesh);
+        }
+
+        FloatBuffer vertices = MemoryUtil.memAllocFloat(meshData.getVertexCount() * TerrainLodMeshData.VERTEX_SIZE);
+        vertices.put(meshData.getVertices(), 0, meshData.getVertexCount() * TerrainLodMeshData.VERTEX_SIZE).flip();
+        mesh.storeInterleavedAttributes(vertices, TerrainLodMeshData.ATTRIBUTE_IDS,
+                TerrainLodMeshData.ATTRIBUTE_SIZES);
+        mesh.setVertexCount(meshData.getVertexCount());
+
+        tileLods[tile] = builtTile.getLod();
+        indexKeys[tile] = NO_LOD;
+    }
+
+    /**
+     * Shares the indices matching the level of detail of this tile and its neighbors with the mesh of this tile.
+     * */
+    private void updateIndices(int tile) {
+        int lod = tileLods[tile];
+        if (lod == NO_LOD) {
+            return;
+        }
+        int tileX = tile % tileCountX;
+        int tileZ = tile / tileCountX;
+        int strideMinX = getStride(lod, tileX - 1, tileZ);
+        int strideMaxX = getStride(lod, tileX + 1, tileZ);
+        int strideMinZ = getStride(lod, tileX, tileZ - 1);
+        int strideMaxZ = getStride(lod, tileX, tileZ + 1);
+
+        int key = TerrainLodIndexBuffers.toKey(lod, strideMinX, strideMaxX, strideMinZ, strideMaxZ);
+        if (key != indexKeys[tile]) {
+            TerrainLodIndexBuffers.IndexBuffer indexBuffer = indexBuffers.getIndexBuffer(lod, strideMinX, strideMaxX,
+                    strideMinZ, strideMaxZ);
+            tiles[tile].getMesh().shareIndices(indexBuffer.getEbo(), indexBuffer.getIndexCount());
+            indexKeys[tile] = key;
+        }
+    }
+
+    /**
+     * @return The number of quads of a tile at the provided level of detail spanned by each quad of the neighbor at
+     * (tileX, tileZ) along their shared edge.
+     * */
+    private int getStride(int lod, int tileX, int tileZ) {
+        if (tileX < 0 || tileX >= tileCountX || tileZ < 0 || tileZ >= tileCountZ) {
+            return 1;
+        }
+        int neighborLod = tileLods[tileX + tileZ * tileCountX];
+        if (neighborLod <= lod) {
+            return 1;
+        }
+        return Math.min(1 << (neighborLod - lod), tileQuads >> lod);
+    }
+
+    /**
+     * @return The level of detail for the tile, chosen from the distance between the camera and the nearest point of
+     * the bounding box of that tile.
+     * */
+    private int getDesiredLod(int tile, Vector3f cameraPosition) {
+        float tileSize = tileQuads * spacing;
+        float minX = (tile % tileCountX) * tileSize;
+        float minZ = (tile / tileCountX) * tileSize;
+        tileCenter.set(clamp(cameraPosition.x, minX, minX + tileSize),
+                clamp(cameraPosition.y, minHeights[tile], maxHeights[tile]),
+                clamp(cameraPosition.z, minZ, minZ + tileSize));
+        float distance = tileCenter.distance(cameraPosition);
+
+        int lod = 0;
+        while (lod < lodCount - 1 && distance >= getLodDistance(lod + 1)) {
+            lod++;
+        }
+        return lod;
+    }
+
+    private void computeHeightRange(int tile, int tileX, int tileZ) {
+        float minHeight = Float.POSITIVE_INFINITY;
+        float maxHeight = Float.NEGATIVE_INFINITY;
+        for (int z = 0; z <= tileQuads; z++) {
+            for (int x = 0; x <= tileQuads; x++) {
+                float height = heights.getValue(tileX * tileQuads + x, tileZ * tileQuads + z);
+                minHeight = Math.min(minHeight, height);
+                maxHeight = Math.max(maxHeight, height);
+            }
+        }
+        minHeights[tile] = minHeight;
+        maxHeights[tile] = maxHeight;
+    }
+
+    /**
+     * @return The distance from the camera at which tiles begin to use the provided level of detail.
+     * */
+    public float getLodDistance(int lod) {
+        return lod == 0 ? 0F : lodDistance * (1 << (lod - 1));
+    }
+
+    /**
+     * @return The distance from the camera at which the vertices of a tile at the provided level of detail begin to
+     * morph into the next level of detail. The vertices of the coarsest level morph into their own heights, so they
+     * never move.
+     * */
+    public float getMorphStart(int lod) {
+        return 0.5F * (getLodDistance(lod) + getLodDistance(lod + 1));
+    }
+
+    /**
+     * @return The distance from the camera at which the vertices of a tile at the provided level of detail have fully
+     * morphed into the next level of detail.
+     * */
+    public float getMorphEnd(int lod) {
+        return getLodDistance(lod + 1);
+    }
+
+    private static float clamp(float value, float min, float max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    public TerrainTile[] getTiles() {
+        return tiles;
+    }
+
+    /**
+     * @return The level of detail the tile is drawn at or -1 if it has not been built yet.
+     * */
+    public int getTileLod(int tile) {
+        return tileLods[tile];
+    }
+
+    public int getLodCount() {
+        return lodCount;
+    }
+
+    public Material getMaterial() {
+        return material;
+    }
+
+    @Override
+    public void destroy() {
+        for (TerrainTile tile : tiles) {
+            if (tile.getMesh() != null) {
+                tile.destroy();
+            }
+        }
+        indexBuffers.destroy();
+    }
+}
@@ -12,16 +12,15 @@ import com.branwilliams.bundi.engine.texture.ArrayTexture;
 import com.branwilliams.bundi.engine.texture.Texture;
 import com.branwilliams.bundi.engine.texture.TextureData;
 import com.branwilliams.bundi.engine.texture.TextureLoader;
+import com.branwilliams.bundi.engine.util.FloatGrid2;
 import com.branwilliams.bundi.engine.util.IOUtils;
 import com.branwilliams.bundi.engine.util.noise.LayeredNoise;
 import com.branwilliams.bundi.engine.util.noise.Noise;
 import com.branwilliams.bundi.engine.util.noise.OpenSimplexNoise;
-import com.branwilliams.terrain.builder.TerrainMeshBuilder;
-import com.branwilliams.terrain.builder.TerrainTileBuilder;
 import com.branwilliams.terrain.component.TerrainMaterial;
 import com.branwilliams.terrain.component.TerrainTexture;
 import com.branwilliams.terrain.generator.*;
-import com.branwilliams.terrain.render.TerrainRenderPass2;
+import com.branwilliams.terrain.render.TerrainLodRenderPass;
 import com.branwilliams.terrain.render.TerrainRenderer;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -38,11 +37,15 @@ public class TerrainScene extends AbstractScene {
 
     private static final int TERRAIN_TILE_SIZE = 256;
 
-    private static final int TERRAIN_TILE_VERTICES_X = 256;
+    private static final float TERRAIN_TILE_AMPLITUDE = 128;
 
-    private static final int TERRAIN_TILE_VERTICES_Z = 256;
+    private static final int LOD_TERRAIN_SIZE = 1024;
 
-    private static final float TERRAIN_TILE_AMPLITUDE = 128;
+    private static final int LOD_TILE_QUADS = 32;
+
+    private static final int LOD_COUNT = 4;
+
+    private static final float LOD_DISTANCE = 64F;
 
     private Camera camera;
 
@@ -50,6 +53,10 @@ public class TerrainScene extends AbstractScene {
 
     private TextureData heightmap;
 
+    private TerrainTileLoader tileLoader;
+
+    private LodTerrain lodTerrain;
+
     public TerrainScene() {
         super("terrain_scene");
     }
@@ -63,7 +70,7 @@ public class TerrainScene extends AbstractScene {
 
         RenderContext renderContext = new RenderContext(worldProjection);
         RenderPipeline<RenderContext> renderPipeline = new RenderPipeline<>(renderContext);
-        renderPipeline.addLast(new TerrainRenderPass2(this, this::getCamera));
+        renderPipeline.addLast(new TerrainLodRenderPass(this, this::getCamera));
 //        renderPipeline.addLast(new LineGraphRenderPass(this));
         setRenderer(new TerrainRenderer(this, renderPipeline));
     }
@@ -72,7 +79,7 @@ public class TerrainScene extends AbstractScene {
     public void play(Engine engine) {
         this.camera = new Camera();
         this.camera.move(0F, TERRAIN_TILE_AMPLITUDE, -4F);
-        this.camera.lookAt(TERRAIN_TILE_SIZE * 0.5F, 0F, TERRAIN_TILE_SIZE * 0.5F);
+        this.camera.lookAt(LOD_TERRAIN_SIZE * 0.5F, 0F, LOD_TERRAIN_SIZE * 0.5F);
 
         // Create the material for the terrain
         TextureLoader textureLoader = new TextureLoader(engine.getContext());
@@ -103,17 +110,15 @@ public class TerrainScene extends AbstractScene {
 
         HeightGenerator generator = new NoiseHeightGenerator(heightNoise, 1F / TERRAIN_TILE_SIZE);
 
-        // Create the tile builder
-        TerrainTileBuilder terrainTileBuilder = new TerrainTileBuilder();
-        TerrainTile terrainTile = terrainTileBuilder.buildTerrainTile(generator, material, TERRAIN_TILE_AMPLITUDE,
-                0, 0, TERRAIN_TILE_SIZE, TERRAIN_TILE_VERTICES_X, TERRAIN_TILE_VERTICES_Z);
-
-        // Create the mesh builder for that tile
-        TerrainMeshBuilder terrainMeshBuilder = new TerrainMeshBuilder();
-        terrainMeshBuilder.buildTerrainMesh(terrainTile);
+        // Create a terrain made of tiles which are drawn with less detail further from the camera
+        FloatGrid2 heights = LodTerrain.generateHeights(generator, LOD_TERRAIN_SIZE + 1, LOD_TERRAIN_SIZE + 1,
+                TERRAIN_TILE_AMPLITUDE);
+        tileLoader = new TerrainTileLoader();
+        lodTerrain = new LodTerrain(heights, 1F, LOD_TILE_QUADS, LOD_COUNT, LOD_DISTANCE, material, tileLoader);
+        lodTerrain.update(camera.getPosition());
 
-        es.entity("terrainTile").component(
-                terrainTile
+        es.entity("lodTerrain").component(
+                lodTerrain
         ).build();
 
         es.entity("cameraEntity").component(
@@ -188,6 +193,20 @@ public class TerrainScene extends AbstractScene {
     @Override
     public void update(Engine engine, double deltaTime) {
         super.update(engine, deltaTime);
+        if (lodTerrain != null) {
+            lodTerrain.update(camera.getPosition());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        super.destroy();
+        if (tileLoader != null) {
+            tileLoader.destroy();
+        }
+        if (lodTerrain != null) {
+            lodTerrain.destroy();
+        }
     }
 
     public Camera getCamera() {
@@ -0,0 +1,112 @@
+package com.branwilliams.terrain;
+
+import com.branwilliams.bundi.engine.core.Destructible;
+import com.branwilliams.bundi.engine.util.WorkerUtils;
+import com.branwilliams.terrain.builder.TerrainLodMeshData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Builds the vertices of terrain tiles on a pool of worker threads. <br/>
+ * Built tiles are handed back through a queue which is drained by the main thread within a time budget each frame, so
+ * every OpenGL call stays on the main thread and uploading many tiles at once does not stall a frame. <br/>
+ * Every method except the work done by the workers must be invoked from the main thread.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class TerrainTileLoader implements Destructible {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final ExecutorService workers;
+
+    private final Queue<BuiltTile> builtTiles;
+
+    private final long uploadBudgetNanos;
+
+    public TerrainTileLoader() {
+        this(WorkerUtils.defaultWorkerCount(), WorkerUtils.DEFAULT_UPLOAD_BUDGET_NS);
+    }
+
+    /**
+     * @param workerCount The number of worker threads.
+     * @param uploadBudgetNanos The time spent uploading tiles each frame. At least one tile is uploaded each frame.
+     * */
+    public TerrainTileLoader(int workerCount, long uploadBudgetNanos) {
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("The worker count must be positive!");
+        }
+        this.workers = WorkerUtils.newDaemonThreadPool(workerCount, "terrain-tile-worker");
+        this.builtTiles = new ConcurrentLinkedQueue<>();
+        this.uploadBudgetNanos = uploadBudgetNanos;
+    }
+
+    /**
+     * Builds the vertices of a tile on a worker thread. A tile which could not be built is handed back without any
+     * vertices.
+     * @param tile The index of the tile.
+     * @param lod The level of detail being built.
+     * */
+    public void requestTile(int tile, int lod, Supplier<TerrainLodMeshData> builder) {
+        workers.execute(() -> {
+            TerrainLodMeshData meshData = null;
+            try {
+                meshData = builder.get();
+            } catch (RuntimeException e) {
+                log.error("Unable to build terrain tile " + tile + " at level of detail " + lod, e);
+            }
+            builtTiles.add(new BuiltTile(tile, lod, meshData));
+        });
+    }
+
+    /**
+     * Performs the action for the tiles which have finished building, see
+     * {@link WorkerUtils#pollWithinBudget(Queue, long, Consumer)}.
+     * */
+    public void pollBuiltTiles(Consumer<BuiltTile> action) {
+        WorkerUtils.pollWithinBudget(builtTiles, uploadBudgetNanos, action);
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+        builtTiles.clear();
+    }
+
+    public static class BuiltTile {
+
+        private final int tile;
+
+        private final int lod;
+
+        private final TerrainLodMeshData meshData;
+
+        private BuiltTile(int tile, int lod, TerrainLodMeshData meshData) {
+            this.tile = tile;
+            this.lod = lod;
+            this.meshData = meshData;
+        }
+
+        public int getTile() {
+            return tile;
+        }
+
+        public int getLod() {
+            return lod;
+        }
+
+        /**
+         * @return The vertices of the tile or null if it could not be built.
+         * */
+        public TerrainLodMeshData getMeshData() {
+            return meshData;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.branwilliams.terrain.builder;
+
+import com.branwilliams.bundi.engine.util.FloatGrid2;
+
+import java.util.Arrays;
+
+/**
+ * Builds the vertices of terrain tiles at a level of detail from a grid of heights. Each tile covers the same square of
+ * heights at every level of detail, skipping every other height of the previous level. <br/>
+ * Every tile at a level of detail has the same layout of vertices, so their indices are shared. The edges of a tile are
+ * stitched to a coarser neighbor by only using the vertices of that edge which the neighbor also has. <br/>
+ * Each interior vertex also stores the height it has at the next level of detail, which the terrain shader morphs
+ * towards with distance so that tiles do not pop when they change level. The vertices along the edges of a tile never
+ * morph, so the edges of neighboring tiles always match. <br/>
+ * This makes no OpenGL calls and may be invoked from any thread.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class TerrainLodMeshBuilder {
+
+    /**
+     * Builds the vertices of the tile at (tileX, tileZ).
+     * @param heights The heights of the entire terrain. Heights outside of this grid are clamped to its edges.
+     * @param spacing The distance between neighboring heights.
+     * @param tileQuads The number of quads along each side of a tile at the full resolution. This must be a power of
+     *                  two.
+     * @param lod The level of detail, zero being the full resolution.
+     * @param coarsest True if there is no level of detail after this one, in which case no vertex morphs.
+     * */
+    public TerrainLodMeshData buildMeshData(FloatGrid2 heights, float spacing, int tileX, int tileZ, int tileQuads,
+                                            int lod, boolean coarsest) {
+        int step = 1 << lod;
+        int quads = tileQuads >> lod;
+        int verticesPerSide = quads + 1;
+        int baseX = tileX * tileQuads;
+        int baseZ = tileZ * tileQuads;
+
+        float uvScaleX = 1F / Math.max(heights.getWidth() - 1, 1);
+        float uvScaleZ = 1F / Math.max(heights.getHeight() - 1, 1);
+
+        float[] vertices = new float[verticesPerSide * verticesPerSide * TerrainLodMeshData.VERTEX_SIZE];
+        float minHeight = Float.POSITIVE_INFINITY;
+        float maxHeight = Float.NEGATIVE_INFINITY;
+
+        int offset = 0;
+        for (int z = 0; z < verticesPerSide; z++) {
+            for (int x = 0; x < verticesPerSide; x++) {
+                int sampleX = baseX + x * step;
+                int sampleZ = baseZ + z * step;
+                float height = heights.getValue(sampleX, sampleZ);
+                minHeight = Math.min(minHeight, height);
+                maxHeight = Math.max(maxHeight, height);
+
+                // The slope is taken from the full resolution heights, so lighting does not change with the level.
+                float heightL = heights.getValue(sampleX - 1, sampleZ);
+                float heightR = heights.getValue(sampleX + 1, sampleZ);
+                float heightD = heights.getValue(sampleX, sampleZ - 1);
+                float heightU = heights.getValue(sampleX, sampleZ + 1);
+
+                // position
+                vertices[offset++] = x * step * spacing;
+                vertices[offset++] = height;
+                vertices[offset++] = z * step * spacing;
+
+                // texture coordinates
+                vertices[offset++] = sampleX * uvScaleX;
+                vertices[offset++] = sampleZ * uvScaleZ;
+
+                // normal
+                offset = putNormalized(vertices, offset, heightL - heightR, 2F * spacing, heightD - heightU);
+
+                // tangent and bitangent, along the x and z axes where the texture coordinates increase
+                offset = putNormalized(vertices, offset, 2F * spacing, heightR - heightL, 0F);
+                offset = putNormalized(vertices, offset, 0F, heightU - heightD, 2F * spacing);
+
+                vertices[offset++] = coarsest ? height : getMorphHeight(heights, baseX, baseZ, step, quads, x, z);
+            }
+        }
+        return new TerrainLodMeshData(vertices, verticesPerSide * verticesPerSide, lod, minHeight, maxHeight);
+    }
+
+    /**
+     * @return The height of the vertex at (x, z) of a tile once the next level of detail has removed every other
+     * vertex, which is the height halfway along the edge or diagonal of the coarser quad it lies on.
+     * */
+    private static float getMorphHeight(FloatGrid2 heights, int baseX, int baseZ, int step, int quads, int x, int z) {
+        int sampleX = baseX + x * step;
+        int sampleZ = baseZ + z * step;
+        boolean oddX = (x & 1) == 1;
+        boolean oddZ = (z & 1) == 1;
+
+        if (x == 0 || z == 0 || x == quads || z == quads || (!oddX && !oddZ)) {
+            return heights.getValue(sampleX, sampleZ);
+        }
+        if (oddX && oddZ) {
+            // The diagonal used by buildIndices runs from the (+x, -z) corner to the (-x, +z) corner of each quad.
+            return 0.5F * (heights.getValue(sampleX + step, sampleZ - step)
+                    + heights.getValue(sampleX - step, sampleZ + step));
+        }
+        if (oddX) {
+            return 0.5F * (heights.getValue(sampleX - step, sampleZ) + heights.getValue(sampleX + step, sampleZ));
+        }
+        return 0.5F * (heights.getValue(sampleX, sampleZ - step) + heights.getValue(sampleX, sampleZ + step));
+    }
+
+    private static int putNormalized(float[] vertices, int offset, float x, float y, float z) {
+        float length = (float) Math.sqrt(x * x + y * y + z * z);
+        if (length > 0F) {
+            x /= length;
+            y /= length;
+            z /= length;
+        }
+        vertices[offset] = x;
+        vertices[offset + 1] = y;
+        vertices[offset + 2] = z;
+        return offset + 3;
+    }
+
+    /**
+     * Builds the indices of a tile with the provided number of quads along each side. Each stride is the number of
+     * quads of this tile spanned by each quad of the neighbor along that edge, which is one unless that neighbor is
+     * coarser. Strides must be powers of two no larger than the number of quads. <br/>
+     * The interior quads are split along the same diagonal, while the outermost ring of quads is triangulated as four
+     * strips between the vertices used along each edge and the ring of vertices inside of it. Triangles wind counter
+     * clockwise when seen from above.
+     * */
+    public static int[] buildIndices(int quads, int strideMinX, int strideMaxX, int strideMinZ, int strideMaxZ) {
+        if (quads < 2)
+            throw new IllegalArgumentException("A tile must have at least two quads along each side!");
+        checkStride(quads, strideMinX);
+        checkStride(quads, strideMaxX);
+        checkStride(quads, strideMinZ);
+        checkStride(quads, strideMaxZ);
+
+        IndexWriter writer = new IndexWriter(quads + 1, 6 * quads * quads);
+
+        for (int z = 1; z < quads - 1; z++) {
+            for (int x = 1; x < quads - 1; x++) {
+                writer.putTriangle(x, z, x, z + 1, x + 1, z);
+                writer.putTriangle(x + 1, z, x, z + 1, x + 1, z + 1);
+            }
+        }
+
+        // Each strip runs between an edge and the row or column next to it.
+        writer.putStrip(quads, strideMinZ, 0, 0, 1, 0, 0, 1);
+        writer.putStrip(quads, strideMaxZ, 0, quads, 1, 0, 0, -1);
+        writer.putStrip(quads, strideMinX, 0, 0, 0, 1, 1, 0);
+        writer.putStrip(quads, strideMaxX, quads, 0, 0, 1, -1, 0);
+        return writer.toArray();
+    }
+
+    private static void checkStride(int quads, int stride) {
+        if (stride <= 0 || (stride & (stride - 1)) != 0 || stride > quads)
+            throw new IllegalArgumentException("Strides must be powers of two no larger than the number of quads!");
+    }
+
+    private static class IndexWriter {
+
+        private final int verticesPerSide;
+
+        private int[] indices;
+
+        private int count;
+
+        private IndexWriter(int verticesPerSide, int capacity) {
+            this.verticesPerSide = verticesPerSide;
+            this.indices = new int[capacity];
+        }
+
+        /**
+         * Writes the strip between the vertices along an edge, every stride vertices, and the vertices one step inwards
+         * which are not on any edge. Both rows are walked together, always advancing along whichever row's next vertex
+         * comes first.
+         * @param startX The first vertex of the edge.
+         * @param alongX The direction along the edge.
+         * @param inwardX The direction from the edge into the tile.
+         * */
+        private void putStrip(int quads, int stride, int startX, int startZ, int alongX, int alongZ, int inwardX,
+                              int inwardZ) {
+            int edge = 0;
+            int inner = 1;
+            while (edge < quads || inner < quads - 1) {
+                int edgeX = startX + alongX * edge;
+                int edgeZ = startZ + alongZ * edge;
+                int innerX = startX + alongX * inner + inwardX;
+                int innerZ = startZ + alongZ * inner + inwardZ;
+
+                if (inner >= quads - 1 || (edge < quads && edge + stride <= inner + 1)) {
+                    putTriangle(edgeX, edgeZ, innerX, innerZ, edgeX + alongX * stride, edgeZ + alongZ * stride);
+                    edge += stride;
+                } else {
+                    putTriangle(edgeX, edgeZ, innerX, innerZ, innerX + alongX, innerZ + alongZ);
+                    inner++;
+                }
+            }
+        }
+
+        /**
+         * Writes a triangle, swapping its last two vertices when needed so that it winds counter clockwise when seen
+         * from above.
+         * */
+        private void putTriangle(int x1, int z1, int x2, int z2, int x3, int z3) {
+            // The y component of the normal of the triangle.
+            int normalY = (z2 - z1) * (x3 - x1) - (x2 - x1) * (z3 - z1);
+            if (normalY < 0) {
+                int x = x2;
+                int z = z2;
+                x2 = x3;
+                z2 = z3;
+                x3 = x;
+                z3 = z;
+            }
+
+            if (count + 3 > indices.length) {
+                indices = Arrays.copyOf(indices, indices.length * 2);
+            }
+            indices[count++] = x1 + z1 * verticesPerSide;
+            indices[count++] = x2 + z2 * verticesPerSide;
+            indices[count++] = x3 + z3 * verticesPerSide;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(indices, count);
+        }
+    }
+}
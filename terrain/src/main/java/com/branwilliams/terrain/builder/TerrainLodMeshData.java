@@ -0,0 +1,66 @@
+package com.branwilliams.terrain.builder;
+
+/**
+ * The vertices of a terrain tile at a level of detail. This is built without any OpenGL calls, so it can be built on a
+ * worker thread and uploaded later on the thread which owns the OpenGL context. <br/>
+ * The vertices are interleaved, each holding its position (3), texture coordinates (2), normal (3), tangent (3),
+ * bitangent (3) and the height it morphs into at the next level of detail (1). The indices are shared by every tile
+ * at the same level of detail, see {@link TerrainLodMeshBuilder#buildIndices(int, int, int, int, int)}.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class TerrainLodMeshData {
+
+    /** The attribute ids of each vertex element, matching the terrain shaders. */
+    public static final int[] ATTRIBUTE_IDS = { 0, 1, 2, 3, 4, 5 };
+
+    /** The number of floats of each vertex element. */
+    public static final int[] ATTRIBUTE_SIZES = { 3, 2, 3, 3, 3, 1 };
+
+    /** The number of floats within each vertex. */
+    public static final int VERTEX_SIZE = 3 + 2 + 3 + 3 + 3 + 1;
+
+    private final float[] vertices;
+
+    private final int vertexCount;
+
+    private final int lod;
+
+    private final float minHeight;
+
+    private final float maxHeight;
+
+    public TerrainLodMeshData(float[] vertices, int vertexCount, int lod, float minHeight, float maxHeight) {
+        if (vertices.length < vertexCount * VERTEX_SIZE)
+            throw new IllegalArgumentException("Vertices must hold vertexCount * VERTEX_SIZE floats");
+        this.vertices = vertices;
+        this.vertexCount = vertexCount;
+        this.lod = lod;
+        this.minHeight = minHeight;
+        this.maxHeight = maxHeight;
+    }
+
+    public float[] getVertices() {
+        return vertices;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * @return The level of detail of these vertices, zero being the full resolution of the heights.
+     * */
+    public int getLod() {
+        return lod;
+    }
+
+    public float getMinHeight() {
+        return minHeight;
+    }
+
+    public float getMaxHeight() {
+        return maxHeight;
+    }
+}
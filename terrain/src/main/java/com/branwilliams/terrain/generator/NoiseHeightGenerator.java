@@ -1,6 +1,6 @@
 package com.branwilliams.terrain.generator;
 
-import com.branwilliams.bundi.engine.util.Grid2i;
+import com.branwilliams.bundi.engine.util.FloatGrid2;
 import com.branwilliams.bundi.engine.util.Mathf;
 import com.branwilliams.bundi.engine.util.noise.Noise;
 import com.branwilliams.bundi.engine.util.noise.OpenSimplexNoise;
@@ -29,14 +29,14 @@ public class NoiseHeightGenerator implements HeightGenerator {
         z = z - z * (1F / vertexCountZ);
 
         Vector2d origin = new Vector2d(x * vertexCountX + 1F, z * vertexCountZ + 1F);
-        Grid2i<Double> noiseGrid = noise.noiseGrid2i(origin, noiseScale, vertexCountX, vertexCountZ);
+        FloatGrid2 noiseGrid = noise.noiseFloatGrid2(origin, noiseScale, vertexCountX, vertexCountZ);
 
         float[][] heights = new float[vertexCountX][vertexCountZ];
 
         for (int i = 0; i < vertexCountX; i++) {
             heights[i] = new float[vertexCountZ];
             for (int j = 0; j < vertexCountZ; j++) {
-                float e = noiseGrid.getValue(i, j).floatValue();
+                float e = noiseGrid.getUnchecked(i, j);
                 heights[i][j] = ((e + 1F) * 0.5F) * amplitude;
 
 //                heights[i][j] = ((Mathf.clamp(e, 1F) + 1F) * 0.5F) * amplitude;
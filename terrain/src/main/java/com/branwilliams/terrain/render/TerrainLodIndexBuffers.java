@@ -0,0 +1,119 @@
+package com.branwilliams.terrain.render;
+
+import com.branwilliams.bundi.engine.core.Destructible;
+import com.branwilliams.bundi.engine.shader.VertexBufferObject;
+import com.branwilliams.terrain.builder.TerrainLodMeshBuilder;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.IntBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
+
+/**
+ * The element buffers shared by every terrain tile with the same level of detail and the same stitching along each of
+ * its edges. Each buffer is created the first time it is needed, so only the combinations which actually occur are
+ * ever uploaded. <br/>
+ * Every method must be invoked from the thread which owns the OpenGL context.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class TerrainLodIndexBuffers implements Destructible {
+
+    // The number of bits used for the level of detail and the power of two of each stride within a key.
+    private static final int KEY_BITS = 5;
+
+    private final int tileQuads;
+
+    private final Map<Integer, IndexBuffer> indexBuffers = new HashMap<>();
+
+    /**
+     * @param tileQuads The number of quads along each side of a tile at the full resolution.
+     * */
+    public TerrainLodIndexBuffers(int tileQuads) {
+        this.tileQuads = tileQuads;
+    }
+
+    /**
+     * @return The element buffer for a tile at the provided level of detail, creating it if necessary. Strides are
+     * described by {@link TerrainLodMeshBuilder#buildIndices(int, int, int, int, int)}.
+     * */
+    public IndexBuffer getIndexBuffer(int lod, int strideMinX, int strideMaxX, int strideMinZ, int strideMaxZ) {
+        int key = toKey(lod, strideMinX, strideMaxX, strideMinZ, strideMaxZ);
+        IndexBuffer indexBuffer = indexBuffers.get(key);
+        if (indexBuffer == null) {
+            int[] indices = TerrainLodMeshBuilder.buildIndices(tileQuads >> lod, strideMinX, strideMaxX, strideMinZ,
+                    strideMaxZ);
+            IntBuffer buffer = MemoryUtil.memAllocInt(indices.length);
+            try {
+                buffer.put(indices).flip();
+                VertexBufferObject ebo = new VertexBufferObject(GL_ELEMENT_ARRAY_BUFFER);
+                ebo.bind();
+                ebo.storeBuffer(buffer, GL_STATIC_DRAW);
+                ebo.unbind();
+                indexBuffer = new IndexBuffer(key, ebo, indices.length);
+            } finally {
+                MemoryUtil.memFree(buffer);
+            }
+            indexBuffers.put(key, indexBuffer);
+        }
+        return indexBuffer;
+    }
+
+    /**
+     * @return The number of element buffers created.
+     * */
+    public int size() {
+        return indexBuffers.size();
+    }
+
+    /**
+     * @return A unique key for the level of detail and strides provided. Strides are powers of two, so only their
+     * exponent is stored.
+     * */
+    public static int toKey(int lod, int strideMinX, int strideMaxX, int strideMinZ, int strideMaxZ) {
+        return lod
+                | Integer.numberOfTrailingZeros(strideMinX) << KEY_BITS
+                | Integer.numberOfTrailingZeros(strideMaxX) << (KEY_BITS * 2)
+                | Integer.numberOfTrailingZeros(strideMinZ) << (KEY_BITS * 3)
+                | Integer.numberOfTrailingZeros(strideMaxZ) << (KEY_BITS * 4);
+    }
+
+    @Override
+    public void destroy() {
+        for (IndexBuffer indexBuffer : indexBuffers.values()) {
+            indexBuffer.getEbo().destroy();
+        }
+        indexBuffers.clear();
+    }
+
+    public static class IndexBuffer {
+
+        private final int key;
+
+        private final VertexBufferObject ebo;
+
+        private final int indexCount;
+
+        private IndexBuffer(int key, VertexBufferObject ebo, int indexCount) {
+            this.key = key;
+            this.ebo = ebo;
+            this.indexCount = indexCount;
+        }
+
+        public int getKey() {
+            return key;
+        }
+
+        public VertexBufferObject getEbo() {
+            return ebo;
+        }
+
+        public int getIndexCount() {
+            return indexCount;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.branwilliams.terrain.render;
+
+import com.branwilliams.bundi.engine.core.Engine;
+import com.branwilliams.bundi.engine.core.Scene;
+import com.branwilliams.bundi.engine.core.window.Window;
+import com.branwilliams.bundi.engine.core.pipeline.InitializationException;
+import com.branwilliams.bundi.engine.core.pipeline.RenderContext;
+import com.branwilliams.bundi.engine.core.pipeline.RenderPass;
+import com.branwilliams.bundi.engine.ecs.IComponentMatcher;
+import com.branwilliams.bundi.engine.ecs.IEntity;
+import com.branwilliams.bundi.engine.mesh.Mesh;
+import com.branwilliams.bundi.engine.mesh.MeshRenderer;
+import com.branwilliams.bundi.engine.shader.Camera;
+import com.branwilliams.bundi.engine.shader.ShaderInitializationException;
+import com.branwilliams.bundi.engine.shader.ShaderUniformException;
+import com.branwilliams.terrain.LodTerrain;
+import com.branwilliams.terrain.TerrainTile;
+
+import java.util.function.Supplier;
+
+/**
+ * Renders the tiles of each {@link LodTerrain} which have been built.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class TerrainLodRenderPass extends RenderPass<RenderContext> {
+
+    private final Scene scene;
+
+    private final Supplier<Camera> cameraSupplier;
+
+    private final IComponentMatcher componentMatcher;
+
+    private TerrainLodShaderProgram shaderProgram;
+
+    public TerrainLodRenderPass(Scene scene, Supplier<Camera> cameraSupplier) {
+        this.scene = scene;
+        this.cameraSupplier = cameraSupplier;
+        componentMatcher = scene.getEs().matcher(LodTerrain.class);
+    }
+
+    @Override
+    public void init(RenderContext renderContext, Engine engine, Window window) throws InitializationException {
+        try {
+            shaderProgram = new TerrainLodShaderProgram(engine.getContext());
+        } catch (ShaderUniformException | ShaderInitializationException e) {
+            System.err.println("Unable to create terrain shader program!");
+            throw new InitializationException(e);
+        }
+    }
+
+    @Override
+    public void render(RenderContext renderContext, Engine engine, Window window, double deltaTime) {
+        this.shaderProgram.bind();
+        this.shaderProgram.setProjectionMatrix(renderContext.getProjection());
+        this.shaderProgram.setViewMatrix(cameraSupplier.get());
+
+        for (IEntity entity : scene.getEs().getEntities(componentMatcher)) {
+            LodTerrain terrain = entity.getComponent(LodTerrain.class);
+            this.shaderProgram.setMaterial(terrain.getMaterial());
+
+            TerrainTile[] tiles = terrain.getTiles();
+            for (int tile = 0; tile < tiles.length; tile++) {
+                Mesh mesh = tiles[tile].getMesh();
+                if (mesh == null || !mesh.hasIndices()) {
+                    continue;
+                }
+                int lod = terrain.getTileLod(tile);
+                this.shaderProgram.setModelMatrix(tiles[tile].getTransform());
+                this.shaderProgram.setMorphRange(terrain.getMorphStart(lod), terrain.getMorphEnd(lod));
+
+                MeshRenderer.render(mesh, tiles[tile].getMaterial());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.branwilliams.terrain.render;
+
+import com.branwilliams.bundi.engine.core.context.EngineContext;
+import com.branwilliams.bundi.engine.material.Material;
+import com.branwilliams.bundi.engine.shader.*;
+import com.branwilliams.bundi.engine.util.IOUtils;
+import com.branwilliams.bundi.engine.util.Mathf;
+import org.joml.Matrix4f;
+import org.joml.Vector2f;
+
+import java.nio.file.Path;
+
+/**
+ * Draws the tiles of a {@link com.branwilliams.terrain.LodTerrain}, morphing the vertices of each tile into the next
+ * level of detail as they near the distance at which that level is used.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class TerrainLodShaderProgram extends ShaderProgram {
+
+    private final Matrix4f worldMatrix = new Matrix4f();
+
+    private final Vector2f morphRange = new Vector2f();
+
+    public TerrainLodShaderProgram(EngineContext engineContext) throws ShaderInitializationException,
+            ShaderUniformException {
+        Path directory = engineContext.getAssetDirectory();
+        this.setVertexShader(IOUtils.readFile(directory, "shaders/terrain/lodVertexShader.vert", null));
+        this.setFragmentShader(IOUtils.readFile(directory, "shaders/terrain/fragmentShader2.frag", null));
+        this.link();
+
+        this.createUniform("projectionMatrix");
+        this.createUniform("viewMatrix");
+        this.createUniform("modelMatrix");
+        this.createUniform("cameraPosition");
+        this.createUniform("morphRange");
+        this.createUniform("textureSampler");
+        this.createUniform("normalSampler");
+        this.createUniform("hasNormalTexture");
+        this.createUniform("materialShininess");
+        this.createUniform("tiling");
+        this.bind();
+        this.setUniform("textureSampler", 0);
+        this.setUniform("normalSampler", 1);
+
+        ShaderProgram.unbind();
+        this.validate();
+    }
+
+    public void setMaterial(Material material) {
+        this.setUniform("materialShininess", (float) material.getPropertyOrDefault("materialShininess", 0F));
+        this.setUniform("hasNormalTexture", (boolean) material.getPropertyOrDefault("hasNormalTexture", false));
+        this.setUniform("tiling", (int) material.getPropertyOrDefault("tiling", 0));
+    }
+
+    public void setProjectionMatrix(Projection projection) {
+        this.setUniform("projectionMatrix", projection.toProjectionMatrix());
+    }
+
+    public void setViewMatrix(Camera camera) {
+        this.setUniform("viewMatrix", camera.toViewMatrix());
+        this.setUniform("cameraPosition", camera.getPosition());
+    }
+
+    public void setModelMatrix(Transformable transformable) {
+        this.setUniform("modelMatrix", Mathf.toModelMatrix(worldMatrix, transformable));
+    }
+
+    public void setMorphRange(float morphStart, float morphEnd) {
+        this.setUniform("morphRange", morphRange.set(morphStart, morphEnd));
+    }
+}
@@ -2,35 +2,87 @@ package com.branwilliams.bundi.voxel;
 
 import com.branwilliams.bundi.voxel.builder.VoxelChunkMeshBuilder;
 import com.branwilliams.bundi.voxel.render.mesh.ChunkMesh;
-import com.branwilliams.bundi.voxel.world.VoxelWorld;
+import com.branwilliams.bundi.voxel.render.mesh.ChunkMeshData;
 import com.branwilliams.bundi.voxel.world.chunk.VoxelChunk;
+import com.branwilliams.bundi.voxel.world.storage.ChunkNeighborhood;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.function.Consumer;
+import java.util.concurrent.BlockingQueue;
 
+/**
+ * Builds the mesh data of a chunk on a worker thread and queues itself for upload. The chunk and its neighbors are
+ * copied when this task is created, so the voxels read by this task cannot change while it runs.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
 public class VoxelChunkLoadTask implements Runnable {
 
+    private static final Logger log = LoggerFactory.getLogger(VoxelChunkLoadTask.class);
+
     private final VoxelChunkMeshBuilder voxelChunkMeshBuilder;
 
-    private final VoxelChunk voxelChunk;
+    private final ChunkNeighborhood neighborhood;
 
-    private final VoxelWorld voxelWorld;
+    private final VoxelChunk voxelChunk;
 
     private final ChunkMesh chunkMesh;
 
-    public VoxelChunkLoadTask(VoxelChunkMeshBuilder voxelChunkMeshBuilder,
-                              VoxelWorld voxelWorld, VoxelChunk voxelChunk, ChunkMesh chunkMesh) {
+    private final int buildId;
+
+    private final BlockingQueue<VoxelChunkLoadTask> completed;
+
+    private ChunkMeshData meshData;
+
+    /**
+     * @param voxelChunk The chunk whose mesh is built. This is the original chunk, not the copy read by this task.
+     * @param buildId The id given by {@link ChunkMesh#requestBuild()}.
+     * @param completed The queue this task is put into once it has finished.
+     * */
+    public VoxelChunkLoadTask(VoxelChunkMeshBuilder voxelChunkMeshBuilder, ChunkNeighborhood neighborhood,
+                              VoxelChunk voxelChunk, ChunkMesh chunkMesh, int buildId,
+                              BlockingQueue<VoxelChunkLoadTask> completed) {
         this.voxelChunkMeshBuilder = voxelChunkMeshBuilder;
-        this.voxelWorld = voxelWorld;
+        this.neighborhood = neighborhood;
         this.voxelChunk = voxelChunk;
         this.chunkMesh = chunkMesh;
+        this.buildId = buildId;
+        this.completed = completed;
     }
 
     @Override
     public void run() {
-        boolean rebuilt = voxelChunkMeshBuilder.rebuildChunkMesh(voxelWorld, voxelChunk, chunkMesh);
-        if (rebuilt) {
+        try {
+            meshData = voxelChunkMeshBuilder.buildChunkMesh(neighborhood, neighborhood.getCenter());
+        } catch (RuntimeException e) {
+            log.error("Unable to build the mesh of chunk " + voxelChunk.chunkPos, e);
+        }
 
-//            queueChunkMesh();
+        // The task is queued even if the build failed so that the mesh is no longer pending.
+        try {
+            completed.put(this);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
+
+    public VoxelChunk getVoxelChunk() {
+        return voxelChunk;
+    }
+
+    public ChunkMesh getChunkMesh() {
+        return chunkMesh;
+    }
+
+    public int getBuildId() {
+        return buildId;
+    }
+
+    /**
+     * @return The mesh data built by this task. Null if the build failed.
+     * */
+    public ChunkMeshData getMeshData() {
+        return meshData;
+    }
 }
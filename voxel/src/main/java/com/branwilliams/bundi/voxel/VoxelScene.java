@@ -10,13 +10,13 @@ import com.branwilliams.bundi.engine.skybox.Skybox;
 import com.branwilliams.bundi.engine.systems.LockableSystem;
 import com.branwilliams.bundi.engine.texture.CubeMapTexture;
 import com.branwilliams.bundi.engine.texture.TextureLoader;
-import com.branwilliams.bundi.engine.util.RateLimiter;
 import com.branwilliams.bundi.engine.util.noise.LayeredNoise;
 import com.branwilliams.bundi.engine.util.noise.OpenSimplexNoise;
 import com.branwilliams.bundi.gui.impl.ColorPack;
 import com.branwilliams.bundi.gui.screen.GuiScreen;
 import com.branwilliams.bundi.gui.screen.GuiScreenManager;
 import com.branwilliams.bundi.voxel.builder.VoxelChunkMeshBuilder;
+import com.branwilliams.bundi.voxel.builder.GreedyVoxelChunkMeshBuilder;
 import com.branwilliams.bundi.voxel.builder.VoxelChunkMeshBuilderImpl;
 import com.branwilliams.bundi.voxel.builder.VoxelMeshBuilder;
 import com.branwilliams.bundi.voxel.components.*;
@@ -35,10 +35,11 @@ import com.branwilliams.bundi.voxel.world.generator.NoiseChunkGenerator;
 import com.branwilliams.bundi.voxel.world.generator.VoxelChunkGenerator;
 import com.branwilliams.bundi.voxel.builder.VoxelMeshBuilderImpl;
 import com.branwilliams.bundi.voxel.render.pipeline.VoxelRenderPipeline;
+import com.branwilliams.bundi.voxel.world.VoxelChunkLoader;
 import com.branwilliams.bundi.voxel.world.VoxelWorld;
 import com.branwilliams.bundi.voxel.world.storage.ChunkMeshStorage;
 import com.branwilliams.bundi.voxel.world.storage.ChunkStorage;
-import com.branwilliams.bundi.voxel.world.storage.HashChunkStorage;
+import com.branwilliams.bundi.voxel.world.storage.RegionChunkStorage;
 import com.google.gson.reflect.TypeToken;
 import org.joml.Vector3f;
 import org.joml.Vector4f;
@@ -50,7 +51,6 @@ import java.lang.reflect.Type;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Created by Brandon Williams on 3/12/2018.
@@ -171,7 +171,11 @@ public class VoxelScene extends AbstractScene implements Lockable {
         applySettings(engine, window);
 
         voxelMeshBuilder = new VoxelMeshBuilderImpl(voxelRegistry, texturePack);
-        voxelChunkMeshBuilder = new VoxelChunkMeshBuilderImpl(voxelRegistry, texturePack);
+        if (gameSettings.isGreedyMeshing()) {
+            voxelChunkMeshBuilder = new GreedyVoxelChunkMeshBuilder(voxelRegistry, texturePack);
+        } else {
+            voxelChunkMeshBuilder = new VoxelChunkMeshBuilderImpl(voxelRegistry, texturePack);
+        }
 
         voxelSoundManager = new VoxelSoundManager(this);
         voxelSoundManager.initialize(engine);
@@ -291,20 +295,25 @@ public class VoxelScene extends AbstractScene implements Lockable {
         if (voxelWorld != null)
             voxelWorld.destroy();
 
-        RateLimiter meshCreationLimiter = new RateLimiter(TimeUnit.MILLISECONDS, 50L);
+        VoxelChunkLoader voxelChunkLoader = new VoxelChunkLoader();
 
         // Create chunk & chunk mesh storage
-        ChunkMeshStorage chunkMeshStorage = new ChunkMeshStorage(voxelChunkMeshBuilder, meshCreationLimiter);
-        ChunkStorage chunkStorage = new HashChunkStorage();
+        ChunkMeshStorage chunkMeshStorage = new ChunkMeshStorage(voxelChunkMeshBuilder, voxelChunkLoader);
+        // Keep every visible chunk and its neighbors resident, evicting chunks which are far away.
+        int visibleWidth = gameSettings.getChunkRenderDistance() * 2 + 2;
+        int visibleChunks = visibleWidth * visibleWidth;
+        ChunkStorage chunkStorage = new RegionChunkStorage(getAssetDirectory(engine.getContext()).resolve("world"),
+                voxelRegistry, Math.max(RegionChunkStorage.DEFAULT_MAX_RESIDENT_CHUNKS, visibleChunks * 2));
 
         // create generator and world
 //        VoxelChunkGenerator voxelChunkGenerator = new NoiseChunkGenerator(new PerlinNoise());
         VoxelChunkGenerator voxelChunkGenerator = new NoiseChunkGenerator(new LayeredNoise(new OpenSimplexNoise(), 5));
-        voxelWorld = new VoxelWorld(voxelRegistry, voxelChunkGenerator, chunkStorage, chunkMeshStorage, es);
+        voxelWorld = new VoxelWorld(voxelRegistry, voxelChunkGenerator, chunkStorage, chunkMeshStorage,
+                voxelChunkLoader, es);
 
         // load the chunks at a given position in a given radius
         Transformable transformable = player.getComponent(Transformable.class);
-        voxelWorld.loadChunks(transformable.getPosition().x, transformable.getPosition().z, gameSettings.getChunkRenderDistance());
+        voxelWorld.loadChunksImmediately(transformable.getPosition().x, transformable.getPosition().z, gameSettings.getChunkRenderDistance());
         voxelWorld.forceGenerateChunkMeshes();
     }
 
@@ -312,6 +321,9 @@ public class VoxelScene extends AbstractScene implements Lockable {
     public void update(Engine engine, double updateInterval) {
         super.update(engine, updateInterval);
 
+        if (voxelWorld != null)
+            voxelWorld.update();
+
         if (this.getGuiScreen() != null)
             this.getGuiScreen().update();
 
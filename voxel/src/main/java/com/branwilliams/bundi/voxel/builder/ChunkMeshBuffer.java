@@ -0,0 +1,132 @@
+package com.branwilliams.bundi.voxel.builder;
+
+import com.branwilliams.bundi.voxel.render.mesh.ChunkMeshData;
+import com.branwilliams.bundi.voxel.voxels.VoxelFace;
+import org.joml.Vector4f;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Scratch space which the quads of a chunk mesh are written into. The vertices are interleaved as described by
+ * {@link ChunkMeshData}. <br/>
+ * A builder keeps one of these per thread and clears it before each build, so building a chunk mesh does not allocate
+ * anything once the buffers have grown to fit the largest chunk. Only the final copy made by
+ * {@link ChunkMeshBuffer#toMeshData()} is allocated, outside of the heap.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class ChunkMeshBuffer {
+
+    private static final int INITIAL_QUAD_CAPACITY = 1024;
+
+    private final float[] corners = new float[12];
+
+    private FloatBuffer vertices;
+
+    private IntBuffer indices;
+
+    private int vertexCount;
+
+    public ChunkMeshBuffer() {
+        this.vertices = BufferUtils.createFloatBuffer(INITIAL_QUAD_CAPACITY * 4 * ChunkMeshData.VERTEX_SIZE);
+        this.indices = BufferUtils.createIntBuffer(INITIAL_QUAD_CAPACITY * 6);
+    }
+
+    /**
+     * Removes every quad from this buffer.
+     * */
+    public void clear() {
+        vertices.clear();
+        indices.clear();
+        vertexCount = 0;
+    }
+
+    /**
+     * Writes the quad of a face which covers the provided bounds. The uvs of the quad count the voxels it covers along
+     * its width and height, so that the atlas tile repeats once per voxel.
+     * @param width The number of voxels between the first and second corner of the face.
+     * @param height The number of voxels between the second and third corner of the face.
+     * @param atlasTile The texture coordinates of the tile within the texture atlas.
+     * */
+    public void putQuad(VoxelFace face, float minX, float minY, float minZ, float maxX, float maxY, float maxZ,
+                        int width, int height, Vector4f atlasTile) {
+        ensureCapacity();
+        VoxelFace.createPositions(face, corners, minX, minY, minZ, maxX, maxY, maxZ);
+
+        // The uvs only change along the edge between the first two corners, so that edge is the tangent.
+        float tangentX = corners[3] - corners[0];
+        float tangentY = corners[4] - corners[1];
+        float tangentZ = corners[5] - corners[2];
+        float length = (float) Math.sqrt(tangentX * tangentX + tangentY * tangentY + tangentZ * tangentZ);
+        tangentX /= length;
+        tangentY /= length;
+        tangentZ /= length;
+
+        putVertex(0, 0F, height, face, tangentX, tangentY, tangentZ, atlasTile);
+        putVertex(1, width, height, face, tangentX, tangentY, tangentZ, atlasTile);
+        putVertex(2, width, 0F, face, tangentX, tangentY, tangentZ, atlasTile);
+        putVertex(3, 0F, 0F, face, tangentX, tangentY, tangentZ, atlasTile);
+
+        indices.put(vertexCount);
+        indices.put(vertexCount + 1);
+        indices.put(vertexCount + 2);
+        indices.put(vertexCount + 2);
+        indices.put(vertexCount + 3);
+        indices.put(vertexCount);
+        vertexCount += 4;
+    }
+
+    private void putVertex(int corner, float u, float v, VoxelFace face, float tangentX, float tangentY,
+                           float tangentZ, Vector4f atlasTile) {
+        vertices.put(corners[corner * 3]).put(corners[corner * 3 + 1]).put(corners[corner * 3 + 2]);
+        vertices.put(u).put(v);
+        vertices.put(face.xDirection).put(face.yDirection).put(face.zDirection);
+        vertices.put(tangentX).put(tangentY).put(tangentZ);
+        vertices.put(atlasTile.x).put(atlasTile.y).put(atlasTile.z).put(atlasTile.w);
+    }
+
+    /**
+     * Doubles the capacity of the buffers when another quad would not fit.
+     * */
+    private void ensureCapacity() {
+        if (vertices.remaining() < 4 * ChunkMeshData.VERTEX_SIZE) {
+            FloatBuffer grown = BufferUtils.createFloatBuffer(vertices.capacity() * 2);
+            vertices.flip();
+            grown.put(vertices);
+            vertices = grown;
+        }
+        if (indices.remaining() < 6) {
+            IntBuffer grown = BufferUtils.createIntBuffer(indices.capacity() * 2);
+            indices.flip();
+            grown.put(indices);
+            indices = grown;
+        }
+    }
+
+    /**
+     * @return A copy of the quads within this buffer which can be handed to another thread.
+     * */
+    public ChunkMeshData toMeshData() {
+        FloatBuffer vertexData = MemoryUtil.memAllocFloat(vertices.position());
+        FloatBuffer vertexSource = vertices.duplicate();
+        vertexSource.flip();
+        vertexData.put(vertexSource);
+        vertexData.flip();
+
+        IntBuffer indexData = MemoryUtil.memAllocInt(indices.position());
+        IntBuffer indexSource = indices.duplicate();
+        indexSource.flip();
+        indexData.put(indexSource);
+        indexData.flip();
+
+        return new ChunkMeshData(vertexData, indexData, vertexCount);
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+}
@@ -0,0 +1,219 @@
+package com.branwilliams.bundi.voxel.builder;
+
+import com.branwilliams.bundi.voxel.VoxelConstants;
+import com.branwilliams.bundi.voxel.io.VoxelTexturePack;
+import com.branwilliams.bundi.voxel.render.mesh.ChunkMeshData;
+import com.branwilliams.bundi.voxel.voxels.Voxel;
+import com.branwilliams.bundi.voxel.voxels.VoxelFace;
+import com.branwilliams.bundi.voxel.voxels.VoxelRegistry;
+import com.branwilliams.bundi.voxel.world.chunk.VoxelChunk;
+import com.branwilliams.bundi.voxel.world.storage.ChunkStorage;
+import org.joml.Vector4f;
+
+import java.util.Arrays;
+
+/**
+ * Builds chunk meshes by merging the adjacent visible faces which face the same direction and share a texture into
+ * larger quads (greedy meshing). <br/>
+ * Each slice of the chunk perpendicular to a face direction is turned into a mask of the texture of each visible face.
+ * Quads are grown along the first axis of the mask and then along the second axis while every face they cover has the
+ * same texture. The uvs of a merged quad count the voxels it covers, so the chunk shader repeats the atlas tile once
+ * per voxel. <br/>
+ * Every voxel is expected to fill its cube, which is true of every voxel within the registry.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class GreedyVoxelChunkMeshBuilder implements VoxelChunkMeshBuilder {
+
+    private static final SliceAxes[] FACE_AXES = new SliceAxes[VoxelChunkMeshBuilderImpl.FACES.length];
+
+    static {
+        for (VoxelFace face : VoxelChunkMeshBuilderImpl.FACES) {
+            FACE_AXES[face.ordinal()] = SliceAxes.of(face);
+        }
+    }
+
+    private final ThreadLocal<Scratch> scratches = ThreadLocal.withInitial(Scratch::new);
+
+    private VoxelRegistry voxelRegistry;
+
+    private VoxelTexturePack voxelTexturePack;
+
+    public GreedyVoxelChunkMeshBuilder(VoxelRegistry voxelRegistry, VoxelTexturePack voxelTexturePack) {
+        this.voxelRegistry = voxelRegistry;
+        this.voxelTexturePack = voxelTexturePack;
+    }
+
+    @Override
+    public ChunkMeshData buildChunkMesh(ChunkStorage chunks, VoxelChunk voxelChunk) {
+        Scratch scratch = scratches.get();
+        scratch.meshBuffer.clear();
+
+        for (VoxelFace face : VoxelChunkMeshBuilderImpl.FACES) {
+            SliceAxes axes = FACE_AXES[face.ordinal()];
+
+            for (int depth = 0; depth < axes.depth; depth++) {
+                buildMask(scratch, chunks, voxelChunk, face, axes, depth);
+                mergeMask(scratch, face, axes, depth);
+            }
+        }
+
+        return scratch.meshBuffer.toMeshData();
+    }
+
+    /**
+     * Fills the mask with the texture coordinates of each visible face within the slice at the provided depth. Cells
+     * without a visible face are null.
+     * */
+    private void buildMask(Scratch scratch, ChunkStorage chunks, VoxelChunk voxelChunk, VoxelFace face,
+                           SliceAxes axes, int depth) {
+        Vector4f[] mask = scratch.mask;
+        int[] position = scratch.position;
+        position[axes.depthAxis] = depth;
+
+        for (int v = 0; v < axes.height; v++) {
+            position[axes.heightAxis] = v;
+            for (int u = 0; u < axes.width; u++) {
+                position[axes.widthAxis] = u;
+
+                int x = position[0];
+                int y = position[1];
+                int z = position[2];
+
+                Voxel voxel = voxelChunk.getVoxelAtPosition(x, y, z);
+                Vector4f textureCoordinates = null;
+
+                if (!Voxel.isAir(voxel)
+                        && VoxelChunkMeshBuilderImpl.shouldRenderFace(chunks, voxelChunk, voxel, x, y, z, face)) {
+                    textureCoordinates = voxelTexturePack.getTextureCoordinates(voxel, face);
+                }
+                mask[u + v * axes.width] = textureCoordinates;
+            }
+        }
+    }
+
+    /**
+     * Merges the faces of the mask into quads and creates their vertices. The mask is cleared as it is consumed.
+     * */
+    private void mergeMask(Scratch scratch, VoxelFace face, SliceAxes axes, int depth) {
+        Vector4f[] mask = scratch.mask;
+        for (int v = 0; v < axes.height; v++) {
+            for (int u = 0; u < axes.width; ) {
+                Vector4f textureCoordinates = mask[u + v * axes.width];
+                if (textureCoordinates == null) {
+                    u++;
+                    continue;
+                }
+
+                // Grow along the width while the faces share this texture.
+                int width = 1;
+                while (u + width < axes.width && textureCoordinates.equals(mask[u + width + v * axes.width])) {
+                    width++;
+                }
+
+                // Grow along the height while every face of the next row shares this texture.
+                int height = 1;
+                while (v + height < axes.height && rowMatches(mask, axes, textureCoordinates, u, v + height, width)) {
+                    height++;
+                }
+
+                for (int j = 0; j < height; j++) {
+                    Arrays.fill(mask, u + (v + j) * axes.width, u + width + (v + j) * axes.width, null);
+                }
+
+                createQuad(scratch, face, axes, textureCoordinates, depth, u, v, width, height);
+                u += width;
+            }
+        }
+    }
+
+    private boolean rowMatches(Vector4f[] mask, SliceAxes axes, Vector4f textureCoordinates, int u, int v, int width) {
+        for (int i = 0; i < width; i++) {
+            if (!textureCoordinates.equals(mask[u + i + v * axes.width])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void createQuad(Scratch scratch, VoxelFace face, SliceAxes axes, Vector4f textureCoordinates, int depth,
+                            int u, int v, int width, int height) {
+        float[] min = scratch.min;
+        float[] max = scratch.max;
+        min[axes.depthAxis] = depth * VoxelConstants.CUBE_SIZE;
+        max[axes.depthAxis] = (depth + 1) * VoxelConstants.CUBE_SIZE;
+        min[axes.widthAxis] = u * VoxelConstants.CUBE_SIZE;
+        max[axes.widthAxis] = (u + width) * VoxelConstants.CUBE_SIZE;
+        min[axes.heightAxis] = v * VoxelConstants.CUBE_SIZE;
+        max[axes.heightAxis] = (v + height) * VoxelConstants.CUBE_SIZE;
+
+        scratch.meshBuffer.putQuad(face, min[0], min[1], min[2], max[0], max[1], max[2], width, height,
+                textureCoordinates);
+    }
+
+    /**
+     * The axes (0 = x, 1 = y, 2 = z) of the slices built for a face direction. The width axis is the axis between the
+     * first two corners created by {@link VoxelFace#createPositions} and the height axis is the axis between the second
+     * and third, which is what {@link ChunkMeshBuffer#putQuad} expects.
+     * */
+    private static class SliceAxes {
+
+        private static final int[] SIZES = { VoxelConstants.CHUNK_X_SIZE, VoxelConstants.CHUNK_Y_SIZE,
+                VoxelConstants.CHUNK_Z_SIZE };
+
+        private final int depthAxis;
+
+        private final int widthAxis;
+
+        private final int heightAxis;
+
+        private final int depth;
+
+        private final int width;
+
+        private final int height;
+
+        private SliceAxes(int depthAxis, int widthAxis, int heightAxis) {
+            this.depthAxis = depthAxis;
+            this.widthAxis = widthAxis;
+            this.heightAxis = heightAxis;
+            this.depth = SIZES[depthAxis];
+            this.width = SIZES[widthAxis];
+            this.height = SIZES[heightAxis];
+        }
+
+        private static SliceAxes of(VoxelFace face) {
+            switch (face) {
+                case TOP:
+                case BOTTOM:
+                    return new SliceAxes(1, 0, 2);
+                case RIGHT:
+                case LEFT:
+                    return new SliceAxes(0, 2, 1);
+                case FRONT:
+                case BACK:
+                default:
+                    return new SliceAxes(2, 0, 1);
+            }
+        }
+    }
+
+    /**
+     * The buffers used by a single thread while building a chunk mesh.
+     * */
+    private static class Scratch {
+
+        private final ChunkMeshBuffer meshBuffer = new ChunkMeshBuffer();
+
+        private final Vector4f[] mask = new Vector4f[Math.max(VoxelConstants.CHUNK_X_SIZE, VoxelConstants.CHUNK_Z_SIZE)
+                * Math.max(VoxelConstants.CHUNK_Y_SIZE, Math.max(VoxelConstants.CHUNK_X_SIZE,
+                VoxelConstants.CHUNK_Z_SIZE))];
+
+        private final int[] position = new int[3];
+
+        private final float[] min = new float[3];
+
+        private final float[] max = new float[3];
+    }
+}
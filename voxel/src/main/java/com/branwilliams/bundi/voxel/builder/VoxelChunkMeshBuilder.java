@@ -8,11 +8,13 @@ import com.branwilliams.bundi.voxel.VoxelConstants;
 import com.branwilliams.bundi.voxel.io.VoxelTexturePack;
 import com.branwilliams.bundi.voxel.math.AABB;
 import com.branwilliams.bundi.voxel.render.mesh.ChunkMesh;
+import com.branwilliams.bundi.voxel.render.mesh.ChunkMeshData;
 import com.branwilliams.bundi.voxel.voxels.Voxel;
 import com.branwilliams.bundi.voxel.voxels.VoxelFace;
 import com.branwilliams.bundi.voxel.voxels.VoxelRegistry;
 import com.branwilliams.bundi.voxel.world.VoxelWorld;
 import com.branwilliams.bundi.voxel.world.chunk.VoxelChunk;
+import com.branwilliams.bundi.voxel.world.storage.ChunkStorage;
 import org.joml.Vector2f;
 import org.joml.Vector3f;
 import org.joml.Vector4f;
@@ -31,6 +33,22 @@ import static com.branwilliams.bundi.voxel.VoxelConstants.CUBE_SIZE;
  */
 public interface VoxelChunkMeshBuilder {
 
-    boolean rebuildChunkMesh(VoxelWorld voxelWorld, VoxelChunk voxelChunk, ChunkMesh mesh);
+    /**
+     * Builds the mesh data of the provided chunk without any OpenGL calls, so this can be invoked from any thread.
+     * @param chunks The storage used to find the voxels neighboring the provided chunk.
+     * */
+    ChunkMeshData buildChunkMesh(ChunkStorage chunks, VoxelChunk voxelChunk);
+
+    /**
+     * Builds the mesh data of the provided chunk and uploads it to the provided mesh. This must be invoked from the
+     * thread which owns the OpenGL context.
+     * @return True if the mesh has any faces.
+     * */
+    default boolean rebuildChunkMesh(VoxelWorld voxelWorld, VoxelChunk voxelChunk, ChunkMesh mesh) {
+        ChunkMeshData meshData = buildChunkMesh(voxelWorld.getChunks(), voxelChunk);
+        mesh.setMeshData(meshData);
+        mesh.loadMeshData();
+        return !meshData.isEmpty();
+    }
 
 }
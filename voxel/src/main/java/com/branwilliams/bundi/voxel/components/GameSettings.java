@@ -16,6 +16,8 @@ public class GameSettings {
 
     private boolean fullscreen;
 
+    private boolean greedyMeshing;
+
     public GameSettings(int chunkRenderDistance) {
         this.chunkRenderDistance = chunkRenderDistance;
     }
@@ -59,4 +61,15 @@ public class GameSettings {
     public void setFullscreen(boolean fullscreen) {
         this.fullscreen = fullscreen;
     }
+
+    /**
+     * @return True if chunk meshes should merge adjacent faces into larger quads.
+     * */
+    public boolean isGreedyMeshing() {
+        return greedyMeshing;
+    }
+
+    public void setGreedyMeshing(boolean greedyMeshing) {
+        this.greedyMeshing = greedyMeshing;
+    }
 }
@@ -7,25 +7,28 @@ import com.branwilliams.bundi.engine.shader.Transformation;
 import com.branwilliams.bundi.engine.shader.dynamic.VertexElements;
 import com.branwilliams.bundi.engine.shader.dynamic.VertexFormat;
 import com.branwilliams.bundi.engine.util.Timer;
+import com.branwilliams.bundi.engine.util.WorkerUtils;
 import com.branwilliams.bundi.voxel.VoxelConstants;
-import com.branwilliams.bundi.voxel.builder.ChunkMeshVertex;
 import com.branwilliams.bundi.voxel.util.Easings;
 import com.branwilliams.bundi.voxel.world.chunk.VoxelChunk;
+import org.lwjgl.system.MemoryUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
-
-import static com.branwilliams.bundi.engine.util.MeshUtils.*;
-
 /**
  * @author Brandon
  * @since August 13, 2019
  */
 public class ChunkMesh implements Destructible {
 
+    /** The number of floats within the atlas tile attribute of each vertex. */
+    public static final int ATLAS_TILE_SIZE = 4;
+
+    private static final int[] ATTRIBUTE_IDS = { 0, 1, 2, 3, 4 };
+
+    private static final int[] ATTRIBUTE_SIZES = { VertexElements.POSITION.getSize(), VertexElements.UV.getSize(),
+            VertexElements.NORMAL.getSize(), VertexElements.TANGENT.getSize(), ATLAS_TILE_SIZE };
+
     private final Logger log = LoggerFactory.getLogger(getClass());
 
     public enum MeshState {
@@ -47,9 +50,19 @@ public class ChunkMesh implements Destructible {
 
     private Mesh solidMesh;
 
-    private List<ChunkMeshVertex> vertices;
+    private ChunkMeshData meshData;
 
-    private List<Integer> indices;
+    /** Incremented whenever a build of this mesh is requested or this mesh changes chunks. */
+    private int buildId;
+
+    /** True while a build of this mesh is being made on a worker thread. */
+    private boolean buildPending;
+
+    /** The number of builds in a row which have failed for the current chunk. */
+    private int failedBuilds;
+
+    /** The frame from which a failed build may be requested again. */
+    private long retryFrame;
 
     /** Time (in ms) when this mesh state has been changed. */
     private long changeTime;
@@ -64,43 +77,88 @@ public class ChunkMesh implements Destructible {
     private void initializeSolidMesh() {
         int vertexCount = 8 * 6;
         this.solidMesh.bind();
-        this.solidMesh.initializeAttribute(0, 3, vertexCount * 3);
-        this.solidMesh.initializeAttribute(1, 2, vertexCount * 2);
-        this.solidMesh.initializeAttribute(2, 3, vertexCount * 3);
-        this.solidMesh.initializeAttribute(3, 3, vertexCount * 3);
+        this.solidMesh.storeInterleavedAttributes(MemoryUtil.memCallocFloat(vertexCount * ChunkMeshData.VERTEX_SIZE),
+                ATTRIBUTE_IDS, ATTRIBUTE_SIZES);
         this.solidMesh.unbind();
     }
 
-    public synchronized void setMeshData(List<ChunkMeshVertex> vertices, List<Integer> indices) {
-        this.vertices = vertices;
-        this.indices = indices;
+    public synchronized void setMeshData(ChunkMeshData meshData) {
+        if (this.meshData != null) {
+            this.meshData.destroy();
+        }
+        this.meshData = meshData;
     }
 
     public synchronized void loadMeshData() {
-        if (this.vertices == null || this.indices == null) {
+        if (this.meshData == null) {
             log.info("Unable to load mesh data: No vertices or indices set.");
             return;
         }
 
         this.solidMesh.setVertexFormat(VertexFormat.POSITION_UV_NORMAL_TANGENT);
         this.solidMesh.bind();
-        this.solidMesh.storeAttribute(0,
-                toArray3f(vertices.stream().map((v) -> v.vertex).collect(Collectors.toList())),
-                VertexElements.POSITION.getSize());
-        this.solidMesh.storeAttribute(1,
-                toArray2f(vertices.stream().map((v) -> v.uv).collect(Collectors.toList())),
-                VertexElements.UV.getSize());
-        this.solidMesh.storeAttribute(2,
-                toArray3f(vertices.stream().map((v) -> v.normal).collect(Collectors.toList())),
-                VertexElements.NORMAL.getSize());
-        this.solidMesh.storeAttribute(3,
-                toArray3f(vertices.stream().map((v) -> v.tangent).collect(Collectors.toList())),
-                VertexElements.TANGENT.getSize());
-        this.solidMesh.storeIndices(toArrayi(indices));
+        // The mesh frees the buffers of the data once they are uploaded.
+        this.solidMesh.storeInterleavedAttributes(meshData.getVertices(), ATTRIBUTE_IDS, ATTRIBUTE_SIZES);
+        this.solidMesh.storeIndices(meshData.getIndices());
         this.solidMesh.unbind();
 
-        this.vertices = null;
-        this.indices = null;
+        this.meshData = null;
+    }
+
+    /**
+     * Marks a build of this mesh as pending.
+     * @return The id of the requested build, which is used to determine if the build is still current when it
+     * completes.
+     * */
+    public int requestBuild() {
+        buildPending = true;
+        return ++buildId;
+    }
+
+    /**
+     * Marks the build with the provided id as complete.
+     * @return False if this mesh has been reassigned or another build has been requested since that build, meaning its
+     * data is stale.
+     * */
+    public boolean completeBuild(int buildId) {
+        if (this.buildId != buildId) {
+            return false;
+        }
+        buildPending = false;
+        return true;
+    }
+
+    /**
+     * Records that the current build has failed, so that the next build waits for a delay which grows with each
+     * failure, see {@link WorkerUtils#retryDelayFrames(int)}.
+     * @param frame The current frame.
+     * */
+    public void failBuild(long frame) {
+        failedBuilds++;
+        retryFrame = frame + WorkerUtils.retryDelayFrames(failedBuilds);
+    }
+
+    /**
+     * Records that the current build has succeeded, so that the next failure is retried without a long delay.
+     * */
+    public void succeedBuild() {
+        failedBuilds = 0;
+        retryFrame = 0L;
+    }
+
+    /**
+     * @param frame The current frame.
+     * @return True if no build of this mesh is pending and the delay after any failed build has passed.
+     * */
+    public boolean canRequestBuild(long frame) {
+        return !buildPending && frame >= retryFrame;
+    }
+
+    /**
+     * @return True if a build of this mesh is waiting to complete.
+     * */
+    public boolean isBuildPending() {
+        return buildPending;
     }
 
     /**
@@ -110,6 +168,7 @@ public class ChunkMesh implements Destructible {
      * */
     public void reassign(VoxelChunk voxelChunk) {
         this.voxelChunk = voxelChunk;
+        invalidateBuild();
         setMeshState(MeshState.REASSIGNED);
     }
 
@@ -119,9 +178,19 @@ public class ChunkMesh implements Destructible {
 
     public void unload() {
         this.voxelChunk = null;
+        invalidateBuild();
         setMeshState(MeshState.UNLOADED);
     }
 
+    /**
+     * Discards any pending build, since it was made for a previous chunk.
+     * */
+    private void invalidateBuild() {
+        buildId++;
+        buildPending = false;
+        succeedBuild();
+    }
+
     public void load() {
         setMeshState(MeshState.LOADED);
     }
@@ -191,6 +260,10 @@ public class ChunkMesh implements Destructible {
 
     @Override
     public void destroy() {
+        if (meshData != null) {
+            meshData.destroy();
+            meshData = null;
+        }
         solidMesh.destroy();
     }
 
@@ -0,0 +1,61 @@
+package com.branwilliams.bundi.voxel.render.mesh;
+
+import com.branwilliams.bundi.engine.core.Destructible;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * The vertex data of a chunk mesh. This is built by a {@link com.branwilliams.bundi.voxel.builder.VoxelChunkMeshBuilder}
+ * without any OpenGL calls, so it can be created on a worker thread and uploaded to a {@link ChunkMesh} later on the
+ * thread which owns the OpenGL context. <br/>
+ * The vertices are interleaved, each holding its position (3), uv (2), normal (3), tangent (3), and atlas tile (4). The
+ * buffers are allocated outside of the heap and are freed when they are uploaded, so {@link ChunkMeshData#destroy()}
+ * must only be invoked on data which is never uploaded.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class ChunkMeshData implements Destructible {
+
+    /** The number of floats within each vertex. */
+    public static final int VERTEX_SIZE = 3 + 2 + 3 + 3 + ChunkMesh.ATLAS_TILE_SIZE;
+
+    private final FloatBuffer vertices;
+
+    private final IntBuffer indices;
+
+    private final int vertexCount;
+
+    public ChunkMeshData(FloatBuffer vertices, IntBuffer indices, int vertexCount) {
+        this.vertices = vertices;
+        this.indices = indices;
+        this.vertexCount = vertexCount;
+    }
+
+    public FloatBuffer getVertices() {
+        return vertices;
+    }
+
+    public IntBuffer getIndices() {
+        return indices;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * @return True if this data has no faces.
+     * */
+    public boolean isEmpty() {
+        return vertexCount == 0;
+    }
+
+    @Override
+    public void destroy() {
+        MemoryUtil.memFree(vertices);
+        MemoryUtil.memFree(indices);
+    }
+}
@@ -1,8 +1,5 @@
 package com.branwilliams.bundi.voxel.voxels;
 
-import com.branwilliams.bundi.voxel.builder.ChunkMeshVertex;
-import org.joml.Vector2f;
-import org.joml.Vector3f;
 import org.joml.Vector4f;
 
 import java.util.Arrays;
@@ -29,50 +26,79 @@ public enum VoxelFace {
         this.zDirection = zDirection;
     }
 
-    public static void createPositions(VoxelFace face,
-                                 ChunkMeshVertex v0, ChunkMeshVertex v1, ChunkMeshVertex v2, ChunkMeshVertex v3,
-                                 float minX, float minY, float minZ,
-                                 float maxX, float maxY, float maxZ) {
+    /**
+     * Writes the positions of the four corners of the face provided into the array provided, in the same order as
+     * {@link VoxelFace#positions(VoxelFace, float, float, float, float, float, float)}.
+     * @param positions An array of at least 12 floats.
+     * */
+    public static void createPositions(VoxelFace face, float[] positions,
+                                       float minX, float minY, float minZ,
+                                       float maxX, float maxY, float maxZ) {
         switch (face) {
             case FRONT:
-                v0.vertex = new Vector3f(minX, minY, maxZ);
-                v1.vertex = new Vector3f(maxX, minY, maxZ);
-                v2.vertex = new Vector3f(maxX, maxY, maxZ);
-                v3.vertex = new Vector3f(minX, maxY, maxZ);
+                setPositions(positions,
+                        minX, minY, maxZ,
+                        maxX, minY, maxZ,
+                        maxX, maxY, maxZ,
+                        minX, maxY, maxZ);
                 break;
             case BACK:
-                v0.vertex = new Vector3f(maxX, minY, minZ);
-                v1.vertex = new Vector3f(minX, minY, minZ);
-                v2.vertex = new Vector3f(minX, maxY, minZ);
-                v3.vertex = new Vector3f(maxX, maxY, minZ);
+                setPositions(positions,
+                        maxX, minY, minZ,
+                        minX, minY, minZ,
+                        minX, maxY, minZ,
+                        maxX, maxY, minZ);
                 break;
             case TOP:
-                v0.vertex = new Vector3f(minX, maxY, maxZ);
-                v1.vertex = new Vector3f(maxX, maxY, maxZ);
-                v2.vertex = new Vector3f(maxX, maxY, minZ);
-                v3.vertex = new Vector3f(minX, maxY, minZ);
+                setPositions(positions,
+                        minX, maxY, maxZ,
+                        maxX, maxY, maxZ,
+                        maxX, maxY, minZ,
+                        minX, maxY, minZ);
                 break;
             case BOTTOM:
-                v0.vertex = new Vector3f(minX, minY, minZ);
-                v1.vertex = new Vector3f(maxX, minY, minZ);
-                v2.vertex = new Vector3f(maxX, minY, maxZ);
-                v3.vertex = new Vector3f(minX, minY, maxZ);
+                setPositions(positions,
+                        minX, minY, minZ,
+                        maxX, minY, minZ,
+                        maxX, minY, maxZ,
+                        minX, minY, maxZ);
                 break;
             case RIGHT:
-                v0.vertex = new Vector3f(maxX, minY, maxZ);
-                v1.vertex = new Vector3f(maxX, minY, minZ);
-                v2.vertex = new Vector3f(maxX, maxY, minZ);
-                v3.vertex = new Vector3f(maxX, maxY, maxZ);
+                setPositions(positions,
+                        maxX, minY, maxZ,
+                        maxX, minY, minZ,
+                        maxX, maxY, minZ,
+                        maxX, maxY, maxZ);
                 break;
             case LEFT:
-                v0.vertex = new Vector3f(minX, minY, minZ);
-                v1.vertex = new Vector3f(minX, minY, maxZ);
-                v2.vertex = new Vector3f(minX, maxY, maxZ);
-                v3.vertex = new Vector3f(minX, maxY, minZ);
+                setPositions(positions,
+                        minX, minY, minZ,
+                        minX, minY, maxZ,
+                        minX, maxY, maxZ,
+                        minX, maxY, minZ);
                 break;
         }
     }
 
+    private static void setPositions(float[] positions,
+                                     float x0, float y0, float z0,
+                                     float x1, float y1, float z1,
+                                     float x2, float y2, float z2,
+                                     float x3, float y3, float z3) {
+        positions[0] = x0;
+        positions[1] = y0;
+        positions[2] = z0;
+        positions[3] = x1;
+        positions[4] = y1;
+        positions[5] = z1;
+        positions[6] = x2;
+        positions[7] = y2;
+        positions[8] = z2;
+        positions[9] = x3;
+        positions[10] = y3;
+        positions[11] = z3;
+    }
+
     public static List<Float> positions(VoxelFace face,
                                         float minX, float minY, float minZ,
                                         float maxX, float maxY, float maxZ) {
@@ -119,18 +145,6 @@ public enum VoxelFace {
         }
     }
 
-    /**
-     * Creates the normal vectors for the face provided.
-     * */
-    public static void createNormals(VoxelFace face,
-                                     ChunkMeshVertex v0, ChunkMeshVertex v1, ChunkMeshVertex v2, ChunkMeshVertex v3) {
-        Vector3f normal = new Vector3f((float) face.xDirection, (float) face.yDirection, (float) face.zDirection);
-        v0.normal = new Vector3f(normal);
-        v1.normal = new Vector3f(normal);
-        v2.normal = new Vector3f(normal);
-        v3.normal = new Vector3f(normal);
-    }
-
     /**
      * Creates the normal vectors for the face provided.
      * */
@@ -143,25 +157,6 @@ public enum VoxelFace {
         );
     }
 
-    /**
-     * Creates an array of texture coordinates needed for a single face. The expected values of the provided Vector4f
-     * are:
-     *
-     * <pre>
-     * uv.x -> u
-     * uv.y -> v
-     * uv.z -> s
-     * uv.w -> t
-     * </pre>
-     * */
-    public static void createFaceUVs(Vector4f uv,
-                                     ChunkMeshVertex v0, ChunkMeshVertex v1, ChunkMeshVertex v2, ChunkMeshVertex v3) {
-        v0.uv = new Vector2f(uv.x, uv.w);
-        v1.uv = new Vector2f(uv.z, uv.w);
-        v2.uv = new Vector2f(uv.z, uv.y);
-        v3.uv = new Vector2f(uv.x, uv.y);
-    }
-
     /**
      * Creates an array of texture coordinates needed for a single face. The expected values of the provided Vector4f
      * are:
@@ -0,0 +1,167 @@
+package com.branwilliams.bundi.voxel.world;
+
+import com.branwilliams.bundi.engine.core.Destructible;
+import com.branwilliams.bundi.engine.util.WorkerUtils;
+import com.branwilliams.bundi.voxel.VoxelChunkLoadTask;
+import com.branwilliams.bundi.voxel.builder.VoxelChunkMeshBuilder;
+import com.branwilliams.bundi.voxel.render.mesh.ChunkMesh;
+import com.branwilliams.bundi.voxel.voxels.VoxelRegistry;
+import com.branwilliams.bundi.voxel.world.chunk.ChunkPos;
+import com.branwilliams.bundi.voxel.world.chunk.VoxelChunk;
+import com.branwilliams.bundi.voxel.world.generator.VoxelChunkGenerator;
+import com.branwilliams.bundi.voxel.world.storage.ChunkNeighborhood;
+import com.branwilliams.bundi.voxel.world.storage.ChunkStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Reads or generates chunks and builds chunk meshes on a pool of worker threads. <br/>
+ * Generated chunks and built meshes are handed back through queues which are drained by the main thread, so the chunk
+ * storage and every OpenGL call stay on the main thread. The queue of built meshes is bounded, which stops the workers
+ * when the main thread falls behind, and it is drained within a time budget each frame so that uploading many meshes at
+ * once does not stall a frame. <br/>
+ * Every method except the work done by the workers must be invoked from the main thread.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class VoxelChunkLoader implements Destructible {
+
+    private static final int DEFAULT_UPLOAD_CAPACITY = 64;
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final ExecutorService workers;
+
+    private final Queue<VoxelChunk> generatedChunks;
+
+    private final Queue<ChunkPos> failedChunks;
+
+    private final BlockingQueue<VoxelChunkLoadTask> builtMeshes;
+
+    private final Set<ChunkPos> pendingChunks;
+
+    private final long uploadBudgetNanos;
+
+    public VoxelChunkLoader() {
+        this(WorkerUtils.defaultWorkerCount(), DEFAULT_UPLOAD_CAPACITY, WorkerUtils.DEFAULT_UPLOAD_BUDGET_NS);
+    }
+
+    /**
+     * @param workerCount The number of worker threads.
+     * @param uploadCapacity The maximum number of built meshes waiting to be uploaded.
+     * @param uploadBudgetNanos The time spent uploading meshes each frame. At least one mesh is uploaded each frame.
+     * */
+    public VoxelChunkLoader(int workerCount, int uploadCapacity, long uploadBudgetNanos) {
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("The worker count must be positive!");
+        }
+        if (uploadCapacity <= 0) {
+            throw new IllegalArgumentException("The upload capacity must be positive!");
+        }
+        this.workers = WorkerUtils.newDaemonThreadPool(workerCount, "voxel-chunk-worker");
+        this.generatedChunks = new ConcurrentLinkedQueue<>();
+        this.failedChunks = new ConcurrentLinkedQueue<>();
+        this.builtMeshes = new ArrayBlockingQueue<>(uploadCapacity);
+        this.pendingChunks = new HashSet<>();
+        this.uploadBudgetNanos = uploadBudgetNanos;
+    }
+
+    /**
+     * Reads the chunk at the provided chunk position from the storage on a worker thread, or generates it if it has
+     * never been saved. Nothing happens if this chunk is already being generated.
+     * */
+    public void requestChunk(ChunkStorage chunks, VoxelChunkGenerator voxelChunkGenerator, VoxelRegistry voxelRegistry,
+                             int chunkX, int chunkZ) {
+        ChunkPos chunkPos = new ChunkPos(chunkX, chunkZ);
+        if (!pendingChunks.add(chunkPos)) {
+            return;
+        }
+
+        workers.execute(() -> {
+            try {
+                VoxelChunk voxelChunk = chunks.readChunk(chunkX, chunkZ);
+                if (voxelChunk == null) {
+                    voxelChunk = voxelChunkGenerator.generateChunk(voxelRegistry, chunkX, chunkZ);
+                }
+                generatedChunks.add(voxelChunk);
+            } catch (IOException | RuntimeException e) {
+                log.error("Unable to generate chunk " + chunkPos, e);
+                // Failed chunks are handed back too, so that they are no longer pending and can be requested again.
+                failedChunks.add(chunkPos);
+            }
+        });
+    }
+
+    /**
+     * @return True if the chunk at the provided chunk position is being generated.
+     * */
+    public boolean isChunkPending(ChunkPos chunkPos) {
+        return pendingChunks.contains(chunkPos);
+    }
+
+    /**
+     * Performs the action for the position of every chunk which has failed to generate since the previous invocation.
+     * These chunks are no longer pending.
+     * */
+    public void pollFailedChunks(Consumer<ChunkPos> action) {
+        ChunkPos chunkPos;
+        while ((chunkPos = failedChunks.poll()) != null) {
+            pendingChunks.remove(chunkPos);
+            action.accept(chunkPos);
+        }
+    }
+
+    /**
+     * Performs the action for every chunk which has been read or generated since the previous invocation.
+     * */
+    public void pollGeneratedChunks(Consumer<VoxelChunk> action) {
+        VoxelChunk voxelChunk;
+        while ((voxelChunk = generatedChunks.poll()) != null) {
+            pendingChunks.remove(voxelChunk.chunkPos);
+            action.accept(voxelChunk);
+        }
+    }
+
+    /**
+     * Builds the mesh data of the provided chunk on a worker thread. The chunk and its neighbors within the provided
+     * storage are copied before this returns.
+     * */
+    public void requestMesh(VoxelChunkMeshBuilder voxelChunkMeshBuilder, ChunkStorage chunks, VoxelChunk voxelChunk,
+                            ChunkMesh chunkMesh) {
+        int buildId = chunkMesh.requestBuild();
+        ChunkNeighborhood neighborhood = new ChunkNeighborhood(chunks, voxelChunk);
+        workers.execute(new VoxelChunkLoadTask(voxelChunkMeshBuilder, neighborhood, voxelChunk, chunkMesh, buildId,
+                builtMeshes));
+    }
+
+    /**
+     * Performs the action for the meshes which have finished building, see
+     * {@link WorkerUtils#pollWithinBudget(Queue, long, Consumer)}.
+     * */
+    public void pollBuiltMeshes(Consumer<VoxelChunkLoadTask> action) {
+        WorkerUtils.pollWithinBudget(builtMeshes, uploadBudgetNanos, action);
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+        generatedChunks.clear();
+        failedChunks.clear();
+
+        VoxelChunkLoadTask task;
+        while ((task = builtMeshes.poll()) != null) {
+            if (task.getMeshData() != null) {
+                task.getMeshData().destroy();
+            }
+        }
+        pendingChunks.clear();
+    }
+}
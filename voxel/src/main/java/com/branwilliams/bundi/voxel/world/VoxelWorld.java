@@ -22,6 +22,7 @@ import org.joml.Vector3f;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -44,6 +45,8 @@ public class VoxelWorld implements Destructible {
 
     private ChunkMeshStorage chunkMeshStorage;
 
+    private VoxelChunkLoader voxelChunkLoader;
+
     private Set<ChunkPos> visibleChunks;
 
     private EntitySystemManager loadedEntities;
@@ -51,11 +54,13 @@ public class VoxelWorld implements Destructible {
     private IComponentMatcher playerMatcher;
 
     public VoxelWorld(VoxelRegistry voxelRegistry, VoxelChunkGenerator voxelChunkGenerator, ChunkStorage chunks,
-                      ChunkMeshStorage chunkMeshStorage, EntitySystemManager loadedEntities) {
+                      ChunkMeshStorage chunkMeshStorage, VoxelChunkLoader voxelChunkLoader,
+                      EntitySystemManager loadedEntities) {
         this.voxelRegistry = voxelRegistry;
         this.voxelChunkGenerator = voxelChunkGenerator;
         this.chunks = chunks;
         this.chunkMeshStorage = chunkMeshStorage;
+        this.voxelChunkLoader = voxelChunkLoader;
         this.visibleChunks = new HashSet<>();
         this.loadedEntities = loadedEntities;
         this.playerMatcher = this.loadedEntities.matcher(PlayerState.class, Transformable.class);
@@ -63,32 +68,102 @@ public class VoxelWorld implements Destructible {
 
     /**
      * This function unloads any loaded mesh that is outside of the radius around the chunkX and chunkZ provided. Any
-     * chunks that are not already loaded are generated and queued to load up as chunk meshes.
+     * chunks that are not already loaded are queued to be generated by the chunk loader and their meshes are loaded
+     * once they have been generated.
      * */
     public void loadChunks(float x, float z, int radius) {
+        loadChunks(x, z, radius, false);
+    }
+
+    /**
+     * Same as {@link VoxelWorld#loadChunks(float, float, int)}, except chunks which are not already loaded are
+     * generated before this returns. This is useful when the world is first created.
+     * */
+    public void loadChunksImmediately(float x, float z, int radius) {
+        loadChunks(x, z, radius, true);
+    }
+
+    private void loadChunks(float x, float z, int radius, boolean immediately) {
         int chunkX = ChunkPos.toChunkX(x);
         int chunkZ = ChunkPos.toChunkZ(z);
         unloadChunks(chunkX, chunkZ, radius);
 
         for (int i = chunkX - radius; i < chunkX + radius; i++) {
             for (int j = chunkZ - radius; j < chunkZ + radius; j++) {
-                VoxelChunk voxelChunk;
+                ChunkPos chunkPos = new ChunkPos(i, j);
 
-                if (chunks.isLoaded(i, j)) {
-                    voxelChunk = chunks.getChunk(i, j);
-                } else {
-                    voxelChunk = voxelChunkGenerator.generateChunk(voxelRegistry, i, j);
-                    chunks.loadChunk(voxelChunk.chunkPos, voxelChunk);
+                if (visibleChunks.contains(chunkPos)) {
+                    continue;
                 }
+                visibleChunks.add(chunkPos);
 
-                if (!visibleChunks.contains(voxelChunk.chunkPos)) {
-                    visibleChunks.add(voxelChunk.chunkPos);
-                    chunkMeshStorage.loadChunkMesh(voxelChunk.chunkPos, voxelChunk);
+                if (chunks.isLoaded(chunkPos)) {
+                    chunkMeshStorage.loadChunkMesh(chunkPos, chunks.getChunk(chunkPos));
+                } else if (immediately) {
+                    loadChunkImmediately(chunkPos);
+                } else {
+                    voxelChunkLoader.requestChunk(chunks, voxelChunkGenerator, voxelRegistry, i, j);
                 }
             }
         }
     }
 
+    /**
+     * Reads the chunk from the chunk storage, or generates it if it has never been saved, and loads it. Chunks which
+     * cannot be read are no longer visible, so they are requested again the next time chunks are loaded around them.
+     * */
+    private void loadChunkImmediately(ChunkPos chunkPos) {
+        VoxelChunk voxelChunk;
+        try {
+            voxelChunk = chunks.readChunk(chunkPos.getX(), chunkPos.getZ());
+        } catch (IOException e) {
+            log.error("Unable to read chunk " + chunkPos, e);
+            visibleChunks.remove(chunkPos);
+            return;
+        }
+
+        if (voxelChunk == null) {
+            voxelChunk = voxelChunkGenerator.generateChunk(voxelRegistry, chunkPos.getX(), chunkPos.getZ());
+        }
+        onChunkGenerated(voxelChunk);
+    }
+
+    /**
+     * Loads the read or generated chunk and its mesh if it is still visible.
+     * */
+    private void onChunkGenerated(VoxelChunk voxelChunk) {
+        if (chunks.isLoaded(voxelChunk.chunkPos)) {
+            return;
+        }
+        chunks.loadChunk(voxelChunk.chunkPos, voxelChunk);
+
+        if (visibleChunks.contains(voxelChunk.chunkPos)) {
+            chunkMeshStorage.loadChunkMesh(voxelChunk.chunkPos, voxelChunk);
+        }
+    }
+
+    /**
+     * Loads the chunks generated since the previous frame and uploads the chunk meshes which have been built. This
+     * must be invoked once per frame from the thread which owns the OpenGL context. Chunks which failed to generate or
+     * were evicted by the chunk storage are no longer visible, so they are requested again the next time chunks are
+     * loaded around them.
+     * */
+    public void update() {
+        chunks.pollEvictedChunks(this::onChunkEvicted);
+        voxelChunkLoader.pollFailedChunks(visibleChunks::remove);
+        voxelChunkLoader.pollGeneratedChunks(this::onChunkGenerated);
+        chunkMeshStorage.uploadMeshes();
+    }
+
+    /**
+     * Unloads the mesh of the evicted chunk, since it was built for a chunk this world no longer holds.
+     * */
+    private void onChunkEvicted(ChunkPos chunkPos) {
+        if (visibleChunks.remove(chunkPos)) {
+            chunkMeshStorage.unloadChunkMesh(chunkPos);
+        }
+    }
+
     /**
      * Tells the chunk mesh storage to unload any meshes not within the radius. Removes the chunk position from the
      * loaded chunks list.
@@ -119,7 +194,12 @@ public class VoxelWorld implements Destructible {
      * */
     public void forceGenerateChunkMeshes() {
         for (ChunkPos chunkPos : visibleChunks) {
-            chunkMeshStorage.forceGenerateMesh(this, chunks.getChunk(chunkPos));
+            VoxelChunk voxelChunk = chunks.getChunk(chunkPos);
+
+            // Chunks which are still being generated will be meshed once they are loaded.
+            if (voxelChunk != null) {
+                chunkMeshStorage.forceGenerateMesh(this, voxelChunk);
+            }
         }
     }
 
@@ -303,9 +383,17 @@ public class VoxelWorld implements Destructible {
         return chunkMeshStorage;
     }
 
+    public VoxelChunkLoader getVoxelChunkLoader() {
+        return voxelChunkLoader;
+    }
+
     @Override
     public void destroy() {
+        this.voxelChunkLoader.destroy();
         this.chunks.getLoadedChunks().forEach(VoxelChunk::destroy);
+        if (this.chunks instanceof Destructible) {
+            ((Destructible) this.chunks).destroy();
+        }
         this.chunkMeshStorage.destroy();
     }
 
@@ -67,6 +67,35 @@ public class ChunkPos {
         return z & (VoxelConstants.CHUNK_Z_SIZE - 1);
     }
 
+    /**
+     * @return The chunk coordinates of this chunk position packed into a long.
+     * */
+    public long toLong() {
+        return pack(x, z);
+    }
+
+    /**
+     * Packs the chunk coordinates into a long, the x coordinate within the high 32 bits and the z coordinate within the
+     * low 32 bits. This allows chunks to be looked up by their coordinates without creating a chunk position.
+     * */
+    public static long pack(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return The chunk x coordinate of a packed chunk position.
+     * */
+    public static int unpackX(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    /**
+     * @return The chunk z coordinate of a packed chunk position.
+     * */
+    public static int unpackZ(long packed) {
+        return (int) packed;
+    }
+
     public float distance(int chunkX, int chunkZ) {
         int dx = x - chunkX;
         int dz = z - chunkZ;
@@ -0,0 +1,358 @@
+package com.branwilliams.bundi.voxel.world.chunk;
+
+import com.branwilliams.bundi.voxel.VoxelConstants;
+import com.branwilliams.bundi.voxel.voxels.Voxel;
+import com.branwilliams.bundi.voxel.voxels.Voxels;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Stores the voxels of a chunk as indices into a palette of the distinct voxels within the chunk. <br/>
+ * The chunk is split into sections of {@link PalettedVoxelStorage#SECTION_HEIGHT} layers. Each section packs its
+ * indices into longs using the fewest bits (1, 2, 4, 8, or 16) able to address the palette. A section filled with one
+ * voxel only stores that voxels palette index, which is the case for most sections of air or stone. <br/>
+ * Voxels are shared instances (one per {@link com.branwilliams.bundi.voxel.voxels.VoxelIdentifier}), so the palette
+ * stores the voxels themselves rather than their identifiers and reads do not need a registry lookup. <br/>
+ * Coordinates must be within the chunk; {@link VoxelChunk} is responsible for clamping them.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class PalettedVoxelStorage {
+
+    public static final int SECTION_HEIGHT = 16;
+
+    private static final int SECTION_HEIGHT_BITS = 4;
+
+    private static final int SECTION_COUNT = VoxelConstants.CHUNK_Y_SIZE / SECTION_HEIGHT;
+
+    private static final int SECTION_VOLUME = VoxelConstants.CHUNK_X_SIZE * SECTION_HEIGHT
+            * VoxelConstants.CHUNK_Z_SIZE;
+
+    private static final int MAX_BITS_PER_ENTRY = 16;
+
+    private static final int MAX_PALETTE_SIZE = 1 << MAX_BITS_PER_ENTRY;
+
+    private final List<Voxel> palette = new ArrayList<>();
+
+    private final Map<Voxel, Integer> paletteIndices = new HashMap<>();
+
+    // The packed palette indices of each section. Null when the section is uniform.
+    private final long[][] sections = new long[SECTION_COUNT][];
+
+    // The palette index of every voxel within each uniform section.
+    private final int[] uniformIndices = new int[SECTION_COUNT];
+
+    private int bitsPerEntry = 1;
+
+    /**
+     * Creates a storage filled with air.
+     * */
+    public PalettedVoxelStorage() {
+        this(Voxels.air);
+    }
+
+    /**
+     * Creates a storage filled with the provided voxel.
+     * */
+    public PalettedVoxelStorage(Voxel fill) {
+        getPaletteIndex(fill);
+    }
+
+    /**
+     * Creates a copy of the provided storage.
+     * */
+    public PalettedVoxelStorage(PalettedVoxelStorage other) {
+        this.palette.addAll(other.palette);
+        this.paletteIndices.putAll(other.paletteIndices);
+        for (int section = 0; section < SECTION_COUNT; section++) {
+            long[] data = other.sections[section];
+            this.sections[section] = data == null ? null : data.clone();
+        }
+        System.arraycopy(other.uniformIndices, 0, this.uniformIndices, 0, SECTION_COUNT);
+        this.bitsPerEntry = other.bitsPerEntry;
+    }
+
+    /**
+     * Creates a storage with an empty palette. Used when reading a storage.
+     * */
+    private PalettedVoxelStorage(int bitsPerEntry) {
+        this.bitsPerEntry = bitsPerEntry;
+    }
+
+    /**
+     * Reads a storage previously written by {@link PalettedVoxelStorage#write(DataOutput)}.
+     * @param voxels Finds the voxel of each identifier within the palette. Identifiers which are no longer registered
+     *               are replaced with air.
+     * @throws IOException If the palette or any palette index read is invalid.
+     * */
+    public static PalettedVoxelStorage read(DataInput input, Function<String, Voxel> voxels) throws IOException {
+        int paletteSize = input.readInt();
+        int bitsPerEntry = input.readUnsignedByte();
+        if (paletteSize <= 0 || paletteSize > MAX_PALETTE_SIZE || bitsPerEntry != bitsFor(paletteSize)) {
+            throw new IOException("Invalid palette of " + paletteSize + " voxels using " + bitsPerEntry + " bits!");
+        }
+
+        PalettedVoxelStorage storage = new PalettedVoxelStorage(bitsPerEntry);
+        for (int i = 0; i < paletteSize; i++) {
+            Voxel voxel = voxels.apply(input.readUTF());
+            storage.palette.add(voxel == null ? Voxels.air : voxel);
+            storage.paletteIndices.putIfAbsent(storage.palette.get(i), i);
+        }
+
+        for (int section = 0; section < SECTION_COUNT; section++) {
+            if (input.readBoolean()) {
+                int paletteIndex = input.readUnsignedShort();
+                if (paletteIndex >= paletteSize) {
+                    throw new IOException("Invalid palette index " + paletteIndex + "!");
+                }
+                storage.uniformIndices[section] = paletteIndex;
+            } else {
+                long[] data = new long[dataLength(bitsPerEntry)];
+                for (int i = 0; i < data.length; i++) {
+                    data[i] = input.readLong();
+                }
+                for (int i = 0; i < SECTION_VOLUME; i++) {
+                    int paletteIndex = read(data, i, bitsPerEntry);
+                    if (paletteIndex >= paletteSize) {
+                        throw new IOException("Invalid palette index " + paletteIndex + "!");
+                    }
+                }
+                storage.sections[section] = data;
+            }
+        }
+        return storage;
+    }
+
+    /**
+     * Writes the palette, as voxel identifiers, followed by the packed indices of each section. The size of the
+     * palette is written as an int, since a full palette of 65536 voxels does not fit within a short.
+     * */
+    public void write(DataOutput output) throws IOException {
+        output.writeInt(palette.size());
+        output.writeByte(bitsPerEntry);
+        for (Voxel voxel : palette) {
+            output.writeUTF(voxel.id.normalized());
+        }
+
+        for (int section = 0; section < SECTION_COUNT; section++) {
+            long[] data = sections[section];
+            output.writeBoolean(data == null);
+            if (data == null) {
+                output.writeShort(uniformIndices[section]);
+            } else {
+                for (long word : data) {
+                    output.writeLong(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The voxel at the provided position within the chunk.
+     * */
+    public Voxel get(int x, int y, int z) {
+        int section = y >> SECTION_HEIGHT_BITS;
+        long[] data = sections[section];
+        if (data == null) {
+            return palette.get(uniformIndices[section]);
+        }
+        return palette.get(read(data, toSectionIndex(x, y, z)));
+    }
+
+    /**
+     * Sets the voxel at the provided position within the chunk.
+     * @return True if the voxel at this position changed.
+     * */
+    public boolean set(Voxel voxel, int x, int y, int z) {
+        int paletteIndex = getPaletteIndex(voxel);
+        int section = y >> SECTION_HEIGHT_BITS;
+        long[] data = sections[section];
+
+        if (data == null) {
+            if (uniformIndices[section] == paletteIndex) {
+                return false;
+            }
+            data = expandSection(section);
+        }
+
+        int index = toSectionIndex(x, y, z);
+        if (read(data, index) == paletteIndex) {
+            return false;
+        }
+        write(data, index, paletteIndex);
+        return true;
+    }
+
+    /**
+     * Removes the voxels which are no longer used from the palette, shrinks the indices to the fewest bits possible,
+     * and collapses any section which has become uniform. This is useful once a chunk has been generated or after many
+     * voxels have been replaced.
+     * */
+    public void compact() {
+        int[] counts = new int[palette.size()];
+        for (int section = 0; section < SECTION_COUNT; section++) {
+            long[] data = sections[section];
+            if (data == null) {
+                counts[uniformIndices[section]] += SECTION_VOLUME;
+            } else {
+                for (int i = 0; i < SECTION_VOLUME; i++) {
+                    counts[read(data, i)]++;
+                }
+            }
+        }
+
+        // Map each used palette index to its new index.
+        List<Voxel> voxels = new ArrayList<>(palette);
+        int[] remapped = new int[palette.size()];
+        palette.clear();
+        paletteIndices.clear();
+        for (int i = 0; i < counts.length; i++) {
+            remapped[i] = counts[i] > 0 ? getPaletteIndex(voxels.get(i)) : -1;
+        }
+
+        int oldBits = bitsPerEntry;
+        bitsPerEntry = bitsFor(palette.size());
+
+        for (int section = 0; section < SECTION_COUNT; section++) {
+            long[] data = sections[section];
+            if (data == null) {
+                uniformIndices[section] = remapped[uniformIndices[section]];
+                continue;
+            }
+
+            long[] packed = new long[dataLength(bitsPerEntry)];
+            boolean uniform = true;
+            int first = remapped[read(data, 0, oldBits)];
+            for (int i = 0; i < SECTION_VOLUME; i++) {
+                int paletteIndex = remapped[read(data, i, oldBits)];
+                uniform &= paletteIndex == first;
+                write(packed, i, paletteIndex, bitsPerEntry);
+            }
+
+            if (uniform) {
+                sections[section] = null;
+                uniformIndices[section] = first;
+            } else {
+                sections[section] = packed;
+            }
+        }
+    }
+
+    /**
+     * @return The number of distinct voxels within the palette.
+     * */
+    public int getPaletteSize() {
+        return palette.size();
+    }
+
+    /**
+     * @return The number of bits used by each packed index.
+     * */
+    public int getBitsPerEntry() {
+        return bitsPerEntry;
+    }
+
+    /**
+     * @return True if every voxel within the section at the provided index is the same.
+     * */
+    public boolean isUniform(int section) {
+        return sections[section] == null;
+    }
+
+    private int getPaletteIndex(Voxel voxel) {
+        Integer index = paletteIndices.get(voxel);
+        if (index == null) {
+            index = palette.size();
+            palette.add(voxel);
+            paletteIndices.put(voxel, index);
+
+            int bits = bitsFor(palette.size());
+            if (bits > bitsPerEntry) {
+                repack(bits);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Copies every non-uniform section into arrays using the provided number of bits per entry.
+     * */
+    private void repack(int bits) {
+        for (int section = 0; section < SECTION_COUNT; section++) {
+            long[] data = sections[section];
+            if (data != null) {
+                long[] packed = new long[dataLength(bits)];
+                for (int i = 0; i < SECTION_VOLUME; i++) {
+                    write(packed, i, read(data, i, bitsPerEntry), bits);
+                }
+                sections[section] = packed;
+            }
+        }
+        bitsPerEntry = bits;
+    }
+
+    private long[] expandSection(int section) {
+        long[] data = new long[dataLength(bitsPerEntry)];
+        int paletteIndex = uniformIndices[section];
+        if (paletteIndex != 0) {
+            for (int i = 0; i < SECTION_VOLUME; i++) {
+                write(data, i, paletteIndex);
+            }
+        }
+        sections[section] = data;
+        return data;
+    }
+
+    private int read(long[] data, int index) {
+        return read(data, index, bitsPerEntry);
+    }
+
+    private void write(long[] data, int index, int value) {
+        write(data, index, value, bitsPerEntry);
+    }
+
+    private static int read(long[] data, int index, int bits) {
+        int entriesPerLong = Long.SIZE / bits;
+        int shift = (index & (entriesPerLong - 1)) * bits;
+        return (int) ((data[index / entriesPerLong] >>> shift) & ((1L << bits) - 1L));
+    }
+
+    private static void write(long[] data, int index, int value, int bits) {
+        int entriesPerLong = Long.SIZE / bits;
+        int shift = (index & (entriesPerLong - 1)) * bits;
+        long mask = ((1L << bits) - 1L) << shift;
+        int word = index / entriesPerLong;
+        data[word] = (data[word] & ~mask) | (((long) value << shift) & mask);
+    }
+
+    /**
+     * @return The fewest bits, as a power of two, able to address a palette of the provided size.
+     * */
+    private static int bitsFor(int paletteSize) {
+        int bits = 1;
+        while ((1 << bits) < paletteSize) {
+            bits <<= 1;
+        }
+        if (bits > MAX_BITS_PER_ENTRY) {
+            throw new IllegalStateException("Unable to store more than " + (1 << MAX_BITS_PER_ENTRY)
+                    + " distinct voxels within a chunk!");
+        }
+        return bits;
+    }
+
+    private static int dataLength(int bits) {
+        return SECTION_VOLUME * bits / Long.SIZE;
+    }
+
+    private static int toSectionIndex(int x, int y, int z) {
+        return (((y & (SECTION_HEIGHT - 1)) * VoxelConstants.CHUNK_Z_SIZE) + z) * VoxelConstants.CHUNK_X_SIZE + x;
+    }
+}
@@ -6,6 +6,7 @@ import com.branwilliams.bundi.voxel.VoxelConstants;
 import com.branwilliams.bundi.voxel.math.AABB;
 import com.branwilliams.bundi.voxel.voxels.Voxel;
 import com.branwilliams.bundi.voxel.voxels.VoxelFace;
+import com.branwilliams.bundi.voxel.voxels.Voxels;
 
 /**
  * Represents a chunk of a VoxelWorld
@@ -17,13 +18,38 @@ public class VoxelChunk implements Destructible {
 
     public final ChunkPos chunkPos;
 
-    private Voxel[][][] kernel;
+    private final PalettedVoxelStorage kernel;
 
     private boolean dirty = true;
 
+    private boolean modified = true;
+
     private AABB aabb;
 
+    /**
+     * Creates a chunk filled with air.
+     * */
+    public VoxelChunk(ChunkPos chunkPos) {
+        this(chunkPos, new PalettedVoxelStorage());
+    }
+
+    /**
+     * Creates a chunk from a kernel of voxels. The kernel is copied into the chunks palette storage.
+     * */
     public VoxelChunk(ChunkPos chunkPos, Voxel[][][] kernel) {
+        this(chunkPos, new PalettedVoxelStorage());
+        for (int x = 0; x < VoxelConstants.CHUNK_X_SIZE; x++) {
+            for (int y = 0; y < VoxelConstants.CHUNK_Y_SIZE; y++) {
+                for (int z = 0; z < VoxelConstants.CHUNK_Z_SIZE; z++) {
+                    Voxel voxel = kernel[x][y][z];
+                    this.kernel.set(voxel == null ? Voxels.air : voxel, x, y, z);
+                }
+            }
+        }
+        this.kernel.compact();
+    }
+
+    public VoxelChunk(ChunkPos chunkPos, PalettedVoxelStorage kernel) {
         this.chunkPos = chunkPos;
         this.kernel = kernel;
         this.aabb = new AABB(chunkPos.getRealX(), 0F, chunkPos.getRealZ(),
@@ -55,11 +81,11 @@ public class VoxelChunk implements Destructible {
      * @return The {@link Voxel} stored within this chunks kernel at the kernel x, y, and z coordinates.
      * */
     public Voxel getVoxelAtPosition(int x, int y, int z) {
-        x = Mathf.clamp(x, 0, kernel.length - 1);
-        y = Mathf.clamp(y, 0, kernel[0].length - 1);
-        z = Mathf.clamp(z, 0, kernel[0][0].length - 1);
+        x = Mathf.clamp(x, 0, VoxelConstants.CHUNK_X_SIZE - 1);
+        y = Mathf.clamp(y, 0, VoxelConstants.CHUNK_Y_SIZE - 1);
+        z = Mathf.clamp(z, 0, VoxelConstants.CHUNK_Z_SIZE - 1);
 
-        return kernel[x][y][z];
+        return kernel.get(x, y, z);
     }
 
 
@@ -73,15 +99,15 @@ public class VoxelChunk implements Destructible {
      * @return True if any changes occurred to this chunk.
      * */
     public boolean setVoxelAtPosition(Voxel voxel, int x, int y, int z) {
-        x = Mathf.clamp(x, 0, kernel.length - 1);
-        y = Mathf.clamp(y, 0, kernel[0].length - 1);
-        z = Mathf.clamp(z, 0, kernel[0][0].length - 1);
+        x = Mathf.clamp(x, 0, VoxelConstants.CHUNK_X_SIZE - 1);
+        y = Mathf.clamp(y, 0, VoxelConstants.CHUNK_Y_SIZE - 1);
+        z = Mathf.clamp(z, 0, VoxelConstants.CHUNK_Z_SIZE - 1);
 
         // Mark this chunk as dirty if any changes occurred.
-        if (kernel[x][y][z] != voxel)
+        if (kernel.set(voxel, x, y, z)) {
             markDirty();
-
-        kernel[x][y][z] = voxel;
+            modified = true;
+        }
 
         return dirty;
     }
@@ -106,9 +132,24 @@ public class VoxelChunk implements Destructible {
      * @param z The z position within this chunks kernel (MIN_KERNEL_Z ~ MAX_KERNEL_Z)
      * */
     public boolean withinChunk(int x, int y, int z) {
-        return     x >= 0 && x < kernel.length
-                && y >= 0 && y < kernel[0].length
-                && z >= 0 && z < kernel[0][0].length;
+        return     x >= 0 && x < VoxelConstants.CHUNK_X_SIZE
+                && y >= 0 && y < VoxelConstants.CHUNK_Y_SIZE
+                && z >= 0 && z < VoxelConstants.CHUNK_Z_SIZE;
+    }
+
+    /**
+     * @return A copy of this chunk which does not share its voxels with this chunk. Useful for reading this chunk from
+     * another thread while this chunk is modified.
+     * */
+    public VoxelChunk copy() {
+        return new VoxelChunk(chunkPos, new PalettedVoxelStorage(kernel));
+    }
+
+    /**
+     * @return The palette storage which holds the voxels of this chunk.
+     * */
+    public PalettedVoxelStorage getKernel() {
+        return kernel;
     }
 
     /**
@@ -139,6 +180,21 @@ public class VoxelChunk implements Destructible {
         return dirty;
     }
 
+    /**
+     * Marks this chunk as saved, so that it is not written again until it has been modified.
+     * */
+    public void markSaved() {
+        modified = false;
+    }
+
+    /**
+     * @return True if this chunk has been modified since it was last saved. Chunks which have never been saved are
+     * modified.
+     * */
+    public boolean isModified() {
+        return modified;
+    }
+
     @Override
     public void destroy() {
     }
@@ -25,6 +25,9 @@ public class NoiseChunkGenerator implements VoxelChunkGenerator {
 
     private final Random random;
 
+    private final ThreadLocal<float[]> noiseGrids = ThreadLocal.withInitial(() ->
+            new float[VoxelConstants.CHUNK_X_SIZE * VoxelConstants.CHUNK_Y_SIZE * VoxelConstants.CHUNK_Z_SIZE]);
+
     public NoiseChunkGenerator(Noise noise) {
         this.noise = noise;
         this.random = new Random(noise.hashCode());
@@ -40,24 +43,26 @@ public class NoiseChunkGenerator implements VoxelChunkGenerator {
         float noiseZ = chunkZ;
 
         float noiseScale = 1F / (Mathf.average(VoxelConstants.CHUNK_X_SIZE, VoxelConstants.CHUNK_Z_SIZE));
-        Voxel[][][] kernel = new Voxel[VoxelConstants.CHUNK_X_SIZE][VoxelConstants.CHUNK_Y_SIZE][VoxelConstants.CHUNK_Z_SIZE];
+        VoxelChunk chunk = new VoxelChunk(new ChunkPos(chunkX, chunkZ));
 
         // Ensure the edges of each tile matches.
         noiseX = noiseX - noiseX * (1F / VoxelConstants.CHUNK_X_SIZE);
         noiseY = noiseY - noiseY * (1F / VoxelConstants.CHUNK_Y_SIZE);
         noiseZ = noiseZ - noiseZ * (1F / VoxelConstants.CHUNK_Z_SIZE);
 
-        for (int i = 0; i < VoxelConstants.CHUNK_X_SIZE; i++) {
-            float nx = (noiseX * VoxelConstants.CHUNK_X_SIZE + i + 1) * noiseScale;
+        // Sample the noise of every voxel at once. Chunks are generated on several threads, so each has its own grid.
+        float[] noiseGrid = noiseGrids.get();
+        noise.noiseGrid(noiseGrid,
+                (noiseX * VoxelConstants.CHUNK_X_SIZE + 1) * noiseScale,
+                (noiseY * VoxelConstants.CHUNK_Y_SIZE + 1) * noiseScale,
+                (noiseZ * VoxelConstants.CHUNK_Z_SIZE + 1) * noiseScale,
+                noiseScale, VoxelConstants.CHUNK_X_SIZE, VoxelConstants.CHUNK_Y_SIZE, VoxelConstants.CHUNK_Z_SIZE);
 
+        for (int i = 0; i < VoxelConstants.CHUNK_X_SIZE; i++) {
             for (int j = VoxelConstants.CHUNK_Y_SIZE - 1; j >= 0; j--) {
-                float ny = (noiseY * VoxelConstants.CHUNK_Y_SIZE + j + 1) * noiseScale;
-
                 for (int k = 0; k < VoxelConstants.CHUNK_Z_SIZE; k++) {
-                    float nz = (noiseZ * VoxelConstants.CHUNK_Z_SIZE + k + 1) * noiseScale;
-
-                    // noise value at nx, ny, nz
-                    float e = (float) noise.noise(nx, ny, nz);
+                    // noise value at i, j, k
+                    float e = noiseGrid[i + VoxelConstants.CHUNK_X_SIZE * (j + VoxelConstants.CHUNK_Y_SIZE * k)];
 
                     // Gradient in the y-axis
                     float gradient = 1F - ((float) j / (float) VoxelConstants.CHUNK_Y_SIZE);
@@ -65,17 +70,19 @@ public class NoiseChunkGenerator implements VoxelChunkGenerator {
                     // Change the -1 ~ 1 noise value to 0 ~ 1.
                     float clampedNoiseValue = (Mathf.clamp(e, 1F) + 1F) * 0.5F;
 
-                    Voxel voxel = determineVoxel(kernel, i, j, k, clampedNoiseValue, gradient);
+                    Voxel voxel = determineVoxel(chunk, i, j, k, clampedNoiseValue, gradient);
 
-                    kernel[i][j][k] = voxel;
+                    chunk.setVoxelAtPosition(voxel, i, j, k);
                 }
             }
         }
 
-        return new VoxelChunk(new ChunkPos(chunkX, chunkZ), kernel);
+        // Shrink the palette storage now that the chunk is complete.
+        chunk.getKernel().compact();
+        return chunk;
     }
 
-    private Voxel determineVoxel(Voxel[][][] kernel, int i, int j, int k, float noiseValue, float yGradient) {
+    private Voxel determineVoxel(VoxelChunk chunk, int i, int j, int k, float noiseValue, float yGradient) {
         Voxel voxel = Voxels.air;
         if (yGradient > 0.55F) {
 
@@ -88,7 +95,7 @@ public class NoiseChunkGenerator implements VoxelChunkGenerator {
                 voxel = Voxels.sand;
             } else
             // top block or a block with nothing above it becomes grass.
-            if (isTopBlock || Voxel.isAir(kernel[i][j + 1][k])) {
+            if (isTopBlock || Voxel.isAir(chunk.getVoxelAtPosition(i, j + 1, k))) {
                 voxel = Voxels.grass;
             } else {
                 voxel = Voxels.dirt;
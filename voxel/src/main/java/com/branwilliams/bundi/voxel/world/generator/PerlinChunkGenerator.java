@@ -46,7 +46,7 @@ public class PerlinChunkGenerator implements VoxelChunkGenerator {
         float noiseZ = chunkZ;
 
         float noiseScale = 1F / (Mathf.average(VoxelConstants.CHUNK_X_SIZE, VoxelConstants.CHUNK_Z_SIZE));
-        Voxel[][][] kernel = new Voxel[VoxelConstants.CHUNK_X_SIZE][VoxelConstants.CHUNK_Y_SIZE][VoxelConstants.CHUNK_Z_SIZE];
+        VoxelChunk chunk = new VoxelChunk(new ChunkPos(chunkX, chunkZ));
 
         // Ensure the edges of each tile matches.
         noiseX = noiseX - noiseX * (1F / VoxelConstants.CHUNK_X_SIZE);
@@ -71,17 +71,19 @@ public class PerlinChunkGenerator implements VoxelChunkGenerator {
                     // Change the -1 ~ 1 noise value to 0 ~ 1.
                     float clampedNoiseValue = (Mathf.clamp(e, 1F) + 1F) * 0.5F;
 
-                    Voxel voxel = determineVoxel(kernel, i, j, k, clampedNoiseValue, gradient);
+                    Voxel voxel = determineVoxel(chunk, i, j, k, clampedNoiseValue, gradient);
 
-                    kernel[i][j][k] = voxel;
+                    chunk.setVoxelAtPosition(voxel, i, j, k);
                 }
             }
         }
 
-        return new VoxelChunk(new ChunkPos(chunkX, chunkZ), kernel);
+        // Shrink the palette storage now that the chunk is complete.
+        chunk.getKernel().compact();
+        return chunk;
     }
 
-    private Voxel determineVoxel(Voxel[][][] kernel, int i, int j, int k, float noiseValue, float yGradient) {
+    private Voxel determineVoxel(VoxelChunk chunk, int i, int j, int k, float noiseValue, float yGradient) {
         Voxel voxel = Voxels.air;
         if (yGradient > 0.55F) {
 
@@ -94,7 +96,7 @@ public class PerlinChunkGenerator implements VoxelChunkGenerator {
                 voxel = Voxels.sand;
             } else
             // top block or a block with nothing above it becomes grass.
-            if (isTopBlock || Voxel.isAir(kernel[i][j + 1][k])) {
+            if (isTopBlock || Voxel.isAir(chunk.getVoxelAtPosition(i, j + 1, k))) {
                 voxel = Voxels.grass;
             } else {
                 voxel = Voxels.dirt;
@@ -1,10 +1,10 @@
 package com.branwilliams.bundi.voxel.world.storage;
 
 import com.branwilliams.bundi.engine.core.Destructible;
-import com.branwilliams.bundi.engine.util.RateLimiter;
+import com.branwilliams.bundi.voxel.VoxelChunkLoadTask;
 import com.branwilliams.bundi.voxel.builder.VoxelChunkMeshBuilder;
-import com.branwilliams.bundi.voxel.builder.VoxelMeshBuilderImpl;
 import com.branwilliams.bundi.voxel.render.mesh.ChunkMesh;
+import com.branwilliams.bundi.voxel.world.VoxelChunkLoader;
 import com.branwilliams.bundi.voxel.world.VoxelWorld;
 import com.branwilliams.bundi.voxel.world.chunk.ChunkPos;
 import com.branwilliams.bundi.voxel.world.chunk.VoxelChunk;
@@ -12,6 +12,10 @@ import com.branwilliams.bundi.voxel.world.chunk.VoxelChunk;
 import java.util.*;
 
 /**
+ * Holds the mesh of each visible chunk. Meshes are built by the workers of a {@link VoxelChunkLoader} and uploaded
+ * by {@link ChunkMeshStorage#uploadMeshes()}, which is invoked once per frame. A chunk whose mesh fails to build is
+ * left dirty and its mesh is requested again after a delay, see {@link ChunkMesh#failBuild(long)}.
+ *
  * @author Brandon
  * @since August 19, 2019
  */
@@ -19,15 +23,18 @@ public class ChunkMeshStorage implements Destructible {
 
     private final VoxelChunkMeshBuilder voxelChunkMeshBuilder;
 
-    private final RateLimiter meshCreationLimiter;
+    private final VoxelChunkLoader voxelChunkLoader;
 
     private final MeshPool meshPool;
 
     private Map<ChunkPos, ChunkMesh> meshes;
 
-    public ChunkMeshStorage(VoxelChunkMeshBuilder voxelChunkMeshBuilder, RateLimiter meshCreationLimiter) {
+    // The number of times the meshes have been uploaded, which counts the frames for the delay of failed builds.
+    private long frame;
+
+    public ChunkMeshStorage(VoxelChunkMeshBuilder voxelChunkMeshBuilder, VoxelChunkLoader voxelChunkLoader) {
         this.voxelChunkMeshBuilder = voxelChunkMeshBuilder;
-        this.meshCreationLimiter = meshCreationLimiter;
+        this.voxelChunkLoader = voxelChunkLoader;
         this.meshPool = new MeshPool();
         this.meshes = new HashMap<>();
     }
@@ -67,26 +74,24 @@ public class ChunkMeshStorage implements Destructible {
         toRemove.forEach((chunkPosition) -> meshes.remove(chunkPosition));
     }
 
+    /**
+     * Requests a build of the mesh for the provided chunk if the mesh is new or the chunk is dirty.
+     * @return The mesh of the provided chunk. Null if the mesh has not been built for this chunk yet.
+     * */
     public ChunkMesh getMesh(VoxelWorld voxelWorld, VoxelChunk voxelChunk) {
         ChunkMesh mesh = meshes.get(voxelChunk.chunkPos);
 
         if (mesh != null) {
-//            System.out.println("mesh state=" + mesh.getMeshState().name());
             switch (mesh.getMeshState()) {
                 case REASSIGNED:
-                    if (meshCreationLimiter.reached()) {
-                        mesh.load();
-                        voxelChunkMeshBuilder.rebuildChunkMesh(voxelWorld, voxelChunk, mesh);
-                        meshCreationLimiter.reset();
-                        break;
-                    } else {
-                        return null;
+                    if (mesh.canRequestBuild(frame)) {
+                        requestMesh(voxelWorld, voxelChunk, mesh);
                     }
+                    return null;
                 case UNASSIGNED:
                 case LOADED:
-                    if (voxelChunk.isDirty()) {
-                        voxelChunkMeshBuilder.rebuildChunkMesh(voxelWorld, voxelChunk, mesh);
-                        voxelChunk.markClean();
+                    if (voxelChunk.isDirty() && mesh.canRequestBuild(frame)) {
+                        requestMesh(voxelWorld, voxelChunk, mesh);
                     }
                     break;
                 default:
@@ -97,6 +102,48 @@ public class ChunkMeshStorage implements Destructible {
         return mesh;
     }
 
+    private void requestMesh(VoxelWorld voxelWorld, VoxelChunk voxelChunk, ChunkMesh mesh) {
+        // Changes made while the mesh is built will mark the chunk dirty again.
+        voxelChunk.markClean();
+        voxelChunkLoader.requestMesh(voxelChunkMeshBuilder, voxelWorld.getChunks(), voxelChunk, mesh);
+    }
+
+    /**
+     * Uploads the meshes built by the workers until the upload budget of this frame has been spent. This must be
+     * invoked from the thread which owns the OpenGL context.
+     * */
+    public void uploadMeshes() {
+        frame++;
+        voxelChunkLoader.pollBuiltMeshes(this::uploadMesh);
+    }
+
+    private void uploadMesh(VoxelChunkLoadTask task) {
+        ChunkMesh mesh = task.getChunkMesh();
+
+        // The chunk was marked clean when the build was requested, so it is marked dirty again to keep its mesh from
+        // being left with stale geometry.
+        if (task.getMeshData() == null) {
+            if (mesh.completeBuild(task.getBuildId())) {
+                task.getVoxelChunk().markDirty();
+                mesh.failBuild(frame);
+            }
+            return;
+        }
+
+        // The mesh has changed chunks or has been built again since this task began.
+        if (!mesh.completeBuild(task.getBuildId())) {
+            task.getMeshData().destroy();
+            return;
+        }
+
+        mesh.succeedBuild();
+        if (mesh.getMeshState() == ChunkMesh.MeshState.REASSIGNED) {
+            mesh.load();
+        }
+        mesh.setMeshData(task.getMeshData());
+        mesh.loadMeshData();
+    }
+
     /**
      * Forces the generation of this chunks mesh.
      * */
@@ -107,10 +154,11 @@ public class ChunkMeshStorage implements Destructible {
             mesh = meshPool.borrowMesh();
             meshes.put(voxelChunk.chunkPos, mesh);
             mesh.reassign(voxelChunk);
-            meshCreationLimiter.reset();
         }
 
         mesh.load();
+        // Any pending build is older than this one.
+        mesh.completeBuild(mesh.requestBuild());
         voxelChunkMeshBuilder.rebuildChunkMesh(voxelWorld, voxelChunk, mesh);
         voxelChunk.markClean();
     }
@@ -0,0 +1,87 @@
+package com.branwilliams.bundi.voxel.world.storage;
+
+import com.branwilliams.bundi.voxel.world.chunk.ChunkPos;
+import com.branwilliams.bundi.voxel.world.chunk.VoxelChunk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A read only chunk storage holding copies of a chunk and its four neighbors. This is everything a
+ * {@link com.branwilliams.bundi.voxel.builder.VoxelChunkMeshBuilder} reads while building the mesh of the center
+ * chunk, so a mesh can be built on a worker thread while the original chunks are modified on the main thread.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class ChunkNeighborhood implements ChunkStorage {
+
+    private final List<VoxelChunk> chunks = new ArrayList<>(5);
+
+    private final VoxelChunk center;
+
+    /**
+     * Copies the provided chunk and each of its neighbors which are loaded within the provided storage.
+     * */
+    public ChunkNeighborhood(ChunkStorage storage, VoxelChunk voxelChunk) {
+        int chunkX = voxelChunk.chunkPos.getX();
+        int chunkZ = voxelChunk.chunkPos.getZ();
+
+        this.center = voxelChunk.copy();
+        this.chunks.add(center);
+        copyChunk(storage, chunkX - 1, chunkZ);
+        copyChunk(storage, chunkX + 1, chunkZ);
+        copyChunk(storage, chunkX, chunkZ - 1);
+        copyChunk(storage, chunkX, chunkZ + 1);
+    }
+
+    private void copyChunk(ChunkStorage storage, int chunkX, int chunkZ) {
+        VoxelChunk chunk = storage.getChunk(chunkX, chunkZ);
+        if (chunk != null) {
+            chunks.add(chunk.copy());
+        }
+    }
+
+    /**
+     * @return The copy of the chunk at the center of this neighborhood.
+     * */
+    public VoxelChunk getCenter() {
+        return center;
+    }
+
+    @Override
+    public boolean isLoaded(ChunkPos chunkPos) {
+        return getChunk(chunkPos) != null;
+    }
+
+    @Override
+    public VoxelChunk getChunk(ChunkPos chunkPos) {
+        return getChunk(chunkPos.getX(), chunkPos.getZ());
+    }
+
+    @Override
+    public VoxelChunk getChunk(int chunkX, int chunkZ) {
+        for (int i = 0; i < chunks.size(); i++) {
+            ChunkPos chunkPos = chunks.get(i).chunkPos;
+            if (chunkPos.getX() == chunkX && chunkPos.getZ() == chunkZ) {
+                return chunks.get(i);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void loadChunk(ChunkPos chunkPos, VoxelChunk voxelChunk) {
+        throw new UnsupportedOperationException("A chunk neighborhood is read only!");
+    }
+
+    @Override
+    public void unloadChunk(ChunkPos chunkPos) {
+        throw new UnsupportedOperationException("A chunk neighborhood is read only!");
+    }
+
+    @Override
+    public Iterable<VoxelChunk> getLoadedChunks() {
+        return chunks;
+    }
+}
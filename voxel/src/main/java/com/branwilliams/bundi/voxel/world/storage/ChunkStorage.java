@@ -10,6 +10,9 @@ import com.branwilliams.bundi.voxel.world.chunk.ChunkPos;
 import com.branwilliams.bundi.voxel.world.chunk.VoxelChunk;
 import org.joml.Vector3f;
 
+import java.io.IOException;
+import java.util.function.Consumer;
+
 /**
  * @author Brandon
  * @since August 19, 2019
@@ -49,12 +52,31 @@ public interface ChunkStorage {
     }
 
     /**
+     * Every voxel query of this storage finds its chunk through this, so implementations should override this to find
+     * the chunk without creating a {@link ChunkPos}.
      * @return The {@link VoxelChunk} at the given chunk position.
      * */
     default VoxelChunk getChunk(int chunkX, int chunkZ) {
         return getChunk(new ChunkPos(chunkX, chunkZ));
     }
 
+    /**
+     * Reads a chunk which is not loaded from wherever this storage saves its chunks. The chunk loader invokes this from
+     * its worker threads before generating a chunk, so implementations which save chunks must allow this from any
+     * thread. The chunk returned is not loaded into this storage.
+     * @return The saved chunk at the given chunk position or null if it has never been saved.
+     * */
+    default VoxelChunk readChunk(int chunkX, int chunkZ) throws IOException {
+        return null;
+    }
+
+    /**
+     * Performs the action for the position of every chunk which this storage has evicted on its own since the previous
+     * invocation. Storages which only unload chunks when asked to never evict any.
+     * */
+    default void pollEvictedChunks(Consumer<ChunkPos> action) {
+    }
+
     /**
      * Loads the provided chunk into the chunk positions.
      * */
@@ -147,7 +169,7 @@ public interface ChunkStorage {
 
         if (chunk != null) {
             // Take the last 4 bits (15 decimal = 1111 binary)
-            return chunk.getVoxelAtPosition(ChunkPos.toKernelX(x), y, ChunkPos.toKernelX(z));
+            return chunk.getVoxelAtPosition(ChunkPos.toKernelX(x), y, ChunkPos.toKernelZ(z));
         } else {
             return Voxels.air;
         }
@@ -1,43 +1,78 @@
 package com.branwilliams.bundi.voxel.world.storage;
 
+import com.branwilliams.bundi.engine.util.LongObjectMap;
 import com.branwilliams.bundi.voxel.world.chunk.ChunkPos;
 import com.branwilliams.bundi.voxel.world.chunk.VoxelChunk;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
+ * Keeps every chunk in memory, mapped by their packed chunk coordinates (see {@link ChunkPos#pack(int, int)}). <br/>
+ * The last chunk found is remembered, since consecutive voxel queries usually fall within the same chunk. Neither
+ * lookups nor voxel queries allocate anything.
+ *
  * @author Brandon
  * @since August 19, 2019
  */
 public class HashChunkStorage implements ChunkStorage {
 
-    private Map<ChunkPos, VoxelChunk> chunks;
+    private final LongObjectMap<VoxelChunk> chunks;
+
+    private VoxelChunk lastChunk;
 
     public HashChunkStorage() {
-        this.chunks = new HashMap<>();
+        this.chunks = new LongObjectMap<>();
     }
 
     @Override
     public boolean isLoaded(ChunkPos chunkPos) {
-        return chunks.containsKey(chunkPos);
+        return isLoaded(chunkPos.getX(), chunkPos.getZ());
+    }
+
+    @Override
+    public boolean isLoaded(int chunkX, int chunkZ) {
+        return getChunk(chunkX, chunkZ) != null;
     }
 
     @Override
     public VoxelChunk getChunk(ChunkPos chunkPos) {
-        return chunks.get(chunkPos);
+        return getChunk(chunkPos.getX(), chunkPos.getZ());
+    }
+
+    @Override
+    public VoxelChunk getChunk(int chunkX, int chunkZ) {
+        VoxelChunk voxelChunk = lastChunk;
+        if (voxelChunk != null && voxelChunk.chunkPos.getX() == chunkX && voxelChunk.chunkPos.getZ() == chunkZ) {
+            return voxelChunk;
+        }
+
+        voxelChunk = chunks.get(ChunkPos.pack(chunkX, chunkZ));
+        if (voxelChunk != null) {
+            lastChunk = voxelChunk;
+        }
+        return voxelChunk;
     }
 
     @Override
     public void loadChunk(ChunkPos chunkPos, VoxelChunk voxelChunk) {
-        chunks.put(chunkPos, voxelChunk);
-        updateAllNeighbors(chunkPos.getX(), chunkPos.getZ());
+        loadChunk(chunkPos.getX(), chunkPos.getZ(), voxelChunk);
+    }
+
+    @Override
+    public void loadChunk(int chunkX, int chunkZ, VoxelChunk voxelChunk) {
+        chunks.put(ChunkPos.pack(chunkX, chunkZ), voxelChunk);
+        lastChunk = null;
+        updateAllNeighbors(chunkX, chunkZ);
     }
 
     @Override
     public void unloadChunk(ChunkPos chunkPos) {
-        chunks.remove(chunkPos);
-        updateAllNeighbors(chunkPos.getX(), chunkPos.getZ());
+        unloadChunk(chunkPos.getX(), chunkPos.getZ());
+    }
+
+    @Override
+    public void unloadChunk(int chunkX, int chunkZ) {
+        chunks.remove(ChunkPos.pack(chunkX, chunkZ));
+        lastChunk = null;
+        updateAllNeighbors(chunkX, chunkZ);
     }
 
     @Override
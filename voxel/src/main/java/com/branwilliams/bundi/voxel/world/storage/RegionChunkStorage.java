@@ -0,0 +1,463 @@
+package com.branwilliams.bundi.voxel.world.storage;
+
+import com.branwilliams.bundi.engine.core.Destructible;
+import com.branwilliams.bundi.engine.util.LongObjectMap;
+import com.branwilliams.bundi.voxel.voxels.VoxelRegistry;
+import com.branwilliams.bundi.voxel.world.chunk.ChunkPos;
+import com.branwilliams.bundi.voxel.world.chunk.PalettedVoxelStorage;
+import com.branwilliams.bundi.voxel.world.chunk.VoxelChunk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DeflaterOutputStream;
+import java.util.function.Consumer;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A chunk storage which saves its chunks within compressed {@link RegionFile}s and only keeps a limited number of
+ * chunks in memory. <br/>
+ * Once more than the maximum number of chunks are resident, the least recently used chunk is evicted. Evicted chunks
+ * which have been modified since they were last saved are copied and written to their region file by a single writer
+ * thread, so saving never blocks the main thread. A chunk requested while its write is pending is recovered from the
+ * copy waiting to be written. <br/>
+ * A chunk is considered loaded if it is resident or waiting to be written, so querying this storage never touches the
+ * disk. Saved chunks are read back by {@link RegionChunkStorage#readChunk(int, int)} on the workers of the chunk
+ * loader, which load them instead of generating them again. The maximum number of resident chunks should exceed the
+ * number of visible chunks, otherwise visible chunks will be read from their region file over and over. The positions
+ * of evicted chunks are handed out by {@link RegionChunkStorage#pollEvictedChunks(Consumer)}, so that a world can
+ * request them again while they are still visible. Region files
+ * are opened the first time one of their chunks is read or written, are only created when written, and stay open until
+ * this storage is destroyed. <br/>
+ * Every method except {@link RegionChunkStorage#readChunk(int, int)} must be invoked from the main thread.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class RegionChunkStorage implements ChunkStorage, Destructible {
+
+    public static final int DEFAULT_MAX_RESIDENT_CHUNKS = 1024;
+
+    // Version 2 writes the size of the palette as an int.
+    private static final int FORMAT_VERSION = 2;
+
+    private static final long WRITER_SHUTDOWN_TIMEOUT_SECONDS = 30L;
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final Path directory;
+
+    private final VoxelRegistry voxelRegistry;
+
+    private final int maxResidentChunks;
+
+    // The resident chunks, mapped by their packed chunk coordinates.
+    private final LongObjectMap<ResidentChunk> chunks;
+
+    // Copies of the evicted chunks which have not been written yet, mapped by their packed chunk coordinates. Guarded by
+    // itself, since the writer thread removes them once they are written.
+    private final LongObjectMap<VoxelChunk> pendingWrites;
+
+    private final Map<Long, RegionFile> regions;
+
+    private final ExecutorService writer;
+
+    // The positions of the chunks evicted since they were last polled.
+    private final Queue<ChunkPos> evictedChunks;
+
+    // The resident chunks ordered from the most to the least recently used.
+    private ResidentChunk mostRecent;
+
+    private ResidentChunk leastRecent;
+
+    public RegionChunkStorage(Path directory, VoxelRegistry voxelRegistry) {
+        this(directory, voxelRegistry, DEFAULT_MAX_RESIDENT_CHUNKS);
+    }
+
+    /**
+     * @param directory The directory holding the region files. It is created if it does not exist.
+     * @param maxResidentChunks The maximum number of chunks kept in memory.
+     * */
+    public RegionChunkStorage(Path directory, VoxelRegistry voxelRegistry, int maxResidentChunks) {
+        if (maxResidentChunks <= 0) {
+            throw new IllegalArgumentException("The maximum number of resident chunks must be positive!");
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to create the region directory " + directory, e);
+        }
+        this.directory = directory;
+        this.voxelRegistry = voxelRegistry;
+        this.maxResidentChunks = maxResidentChunks;
+        this.chunks = new LongObjectMap<>(maxResidentChunks + 1);
+        this.pendingWrites = new LongObjectMap<>();
+        this.regions = new ConcurrentHashMap<>();
+        this.evictedChunks = new ArrayDeque<>();
+        this.writer = Executors.newSingleThreadExecutor((runnable) -> {
+            Thread thread = new Thread(runnable, "voxel-region-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public boolean isLoaded(ChunkPos chunkPos) {
+        return isLoaded(chunkPos.getX(), chunkPos.getZ());
+    }
+
+    /**
+     * @return True if the chunk is resident or waiting to be written. Chunks which are only saved within their region
+     * file are not loaded, see {@link RegionChunkStorage#readChunk(int, int)}.
+     * */
+    @Override
+    public boolean isLoaded(int chunkX, int chunkZ) {
+        long key = ChunkPos.pack(chunkX, chunkZ);
+        return chunks.containsKey(key) || getPendingWrite(key) != null;
+    }
+
+    @Override
+    public VoxelChunk getChunk(ChunkPos chunkPos) {
+        return getChunk(chunkPos.getX(), chunkPos.getZ());
+    }
+
+    /**
+     * Finds the chunk at the provided chunk position if it is loaded, recovering it from the copy waiting to be written
+     * if it is not resident. Finding the most recently used chunk again, which is what consecutive voxel queries usually
+     * do, is a comparison of its coordinates.
+     * */
+    @Override
+    public VoxelChunk getChunk(int chunkX, int chunkZ) {
+        ResidentChunk resident = mostRecent;
+        if (resident != null && resident.voxelChunk.chunkPos.getX() == chunkX
+                && resident.voxelChunk.chunkPos.getZ() == chunkZ) {
+            return resident.voxelChunk;
+        }
+
+        long key = ChunkPos.pack(chunkX, chunkZ);
+        resident = chunks.get(key);
+        if (resident != null) {
+            unlink(resident);
+            linkFirst(resident);
+            return resident.voxelChunk;
+        }
+
+        VoxelChunk pending = getPendingWrite(key);
+        if (pending == null) {
+            return null;
+        }
+        VoxelChunk voxelChunk = pending.copy();
+        voxelChunk.markSaved();
+        addResident(key, voxelChunk);
+        updateAllNeighbors(chunkX, chunkZ);
+        return voxelChunk;
+    }
+
+    @Override
+    public void loadChunk(ChunkPos chunkPos, VoxelChunk voxelChunk) {
+        loadChunk(chunkPos.getX(), chunkPos.getZ(), voxelChunk);
+    }
+
+    @Override
+    public void loadChunk(int chunkX, int chunkZ, VoxelChunk voxelChunk) {
+        long key = ChunkPos.pack(chunkX, chunkZ);
+        ResidentChunk previous = chunks.remove(key);
+        if (previous != null) {
+            unlink(previous);
+        }
+        addResident(key, voxelChunk);
+        updateAllNeighbors(chunkX, chunkZ);
+    }
+
+    @Override
+    public void unloadChunk(ChunkPos chunkPos) {
+        unloadChunk(chunkPos.getX(), chunkPos.getZ());
+    }
+
+    /**
+     * Removes the chunk from memory, saving it first if it has been modified. The chunk can be loaded again from its
+     * region file.
+     * */
+    @Override
+    public void unloadChunk(int chunkX, int chunkZ) {
+        ResidentChunk resident = chunks.remove(ChunkPos.pack(chunkX, chunkZ));
+        if (resident != null) {
+            unlink(resident);
+            save(resident.voxelChunk);
+        }
+    }
+
+    /**
+     * Marks a chunk dirty if it is resident. Chunks which are not resident are rebuilt when they are loaded, so they
+     * are not loaded only to be marked dirty.
+     * */
+    @Override
+    public void markChunkDirty(int chunkX, int chunkZ) {
+        ResidentChunk resident = chunks.get(ChunkPos.pack(chunkX, chunkZ));
+        if (resident != null)
+            resident.voxelChunk.markDirty();
+    }
+
+    /**
+     * @return The chunks which are resident. Loading chunks while iterating over these is not allowed.
+     * */
+    @Override
+    public Iterable<VoxelChunk> getLoadedChunks() {
+        return () -> {
+            Iterator<ResidentChunk> residents = chunks.values().iterator();
+            return new Iterator<VoxelChunk>() {
+                @Override
+                public boolean hasNext() {
+                    return residents.hasNext();
+                }
+
+                @Override
+                public VoxelChunk next() {
+                    return residents.next().voxelChunk;
+                }
+            };
+        };
+    }
+
+    /**
+     * Performs the action for the position of every chunk evicted since the previous invocation. These chunks may have
+     * been loaded again since they were evicted.
+     * */
+    @Override
+    public void pollEvictedChunks(Consumer<ChunkPos> action) {
+        ChunkPos chunkPos;
+        while ((chunkPos = evictedChunks.poll()) != null) {
+            action.accept(chunkPos);
+        }
+    }
+
+    /**
+     * Saves every resident chunk which has been modified since it was last saved.
+     * */
+    public void flush() {
+        for (ResidentChunk resident : chunks.values()) {
+            save(resident.voxelChunk);
+        }
+    }
+
+    /**
+     * Makes the chunk resident as the most recently used chunk and evicts the least recently used chunk once there are
+     * too many resident chunks.
+     * */
+    private void addResident(long key, VoxelChunk voxelChunk) {
+        ResidentChunk resident = new ResidentChunk(key, voxelChunk);
+        chunks.put(key, resident);
+        linkFirst(resident);
+
+        if (chunks.size() > maxResidentChunks) {
+            ResidentChunk evicted = leastRecent;
+            unlink(evicted);
+            chunks.remove(evicted.key);
+            save(evicted.voxelChunk);
+            evictedChunks.add(evicted.voxelChunk.chunkPos);
+        }
+    }
+
+    private void linkFirst(ResidentChunk resident) {
+        resident.next = mostRecent;
+        if (mostRecent != null) {
+            mostRecent.previous = resident;
+        } else {
+            leastRecent = resident;
+        }
+        mostRecent = resident;
+    }
+
+    private void unlink(ResidentChunk resident) {
+        if (resident.previous != null) {
+            resident.previous.next = resident.next;
+        } else {
+            mostRecent = resident.next;
+        }
+        if (resident.next != null) {
+            resident.next.previous = resident.previous;
+        } else {
+            leastRecent = resident.previous;
+        }
+        resident.previous = null;
+        resident.next = null;
+    }
+
+    /**
+     * Copies the chunk and writes the copy on the writer thread if the chunk has been modified since it was last
+     * saved.
+     * */
+    private void save(VoxelChunk voxelChunk) {
+        if (!voxelChunk.isModified()) {
+            return;
+        }
+        VoxelChunk copy = voxelChunk.copy();
+        voxelChunk.markSaved();
+        long key = copy.chunkPos.toLong();
+        synchronized (pendingWrites) {
+            pendingWrites.put(key, copy);
+        }
+
+        writer.execute(() -> {
+            try {
+                writeChunk(copy);
+            } catch (IOException | RuntimeException e) {
+                log.error("Unable to save chunk " + copy.chunkPos, e);
+            } finally {
+                synchronized (pendingWrites) {
+                    // A newer copy may have replaced this one while it was written.
+                    if (pendingWrites.get(key) == copy) {
+                        pendingWrites.remove(key);
+                    }
+                }
+            }
+        });
+    }
+
+    private VoxelChunk getPendingWrite(long key) {
+        synchronized (pendingWrites) {
+            return pendingWrites.get(key);
+        }
+    }
+
+    private void writeChunk(VoxelChunk voxelChunk) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            output.writeByte(FORMAT_VERSION);
+            voxelChunk.getKernel().write(output);
+        }
+
+        int chunkX = voxelChunk.chunkPos.getX();
+        int chunkZ = voxelChunk.chunkPos.getZ();
+        RegionFile region = getRegion(chunkX, chunkZ, true);
+        region.write(chunkX, chunkZ, bytes.toByteArray());
+    }
+
+    /**
+     * Reads the chunk at the provided chunk position from the copy waiting to be written or from its region file. This
+     * may be invoked from any thread and is meant for the workers of the chunk loader, since it reads and inflates the
+     * chunk from the disk.
+     * @return The chunk read, or null if the chunk has never been saved.
+     * */
+    @Override
+    public VoxelChunk readChunk(int chunkX, int chunkZ) throws IOException {
+        VoxelChunk pending = getPendingWrite(ChunkPos.pack(chunkX, chunkZ));
+        if (pending != null) {
+            VoxelChunk voxelChunk = pending.copy();
+            voxelChunk.markSaved();
+            return voxelChunk;
+        }
+
+        RegionFile region = getRegion(chunkX, chunkZ, false);
+        if (region == null) {
+            return null;
+        }
+
+        byte[] data = region.read(chunkX, chunkZ);
+        if (data == null) {
+            return null;
+        }
+
+        try (DataInputStream input = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+            int version = input.readUnsignedByte();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unknown chunk format " + version);
+            }
+            VoxelChunk voxelChunk = new VoxelChunk(new ChunkPos(chunkX, chunkZ),
+                    PalettedVoxelStorage.read(input, voxelRegistry::getVoxel));
+            voxelChunk.markSaved();
+            return voxelChunk;
+        }
+    }
+
+    /**
+     * @param create Creates the region file if it does not exist.
+     * @return The region file which holds the chunk at the provided chunk position, or null if it does not exist and
+     * is not created.
+     * */
+    private RegionFile getRegion(int chunkX, int chunkZ, boolean create) throws IOException {
+        int regionX = RegionFile.toRegion(chunkX);
+        int regionZ = RegionFile.toRegion(chunkZ);
+        long key = ChunkPos.pack(regionX, regionZ);
+
+        RegionFile region = regions.get(key);
+        if (region == null) {
+            synchronized (regions) {
+                region = regions.get(key);
+                if (region == null) {
+                    Path path = directory.resolve("r." + regionX + "." + regionZ + ".region");
+                    if (!create && !Files.isRegularFile(path)) {
+                        return null;
+                    }
+                    region = new RegionFile(path);
+                    regions.put(key, region);
+                }
+            }
+        }
+        return region;
+    }
+
+    /**
+     * Saves every modified chunk, waits for the writer thread to finish, and closes every region file.
+     * */
+    @Override
+    public void destroy() {
+        flush();
+        chunks.clear();
+        evictedChunks.clear();
+        mostRecent = null;
+        leastRecent = null;
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(WRITER_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.error("Timed out while saving " + getPendingWriteCount() + " chunks");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (RegionFile region : regions.values()) {
+            try {
+                region.close();
+            } catch (IOException e) {
+                log.error("Unable to close region file", e);
+            }
+        }
+        regions.clear();
+    }
+
+    private int getPendingWriteCount() {
+        synchronized (pendingWrites) {
+            return pendingWrites.size();
+        }
+    }
+
+    /**
+     * A resident chunk within the list of resident chunks ordered by their use.
+     * */
+    private static class ResidentChunk {
+
+        private final long key;
+
+        private final VoxelChunk voxelChunk;
+
+        private ResidentChunk previous;
+
+        private ResidentChunk next;
+
+        private ResidentChunk(long key, VoxelChunk voxelChunk) {
+            this.key = key;
+            this.voxelChunk = voxelChunk;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.branwilliams.bundi.voxel.world.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * A file holding the data of a square of {@link RegionFile#REGION_SIZE} by {@link RegionFile#REGION_SIZE} chunks. <br/>
+ * The file is split into sectors of {@link RegionFile#SECTOR_SIZE} bytes. The first sectors hold a table with the first
+ * sector and the length, in bytes, of the data of each chunk. The data of a chunk is stored within consecutive sectors
+ * and is rewritten in place when it still fits, otherwise it is moved to the first free sectors large enough to hold
+ * it. <br/>
+ * Reads and writes use positional reads and writes of the file channel, so the file is never mapped into memory.
+ * Every method is synchronized, so a region file may be read by one thread while another writes to it.
+ *
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class RegionFile {
+
+    /** The number of chunks along each side of a region. */
+    public static final int REGION_SIZE = 32;
+
+    private static final int REGION_SIZE_BITS = 5;
+
+    private static final int SECTOR_SIZE = 4096;
+
+    private static final int CHUNK_COUNT = REGION_SIZE * REGION_SIZE;
+
+    // Each entry of the table is the first sector and the length of the data of a chunk.
+    private static final int TABLE_ENTRY_SIZE = Integer.BYTES * 2;
+
+    private static final int TABLE_SECTORS = CHUNK_COUNT * TABLE_ENTRY_SIZE / SECTOR_SIZE;
+
+    private final FileChannel channel;
+
+    private final int[] sectors = new int[CHUNK_COUNT];
+
+    private final int[] lengths = new int[CHUNK_COUNT];
+
+    private final BitSet usedSectors = new BitSet();
+
+    private final ByteBuffer tableEntry = ByteBuffer.allocate(TABLE_ENTRY_SIZE);
+
+    /**
+     * Opens the region file at the provided path, creating it if it does not exist.
+     * */
+    public RegionFile(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.usedSectors.set(0, TABLE_SECTORS);
+
+        ByteBuffer table = ByteBuffer.allocate(TABLE_SECTORS * SECTOR_SIZE);
+        if (channel.size() < table.capacity()) {
+            // New files begin with an empty table.
+            writeFully(table, 0L);
+            return;
+        }
+
+        readFully(table, 0L);
+        table.flip();
+        for (int i = 0; i < CHUNK_COUNT; i++) {
+            sectors[i] = table.getInt();
+            lengths[i] = table.getInt();
+            if (sectors[i] != 0) {
+                usedSectors.set(sectors[i], sectors[i] + sectorsFor(lengths[i]));
+            }
+        }
+    }
+
+    /**
+     * @return True if the chunk at the provided chunk position has been written to this region.
+     * */
+    public synchronized boolean contains(int chunkX, int chunkZ) {
+        return sectors[toIndex(chunkX, chunkZ)] != 0;
+    }
+
+    /**
+     * @return The data of the chunk at the provided chunk position or null if it has never been written.
+     * */
+    public synchronized byte[] read(int chunkX, int chunkZ) throws IOException {
+        int index = toIndex(chunkX, chunkZ);
+        if (sectors[index] == 0) {
+            return null;
+        }
+        byte[] data = new byte[lengths[index]];
+        readFully(ByteBuffer.wrap(data), (long) sectors[index] * SECTOR_SIZE);
+        return data;
+    }
+
+    /**
+     * Writes the data of the chunk at the provided chunk position, replacing any previous data.
+     * */
+    public synchronized void write(int chunkX, int chunkZ, byte[] data) throws IOException {
+        int index = toIndex(chunkX, chunkZ);
+        int sectorCount = sectorsFor(data.length);
+
+        if (sectors[index] != 0) {
+            usedSectors.clear(sectors[index], sectors[index] + sectorsFor(lengths[index]));
+        }
+
+        int sector = findFreeSectors(sectorCount);
+        writeFully(ByteBuffer.wrap(data), (long) sector * SECTOR_SIZE);
+        usedSectors.set(sector, sector + sectorCount);
+
+        sectors[index] = sector;
+        lengths[index] = data.length;
+
+        tableEntry.clear();
+        tableEntry.putInt(sector).putInt(data.length);
+        tableEntry.flip();
+        writeFully(tableEntry, (long) index * TABLE_ENTRY_SIZE);
+    }
+
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * @return The first sector of the first run of free sectors which is at least the provided length.
+     * */
+    private int findFreeSectors(int sectorCount) {
+        int sector = usedSectors.nextClearBit(TABLE_SECTORS);
+        while (true) {
+            int nextUsed = usedSectors.nextSetBit(sector);
+            if (nextUsed == -1 || nextUsed - sector >= sectorCount) {
+                return sector;
+            }
+            sector = usedSectors.nextClearBit(nextUsed);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read == -1) {
+                throw new IOException("Unexpected end of region file!");
+            }
+            position += read;
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * @return The region coordinate containing the provided chunk coordinate.
+     * */
+    public static int toRegion(int chunkCoordinate) {
+        return chunkCoordinate >> REGION_SIZE_BITS;
+    }
+
+    private static int toIndex(int chunkX, int chunkZ) {
+        return (chunkX & (REGION_SIZE - 1)) + (chunkZ & (REGION_SIZE - 1)) * REGION_SIZE;
+    }
+
+    private static int sectorsFor(int length) {
+        return Math.max(1, (length + SECTOR_SIZE - 1) / SECTOR_SIZE);
+    }
+}
@@ -0,0 +1,142 @@
+package com.branwilliams.bundi.voxel.world.chunk;
+
+import com.branwilliams.bundi.voxel.VoxelConstants;
+import com.branwilliams.bundi.voxel.voxels.Voxel;
+import com.branwilliams.bundi.voxel.voxels.Voxels;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class PalettedVoxelStorageTest {
+
+    private static final int SECTION_VOLUME = VoxelConstants.CHUNK_X_SIZE * PalettedVoxelStorage.SECTION_HEIGHT
+            * VoxelConstants.CHUNK_Z_SIZE;
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        for (int distinctVoxels : new int[] { 1, 2, 17, 300 }) {
+            Map<String, Voxel> registry = new HashMap<>();
+            Voxel[] voxels = createVoxels(distinctVoxels, registry);
+
+            PalettedVoxelStorage storage = new PalettedVoxelStorage(voxels[0]);
+            forEachPosition((x, y, z) -> storage.set(voxelAt(voxels, x, y, z), x, y, z));
+            assertEquals(distinctVoxels, storage.getPaletteSize());
+
+            PalettedVoxelStorage read = PalettedVoxelStorage.read(toInput(storage), registry::get);
+            assertEquals(storage.getPaletteSize(), read.getPaletteSize());
+            assertEquals(storage.getBitsPerEntry(), read.getBitsPerEntry());
+            forEachPosition((x, y, z) -> assertSame(voxelAt(voxels, x, y, z), read.get(x, y, z)));
+        }
+    }
+
+    @Test
+    public void testUnregisteredVoxelsAreReadAsAir() throws IOException {
+        Map<String, Voxel> registry = new HashMap<>();
+        Voxel[] voxels = createVoxels(2, registry);
+        registry.remove(voxels[1].id.normalized());
+
+        PalettedVoxelStorage storage = new PalettedVoxelStorage(voxels[0]);
+        storage.set(voxels[1], 1, 2, 3);
+
+        PalettedVoxelStorage read = PalettedVoxelStorage.read(toInput(storage), registry::get);
+        assertSame(voxels[0], read.get(0, 0, 0));
+        assertSame(Voxels.air, read.get(1, 2, 3));
+    }
+
+    @Test(expected = IOException.class)
+    public void testUniformIndexOutsideOfPalette() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(2);
+        output.writeByte(1);
+        output.writeUTF("voxel0");
+        output.writeUTF("voxel1");
+        output.writeBoolean(true);
+        output.writeShort(2);
+
+        PalettedVoxelStorage.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+                (id) -> Voxels.stone);
+    }
+
+    @Test(expected = IOException.class)
+    public void testPackedIndexOutsideOfPalette() throws IOException {
+        // Three voxels use two bits per index, so an index of three is outside of the palette.
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(3);
+        output.writeByte(2);
+        output.writeUTF("voxel0");
+        output.writeUTF("voxel1");
+        output.writeUTF("voxel2");
+        output.writeBoolean(false);
+        for (int i = 0; i < SECTION_VOLUME * 2 / Long.SIZE; i++) {
+            output.writeLong(-1L);
+        }
+
+        PalettedVoxelStorage.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+                (id) -> Voxels.stone);
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidPaletteSize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(0);
+        output.writeByte(1);
+
+        PalettedVoxelStorage.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+                (id) -> Voxels.stone);
+    }
+
+    private static Voxel[] createVoxels(int count, Map<String, Voxel> registry) {
+        Voxel[] voxels = new Voxel[count];
+        for (int i = 0; i < count; i++) {
+            String id = "voxel" + i;
+            voxels[i] = new Voxel(() -> id);
+            registry.put(voxels[i].id.normalized(), voxels[i]);
+        }
+        return voxels;
+    }
+
+    /**
+     * Fills the lower half of the chunk with every voxel and leaves the upper half uniform.
+     * */
+    private static Voxel voxelAt(Voxel[] voxels, int x, int y, int z) {
+        if (y >= VoxelConstants.CHUNK_Y_SIZE / 2) {
+            return voxels[voxels.length - 1];
+        }
+        return voxels[(x + y * 7 + z * 31) % voxels.length];
+    }
+
+    private static DataInputStream toInput(PalettedVoxelStorage storage) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        storage.write(new DataOutputStream(bytes));
+        return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    private static void forEachPosition(PositionConsumer consumer) {
+        for (int x = 0; x < VoxelConstants.CHUNK_X_SIZE; x++) {
+            for (int y = 0; y < VoxelConstants.CHUNK_Y_SIZE; y++) {
+                for (int z = 0; z < VoxelConstants.CHUNK_Z_SIZE; z++) {
+                    consumer.accept(x, y, z);
+                }
+            }
+        }
+    }
+
+    private interface PositionConsumer {
+        void accept(int x, int y, int z);
+    }
+}
@@ -0,0 +1,102 @@
+package com.branwilliams.bundi.voxel.world.storage;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Brandon
+ * @since October 18, 2026
+ */
+public class RegionFileTest {
+
+    private static final int SECTOR_SIZE = 4096;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testChunksAreReadAfterReopening() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("region.0.0");
+        byte[][] chunks = new byte[4][];
+
+        RegionFile region = new RegionFile(path);
+        try {
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = createData(SECTOR_SIZE / 2 + i, i);
+                region.write(i, -i, chunks[i]);
+            }
+
+            // The first chunk no longer fits within its sector, so it is moved past the others.
+            chunks[0] = createData(SECTOR_SIZE * 3 + 1, 42);
+            region.write(0, 0, chunks[0]);
+            long size = path.toFile().length();
+
+            // A chunk written afterwards takes the sector the first chunk left behind.
+            byte[] reused = createData(SECTOR_SIZE / 4, 7);
+            region.write(5, 5, reused);
+            assertEquals(size, path.toFile().length());
+
+            assertChunks(region, chunks);
+            assertArrayEquals(reused, region.read(5, 5));
+        } finally {
+            region.close();
+        }
+
+        region = new RegionFile(path);
+        try {
+            assertChunks(region, chunks);
+            assertFalse(region.contains(6, 6));
+            assertNull(region.read(6, 6));
+
+            // Sectors in use are restored from the table, so new chunks do not overwrite them.
+            byte[] appended = createData(SECTOR_SIZE * 2, 99);
+            region.write(7, 7, appended);
+            assertChunks(region, chunks);
+            assertArrayEquals(appended, region.read(7, 7));
+        } finally {
+            region.close();
+        }
+    }
+
+    @Test
+    public void testChunksAreRewrittenInPlace() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("region.1.1");
+        RegionFile region = new RegionFile(path);
+        try {
+            region.write(0, 0, createData(SECTOR_SIZE * 2, 1));
+            region.write(1, 0, createData(SECTOR_SIZE, 2));
+            long size = path.toFile().length();
+
+            // Smaller data is written over the sectors the chunk already has.
+            byte[] smaller = createData(SECTOR_SIZE + 1, 3);
+            region.write(0, 0, smaller);
+            assertEquals(size, path.toFile().length());
+            assertArrayEquals(smaller, region.read(0, 0));
+            assertArrayEquals(createData(SECTOR_SIZE, 2), region.read(1, 0));
+        } finally {
+            region.close();
+        }
+    }
+
+    private static void assertChunks(RegionFile region, byte[][] chunks) throws IOException {
+        for (int i = 0; i < chunks.length; i++) {
+            assertTrue(region.contains(i, -i));
+            assertArrayEquals(chunks[i], region.read(i, -i));
+        }
+    }
+
+    private static byte[] createData(int length, int seed) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 31 + seed);
+        }
+        return data;
+    }
+}